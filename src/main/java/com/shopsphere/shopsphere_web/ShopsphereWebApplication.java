@@ -4,12 +4,14 @@ import com.shopsphere.shopsphere_web.config.KakaoProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
 
 @SpringBootApplication
 @EnableConfigurationProperties(KakaoProperties.class)
 @EnableJdbcHttpSession
+@EnableScheduling
 public class ShopsphereWebApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,206 @@
+package com.shopsphere.shopsphere_web.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 크기 제한(근사 LRU)과 TTL 만료를 함께 적용하는 인메모리 캐시.
+ * ConcurrentHashMap에 항목을 두어 조회/저장/무효화가 캐시 전체 잠금 없이 키 단위로 동작하며, 조회/적중/미스/제거 횟수를 집계합니다.
+ * 값 로딩(loader)은 잠금 밖에서 실행하므로 느린 DB 조회가 다른 키의 조회를 막지 않습니다.
+ *
+ * 로딩을 시작할 때 키에 로딩 표식을 넣고, 로딩이 끝나면 표식이 그대로일 때만 값으로 교체합니다.
+ * 로딩 도중 그 키가 무효화되면 표식이 제거되므로 오래된 값이 다시 저장되지 않으며, 다른 키의 무효화에는 영향을 받지 않습니다.
+ * 최대 크기를 넘으면 한 스레드가 마지막 접근 시각이 오래된 항목부터 최대 크기의 90%까지 한꺼번에 제거합니다.
+ */
+public class BoundedTtlCache<K, V> {
+
+    // 한 번 제거할 때 최대 크기의 이 비율까지 줄여 제거 작업이 매 저장마다 일어나지 않게 함
+    private static final double EVICT_TO_RATIO = 0.9;
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<K, Node<V>> entries;
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedTtlCache(String name, int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("캐시 최대 크기는 1 이상이어야 합니다.");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    /**
+     * 캐시된 값을 반환하고, 없거나 만료되었으면 loader로 읽어 저장합니다. loader가 null을 반환하면 저장하지 않습니다.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        Node<V> node = entries.get(key);
+        if (node != null && !node.isLoading()) {
+            if (!node.isExpired(now)) {
+                hits.increment();
+                node.lastAccessNanos = now;
+                return node.value;
+            }
+            if (entries.remove(key, node)) {
+                expirations.increment();
+            }
+        }
+        misses.increment();
+
+        // 다른 스레드가 이미 로딩 중이면 표식을 넣지 않고 읽기만 함 (저장은 먼저 시작한 로딩이 담당)
+        Node<V> token = Node.loading();
+        boolean owner = entries.putIfAbsent(key, token) == null;
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            if (owner) {
+                entries.remove(key, token);
+            }
+            throw e;
+        }
+        if (owner) {
+            if (value == null) {
+                entries.remove(key, token);
+            } else {
+                long loadedAt = System.nanoTime();
+                // 로딩 중 무효화되었다면 표식이 없으므로 저장하지 않음
+                if (entries.replace(key, token, new Node<>(value, loadedAt + ttlNanos, loadedAt))) {
+                    evictIfOverCapacity();
+                }
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        Node<V> removed = entries.remove(key);
+        if (removed != null && !removed.isLoading()) {
+            invalidations.increment();
+        }
+    }
+
+    public void invalidateAll(Iterable<K> keys) {
+        for (K key : keys) {
+            invalidate(key);
+        }
+    }
+
+    public void clear() {
+        for (K key : entries.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    // 만료된 항목 정리 (주기적으로 호출하면 사용되지 않는 만료 항목이 메모리를 차지하지 않음)
+    public int purgeExpired() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Map.Entry<K, Node<V>> entry : entries.entrySet()) {
+            Node<V> node = entry.getValue();
+            if (!node.isLoading() && node.isExpired(now) && entries.remove(entry.getKey(), node)) {
+                removed++;
+            }
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    // 최대 크기를 넘었으면 마지막 접근이 오래된 항목부터 제거 (동시에 한 스레드만 수행, 나머지는 기다리지 않음)
+    private void evictIfOverCapacity() {
+        if (entries.size() <= maxSize || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = (int) (maxSize * EVICT_TO_RATIO);
+            int excess = entries.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<K, Node<V>>> candidates = new ArrayList<>(entries.size());
+            for (Map.Entry<K, Node<V>> entry : entries.entrySet()) {
+                if (!entry.getValue().isLoading()) {
+                    candidates.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+            candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccessNanos));
+            for (int i = 0; i < candidates.size() && excess > 0; i++) {
+                Map.Entry<K, Node<V>> candidate = candidates.get(i);
+                if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                    evictions.increment();
+                    excess--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    public Stats stats() {
+        int size = entries.size();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new Stats(name, size, maxSize, hitCount, missCount,
+                requests == 0 ? 0.0 : (double) hitCount / requests,
+                evictions.sum(), expirations.sum(), invalidations.sum());
+    }
+
+    private static final class Node<V> {
+        private final V value; // null이면 로딩 표식
+        private final long expiresAtNanos;
+        private volatile long lastAccessNanos;
+
+        private Node(V value, long expiresAtNanos, long lastAccessNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+
+        private static <V> Node<V> loading() {
+            return new Node<>(null, 0, 0);
+        }
+
+        private boolean isLoading() {
+            return value == null;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Stats {
+        private final String name;
+        private final int size;
+        private final int maxSize;
+        private final long hitCount;
+        private final long missCount;
+        private final double hitRate;
+        private final long evictionCount;
+        private final long expirationCount;
+        private final long invalidationCount;
+    }
+}
@@ -0,0 +1,89 @@
+package com.shopsphere.shopsphere_web.config;
+
+import com.shopsphere.shopsphere_web.service.InquiryChatMembershipCache;
+import com.shopsphere.shopsphere_web.service.InquiryChatRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * STOMP 세션 인증/권한 인터셉터.
+ * CONNECT 시 웹소켓 핸드셰이크에서 복사된 HTTP 세션 속성(userId)으로 사용자를 STOMP 세션에 한 번 저장하므로,
+ * 이후 메시지마다 사용자를 다시 조회하지 않습니다. 채팅방 주제 구독은 참여자 캐시로 쿼리 없이 확인합니다.
+ * 채팅 메시지 전송(SEND)은 채팅방별 전송 제한을 적용해 한 채팅방의 폭주가 다른 채팅방 처리를 지연시키지 않게 합니다.
+ * 로그인 세션 없이 연결한 클라이언트는 채팅방 주제를 구독하거나 채팅 메시지를 보낼 수 없습니다. (메시지 본문의 senderId는 신뢰하지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String CHAT_TOPIC_PREFIX = "/topic/inquiry-chat/";
+    private static final String CHAT_SEND_PREFIX = "/app/inquiry-chat/";
+
+    private final InquiryChatMembershipCache membershipCache;
+    private final InquiryChatRateLimiter rateLimiter;
+    private final WebSocketTrafficMetrics trafficMetrics;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+            Object userId = sessionAttributes != null ? sessionAttributes.get("userId") : null;
+            if (userId instanceof String id && !id.isEmpty()) {
+                // STOMP 세션의 사용자로 저장되어 이후 메시지의 Principal로 전달됨
+                accessor.setUser(new UsernamePasswordAuthenticationToken(id, null, List.of()));
+            }
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            Long chatRoomId = idAfter(CHAT_SEND_PREFIX, accessor.getDestination());
+            if (chatRoomId != null && accessor.getUser() == null) {
+                throw new MessageDeliveryException("로그인이 필요합니다.");
+            }
+            // 채팅방 전송 제한을 넘은 메시지는 처리 스레드 풀에 넣기 전에 버림 (연결은 유지)
+            if (chatRoomId != null && !rateLimiter.tryAcquire(chatRoomId)) {
+                trafficMetrics.messageRateLimited();
+                log.debug("채팅방 전송 제한 초과로 메시지를 버립니다: roomId={}, session={}", chatRoomId, accessor.getSessionId());
+                return null;
+            }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            Principal user = accessor.getUser();
+            Long chatRoomId = idAfter(CHAT_TOPIC_PREFIX, accessor.getDestination());
+            if (chatRoomId != null && user == null) {
+                throw new MessageDeliveryException("로그인이 필요합니다.");
+            }
+            if (chatRoomId != null && !membershipCache.isParticipant(chatRoomId, user.getName())) {
+                throw new MessageDeliveryException("이 채팅방을 구독할 권한이 없습니다.");
+            }
+        }
+        return message;
+    }
+
+    // {prefix}{roomId} 형식이면 채팅방 ID, 아니면 null
+    private static Long idAfter(String prefix, String destination) {
+        if (destination == null || !destination.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.shopsphere.shopsphere_web.config;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "toss.payments")
+public class TossPaymentsProperties {
+    private String secretKey;
+    private String baseUrl;
+    private String successUrl;
+    private String failUrl;
+
+    // 토스 API 연결/응답 대기 시간
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    // 동시에 진행할 수 있는 토스 API 호출 수 (벌크헤드). 초과 요청은 대기하지 않고 즉시 거절
+    private int maxConcurrentCalls = 50;
+
+    // 네트워크 오류/5xx/429 응답 시 재시도 횟수와 첫 대기 시간 (지수 백오프)
+    private int maxRetries = 2;
+    private Duration retryBackoff = Duration.ofMillis(200);
+}
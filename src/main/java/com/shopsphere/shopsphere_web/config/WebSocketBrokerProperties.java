@@ -0,0 +1,84 @@
+package com.shopsphere.shopsphere_web.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "websocket.broker")
+public class WebSocketBrokerProperties {
+
+    // in-process: 애플리케이션 내부 브로커 (구독이 노드마다 따로 관리되므로 단일 노드용)
+    // relay: 외부 STOMP 브로커(RabbitMQ, ActiveMQ 등)로 중계 (여러 노드의 클라이언트에게 메시지 전달)
+    private String mode = "in-process";
+
+    // in-process 모드의 목적지별 구독자 캐시 크기 (동시에 메시지가 오가는 채팅방 수 이상)
+    private int destinationCacheLimit = 10000;
+
+    // 클라이언트 수신(inbound), 클라이언트 송신(outbound), 브로커 전달(broker) 채널의 스레드 풀
+    private Pool inbound = new Pool(16, 32, 10000);
+    private Pool outbound = new Pool(16, 32, 10000);
+    private Pool broker = new Pool(8, 16, 10000);
+
+    private Relay relay = new Relay();
+
+    private Transport transport = new Transport();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int corePoolSize;
+        private int maxPoolSize;
+        private int queueCapacity;
+
+        public Pool() {
+        }
+
+        public Pool(int corePoolSize, int maxPoolSize, int queueCapacity) {
+            this.corePoolSize = corePoolSize;
+            this.maxPoolSize = maxPoolSize;
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        // 클라이언트 세션마다 브로커에 연결할 때 사용하는 계정
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        // 서버가 SimpMessagingTemplate으로 보내는 메시지용 공유 연결 계정
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+        private String virtualHost;
+        // 공유 연결의 하트비트 주기 (ms)
+        private long systemHeartbeatSendInterval = 10000;
+        private long systemHeartbeatReceiveInterval = 10000;
+    }
+
+    // 세션별 전송 한도: 한도를 넘는 느린 클라이언트는 연결을 닫음 (재접속 후 after 커서로 누락 메시지 조회)
+    @Getter
+    @Setter
+    public static class Transport {
+        // 한 메시지 전송에 걸릴 수 있는 최대 시간
+        private Duration sendTimeLimit = Duration.ofSeconds(5);
+        // 전송 대기 중인 메시지의 최대 크기
+        private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(256);
+        // 클라이언트가 보내는 메시지 하나의 최대 크기
+        private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+        // SockJS 스트리밍 연결 하나로 보낼 최대 크기 (넘으면 클라이언트가 새 연결을 맺어 버퍼를 비움)
+        private DataSize sockJsStreamBytesLimit = DataSize.ofKilobytes(128);
+        // SockJS 폴링 클라이언트가 가져가기 전까지 보관할 최대 메시지 수
+        private int sockJsHttpMessageCacheSize = 100;
+        // SockJS 클라이언트 연결이 끊긴 뒤 세션을 정리하기까지의 시간
+        private Duration sockJsDisconnectDelay = Duration.ofSeconds(5);
+    }
+}
@@ -1,28 +1,99 @@
 package com.shopsphere.shopsphere_web.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.messaging.simp.config.TaskExecutorRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
 
+/**
+ * STOMP 메시지 브로커 설정.
+ * websocket.broker.mode가 in-process면 애플리케이션 내부 브로커를 사용하고(목적지별 구독자 캐시 크기는 설정값으로 조정),
+ * relay면 외부 STOMP 브로커로 중계하므로 어느 노드에 연결된 클라이언트에게도 메시지가 전달됩니다.
+ * 브로커 전달은 별도 broker 채널 스레드 풀에서 처리해 클라이언트 수신(inbound) 스레드가 브로드캐스트에 묶이지 않게 합니다.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketBrokerProperties brokerProperties;
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final WebSocketTrafficMetrics trafficMetrics;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // 메시지 브로커가 /topic으로 시작하는 주제를 구독한 클라이언트에게 메시지를 전달
-        config.enableSimpleBroker("/topic");
+        if ("relay".equalsIgnoreCase(brokerProperties.getMode())) {
+            // 외부 브로커가 /topic/inquiry-chat/{roomId}, /queue/... 형식의 목적지를 받을 수 있어야 함
+            WebSocketBrokerProperties.Relay relay = brokerProperties.getRelay();
+            StompBrokerRelayRegistration registration = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(relay.getSystemHeartbeatSendInterval())
+                    .setSystemHeartbeatReceiveInterval(relay.getSystemHeartbeatReceiveInterval());
+            if (relay.getVirtualHost() != null && !relay.getVirtualHost().isBlank()) {
+                registration.setVirtualHost(relay.getVirtualHost());
+            }
+        } else {
+            // 메시지 브로커가 /topic으로 시작하는 주제를 구독한 클라이언트에게 메시지를 전달
+            // /queue는 사용자별 알림(/user/queue/...)에 사용
+            config.enableSimpleBroker("/topic", "/queue");
+            // 목적지별 구독자 조회 결과 캐시: 동시에 메시지가 오가는 목적지(채팅방 주제, 사용자 큐) 수보다 작으면
+            // 브로드캐스트마다 전체 구독을 다시 매칭하게 됨
+            config.setCacheLimit(brokerProperties.getDestinationCacheLimit());
+        }
+        applyPool(config.configureBrokerChannel().taskExecutor(), brokerProperties.getBroker());
         // 클라이언트에서 메시지를 보낼 때 /app으로 시작하는 경로로 메시지를 보냄
         config.setApplicationDestinationPrefixes("/app");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        applyPool(registration.taskExecutor(), brokerProperties.getInbound());
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        applyPool(registration.taskExecutor(), brokerProperties.getOutbound());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 세션별 전송 시간/버퍼 한도 (넘으면 느린 세션을 닫아 출력 버퍼가 무한히 쌓이지 않게 함)
+        WebSocketBrokerProperties.Transport transport = brokerProperties.getTransport();
+        registration.setSendTimeLimit((int) transport.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) transport.getSendBufferSizeLimit().toBytes())
+                .setMessageSizeLimit((int) transport.getMessageSizeLimit().toBytes())
+                .addDecoratorFactory(trafficMetrics::decorate);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        WebSocketBrokerProperties.Transport transport = brokerProperties.getTransport();
         // 웹소켓 연결을 위한 엔드포인트 설정
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*") // CORS 설정 (개발용으로 * 사용, 프로덕션에서는 구체적인 도메인 지정 필요)
-                .withSockJS(); // SockJS 지원
+                .addInterceptors(new HttpSessionHandshakeInterceptor()) // 로그인 세션의 userId를 STOMP 세션 속성으로 복사
+                .withSockJS() // SockJS 지원
+                .setStreamBytesLimit((int) transport.getSockJsStreamBytesLimit().toBytes())
+                .setHttpMessageCacheSize(transport.getSockJsHttpMessageCacheSize())
+                .setDisconnectDelay(transport.getSockJsDisconnectDelay().toMillis());
+    }
+
+    private static void applyPool(TaskExecutorRegistration registration, WebSocketBrokerProperties.Pool pool) {
+        registration.corePoolSize(pool.getCorePoolSize())
+                .maxPoolSize(pool.getMaxPoolSize())
+                .queueCapacity(pool.getQueueCapacity());
     }
 }
@@ -0,0 +1,117 @@
+package com.shopsphere.shopsphere_web.config;
+
+import com.shopsphere.shopsphere_web.service.InquiryChatRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WebSocket 세션/메시지 처리 지표.
+ * 전송 시간 또는 전송 버퍼 한도를 넘은 느린 세션은 Spring이 SESSION_NOT_RELIABLE로 닫으므로 그 횟수를 따로 집계하고,
+ * 채팅방 전송 제한으로 버려진 메시지 수와 브로커/스레드 풀 통계(WebSocketMessageBrokerStats)를 함께 제공합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketTrafficMetrics {
+
+    private final InquiryChatRateLimiter rateLimiter;
+    // WebSocket 설정이 이 빈에 의존하므로 브로커 통계 빈은 조회 시점에 가져옴
+    private final ObjectProvider<WebSocketMessageBrokerStats> brokerStats;
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder openedSessions = new LongAdder();
+    private final LongAdder closedSessions = new LongAdder();
+    private final LongAdder slowSessionsClosed = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder rateLimitedMessages = new LongAdder();
+
+    // 웹소켓 핸들러를 감싸 세션 연결/종료를 집계
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                activeSessions.incrementAndGet();
+                openedSessions.increment();
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                transportErrors.increment();
+                super.handleTransportError(session, exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                activeSessions.decrementAndGet();
+                closedSessions.increment();
+                if (closeStatus.equalsCode(CloseStatus.SESSION_NOT_RELIABLE)) {
+                    slowSessionsClosed.increment();
+                    log.warn("느린 WebSocket 세션 종료 (전송 한도 초과): {}", session.getId());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public void messageRateLimited() {
+        rateLimitedMessages.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeSessions", activeSessions.get());
+        stats.put("openedSessions", openedSessions.sum());
+        stats.put("closedSessions", closedSessions.sum());
+        stats.put("slowSessionsClosed", slowSessionsClosed.sum());
+        stats.put("transportErrors", transportErrors.sum());
+        stats.put("rateLimitedWebSocketMessages", rateLimitedMessages.sum());
+        stats.put("rateLimitedTotal", rateLimiter.getRejectedCount());
+        stats.put("rateLimitedRoomsTracked", rateLimiter.getTrackedRooms());
+        WebSocketMessageBrokerStats broker = brokerStats.getIfAvailable();
+        if (broker != null) {
+            SubProtocolWebSocketHandler.Stats sessions = broker.getWebSocketSessionStats();
+            if (sessions != null) {
+                Map<String, Object> sessionStats = new LinkedHashMap<>();
+                sessionStats.put("total", sessions.getTotalSessions());
+                sessionStats.put("webSocket", sessions.getWebSocketSessions());
+                sessionStats.put("httpStreaming", sessions.getHttpStreamingSessions());
+                sessionStats.put("httpPolling", sessions.getHttpPollingSessions());
+                sessionStats.put("limitExceeded", sessions.getLimitExceededSessions());
+                sessionStats.put("noMessagesReceived", sessions.getNoMessagesReceivedSessions());
+                sessionStats.put("transportError", sessions.getTransportErrorSessions());
+                stats.put("webSocketSessions", sessionStats);
+            }
+            StompSubProtocolHandler.Stats stomp = broker.getStompSubProtocolStats();
+            if (stomp != null) {
+                stats.put("stompSubProtocol", Map.of("connect", stomp.getTotalConnect(),
+                        "connected", stomp.getTotalConnected(), "disconnect", stomp.getTotalDisconnect()));
+            }
+            // relay 모드에서만 존재
+            StompBrokerRelayMessageHandler.Stats relay = broker.getStompBrokerRelayStats();
+            if (relay != null) {
+                stats.put("brokerRelay", Map.of("handlers", relay.getTotalHandlers(), "connect", relay.getTotalConnect(),
+                        "connected", relay.getTotalConnected(), "disconnect", relay.getTotalDisconnect()));
+            }
+            stats.put("clientInboundExecutor", broker.getClientInboundExecutorStatsInfo());
+            stats.put("clientOutboundExecutor", broker.getClientOutboundExecutorStatsInfo());
+            stats.put("sockJsTaskScheduler", broker.getSockJsTaskSchedulerStatsInfo());
+        }
+        return stats;
+    }
+}
@@ -1,8 +1,10 @@
 // src/main/java/com/shopsphere/shopsphere_web/controller/FileUploadController.java
 package com.shopsphere.shopsphere_web.controller;
 
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
 import com.shopsphere.shopsphere_web.service.FileStorageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +22,7 @@ import java.util.Map;
 public class FileUploadController {
 
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher; // 상품 이미지 변경 시 상품 상세 캐시 무효화
 
     // uploadProductImage, uploadMultipleProductImages 메소드는 이전 답변과 동일
 
@@ -30,6 +33,7 @@ public class FileUploadController {
         }
         try {
             String fileUrl = fileStorageService.storeProductImage(file, productId);
+            eventPublisher.publishEvent(ProductChangedEvent.of(productId, ProductChangedEvent.ChangeType.IMAGE));
             return ResponseEntity.ok(Map.of("imageUrl", fileUrl));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "파일 업로드 실패: " + e.getMessage()));
@@ -56,6 +60,10 @@ public class FileUploadController {
             }
         }
 
+        if (!uploadedUrls.isEmpty()) {
+            eventPublisher.publishEvent(ProductChangedEvent.of(productId, ProductChangedEvent.ChangeType.IMAGE));
+        }
+
         Map<String, Object> response = new HashMap<>();
         response.put("uploadedImageUrls", uploadedUrls);
         if (!errorMessages.isEmpty()) {
@@ -86,6 +94,12 @@ public class FileUploadController {
         }
         try {
             fileStorageService.deleteProductImage(filePathSegment);
+            // 경로의 첫 세그먼트가 상품 ID ("productId/fileName.jpg")
+            String productIdSegment = filePathSegment.split("/", 2)[0];
+            if (productIdSegment.matches("\\d+")) {
+                eventPublisher.publishEvent(ProductChangedEvent.of(
+                        Integer.valueOf(productIdSegment), ProductChangedEvent.ChangeType.IMAGE));
+            }
             return ResponseEntity.ok(Map.of("message", 
                 fileStorageService.getConfiguredProductImageSubDir() + "/" + filePathSegment + " 파일이 성공적으로 삭제되었습니다."));
         } catch (Exception e) {
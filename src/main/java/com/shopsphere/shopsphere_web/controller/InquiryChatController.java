@@ -1,9 +1,14 @@
     package com.shopsphere.shopsphere_web.controller;
 
+    import com.shopsphere.shopsphere_web.config.WebSocketTrafficMetrics;
     import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatDto;
+    import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatPageDto;
     import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatRequestDto;
     import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatRoomDto;
+    import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatUnreadDto;
+    import com.shopsphere.shopsphere_web.service.InquiryChatRateLimiter;
     import com.shopsphere.shopsphere_web.service.InquiryChatService;
+    import com.shopsphere.shopsphere_web.service.InquiryChatUnreadService;
     import jakarta.servlet.http.HttpSession;
     import lombok.RequiredArgsConstructor;
     import org.springframework.http.HttpStatus;
@@ -15,6 +20,7 @@
     import org.springframework.stereotype.Controller;
     import org.springframework.web.bind.annotation.*;
 
+    import java.security.Principal;
     import java.util.List;
     import java.util.Map;
 
@@ -24,22 +30,34 @@
     public class InquiryChatController {
 
         private final InquiryChatService inquiryChatService;
+        private final InquiryChatUnreadService inquiryChatUnreadService;
+        private final InquiryChatRateLimiter rateLimiter;
+        private final WebSocketTrafficMetrics trafficMetrics;
         private final SimpMessagingTemplate messagingTemplate;  // WebSocket 메시징을 위한 템플릿
 
         // WebSocket을 통한 실시간 채팅 메시지 처리
         @MessageMapping("/inquiry-chat/{roomId}")
         public void handleChatMessage(
                 @DestinationVariable Long roomId,
-                @Payload InquiryChatRequestDto requestDto) {
+                @Payload InquiryChatRequestDto requestDto,
+                Principal principal) {
             
             System.out.println("WebSocket 메시지 수신 - roomId: " + roomId + ", 요청: " + requestDto);
             
+            // 로그인 세션으로 연결한 STOMP 세션만 메시지를 보낼 수 있음 (인터셉터에서도 거부)
+            if (principal == null) {
+                System.err.println("인증되지 않은 STOMP 세션의 메시지를 무시합니다 - roomId: " + roomId);
+                return;
+            }
+
             // 요청에 roomId 설정
             requestDto.setChatRoomId(roomId);
             
             try {
-                // 메시지 저장 및 저장된 메시지 정보 반환
-                InquiryChatDto message = inquiryChatService.sendMessage(requestDto.getSenderId(), requestDto);
+                // 세션의 사용자를 발신자로 사용 (본문의 senderId는 무시)
+                String senderId = principal.getName();
+                // 메시지 저장 예약 및 메시지 정보 반환
+                InquiryChatDto message = inquiryChatService.sendMessage(senderId, requestDto);
                 System.out.println("메시지 저장 성공: " + message);
                 
                 // 해당 채팅방 구독자에게 메시지 브로드캐스트
@@ -85,6 +103,12 @@
                         .body(Map.of("message", "로그인이 필요합니다."));
             }
 
+            // WebSocket 전송과 같은 채팅방별 전송 제한 적용
+            if (requestDto.getChatRoomId() != null && !rateLimiter.tryAcquire(requestDto.getChatRoomId())) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .body(Map.of("message", "메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요."));
+            }
+
             try {
                 InquiryChatDto message = inquiryChatService.sendMessage(userId, requestDto);
                 
@@ -107,11 +131,14 @@
             }
         }
 
-        // 채팅방의 모든 메시지 조회
+        // 채팅방 메시지 커서 조회 (before/after 생략 시 최근 메시지, 응답은 ID 오름차순)
         @ResponseBody
         @GetMapping("/rooms/{roomId}/messages")
         public ResponseEntity<?> getChatMessages(
                 @PathVariable Long roomId,
+                @RequestParam(required = false) Long before,
+                @RequestParam(required = false) Long after,
+                @RequestParam(required = false) Integer limit,
                 HttpSession session) {
             
             String userId = (String) session.getAttribute("userId");
@@ -121,7 +148,7 @@
             }
 
             try {
-                List<InquiryChatDto> messages = inquiryChatService.getChatMessages(roomId, userId);
+                InquiryChatPageDto messages = inquiryChatService.getChatMessages(roomId, userId, before, after, limit);
                 return ResponseEntity.ok(messages);
             } catch (SecurityException e) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
@@ -135,6 +162,42 @@
             }
         }
 
+        // 채팅방 읽음 처리 (lastReadMessageId까지 읽음, 응답과 WebSocket 알림으로 갱신된 읽지 않은 메시지 수 전달)
+        @ResponseBody
+        @PostMapping("/rooms/{roomId}/read")
+        public ResponseEntity<?> markRead(
+                @PathVariable Long roomId,
+                @RequestParam Long lastReadMessageId,
+                HttpSession session) {
+
+            String userId = (String) session.getAttribute("userId");
+            if (userId == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(Map.of("message", "로그인이 필요합니다."));
+            }
+
+            try {
+                InquiryChatUnreadDto unread = inquiryChatUnreadService.markRead(roomId, userId, lastReadMessageId);
+                return ResponseEntity.ok(unread);
+            } catch (SecurityException e) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("message", e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("message", e.getMessage()));
+            } catch (Exception e) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(Map.of("message", "읽음 처리 중 오류가 발생했습니다.", "error", e.getMessage()));
+            }
+        }
+
+        // WebSocket 세션/전송 제한 지표 조회 (느린 세션 종료 수, 전송 제한으로 버려진 메시지 수, 브로커/스레드 풀 통계)
+        @ResponseBody
+        @GetMapping("/stats")
+        public ResponseEntity<?> getTrafficStats() {
+            return ResponseEntity.ok(trafficMetrics.snapshot());
+        }
+
         // 사용자의 모든 채팅방 조회
         @ResponseBody
         @GetMapping("/rooms")
@@ -1,21 +1,27 @@
 package com.shopsphere.shopsphere_web.controller;
 
 import com.shopsphere.shopsphere_web.dto.OrderDTO;
+import com.shopsphere.shopsphere_web.service.OrderPaymentService;
 import com.shopsphere.shopsphere_web.service.OrderService;
+import com.shopsphere.shopsphere_web.service.TossPaymentGateway;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import java.util.Map;
 import java.util.List;
 
 
+@Slf4j
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderPaymentService orderPaymentService;
 
     // 주문 생성
     @PostMapping
@@ -134,70 +140,70 @@ public class OrderController {
             }
 
             return ResponseEntity.ok(updatedOrder);
+        } catch (IllegalStateException e) {
+            // 승인 중이거나 이미 상태가 바뀐 주문
+            return ResponseEntity.status(409).body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(Map.of("message", "주문 취소 중 오류가 발생했습니다."));
         }
     }
 
 // 결제 요청 시작 (토스페이먼츠 결제창으로 리다이렉트 전)
+    // 토스 API 호출은 비동기로 처리되므로 응답을 기다리는 동안 요청 스레드를 점유하지 않음
     @PostMapping("/{orderId}/pay") // 또는 @PostMapping("/prepare-payment") 등으로 별도 엔드포인트 생성 가능
-    public ResponseEntity<?> requestPayment(@PathVariable Integer orderId, HttpSession session) {
-        try {
-            String userId = (String) session.getAttribute("userId");
-            if (userId == null) {
-                return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
-            }
-
-            // 1. 주문 유효성 및 소유자 확인
-            OrderDTO.Response order = orderService.getOrder(orderId);
-            if (order == null) {
-                return ResponseEntity.notFound().build();
-            }
-            if (!order.getUser().getId().equals(userId)) {
-                return ResponseEntity.status(403).body(Map.of("message", "접근 권한이 없습니다."));
-            }
-            // TODO: 주문 상태가 '결제 대기' 등 결제 가능한 상태인지 확인하는 로직 추가
-
-            // 2. 토스페이먼츠 결제 요청 (Service Layer에서 처리)
-            // 이 메서드는 토스페이먼츠에 결제 승인 요청을 보내고,
-            // 결제창 URL과 paymentKey 등의 정보를 반환해야 합니다.
-            Map<String, String> paymentInfo = orderService.requestTossPayment(orderId, userId); // 가상의 메서드
-            return ResponseEntity.ok(paymentInfo); // 프론트엔드에 URL과 paymentKey를 전달
-
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(Map.of("message", "결제 요청 중 오류가 발생했습니다."));
+    public Mono<ResponseEntity<?>> requestPayment(@PathVariable Integer orderId, HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            return Mono.just(ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다.")));
         }
+        // 주문 유효성, 소유자, 결제 가능 상태 확인은 서비스의 결제 준비 단계에서 수행
+        return orderPaymentService.requestTossPayment(orderId, userId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok) // 프론트엔드에 URL과 paymentKey를 전달
+                .onErrorResume(e -> Mono.just(toPaymentErrorResponse(e, "결제 요청 중 오류가 발생했습니다.")));
     }
 
     @PostMapping("/payment/confirm")
-    public ResponseEntity<?> confirmPayment(@RequestBody Map<String, String> payload, HttpSession session) {
-        try {
-            String userId = (String) session.getAttribute("userId");
-            if (userId == null) {
-                return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
-            }
-
-            String paymentKey = payload.get("paymentKey");
-            String orderId = payload.get("orderId");
-            String amountStr = payload.get("amount");
+    public Mono<ResponseEntity<?>> confirmPayment(@RequestBody Map<String, String> payload, HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            return Mono.just(ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다.")));
+        }
 
-            // 유효성 검사
-            if (paymentKey == null || orderId == null || amountStr == null) {
-                return ResponseEntity.badRequest().body(Map.of("message", "필수 결제 정보 누락"));
-            }
+        String paymentKey = payload.get("paymentKey");
+        String orderId = payload.get("orderId");
+        String amountStr = payload.get("amount");
 
-            int amount = Integer.parseInt(amountStr);
+        // 유효성 검사
+        if (paymentKey == null || orderId == null || amountStr == null) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("message", "필수 결제 정보 누락")));
+        }
+        int amount;
+        try {
+            amount = Integer.parseInt(amountStr);
+        } catch (NumberFormatException e) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("message", "결제 금액 형식이 올바르지 않습니다.")));
+        }
 
-            // 결제 승인 (Service 레이어에서 실제 토스 서버에 요청)
-            OrderDTO.Response confirmedOrder = orderService.confirmTossPayment(paymentKey, orderId, amount, userId);
+        // 결제 승인 (Service 레이어에서 실제 토스 서버에 요청)
+        return orderPaymentService.confirmTossPayment(paymentKey, orderId, amount, userId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(toPaymentErrorResponse(e, "결제 승인 중 오류가 발생했습니다.")));
+    }
 
-            return ResponseEntity.ok(confirmedOrder);
-        } catch (IllegalArgumentException e) {
+    private ResponseEntity<?> toPaymentErrorResponse(Throwable e, String defaultMessage) {
+        if (e instanceof IllegalArgumentException) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(Map.of("message", "결제 승인 중 오류가 발생했습니다."));
         }
+        if (e instanceof SecurityException) {
+            return ResponseEntity.status(403).body(Map.of("message", e.getMessage()));
+        }
+        if (e instanceof IllegalStateException) {
+            return ResponseEntity.status(409).body(Map.of("message", e.getMessage()));
+        }
+        if (e instanceof TossPaymentGateway.TossPaymentUnavailableException) {
+            return ResponseEntity.status(503).body(Map.of("message", e.getMessage()));
+        }
+        log.error("토스 결제 처리 중 오류", e);
+        return ResponseEntity.internalServerError().body(Map.of("message", defaultMessage));
     }
 }
@@ -32,10 +32,10 @@ public class ProductCategoryController {
         return ResponseEntity.ok(categories);
     }
 
-    // (필요하다면) 계층적 카테고리 조회 API
-    // @GetMapping("/hierarchical")
-    // public ResponseEntity<List<ProductCategoryDTO.Response>> getAllCategoriesHierarchically() {
-    //     List<ProductCategoryDTO.Response> categories = categoryService.getAllCategoriesHierarchically();
-    //     return ResponseEntity.ok(categories);
-    // }
+    // 계층적 카테고리 조회 (최상위 카테고리의 children에 하위 카테고리가 중첩됨)
+    @GetMapping("/hierarchical")
+    public ResponseEntity<List<ProductCategoryDTO.Response>> getAllCategoriesHierarchically() {
+        List<ProductCategoryDTO.Response> categories = categoryService.getAllCategoriesHierarchically();
+        return ResponseEntity.ok(categories);
+    }
 }
\ No newline at end of file
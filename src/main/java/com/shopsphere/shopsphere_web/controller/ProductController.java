@@ -26,30 +26,82 @@ public class ProductController {
      * 상품 목록을 필터링, 정렬, 페이징하여 조회합니다.
      * 프론트엔드 Middle.js에서 이 API를 호출하도록 합니다.
      *
-     * @param categoryId 카테고리 ID (선택 사항)
+     * @param categoryId 카테고리 ID (하위 카테고리 포함, 선택 사항)
      * @param minPrice 최소 가격 (선택 사항)
      * @param maxPrice 최대 가격 (선택 사항)
      * @param sortOption 정렬 옵션 (기본값: "musinsa_recommend")
-     * @param page 페이지 번호 (0부터 시작, 기본값: 0)
+     * @param page 페이지 번호 (0부터 시작, 기본값: 0, offset 모드에서만 사용)
      * @param size 페이지 당 상품 수 (기본값: 5 또는 프론트엔드가 필요한 개수)
-     * @return 페이징 처리된 상품 목록 (Page<ProductDTO.Response>)
+     * @param pagination 페이지네이션 방식 ("offset": 기존 Page 응답, "cursor": 커서 기반 응답)
+     * @param cursor 이전 응답의 nextCursor 값 (cursor 모드에서 다음 페이지 조회 시 사용)
+     * @param includeFacets true면 offset 모드 응답에 필터별 상품 수(패싯)를 함께 반환
+     * @return offset 모드는 Page<ProductDTO.Response> (includeFacets면 ProductDTO.FacetedPage), cursor 모드는 ProductDTO.CursorPage
      */
     @GetMapping
-    public ResponseEntity<Page<ProductDTO.Response>> getProducts(
+    public ResponseEntity<?> getProducts(
             @RequestParam(name = "categoryId", required = false) Integer categoryId,
             @RequestParam(name = "minPrice", required = false) Integer minPrice,
             @RequestParam(name = "maxPrice", required = false) Integer maxPrice,
             @RequestParam(name = "sort", defaultValue = "musinsa_recommend") String sortOption,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "5") int size) {
+            @RequestParam(name = "size", defaultValue = "5") int size,
+            @RequestParam(name = "pagination", defaultValue = "offset") String pagination,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "facets", defaultValue = "false") boolean includeFacets) {
+
+        // 커서가 전달되면 pagination 값과 관계없이 커서 모드로 처리
+        if ("cursor".equalsIgnoreCase(pagination) || cursor != null) {
+            try {
+                ProductDTO.CursorPage cursorPage = productService.findProductsWithCursor(
+                        categoryId, minPrice, maxPrice, sortOption, cursor, size
+                );
+                return ResponseEntity.ok(cursorPage);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+        }
 
         Pageable pageable = PageRequest.of(page, size);
         Page<ProductDTO.Response> productsPage = productService.findProductsWithFiltersAndSort(
                 categoryId, minPrice, maxPrice, sortOption, pageable
         );
+        if (includeFacets) {
+            ProductDTO.FacetedPage facetedPage = new ProductDTO.FacetedPage();
+            facetedPage.setProducts(productsPage);
+            facetedPage.setFacets(productService.getProductFacets(categoryId, minPrice, maxPrice));
+            return ResponseEntity.ok(facetedPage);
+        }
         return ResponseEntity.ok(productsPage);
     }
 
+    /**
+     * 판매 순위를 조회합니다. 카테고리를 지정하면 하위 카테고리 상품을 포함합니다.
+     *
+     * @param categoryId 카테고리 ID (생략 시 전체 상품)
+     * @param window     all(누적 판매량, 기본값), 24h(최근 24시간), 7d(최근 7일)
+     * @param limit      조회할 순위 수
+     * @return 순위 순서의 상품 목록
+     */
+    @GetMapping("/rankings")
+    public ResponseEntity<?> getRankings(
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(defaultValue = "all") String window,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(productService.getBestsellers(categoryId, window, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 상품 상세 캐시의 통계(크기, 적중/미스 횟수, 적중률, 제거 횟수)를 조회합니다.
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getProductCacheStats() {
+        return ResponseEntity.ok(productService.getProductCacheStats());
+    }
+
     /**
      * 특정 상품의 상세 정보를 조회합니다.
      *
@@ -165,21 +217,33 @@ public class ProductController {
     }
 
     /**
-     * 상품명 또는 카테고리명으로 상품을 검색합니다. (페이징 적용 안됨, 필요시 getProducts로 통합)
+     * 상품명, 설명, 카테고리명으로 상품을 검색합니다.
+     * 상품 목록 조회(getProducts)와 같은 필터/정렬/페이징 파라미터를 지원하며, 같은 조회 경로를 사용합니다.
      * @param keyword 검색어
-     * @param sortOption 정렬 옵션
-     * @return 검색된 상품 목록
+     * @param categoryId 카테고리 ID (하위 카테고리 포함, 선택 사항)
+     * @param minPrice 최소 가격 (선택 사항)
+     * @param maxPrice 최대 가격 (선택 사항)
+     * @param sortOption 정렬 옵션 (기본값: "relevance" - 검색 관련도 순)
+     * @param page 페이지 번호 (0부터 시작, 기본값: 0)
+     * @param size 페이지 당 상품 수 (기본값: 20)
+     * @return 페이징 처리된 검색 결과 (Page<ProductDTO.Response>)
      */
     @GetMapping("/search")
-    public ResponseEntity<List<ProductDTO.Response>> searchProducts(
+    public ResponseEntity<Page<ProductDTO.Response>> searchProducts(
             @RequestParam(name = "keyword", required = false) String keyword,
-            @RequestParam(name = "sort", defaultValue = "musinsa_recommend") String sortOption) {
+            @RequestParam(name = "categoryId", required = false) Integer categoryId,
+            @RequestParam(name = "minPrice", required = false) Integer minPrice,
+            @RequestParam(name = "maxPrice", required = false) Integer maxPrice,
+            @RequestParam(name = "sort", defaultValue = "relevance") String sortOption,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(page, size);
         if (keyword == null || keyword.trim().isEmpty()) {
-            // 키워드가 없으면 빈 리스트 대신 getProducts를 호출하도록 유도하거나,
-            // 별도의 "추천 상품" 로직을 태울 수 있음. 여기서는 빈 리스트 반환.
-            return ResponseEntity.ok(List.of());
+            // 키워드가 없으면 빈 페이지 반환
+            return ResponseEntity.ok(Page.empty(pageable));
         }
-        List<ProductDTO.Response> products = productService.searchProductsByKeyword(keyword.trim(), sortOption);
+        Page<ProductDTO.Response> products = productService.searchProducts(
+                keyword.trim(), categoryId, minPrice, maxPrice, sortOption, pageable);
         return ResponseEntity.ok(products);
     }
-}
\ No newline at end of file
+}
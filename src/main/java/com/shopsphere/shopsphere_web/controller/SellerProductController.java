@@ -2,17 +2,24 @@ package com.shopsphere.shopsphere_web.controller;
 
 import com.shopsphere.shopsphere_web.dto.ProductDTO;
 import com.shopsphere.shopsphere_web.dto.SalesStatisticsDTO;
+import com.shopsphere.shopsphere_web.service.ProductImportService;
 import com.shopsphere.shopsphere_web.service.ProductService;
 import com.shopsphere.shopsphere_web.service.SalesService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -22,6 +29,7 @@ public class SellerProductController {
 
     private final ProductService productService;
     private final SalesService salesService;
+    private final ProductImportService productImportService;
 
     /**
      * 현재 로그인한 판매자가 등록한 모든 상품 목록을 조회합니다. (페이징 미적용, 필요시 getProducts로 통합 고려)
@@ -62,6 +70,92 @@ public class SellerProductController {
         }
     }
 
+    /**
+     * 판매자의 주문 항목 내역을 파일로 내려받습니다. 통계 API와 같은 필터(카테고리, 상품, 기간)를 사용하며,
+     * DB 커서에서 읽는 대로 응답에 쓰므로 내역이 많아도 서버 메모리 사용량이 늘지 않습니다.
+     *
+     * @param format csv(기본) 또는 ndjson
+     * @param gzip   true이면 gzip 압축 파일로 응답
+     */
+    @GetMapping("/sales/export")
+    public ResponseEntity<?> exportSales(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String product,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        if (!"csv".equals(format) && !"ndjson".equals(format)) {
+            return ResponseEntity.badRequest().body("지원하지 않는 형식입니다. (csv, ndjson)");
+        }
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().body("종료일은 시작일보다 빠를 수 없습니다.");
+        }
+
+        StreamingResponseBody body = out -> salesService.exportSalesLines(
+                userId, category, product, startDate, endDate, format, gzip, out);
+
+        String filename = "sales_" + startDate + "_" + endDate + "." + format + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : "csv".equals(format) ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
+
+    /**
+     * CSV 또는 JSON Lines 파일로 상품을 대량 등록합니다. 요청 본문(파일 내용 그대로, multipart 아님)을 임시 파일로 받은 뒤
+     * 백그라운드에서 처리하므로 즉시 202 Accepted와 작업 상태를 반환하며, 진행 상황과 행별 오류는 jobId로 조회합니다.
+     * CSV 헤더: categoryId,name,description,price,stockQuantity,imageUrl,additionalImageUrls,options
+     * (additionalImageUrls는 "|"로 구분, options는 "사이즈:재고[:추가금액]"을 "|"로 구분)
+     *
+     * @param format csv(기본) 또는 ndjson (각 줄이 상품 등록 요청 JSON)
+     */
+    @PostMapping("/products/import")
+    public ResponseEntity<?> importProducts(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request,
+            HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(productImportService.startImport(userId, format, request.getInputStream()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "파일을 받는 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 상품 대량 등록 작업의 진행 상황(처리/등록/실패 행 수, 처리 속도, 행별 오류)을 조회합니다.
+     */
+    @GetMapping("/products/import/{jobId}")
+    public ResponseEntity<?> getImportStatus(@PathVariable String jobId, HttpSession session) {
+        String userId = (String) session.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        try {
+            return ResponseEntity.ok(productImportService.getStatus(userId, jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/products")
     public ResponseEntity<List<ProductDTO.Response>> getMyProducts(HttpSession session) {
         String userId = (String) session.getAttribute("userId");
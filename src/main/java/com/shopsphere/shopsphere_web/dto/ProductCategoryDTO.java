@@ -1,7 +1,9 @@
 package com.shopsphere.shopsphere_web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class ProductCategoryDTO {
@@ -22,5 +24,8 @@ public class ProductCategoryDTO {
         private String name;
         private Response parent;
         private LocalDateTime createdAt;
+        // 계층 조회에서만 채워지는 하위 카테고리 목록 (플랫 조회에서는 응답에서 생략)
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private List<Response> children;
     }
 }
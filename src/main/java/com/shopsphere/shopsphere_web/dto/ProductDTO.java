@@ -1,6 +1,7 @@
 package com.shopsphere.shopsphere_web.dto;
 
 import lombok.Data;
+import org.springframework.data.domain.Page;
 import java.time.LocalDateTime;
 import java.util.List;
 // ProductOptionDTO, ProductImageDTO, ProductCategoryDTO, UserDTO 등 필요한 DTO import
@@ -53,4 +54,41 @@ public class ProductDTO {
         private Long reviewCount;
         private Long interestCount; // 예시 필드
     }
-}
\ No newline at end of file
+
+    // 커서(keyset) 페이지네이션 응답: COUNT 쿼리 없이 다음 페이지 존재 여부와 커서만 제공
+    @Data
+    public static class CursorPage {
+        private List<Response> content;
+        private String nextCursor; // 다음 페이지 요청 시 cursor 파라미터로 전달 (마지막 페이지면 null)
+        private boolean hasNext;
+        private int size;
+    }
+
+    // 상품 목록과 함께 반환하는 필터별 상품 수
+    @Data
+    public static class Facets {
+        private long total;                     // 모든 필터를 적용한 상품 수
+        private List<FacetCount> categories;    // 선택한 카테고리의 하위 카테고리별 (미선택 시 최상위 카테고리별)
+        private List<FacetCount> priceRanges;   // 가격 구간별 (가격 필터는 제외하고 집계)
+        private List<FacetCount> sizes;         // 옵션 사이즈별 (상품 수 내림차순)
+    }
+
+    @Data
+    public static class FacetCount {
+        private String value;  // 카테고리 ID, 가격 구간("10000-30000"), 사이즈 값
+        private String label;
+        private long count;
+
+        public FacetCount(String value, String label, long count) {
+            this.value = value;
+            this.label = label;
+            this.count = count;
+        }
+    }
+
+    @Data
+    public static class FacetedPage {
+        private Page<Response> products;
+        private Facets facets; // 패싯 색인이 아직 구축되지 않았으면 null
+    }
+}
@@ -0,0 +1,37 @@
+package com.shopsphere.shopsphere_web.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ProductImportDTO {
+
+    // 대량 등록 작업의 진행 상태
+    @Data
+    public static class Status {
+        private String jobId;
+        private String state;          // QUEUED, RUNNING, COMPLETED, FAILED
+        private String format;         // csv, ndjson
+        private long processedRows;    // 읽고 검증한 행 수
+        private long importedRows;     // 저장에 성공한 상품 수
+        private long failedRows;       // 검증/저장에 실패한 행 수
+        private double rowsPerSecond;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String message;        // 작업 전체가 실패한 경우의 사유
+        private List<RowError> errors; // 행별 오류 (최대 product.import.max-errors건)
+    }
+
+    @Data
+    public static class RowError {
+        private long line;       // 파일의 줄 번호 (CSV는 헤더가 1번 줄)
+        private String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
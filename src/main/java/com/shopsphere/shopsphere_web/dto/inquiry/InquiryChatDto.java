@@ -2,6 +2,7 @@ package com.shopsphere.shopsphere_web.dto.inquiry;
 
 import com.shopsphere.shopsphere_web.entity.InquiryChat;
 import com.shopsphere.shopsphere_web.entity.User;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @NoArgsConstructor
+@AllArgsConstructor
 public class InquiryChatDto {
     private Long id;
     private Long chatRoomId;
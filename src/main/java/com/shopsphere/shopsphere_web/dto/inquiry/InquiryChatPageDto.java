@@ -0,0 +1,29 @@
+package com.shopsphere.shopsphere_web.dto.inquiry;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 채팅 메시지 커서 페이지.
+ * messages는 항상 메시지 ID 오름차순(오래된 메시지 → 최신 메시지)입니다.
+ */
+@Getter
+@NoArgsConstructor
+public class InquiryChatPageDto {
+    private List<InquiryChatDto> messages;
+    // before/커서 없음: 더 오래된 메시지가 있는지, after: 더 최신 메시지가 있는지
+    private boolean hasMore;
+    // 더 오래된 메시지를 조회할 때 before로 전달할 ID (메시지가 없으면 null)
+    private Long oldestId;
+    // 새 메시지를 조회할 때 after로 전달할 ID (메시지가 없으면 null)
+    private Long newestId;
+
+    public InquiryChatPageDto(List<InquiryChatDto> messages, boolean hasMore) {
+        this.messages = messages;
+        this.hasMore = hasMore;
+        this.oldestId = messages.isEmpty() ? null : messages.get(0).getId();
+        this.newestId = messages.isEmpty() ? null : messages.get(messages.size() - 1).getId();
+    }
+}
@@ -1,6 +1,5 @@
 package com.shopsphere.shopsphere_web.dto.inquiry;
 
-import com.shopsphere.shopsphere_web.entity.InquiryChat;
 import com.shopsphere.shopsphere_web.entity.InquiryChatRoom;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -17,15 +16,18 @@ public class InquiryChatRoomDto {
     private String sellerName;
     private Integer orderItemId;
     private String productName; // 상품 이름
+    private Long lastMessageId; // 마지막 메시지 ID
     private String lastMessage; // 마지막 메시지 내용
     private LocalDateTime lastMessageAt; // 마지막 메시지 시간
+    private Integer unreadCount; // 조회한 사용자가 읽지 않은 메시지 수
     private LocalDateTime createdAt;
 
     public InquiryChatRoomDto(InquiryChatRoom chatRoom) {
         this(chatRoom, null);
     }
 
-    public InquiryChatRoomDto(InquiryChatRoom chatRoom, InquiryChat lastChat) {
+    // viewerId가 있으면 해당 사용자의 읽지 않은 메시지 수를 포함
+    public InquiryChatRoomDto(InquiryChatRoom chatRoom, String viewerId) {
         this.id = chatRoom.getId();
         this.buyerId = chatRoom.getBuyer().getId();
         this.buyerName = chatRoom.getBuyer().getName();
@@ -35,8 +37,10 @@ public class InquiryChatRoomDto {
         this.productName = chatRoom.getOrderItem() != null && chatRoom.getOrderItem().getProduct() != null 
             ? chatRoom.getOrderItem().getProduct().getName() 
             : null;
-        this.lastMessage = lastChat != null ? lastChat.getMessage() : null;
-        this.lastMessageAt = lastChat != null ? lastChat.getSentAt() : null;
+        this.lastMessageId = chatRoom.getLastMessageId();
+        this.lastMessage = chatRoom.getLastMessage();
+        this.lastMessageAt = chatRoom.getLastMessageAt();
+        this.unreadCount = viewerId != null ? chatRoom.getUnreadCountFor(viewerId) : null;
         this.createdAt = chatRoom.getCreatedAt();
     }
 }
@@ -0,0 +1,21 @@
+package com.shopsphere.shopsphere_web.dto.inquiry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방 읽지 않은 메시지 수 알림 (WebSocket /user/queue/inquiry-chat-unread로 전송).
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InquiryChatUnreadDto {
+    private Long chatRoomId;
+    private int unreadCount;
+    private Long lastMessageId;
+    private String lastMessage;
+    private LocalDateTime lastMessageAt;
+}
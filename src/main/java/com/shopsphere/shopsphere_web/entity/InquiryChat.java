@@ -16,7 +16,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "inquiry_chat")
+// 채팅방별 메시지 ID 커서 조회(이전/이후 페이지, 최근 N개)를 인덱스 순서로 읽기 위한 복합 인덱스
+@Table(name = "inquiry_chat", indexes = {
+        @Index(name = "idx_inquiry_chat_room_id", columnList = "inquiry_chat_room_id, inquiry_chat_id")
+})
 public class InquiryChat {
 
     @Id
@@ -10,7 +10,11 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @NoArgsConstructor
-@Table(name = "inquiry_chat_room")
+// 사용자별 채팅방 목록(구매자 또는 판매자, 최근 메시지 순)을 인덱스로 읽기 위한 인덱스
+@Table(name = "inquiry_chat_room", indexes = {
+        @Index(name = "idx_inquiry_chat_room_buyer", columnList = "buyer_id, last_message_id"),
+        @Index(name = "idx_inquiry_chat_room_seller", columnList = "seller_id, last_message_id")
+})
 public class InquiryChatRoom {
 
     @Id
@@ -33,6 +37,32 @@ public class InquiryChatRoom {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // 채팅방 목록에 보여줄 마지막 메시지 미리보기 최대 길이 (초과분은 잘라서 저장)
+    public static final int LAST_MESSAGE_PREVIEW_LENGTH = 2000;
+
+    // 마지막 메시지 비정규화 (메시지 저장 배치에서 갱신, InquiryChatWriteBehind)
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message", length = LAST_MESSAGE_PREVIEW_LENGTH)
+    private String lastMessage;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    // 참여자별 마지막으로 읽은 메시지 ID와 그 이후 상대방이 보낸 메시지 수 (읽음 처리/메시지 저장 시 SQL로 갱신)
+    @Column(name = "buyer_last_read_id")
+    private Long buyerLastReadId;
+
+    @Column(name = "seller_last_read_id")
+    private Long sellerLastReadId;
+
+    @Column(name = "buyer_unread_count", nullable = false)
+    private int buyerUnreadCount = 0;
+
+    @Column(name = "seller_unread_count", nullable = false)
+    private int sellerUnreadCount = 0;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -67,4 +97,15 @@ public class InquiryChatRoom {
     public OrderItem getOrderItem() {
         return orderItem;
     }
+
+    // 사용자가 읽지 않은 메시지 수 (참여자가 아니면 0)
+    public int getUnreadCountFor(String userId) {
+        if (userId == null) {
+            return 0;
+        }
+        if (userId.equals(getBuyerId())) {
+            return buyerUnreadCount;
+        }
+        return userId.equals(getSellerId()) ? sellerUnreadCount : 0;
+    }
 }
\ No newline at end of file
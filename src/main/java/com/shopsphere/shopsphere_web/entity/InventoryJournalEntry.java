@@ -0,0 +1,46 @@
+package com.shopsphere.shopsphere_web.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 인메모리 재고 원장(inventory.reservation-mode=ledger)의 재고 변경 저널.
+ * 주문 트랜잭션 안에서 함께 기록되므로 주문이 커밋되면 저널도 반드시 남고, 롤백되면 함께 사라집니다.
+ * InventoryLedger가 주기적으로 상품/옵션 재고에 반영한 뒤 같은 트랜잭션에서 삭제합니다.
+ */
+@Entity
+@Table(name = "inventory_journal", indexes = {
+        @Index(name = "idx_inventory_journal_product", columnList = "product_id, option_id"),
+        @Index(name = "idx_inventory_journal_option", columnList = "option_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryJournalEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    // 옵션 재고 변경이면 옵션 ID, 상품 재고/판매량 변경이면 null
+    @Column(name = "option_id")
+    private Integer optionId;
+
+    // 재고 증감량 (차감: 음수, 복원: 양수)
+    @Column(name = "quantity_delta", nullable = false)
+    private Integer quantityDelta;
+
+    // 판매량 증감량 (option_id가 null인 행에서만 사용)
+    @Column(name = "sales_delta", nullable = false)
+    private Integer salesDelta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
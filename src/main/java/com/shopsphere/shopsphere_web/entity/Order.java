@@ -7,7 +7,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")     // maridb 예약어랑 orders 로 바꿈
+@Table(name = "orders", indexes = {     // maridb 예약어랑 orders 로 바꿈
+        // 결제 대기 주문의 재고 예약 만료 스캔용 (상태 + 만료 시각 범위 조회)
+        @Index(name = "idx_orders_status_reservation_expires", columnList = "order_status, reservation_expires_at"),
+        // 결과를 알 수 없는 승인 중(CONFIRMING) 주문 복구 스캔용
+        @Index(name = "idx_orders_status_confirmation_started", columnList = "order_status, confirmation_started_at"),
+        // 결제 승인 상태 전이(조건부 UPDATE)와 중복 승인 요청 조회용
+        @Index(name = "idx_orders_transaction_id", columnList = "transaction_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -47,6 +54,14 @@ public class Order {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // 결제 대기 중 재고 예약 만료 시각 (이 시각까지 결제 승인이 없으면 주문을 EXPIRED 처리하고 재고 복원)
+    @Column(name = "reservation_expires_at")
+    private LocalDateTime reservationExpiresAt;
+
+    // 결제 승인(CONFIRMING)을 시작한 시각. 오래 머문 승인 중 주문을 토스 조회로 복구할 때 기준으로 사용
+    @Column(name = "confirmation_started_at")
+    private LocalDateTime confirmationStartedAt;
+
     @Builder.Default
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
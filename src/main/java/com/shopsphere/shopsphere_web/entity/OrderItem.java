@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "order_item")
+@Table(name = "order_item", indexes = {
+        // 판매 통계 직접 집계용 (판매자 상품별 기간 조회)
+        @Index(name = "idx_order_item_product_created_at", columnList = "product_id, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
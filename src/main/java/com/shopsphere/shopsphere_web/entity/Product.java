@@ -7,7 +7,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "product")
+// 목록 정렬(정렬 키 + product_id 보조 키)과 카테고리 필터 + 정렬 조합을 인덱스 순서로 읽기 위한 복합 인덱스
+// (DESC 정렬은 보조 키도 DESC로 정렬해 인덱스를 역방향으로 읽음)
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_sales_volume_id", columnList = "sales_volume, product_id"),
+        @Index(name = "idx_product_created_at_id", columnList = "created_at, product_id"),
+        @Index(name = "idx_product_price_id", columnList = "price, product_id"),
+        @Index(name = "idx_product_category_sales_volume_id", columnList = "category_id, sales_volume, product_id"),
+        @Index(name = "idx_product_category_created_at_id", columnList = "category_id, created_at, product_id"),
+        @Index(name = "idx_product_category_price_id", columnList = "category_id, price, product_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -63,4 +72,21 @@ public class Product {
     @ManyToOne(fetch = FetchType.LAZY) // LAZY 로딩 유지
     @JoinColumn(name = "seller_id", nullable = true)
     private User seller;
+
+    // 리뷰 집계 값 (ReviewService에서 리뷰 작성/수정/삭제 시 증분 갱신, ReviewAggregateReconciler가 주기적으로 재계산)
+    @Builder.Default
+    @Column(name = "review_count", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer reviewCount = 0;
+
+    @Builder.Default
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long ratingSum = 0L;
+
+    // 리뷰 집계 값으로 계산한 평균 평점 (리뷰가 없으면 0.0)
+    public Double getAverageRating() {
+        if (reviewCount == null || reviewCount <= 0 || ratingSum == null) {
+            return 0.0;
+        }
+        return (double) ratingSum / reviewCount;
+    }
 }
\ No newline at end of file
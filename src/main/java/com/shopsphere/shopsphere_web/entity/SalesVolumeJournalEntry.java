@@ -0,0 +1,37 @@
+package com.shopsphere.shopsphere_web.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품 판매량(product.sales_volume) 변경 저널.
+ * 주문 트랜잭션에서는 이 테이블에 INSERT만 하므로 인기 상품의 product 행을 잠그지 않고,
+ * SalesVolumeJournal이 주기적으로 상품별 합계를 sales_volume에 반영한 뒤 같은 트랜잭션에서 삭제합니다.
+ */
+@Entity
+@Table(name = "sales_volume_journal", indexes = {
+        @Index(name = "idx_sales_volume_journal_product", columnList = "product_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesVolumeJournalEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    // 판매량 증감량 (주문: 양수, 취소/만료: 음수)
+    @Column(name = "sales_delta", nullable = false)
+    private Integer salesDelta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.shopsphere.shopsphere_web.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 판매자별 일별 주문 수 집계.
+ * 한 주문에 같은 판매자의 상품이 여러 개 있어도 한 번만 세므로, 필터 없는 통계의 주문 건수는 이 테이블을 사용합니다.
+ */
+@Entity
+@Table(name = "seller_order_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_seller_order_daily", columnNames = {"seller_id", "sales_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SellerOrderDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private String sellerId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "order_count", nullable = false)
+    private Integer orderCount;
+}
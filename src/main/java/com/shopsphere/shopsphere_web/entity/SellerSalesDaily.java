@@ -0,0 +1,51 @@
+package com.shopsphere.shopsphere_web.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 판매자 매출 일별 집계 (판매자, 판매일, 상품 단위).
+ * 주문 결제 완료 시 더하고 결제 완료 주문이 취소되면 빼는 방식으로 증분 갱신됩니다.
+ * 판매일은 주문 항목 생성일 기준이며, 카테고리는 판매 시점의 상품 카테고리입니다.
+ */
+@Entity
+@Table(name = "seller_sales_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_seller_sales_daily", columnNames = {"seller_id", "sales_date", "product_id"}),
+        indexes = @Index(name = "idx_seller_sales_daily_category", columnList = "seller_id, category_id, sales_date"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SellerSalesDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private String sellerId;
+
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    @Column(name = "product_id", nullable = false)
+    private Integer productId;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    // 매출액 (가격 * 수량 합계)
+    @Column(nullable = false)
+    private Long revenue;
+
+    // 판매 수량
+    @Column(nullable = false)
+    private Integer units;
+
+    // 이 상품이 포함된 주문 수
+    @Column(name = "order_count", nullable = false)
+    private Integer orderCount;
+}
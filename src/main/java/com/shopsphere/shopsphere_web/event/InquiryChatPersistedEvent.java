@@ -0,0 +1,17 @@
+package com.shopsphere.shopsphere_web.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * 지연 저장된 채팅 메시지 배치가 커밋되었음을 알리는 애플리케이션 이벤트.
+ * 채팅방의 마지막 메시지와 읽지 않은 메시지 수가 갱신되었으므로 참여자에게 알림을 보내는 데 사용됩니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class InquiryChatPersistedEvent {
+
+    private final Set<Long> chatRoomIds;
+}
@@ -0,0 +1,15 @@
+package com.shopsphere.shopsphere_web.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 문의 채팅방이 삭제되었거나 구매자/판매자가 바뀌었음을 알리는 애플리케이션 이벤트.
+ * 커밋 이후 채팅방 참여자 캐시(InquiryChatMembershipCache)에서 해당 채팅방이 무효화됩니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class InquiryChatRoomChangedEvent {
+
+    private final Long chatRoomId;
+}
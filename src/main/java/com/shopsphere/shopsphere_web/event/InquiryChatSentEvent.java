@@ -0,0 +1,16 @@
+package com.shopsphere.shopsphere_web.event;
+
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 문의 채팅 메시지가 접수되었음(ID 발급, 저장 예약)을 알리는 애플리케이션 이벤트.
+ * 채팅방 최근 메시지 버퍼(InquiryChatHistoryBuffer)가 이 이벤트로 갱신됩니다. DB 저장은 InquiryChatWriteBehind가 나중에 처리합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class InquiryChatSentEvent {
+
+    private final InquiryChatDto message;
+}
@@ -0,0 +1,37 @@
+package com.shopsphere.shopsphere_web.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 생성(판매량 증가) 또는 주문 취소/만료(판매량 감소)를 상품별 수량과 함께 알리는 애플리케이션 이벤트.
+ * 트랜잭션 커밋 이후 판매 순위(BestsellerRanking)가 이 이벤트로 갱신됩니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class OrderSalesEvent {
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Line {
+        private final Integer productId;
+        private final int quantity;
+    }
+
+    private final List<Line> lines;
+    // 주문 시각 (취소 시에도 원래 주문 시각을 사용해 시간 감쇠 점수를 정확히 되돌림)
+    private final LocalDateTime orderedAt;
+    // 주문 생성이면 true, 취소/만료면 false
+    private final boolean placed;
+
+    public static OrderSalesEvent placed(List<Line> lines, LocalDateTime orderedAt) {
+        return new OrderSalesEvent(List.copyOf(lines), orderedAt, true);
+    }
+
+    public static OrderSalesEvent cancelled(List<Line> lines, LocalDateTime orderedAt) {
+        return new OrderSalesEvent(List.copyOf(lines), orderedAt, false);
+    }
+}
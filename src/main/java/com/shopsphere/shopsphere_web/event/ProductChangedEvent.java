@@ -0,0 +1,35 @@
+package com.shopsphere.shopsphere_web.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 상품 데이터가 변경되었음을 알리는 애플리케이션 이벤트.
+ * 트랜잭션 커밋 이후 검색 인덱스 등 상품 데이터를 복제해 두는 컴포넌트가 이 이벤트로 동기화합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STOCK,   // 주문/취소로 재고·판매량 변경
+        REVIEW,  // 리뷰 작성/수정/삭제로 리뷰 집계 변경
+        IMAGE    // 상품 이미지 업로드/삭제
+    }
+
+    private final List<Integer> productIds;
+    private final ChangeType changeType;
+
+    public static ProductChangedEvent of(List<Integer> productIds, ChangeType changeType) {
+        return new ProductChangedEvent(List.copyOf(productIds), changeType);
+    }
+
+    public static ProductChangedEvent of(Integer productId, ChangeType changeType) {
+        return new ProductChangedEvent(List.of(productId), changeType);
+    }
+}
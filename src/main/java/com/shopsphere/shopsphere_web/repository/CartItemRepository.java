@@ -1,9 +1,12 @@
 package com.shopsphere.shopsphere_web.repository;
 
 import com.shopsphere.shopsphere_web.entity.CartItem;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.List;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Integer> {
+    // 장바구니 응답 조립 시 항목별 상품/옵션 조회(N+1)를 막기 위해 함께 로딩
+    @EntityGraph(attributePaths = {"product", "productOption"})
     List<CartItem> findByCart_Id(Integer cartId);
 }
@@ -1,6 +1,7 @@
 package com.shopsphere.shopsphere_web.repository;
 
 import com.shopsphere.shopsphere_web.entity.InquiryChat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +13,22 @@ public interface InquiryChatRepository extends JpaRepository<InquiryChat, Long>
     @Query("SELECT c FROM InquiryChat c WHERE c.chatRoom.id = :chatRoomId ORDER BY c.sentAt ASC")
     List<InquiryChat> findByChatRoomIdOrderBySentAtAsc(@Param("chatRoomId") Long chatRoomId);
     
+    // 커서 조회: 채팅방의 최근 메시지 (ID 내림차순, 개수는 Pageable로 제한)
+    @Query("SELECT c FROM InquiryChat c JOIN FETCH c.sender WHERE c.chatRoom.id = :chatRoomId ORDER BY c.id DESC")
+    List<InquiryChat> findLatestByChatRoomId(@Param("chatRoomId") Long chatRoomId, Pageable pageable);
+
+    // 커서 조회: beforeId보다 오래된 메시지 (ID 내림차순)
+    @Query("SELECT c FROM InquiryChat c JOIN FETCH c.sender WHERE c.chatRoom.id = :chatRoomId AND c.id < :beforeId ORDER BY c.id DESC")
+    List<InquiryChat> findByChatRoomIdBefore(@Param("chatRoomId") Long chatRoomId,
+                                             @Param("beforeId") Long beforeId,
+                                             Pageable pageable);
+
+    // 커서 조회: afterId보다 최신 메시지 (ID 오름차순)
+    @Query("SELECT c FROM InquiryChat c JOIN FETCH c.sender WHERE c.chatRoom.id = :chatRoomId AND c.id > :afterId ORDER BY c.id ASC")
+    List<InquiryChat> findByChatRoomIdAfter(@Param("chatRoomId") Long chatRoomId,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
     // 채팅방 ID와 메시지 ID로 특정 메시지 이후의 메시지들 조회 (최신 메시지 순으로 정렬)
     @Query("SELECT c FROM InquiryChat c WHERE c.chatRoom.id = :chatRoomId AND c.id > :lastMessageId ORDER BY c.sentAt ASC")
     List<InquiryChat> findByChatRoomIdAndIdGreaterThanOrderBySentAtAsc(
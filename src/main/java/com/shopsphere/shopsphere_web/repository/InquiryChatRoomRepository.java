@@ -17,6 +17,17 @@ public interface InquiryChatRoomRepository extends JpaRepository<InquiryChatRoom
         @Param("orderItemId") Integer orderItemId
     );
     
+    // 메시지 전송 시 권한 확인과 발신자 정보를 한 번의 쿼리로 얻기 위해 구매자/판매자를 함께 조회
+    @Query("SELECT r FROM InquiryChatRoom r JOIN FETCH r.buyer JOIN FETCH r.seller WHERE r.id = :chatRoomId")
+    Optional<InquiryChatRoom> findByIdWithParticipants(@Param("chatRoomId") Long chatRoomId);
+
+    // 사용자가 구매자 또는 판매자인 모든 채팅방을 목록 표시에 필요한 연관과 함께 한 번에 조회 (최근 메시지 순)
+    @Query("SELECT r FROM InquiryChatRoom r JOIN FETCH r.buyer JOIN FETCH r.seller " +
+           "JOIN FETCH r.orderItem oi JOIN FETCH oi.product " +
+           "WHERE r.buyer.id = :userId OR r.seller.id = :userId " +
+           "ORDER BY r.lastMessageId DESC, r.id DESC")
+    List<InquiryChatRoom> findByParticipantId(@Param("userId") String userId);
+
     // 구매자 ID로 모든 채팅방 조회
     @Query("SELECT r FROM InquiryChatRoom r WHERE r.buyer.id = :buyerId")
     List<InquiryChatRoom> findByBuyerId(@Param("buyerId") String buyerId);
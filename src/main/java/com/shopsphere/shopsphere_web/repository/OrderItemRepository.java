@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Integer> {
@@ -31,36 +32,84 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Integer> {
             "JOIN FETCH oi.product p " +
             "WHERE p.id IN :productIds " +
             "AND oi.createdAt BETWEEN :startDate AND :endDate " +
-            "AND (:category IS NULL OR :category = '' OR CAST(p.category AS string) = :category)")
+            "AND (:categoryId IS NULL OR p.category.id = :categoryId)")
     List<OrderItem> findByProductIdInAndCreatedAtBetweenAndCategory(
             @Param("productIds") List<Integer> productIds,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
-            @Param("category") String category);
+            @Param("categoryId") Integer categoryId);
 
     @Query("SELECT oi FROM OrderItem oi " +
             "JOIN FETCH oi.product p " +
             "WHERE p.id IN :productIds " +
             "AND oi.createdAt BETWEEN :startDate AND :endDate " +
-            "AND (:category IS NULL OR :category = '' OR CAST(p.category AS string) = :category) " +
+            "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
             "AND (:productId IS NULL OR p.id = :productId)")
     List<OrderItem> findByProductIdInAndCreatedAtBetweenAndCategoryAndProductId(
             @Param("productIds") List<Integer> productIds,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
-            @Param("category") String category,
+            @Param("categoryId") Integer categoryId,
             @Param("productId") Integer productId);
 
     @Query("SELECT oi FROM OrderItem oi " +
             "JOIN FETCH oi.product p " +
             "WHERE (:productId IS NULL OR p.id = :productId) " +
             "AND oi.createdAt BETWEEN :startDate AND :endDate " +
-            "AND (:category IS NULL OR :category = '' OR CAST(p.category AS string) = :category) " +
+            "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
             "AND p.user.id = :userId")
     List<OrderItem> findSalesData(
             @Param("userId") String userId,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate,
-            @Param("category") String category,
+            @Param("categoryId") Integer categoryId,
             @Param("productId") Integer productId);
+
+    /*
+     * 판매 통계용 집계 쿼리 (sales.statistics.source=order-items)
+     * 엔티티를 로딩하지 않고 DB에서 GROUP BY한 결과만 반환합니다. 결제 완료 상태의 주문만 집계합니다.
+     */
+
+    @Query("SELECT CAST(oi.createdAt AS LocalDate) AS salesDate, SUM(CAST(oi.price AS Long) * oi.quantity) AS revenue, " +
+            "SUM(oi.quantity) AS units, COUNT(DISTINCT oi.order.id) AS orderCount " +
+            "FROM OrderItem oi JOIN oi.product p JOIN oi.order o " +
+            "WHERE p.user.id = :sellerId AND oi.createdAt >= :startDate AND oi.createdAt < :endDate " +
+            "AND o.orderStatus IN :statuses " +
+            "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
+            "AND (:productId IS NULL OR p.id = :productId) " +
+            "GROUP BY CAST(oi.createdAt AS LocalDate)")
+    List<SalesAggregates.DailyTotal> findDailySalesTotals(@Param("sellerId") String sellerId,
+                                                          @Param("startDate") LocalDateTime startDate,
+                                                          @Param("endDate") LocalDateTime endDate,
+                                                          @Param("statuses") Collection<String> statuses,
+                                                          @Param("categoryId") Integer categoryId,
+                                                          @Param("productId") Integer productId);
+
+    @Query("SELECT p.id AS productId, SUM(CAST(oi.price AS Long) * oi.quantity) AS revenue " +
+            "FROM OrderItem oi JOIN oi.product p JOIN oi.order o " +
+            "WHERE p.user.id = :sellerId AND oi.createdAt >= :startDate AND oi.createdAt < :endDate " +
+            "AND o.orderStatus IN :statuses " +
+            "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
+            "AND (:productId IS NULL OR p.id = :productId) " +
+            "GROUP BY p.id")
+    List<SalesAggregates.ProductTotal> findProductSalesTotals(@Param("sellerId") String sellerId,
+                                                              @Param("startDate") LocalDateTime startDate,
+                                                              @Param("endDate") LocalDateTime endDate,
+                                                              @Param("statuses") Collection<String> statuses,
+                                                              @Param("categoryId") Integer categoryId,
+                                                              @Param("productId") Integer productId);
+
+    @Query("SELECT p.category.id AS categoryId, SUM(CAST(oi.price AS Long) * oi.quantity) AS revenue " +
+            "FROM OrderItem oi JOIN oi.product p JOIN oi.order o " +
+            "WHERE p.user.id = :sellerId AND oi.createdAt >= :startDate AND oi.createdAt < :endDate " +
+            "AND o.orderStatus IN :statuses " +
+            "AND (:categoryId IS NULL OR p.category.id = :categoryId) " +
+            "AND (:productId IS NULL OR p.id = :productId) " +
+            "GROUP BY p.category.id")
+    List<SalesAggregates.CategoryTotal> findCategorySalesTotals(@Param("sellerId") String sellerId,
+                                                                @Param("startDate") LocalDateTime startDate,
+                                                                @Param("endDate") LocalDateTime endDate,
+                                                                @Param("statuses") Collection<String> statuses,
+                                                                @Param("categoryId") Integer categoryId,
+                                                                @Param("productId") Integer productId);
 }
@@ -2,10 +2,14 @@
 package com.shopsphere.shopsphere_web.repository;
 
 import com.shopsphere.shopsphere_web.entity.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,7 +33,7 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
     /**
      * transactionId(토스페이먼츠용 주문 ID)를 사용하여 특정 주문 하나를
      * 관련 엔티티와 함께 한 번의 쿼리로 가져옵니다.
-     * 결제 승인(confirmTossPayment) 시 사용됩니다.
+     * 결제 승인 결과를 응답으로 변환할 때 사용됩니다.
      */
     @Query("SELECT o FROM Order o " +
             "JOIN FETCH o.user u " +
@@ -40,6 +44,18 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
             "WHERE o.transactionId = :transactionId")
     Optional<Order> findByTransactionIdWithDetails(@Param("transactionId") String transactionId);
 
+    /**
+     * 주문 ID로 주문 하나를 주문 항목/상품/옵션과 함께 한 번의 쿼리로 가져옵니다.
+     * 주문 상세 조회(getOrder) 시 사용됩니다.
+     */
+    @Query("SELECT o FROM Order o " +
+            "JOIN FETCH o.user u " +
+            "LEFT JOIN FETCH o.orderItems oi " +
+            "LEFT JOIN FETCH oi.product p " +
+            "LEFT JOIN FETCH oi.productOption " +
+            "WHERE o.id = :orderId")
+    Optional<Order> findByIdWithDetails(@Param("orderId") Integer orderId);
+
     /**
      * 결제 승인 로직의 검증 단계에서만 사용됩니다.
      * 불필요한 join 없이 빠르게 주문 존재 여부만 확인합니다.
@@ -53,4 +69,70 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
      */
     List<Order> findByUser_Id(String userId);
 
+    /**
+     * 재고 예약이 만료된 주문 ID를 만료 시각 순으로 조회합니다.
+     * (order_status, reservation_expires_at) 인덱스 범위만 읽으므로 결제 대기 주문이 많아도 전체 테이블을 스캔하지 않습니다.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.orderStatus IN :statuses AND o.reservationExpiresAt <= :now " +
+            "ORDER BY o.reservationExpiresAt ASC")
+    List<Integer> findExpiredReservationIds(@Param("statuses") Collection<String> statuses,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    /**
+     * 주문 상태를 조건부로 변경합니다. (현재 상태가 expectedStatus일 때만 변경, 변경된 행 수 반환)
+     * 취소/만료/결제 승인이 동시에 일어나도 재고 복원이 한 번만 실행되도록 상태 전이에 사용합니다.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :newStatus WHERE o.id = :orderId AND o.orderStatus = :expectedStatus")
+    int compareAndSetStatus(@Param("orderId") Integer orderId,
+                            @Param("expectedStatus") String expectedStatus,
+                            @Param("newStatus") String newStatus);
+
+    // 예약 만료 처리: 결제 대기 상태이고 만료 시각이 지난 경우에만 EXPIRED로 변경
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = 'EXPIRED' " +
+            "WHERE o.id = :orderId AND o.orderStatus IN :statuses AND o.reservationExpiresAt <= :now")
+    int expireReservation(@Param("orderId") Integer orderId,
+                          @Param("statuses") Collection<String> statuses,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * 결제 승인 시작: 결제 대기/실패 상태이고 만료 전이며 주문자와 금액이 일치하는 주문만 CONFIRMING으로 전이합니다.
+     * 변경된 행이 1이면 이 요청이 토스 승인 API를 호출할 권한을 얻은 것이고, 0이면 중복 요청이거나 승인 불가 상태입니다.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = 'CONFIRMING', o.paymentKey = :paymentKey, o.confirmationStartedAt = :now " +
+            "WHERE o.transactionId = :transactionId AND o.user.id = :userId AND o.totalAmount = :amount " +
+            "AND o.orderStatus IN :statuses AND (o.reservationExpiresAt IS NULL OR o.reservationExpiresAt > :now)")
+    int beginPaymentConfirmation(@Param("transactionId") String transactionId,
+                                 @Param("paymentKey") String paymentKey,
+                                 @Param("userId") String userId,
+                                 @Param("amount") Integer amount,
+                                 @Param("statuses") Collection<String> statuses,
+                                 @Param("now") LocalDateTime now);
+
+    /**
+     * 승인을 시작한 지 오래되었는데 아직 CONFIRMING인 주문을 조회합니다.
+     * 승인 API 응답을 받지 못했거나(타임아웃) 응답 처리 전에 서버가 종료된 주문으로, 토스 결제 조회로 결과를 확정합니다.
+     */
+    @Query("SELECT o FROM Order o WHERE o.orderStatus = 'CONFIRMING' " +
+            "AND (o.confirmationStartedAt IS NULL OR o.confirmationStartedAt <= :startedBefore) " +
+            "ORDER BY o.confirmationStartedAt ASC")
+    List<Order> findStaleConfirmations(@Param("startedBefore") LocalDateTime startedBefore, Pageable pageable);
+
+    // 결제 승인 성공: 같은 paymentKey로 승인 중(CONFIRMING)인 주문만 COMPLETED로 전이
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = 'COMPLETED', o.paymentMethod = :paymentMethod, o.reservationExpiresAt = NULL " +
+            "WHERE o.transactionId = :transactionId AND o.paymentKey = :paymentKey AND o.orderStatus = 'CONFIRMING'")
+    int completePaymentConfirmation(@Param("transactionId") String transactionId,
+                                    @Param("paymentKey") String paymentKey,
+                                    @Param("paymentMethod") String paymentMethod);
+
+    // 결제 승인 실패: 승인 중(CONFIRMING)인 주문을 PAYMENT_FAILED로 되돌려 재시도/예약 만료 대상이 되게 함
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = 'PAYMENT_FAILED' " +
+            "WHERE o.transactionId = :transactionId AND o.paymentKey = :paymentKey AND o.orderStatus = 'CONFIRMING'")
+    int failPaymentConfirmation(@Param("transactionId") String transactionId,
+                                @Param("paymentKey") String paymentKey);
 }
@@ -2,8 +2,16 @@ package com.shopsphere.shopsphere_web.repository;
 
 import com.shopsphere.shopsphere_web.entity.ProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
     List<ProductImage> findByProductIdOrderByDisplayOrderAsc(Integer productId);
+
+    // 여러 상품의 이미지를 한 번에 조회 (목록 조회 시 N+1 방지)
+    @Query("SELECT pi FROM ProductImage pi WHERE pi.product.id IN :productIds ORDER BY pi.product.id ASC, pi.displayOrder ASC")
+    List<ProductImage> findByProductIdIn(@Param("productIds") Collection<Integer> productIds);
 }
\ No newline at end of file
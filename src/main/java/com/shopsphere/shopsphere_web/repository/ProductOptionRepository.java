@@ -11,11 +11,36 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductOptionRepository extends JpaRepository<ProductOption, Integer> {
     List<ProductOption> findByProduct_Id(Integer productId);
 
+    // 여러 상품의 옵션을 한 번에 조회 (목록 조회 시 N+1 방지)
+    @Query("SELECT po FROM ProductOption po WHERE po.product.id IN :productIds ORDER BY po.product.id ASC, po.id ASC")
+    List<ProductOption> findByProductIdIn(@Param("productIds") Collection<Integer> productIds);
+
+    // 패싯 색인용: 여러 상품의 옵션 사이즈만 조회
+    @Query("SELECT po.product.id AS productId, po.size AS size FROM ProductOption po WHERE po.product.id IN :productIds")
+    List<OptionSize> findSizesByProductIdIn(@Param("productIds") Collection<Integer> productIds);
+
+    // 재고 부족 메시지용: "상품명 - 사이즈" 표시명만 조회
+    @Query("SELECT CONCAT(po.product.name, ' - ', po.size) FROM ProductOption po WHERE po.id = :optionId")
+    Optional<String> findLabelById(@Param("optionId") Integer optionId);
+
+    // 옵션 재고 조건부 차감 (해당 상품의 옵션이 아니거나 재고가 부족하면 0건 갱신)
+    @Modifying
+    @Query("UPDATE ProductOption po SET po.stockQuantity = po.stockQuantity - :quantity " +
+            "WHERE po.id = :optionId AND po.product.id = :productId AND po.stockQuantity >= :quantity")
+    int reserveStock(@Param("optionId") Integer optionId,
+                     @Param("productId") Integer productId,
+                     @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE ProductOption po SET po.stockQuantity = po.stockQuantity + :quantity WHERE po.id = :optionId")
+    int releaseStock(@Param("optionId") Integer optionId, @Param("quantity") int quantity);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT po FROM ProductOption po WHERE po.id = :id")
     Optional<ProductOption> findByIdForUpdate(@Param("id") Integer id);
@@ -25,4 +50,8 @@ public interface ProductOptionRepository extends JpaRepository<ProductOption, In
     @Query("DELETE FROM ProductOption po WHERE po.product.id = :productId")
     void deleteByProductId(@Param("productId") Integer productId);
 
+    interface OptionSize {
+        Integer getProductId();
+        String getSize();
+    }
 }
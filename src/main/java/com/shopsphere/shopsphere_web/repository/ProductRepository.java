@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,10 +31,11 @@ public interface ProductRepository extends JpaRepository<Product, Integer>, JpaS
     List<Product> findByUserId(String userId);
 
     // 기존 메소드들
-    @EntityGraph(attributePaths = {"category", "user", "images"}) // 목록 조회에도 EntityGraph 적용 예시
+    // 이미지/옵션은 ProductService.convertToResponses에서 IN 쿼리로 일괄 조회하므로 컬렉션 fetch join은 하지 않음
+    @EntityGraph(attributePaths = {"category", "user"})
     List<Product> findByCategory_Id(Integer categoryId);
 
-    @EntityGraph(attributePaths = {"category", "user", "images"})
+    @EntityGraph(attributePaths = {"category", "user"})
     List<Product> findByUser_Id(String userId);
 
     List<Product> findByNameContainingIgnoreCase(String keyword);
@@ -44,4 +46,84 @@ public interface ProductRepository extends JpaRepository<Product, Integer>, JpaS
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdForUpdate(@Param("id") Integer id);
+
+    // 재고 조건부 차감 (재고가 부족하면 0건 갱신). 판매량은 SalesVolumeJournal이 주문 트랜잭션 밖에서 반영
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity " +
+            "WHERE p.id = :productId AND p.stockQuantity >= :quantity")
+    int reserveStock(@Param("productId") Integer productId,
+                     @Param("quantity") int quantity);
+
+    // 주문 취소 시 재고 복원
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity WHERE p.id = :productId")
+    int releaseStock(@Param("productId") Integer productId,
+                     @Param("quantity") int quantity);
+
+    // 리뷰 집계 컬럼을 단일 UPDATE로 원자적으로 증감
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.reviewCount = p.reviewCount + :countDelta, p.ratingSum = p.ratingSum + :ratingDelta WHERE p.id = :productId")
+    int applyReviewDelta(@Param("productId") Integer productId,
+                         @Param("countDelta") int countDelta,
+                         @Param("ratingDelta") long ratingDelta);
+
+    // 재고 부족 메시지용: 상품명만 조회 (findById의 EntityGraph로 이미지/옵션까지 읽지 않음)
+    @Query("SELECT p.name FROM Product p WHERE p.id = :productId")
+    Optional<String> findNameById(@Param("productId") Integer productId);
+
+    // 리뷰 집계 값만 조회 (review 테이블을 읽지 않음)
+    @Query("SELECT p.reviewCount AS reviewCount, p.ratingSum AS ratingSum FROM Product p WHERE p.id = :productId")
+    Optional<ReviewAggregate> findReviewAggregateById(@Param("productId") Integer productId);
+
+    // review 테이블 기준으로 모든 상품의 리뷰 집계 컬럼을 한 번에 재계산
+    @Modifying
+    // (review.product_id 인덱스를 타는 상관 서브쿼리라 MariaDB 전용 UPDATE ... JOIN 없이 처리)
+    @Query("UPDATE Product p SET " +
+            "p.reviewCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p), " +
+            "p.ratingSum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.product = p)")
+    int reconcileReviewAggregates();
+
+    // 검색 인덱스 구축용: 인덱싱에 필요한 컬럼만 id 순서로 나누어 조회
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, c.name AS categoryName " +
+            "FROM Product p LEFT JOIN p.category c WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, c.name AS categoryName " +
+            "FROM Product p LEFT JOIN p.category c WHERE p.id IN :productIds")
+    List<SearchDocument> findSearchDocumentsByIdIn(@Param("productIds") Collection<Integer> productIds);
+
+    // 패싯 색인 구축용: 카테고리/가격만 id 순서로 나누어 조회
+    @Query("SELECT p.id AS id, p.category.id AS categoryId, p.price AS price " +
+            "FROM Product p WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<FacetDocument> findFacetDocumentsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.category.id AS categoryId, p.price AS price FROM Product p WHERE p.id IN :productIds")
+    List<FacetDocument> findFacetDocumentsByIdIn(@Param("productIds") Collection<Integer> productIds);
+
+    interface FacetDocument {
+        Integer getId();
+        Integer getCategoryId();
+        Integer getPrice();
+    }
+
+    interface SearchDocument {
+        Integer getId();
+        String getName();
+        String getDescription();
+        String getCategoryName();
+    }
+
+    interface ReviewAggregate {
+        Integer getReviewCount();
+        Long getRatingSum();
+
+        default Double getAverageRating() {
+            Integer count = getReviewCount();
+            Long sum = getRatingSum();
+            if (count == null || count <= 0 || sum == null) {
+                return 0.0;
+            }
+            return (double) sum / count;
+        }
+    }
 }
\ No newline at end of file
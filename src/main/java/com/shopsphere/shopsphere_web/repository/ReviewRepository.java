@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +31,9 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
     
     // 사용자 ID와 상품 ID로 리뷰 존재 여부 확인
     boolean existsByUser_IdAndProduct_Id(String userId, Integer productId);
+
+    // 주어진 상품들 중 사용자가 리뷰를 작성한 상품 ID만 한 번에 조회 (주문 목록의 리뷰 작성 여부 표시용)
+    @Query("SELECT DISTINCT r.product.id FROM Review r WHERE r.user.id = :userId AND r.product.id IN :productIds")
+    List<Integer> findReviewedProductIds(@Param("userId") String userId,
+                                         @Param("productIds") Collection<Integer> productIds);
 }
@@ -0,0 +1,31 @@
+package com.shopsphere.shopsphere_web.repository;
+
+import java.time.LocalDate;
+
+/**
+ * 판매 통계 집계 쿼리의 결과 프로젝션.
+ * 일별 집계 테이블(SellerSalesDailyRepository)과 주문 항목 직접 집계(OrderItemRepository)가 같은 형태로 반환합니다.
+ */
+public final class SalesAggregates {
+
+    private SalesAggregates() {
+    }
+
+    // 일자별 합계 (주/월/연 단위는 이 일자별 합계를 묶어서 계산)
+    public interface DailyTotal {
+        LocalDate getSalesDate();
+        Long getRevenue();
+        Long getUnits();
+        Long getOrderCount();
+    }
+
+    public interface ProductTotal {
+        Integer getProductId();
+        Long getRevenue();
+    }
+
+    public interface CategoryTotal {
+        Integer getCategoryId();
+        Long getRevenue();
+    }
+}
@@ -0,0 +1,47 @@
+package com.shopsphere.shopsphere_web.repository;
+
+import com.shopsphere.shopsphere_web.entity.SellerOrderDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SellerOrderDailyRepository extends JpaRepository<SellerOrderDaily, Long> {
+
+    interface DailyOrderCount {
+        LocalDate getSalesDate();
+        Integer getOrderCount();
+    }
+
+    // 판매자의 일별 주문 수에 증감량을 더합니다. (행이 없으면 생성)
+    @Modifying
+    @Query(value = "INSERT INTO seller_order_daily (seller_id, sales_date, order_count) " +
+            "VALUES (:sellerId, :salesDate, :delta) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count)",
+            nativeQuery = true)
+    int upsert(@Param("sellerId") String sellerId,
+               @Param("salesDate") LocalDate salesDate,
+               @Param("delta") int delta);
+
+    // 결제 완료 상태 주문으로 판매자별 일별 주문 수를 다시 만듭니다. (기존 데이터 백필용)
+    @Modifying
+    @Query(value = "INSERT INTO seller_order_daily (seller_id, sales_date, order_count) " +
+            "SELECT p.user_id, DATE(oi.created_at), COUNT(DISTINCT oi.order_id) " +
+            "FROM order_item oi " +
+            "JOIN orders o ON o.order_id = oi.order_id " +
+            "JOIN product p ON p.product_id = oi.product_id " +
+            "WHERE o.order_status IN (:statuses) AND oi.created_at IS NOT NULL " +
+            "GROUP BY p.user_id, DATE(oi.created_at)",
+            nativeQuery = true)
+    int backfill(@Param("statuses") Collection<String> statuses);
+
+    @Query("SELECT d.salesDate AS salesDate, d.orderCount AS orderCount FROM SellerOrderDaily d " +
+            "WHERE d.sellerId = :sellerId AND d.salesDate BETWEEN :startDate AND :endDate")
+    List<DailyOrderCount> findDailyOrderCounts(@Param("sellerId") String sellerId,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+}
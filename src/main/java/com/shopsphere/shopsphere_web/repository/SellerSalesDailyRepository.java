@@ -0,0 +1,82 @@
+package com.shopsphere.shopsphere_web.repository;
+
+import com.shopsphere.shopsphere_web.entity.SellerSalesDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface SellerSalesDailyRepository extends JpaRepository<SellerSalesDaily, Long> {
+
+    /**
+     * 일별 집계 행에 증감량을 더합니다. (행이 없으면 생성, 취소 시에는 음수 증감량)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO seller_sales_daily (seller_id, sales_date, product_id, category_id, revenue, units, order_count) " +
+            "VALUES (:sellerId, :salesDate, :productId, :categoryId, :revenue, :units, :orderCount) " +
+            "ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue), units = units + VALUES(units), " +
+            "order_count = order_count + VALUES(order_count)",
+            nativeQuery = true)
+    int upsert(@Param("sellerId") String sellerId,
+               @Param("salesDate") LocalDate salesDate,
+               @Param("productId") Integer productId,
+               @Param("categoryId") Integer categoryId,
+               @Param("revenue") long revenue,
+               @Param("units") int units,
+               @Param("orderCount") int orderCount);
+
+    /**
+     * 결제 완료 상태 주문의 주문 항목으로 일별 집계를 다시 만듭니다. (기존 데이터 백필용, 테이블이 비어 있을 때 실행)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO seller_sales_daily (seller_id, sales_date, product_id, category_id, revenue, units, order_count) " +
+            "SELECT p.user_id, DATE(oi.created_at), oi.product_id, p.category_id, " +
+            "SUM(CAST(oi.price AS SIGNED) * oi.quantity), SUM(oi.quantity), COUNT(DISTINCT oi.order_id) " +
+            "FROM order_item oi " +
+            "JOIN orders o ON o.order_id = oi.order_id " +
+            "JOIN product p ON p.product_id = oi.product_id " +
+            "WHERE o.order_status IN (:statuses) AND oi.created_at IS NOT NULL " +
+            "GROUP BY p.user_id, DATE(oi.created_at), oi.product_id, p.category_id",
+            nativeQuery = true)
+    int backfill(@Param("statuses") Collection<String> statuses);
+
+    @Query("SELECT d.salesDate AS salesDate, SUM(d.revenue) AS revenue, SUM(d.units) AS units, SUM(d.orderCount) AS orderCount " +
+            "FROM SellerSalesDaily d " +
+            "WHERE d.sellerId = :sellerId AND d.salesDate BETWEEN :startDate AND :endDate " +
+            "AND (:categoryId IS NULL OR d.categoryId = :categoryId) " +
+            "AND (:productId IS NULL OR d.productId = :productId) " +
+            "GROUP BY d.salesDate")
+    List<SalesAggregates.DailyTotal> findDailyTotals(@Param("sellerId") String sellerId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate,
+                                     @Param("categoryId") Integer categoryId,
+                                     @Param("productId") Integer productId);
+
+    @Query("SELECT d.productId AS productId, SUM(d.revenue) AS revenue " +
+            "FROM SellerSalesDaily d " +
+            "WHERE d.sellerId = :sellerId AND d.salesDate BETWEEN :startDate AND :endDate " +
+            "AND (:categoryId IS NULL OR d.categoryId = :categoryId) " +
+            "AND (:productId IS NULL OR d.productId = :productId) " +
+            "GROUP BY d.productId")
+    List<SalesAggregates.ProductTotal> findProductTotals(@Param("sellerId") String sellerId,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         @Param("categoryId") Integer categoryId,
+                                         @Param("productId") Integer productId);
+
+    @Query("SELECT d.categoryId AS categoryId, SUM(d.revenue) AS revenue " +
+            "FROM SellerSalesDaily d " +
+            "WHERE d.sellerId = :sellerId AND d.salesDate BETWEEN :startDate AND :endDate " +
+            "AND (:categoryId IS NULL OR d.categoryId = :categoryId) " +
+            "AND (:productId IS NULL OR d.productId = :productId) " +
+            "GROUP BY d.categoryId")
+    List<SalesAggregates.CategoryTotal> findCategoryTotals(@Param("sellerId") String sellerId,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate,
+                                           @Param("categoryId") Integer categoryId,
+                                           @Param("productId") Integer productId);
+}
@@ -0,0 +1,429 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.event.OrderSalesEvent;
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 카테고리별 판매 순위를 메모리에 유지합니다.
+ * 순위 기준은 누적 판매량(product.sales_volume)과 최근 판매량(24시간/7일 시간 감쇠 점수) 세 가지이며,
+ * 각 기준마다 카테고리별 정렬 집합과 전체 정렬 집합을 두고 주문 생성/취소 이벤트(커밋 이후)로 해당 상품의 위치만 갱신합니다.
+ * 하위 카테고리를 포함한 순위는 각 카테고리의 정렬 집합을 k-way 병합하여 필요한 순위까지만 읽습니다.
+ *
+ * 최근 판매량은 주문 시각 기준 지수 감쇠 점수(시간 상수 24시간/7일)로, 기준 시각(landmark)에 대한 가중치를 더해 두는
+ * forward decay 방식이라 시간이 흘러도 점수를 다시 계산할 필요가 없습니다. (순서는 현재 시각의 감쇠 점수 순서와 같음)
+ *
+ * 시작 시 DB에서 구축하고 이후에는 주문 이벤트로만 누적 판매량을 갱신합니다.
+ * DB의 sales_volume은 판매량 저널(sales_volume_journal/inventory_journal) 반영 주기만큼 늦으므로,
+ * 구축 시에는 아직 반영되지 않은 저널 증감을 더해 읽고, 이후 주기적 재동기화에서는 메모리의 판매량을 DB 값으로 덮어쓰지 않습니다.
+ * 단일 인스턴스 메모리에 유지되므로 인스턴스가 여러 개면 각 인스턴스의 순위는 자신이 처리한 주문만 즉시 반영합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BestsellerRanking {
+
+    public enum Window {
+        ALL(null),                  // 누적 판매량
+        DAY(Duration.ofHours(24)),  // 최근 24시간 (시간 감쇠)
+        WEEK(Duration.ofDays(7));   // 최근 7일 (시간 감쇠)
+
+        private final Duration timeConstant;
+
+        Window(Duration timeConstant) {
+            this.timeConstant = timeConstant;
+        }
+
+        public static Window from(String value) {
+            if (value == null || value.isBlank() || "all".equalsIgnoreCase(value)) {
+                return ALL;
+            }
+            switch (value.toLowerCase()) {
+                case "24h":
+                case "day":
+                    return DAY;
+                case "7d":
+                case "week":
+                    return WEEK;
+                default:
+                    throw new IllegalArgumentException("지원하지 않는 순위 기간입니다: " + value + " (all, 24h, 7d)");
+            }
+        }
+    }
+
+    // 카테고리가 없는 상품의 카테고리 키
+    private static final int UNCATEGORIZED = -1;
+    // 감쇠 점수가 이 값 이하이면 순위에서 제외 (취소로 되돌린 점수의 부동소수점 오차 포함)
+    private static final double MIN_DECAYED_SCORE = 1e-6;
+    // 기준 시각을 이 기간마다 현재로 옮겨 가중치 지수가 커지지 않게 함
+    private static final Duration LANDMARK_REBASE_AFTER = Duration.ofDays(7);
+
+    // 점수 내림차순, 같은 점수는 상품 ID 내림차순 (DB 정렬 salesVolume DESC, id DESC와 동일)
+    private static final Comparator<RankEntry> RANK_ORDER = Comparator
+            .comparingDouble(RankEntry::score).reversed()
+            .thenComparing(Comparator.comparingInt(RankEntry::productId).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 순위 조회/목록 빠른 경로에서 제공하는 최대 순위
+    @Value("${ranking.max-rank:1000}")
+    private int maxRank;
+
+    private final Map<Integer, ProductState> states = new ConcurrentHashMap<>();
+    private volatile Map<Window, Board> boards = emptyBoards();
+    private volatile long landmarkMillis = System.currentTimeMillis();
+    private volatile boolean ready = false;
+    // 순위 갱신/재구축을 직렬화 (조회는 잠금 없이 정렬 집합을 읽음)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getMaxRank() {
+        return maxRank;
+    }
+
+    /**
+     * 순위 구간을 조회합니다.
+     *
+     * @param categoryIds 대상 카테고리 ID 목록 (하위 카테고리 포함 목록을 전달, null이면 전체 상품)
+     * @return 순위 순서의 상품 ID와 순위 대상 상품 수 (maxRank를 넘는 순위는 반환하지 않음)
+     */
+    public RankSlice top(Window window, Collection<Integer> categoryIds, int offset, int limit) {
+        Board board = boards.get(window);
+        List<NavigableSet<RankEntry>> sources = new ArrayList<>();
+        if (categoryIds == null) {
+            sources.add(board.all);
+        } else {
+            for (Integer categoryId : categoryIds) {
+                NavigableSet<RankEntry> set = board.byCategory.get(categoryId);
+                if (set != null && !set.isEmpty()) {
+                    sources.add(set);
+                }
+            }
+        }
+        long total = sources.stream().mapToLong(NavigableSet::size).sum();
+        int end = Math.min(offset + limit, maxRank);
+        if (offset >= end) {
+            return new RankSlice(List.of(), total);
+        }
+
+        // 각 카테고리 집합은 이미 정렬되어 있으므로 앞에서부터 병합하며 end개까지만 읽음
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing(Cursor::head, RANK_ORDER));
+        for (NavigableSet<RankEntry> source : sources) {
+            Iterator<RankEntry> iterator = source.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Cursor(iterator.next(), iterator));
+            }
+        }
+        List<Integer> productIds = new ArrayList<>(end - offset);
+        int rank = 0;
+        while (rank < end && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            if (rank >= offset) {
+                productIds.add(cursor.head.productId());
+            }
+            rank++;
+            if (cursor.iterator.hasNext()) {
+                heads.add(new Cursor(cursor.iterator.next(), cursor.iterator));
+            }
+        }
+        return new RankSlice(productIds, total);
+    }
+
+    // 주문 생성/취소가 커밋된 뒤 해당 상품들의 판매량과 감쇠 점수를 갱신
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderSales(OrderSalesEvent event) {
+        if (!ready) {
+            return; // 구축 전 이벤트는 구축 시 DB에서 읽은 값에 포함됨
+        }
+        long orderedAtMillis = toMillis(event.getOrderedAt() != null ? event.getOrderedAt() : LocalDateTime.now());
+        int sign = event.isPlaced() ? 1 : -1;
+        writeLock.lock();
+        try {
+            for (OrderSalesEvent.Line line : event.getLines()) {
+                ProductState state = states.get(line.getProductId());
+                if (state == null) {
+                    continue;
+                }
+                int delta = sign * line.getQuantity();
+                put(line.getProductId(), new ProductState(
+                        state.categoryId,
+                        state.salesVolume + delta,
+                        state.dayScore + delta * weight(orderedAtMillis, Window.DAY),
+                        state.weekScore + delta * weight(orderedAtMillis, Window.WEEK)));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 상품 등록/수정/삭제 시 카테고리를 DB에서 다시 읽음 (누적 판매량은 이미 순위에 있는 상품이면 메모리 값을 유지)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        ProductChangedEvent.ChangeType type = event.getChangeType();
+        if (type != ProductChangedEvent.ChangeType.CREATED && type != ProductChangedEvent.ChangeType.UPDATED
+                && type != ProductChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        List<Integer> productIds = event.getProductIds();
+        if (productIds.isEmpty()) {
+            return;
+        }
+        // 대량 등록처럼 한 이벤트에 상품이 많아도 한 번의 IN 조회로 읽음 (상품마다 조회하지 않음)
+        Map<Integer, Object[]> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT product_id, category_id, COALESCE(sales_volume, 0) FROM product WHERE product_id IN ("
+                        + String.join(",", Collections.nCopies(productIds.size(), "?")) + ")",
+                rs -> {
+                    rows.put(rs.getInt(1), new Object[]{rs.getObject(2, Integer.class), rs.getLong(3)});
+                },
+                productIds.toArray());
+        writeLock.lock();
+        try {
+            for (Integer productId : productIds) {
+                Object[] row = rows.get(productId);
+                if (row == null) {
+                    remove(productId);
+                    continue;
+                }
+                ProductState state = states.get(productId);
+                Integer categoryId = (Integer) row[0];
+                put(productId, state != null
+                        ? new ProductState(categoryId, state.salesVolume, state.dayScore, state.weekScore)
+                        : new ProductState(categoryId, (Long) row[1], 0, 0));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long startedAt = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            landmarkMillis = System.currentTimeMillis();
+            states.clear();
+            loadSalesVolumes().forEach(states::put);
+
+            // 감쇠 점수: 최근 주문 항목으로 계산 (시간 상수의 3배보다 오래된 주문은 기여도가 5% 미만이므로 제외)
+            LocalDateTime since = LocalDateTime.now().minus(Window.WEEK.timeConstant.multipliedBy(3));
+            jdbcTemplate.query(
+                    "SELECT oi.product_id, oi.quantity, oi.created_at FROM order_item oi " +
+                    "JOIN orders o ON o.order_id = oi.order_id " +
+                    "WHERE oi.created_at >= ? AND o.order_status NOT IN ('CANCELLED', 'EXPIRED')",
+                    rs -> {
+                        ProductState state = states.get(rs.getInt(1));
+                        if (state == null) {
+                            return;
+                        }
+                        long orderedAtMillis = rs.getTimestamp(3).getTime();
+                        int quantity = rs.getInt(2);
+                        states.put(rs.getInt(1), new ProductState(state.categoryId, state.salesVolume,
+                                state.dayScore + quantity * weight(orderedAtMillis, Window.DAY),
+                                state.weekScore + quantity * weight(orderedAtMillis, Window.WEEK)));
+                    },
+                    Timestamp.valueOf(since));
+
+            boards = buildBoards();
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("판매 순위 구축 완료: {}개 상품, {}ms", states.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 이벤트로 반영되지 않은 상품 추가/삭제와 카테고리 변경을 DB와 맞추고, 기준 시각이 오래되었으면 감쇠 점수를 현재 기준 시각으로 옮깁니다.
+     * DB의 sales_volume은 저널 반영 전이라 메모리 값보다 뒤처질 수 있으므로, 이미 순위에 있는 상품의 누적 판매량은 덮어쓰지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${ranking.resync-interval-ms:600000}", initialDelayString = "${ranking.resync-interval-ms:600000}")
+    public void resync() {
+        if (!ready) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            double dayFactor = 1;
+            double weekFactor = 1;
+            if (now - landmarkMillis > LANDMARK_REBASE_AFTER.toMillis()) {
+                dayFactor = 1 / weight(now, Window.DAY);
+                weekFactor = 1 / weight(now, Window.WEEK);
+                landmarkMillis = now;
+            }
+            Map<Integer, ProductState> loaded = loadSalesVolumes();
+            Map<Integer, ProductState> next = new HashMap<>();
+            for (Map.Entry<Integer, ProductState> entry : loaded.entrySet()) {
+                ProductState previous = states.get(entry.getKey());
+                // 새로 발견한 상품만 DB(+미반영 저널) 판매량을 사용
+                next.put(entry.getKey(), previous == null ? entry.getValue()
+                        : new ProductState(entry.getValue().categoryId, previous.salesVolume,
+                                previous.dayScore * dayFactor, previous.weekScore * weekFactor));
+            }
+            states.clear();
+            states.putAll(next);
+            boards = buildBoards();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 상품별 누적 판매량 = sales_volume + 아직 반영되지 않은 저널 증감 (한 문장으로 읽어 저널 반영과 겹쳐도 중복/누락 없음)
+    private Map<Integer, ProductState> loadSalesVolumes() {
+        Map<Integer, ProductState> result = new HashMap<>();
+        jdbcTemplate.query("SELECT p.product_id, p.category_id, " +
+                        "COALESCE(p.sales_volume, 0) + COALESCE(s.delta, 0) + COALESCE(i.delta, 0) FROM product p " +
+                        "LEFT JOIN (SELECT product_id, SUM(sales_delta) AS delta FROM sales_volume_journal GROUP BY product_id) s " +
+                        "ON s.product_id = p.product_id " +
+                        "LEFT JOIN (SELECT product_id, SUM(sales_delta) AS delta FROM inventory_journal GROUP BY product_id) i " +
+                        "ON i.product_id = p.product_id",
+                rs -> {
+                    result.put(rs.getInt(1), new ProductState(rs.getObject(2, Integer.class), rs.getLong(3), 0, 0));
+                });
+        return result;
+    }
+
+    // writeLock 안에서 호출: 기존 위치를 지우고 새 점수로 다시 넣음
+    private void put(Integer productId, ProductState next) {
+        remove(productId);
+        states.put(productId, next);
+        Map<Window, Board> current = boards;
+        for (Window window : Window.values()) {
+            RankEntry entry = next.entry(window, productId);
+            if (entry != null) {
+                current.get(window).add(next.categoryKey(), entry);
+            }
+        }
+    }
+
+    private void remove(Integer productId) {
+        ProductState previous = states.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        Map<Window, Board> current = boards;
+        for (Window window : Window.values()) {
+            RankEntry entry = previous.entry(window, productId);
+            if (entry != null) {
+                current.get(window).remove(previous.categoryKey(), entry);
+            }
+        }
+    }
+
+    // 전체 재구축: 새 정렬 집합을 만든 뒤 교체하므로 조회 중인 요청은 이전 집합을 끝까지 읽음
+    private Map<Window, Board> buildBoards() {
+        Map<Window, Board> built = emptyBoards();
+        states.forEach((productId, state) -> {
+            for (Window window : Window.values()) {
+                RankEntry entry = state.entry(window, productId);
+                if (entry != null) {
+                    built.get(window).add(state.categoryKey(), entry);
+                }
+            }
+        });
+        return built;
+    }
+
+    private static Map<Window, Board> emptyBoards() {
+        Map<Window, Board> result = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            result.put(window, new Board());
+        }
+        return result;
+    }
+
+    // forward decay 가중치: exp((주문 시각 - 기준 시각) / 시간 상수)
+    private double weight(long eventMillis, Window window) {
+        return Math.exp((eventMillis - landmarkMillis) / (double) window.timeConstant.toMillis());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record RankEntry(double score, int productId) {
+    }
+
+    private record Cursor(RankEntry head, Iterator<RankEntry> iterator) {
+    }
+
+    private record ProductState(Integer categoryId, long salesVolume, double dayScore, double weekScore) {
+
+        int categoryKey() {
+            return categoryId != null ? categoryId : UNCATEGORIZED;
+        }
+
+        // 감쇠 점수가 없는(최근 판매가 없는) 상품은 최근 판매 순위에 넣지 않음
+        RankEntry entry(Window window, int productId) {
+            switch (window) {
+                case DAY:
+                    return dayScore > MIN_DECAYED_SCORE ? new RankEntry(dayScore, productId) : null;
+                case WEEK:
+                    return weekScore > MIN_DECAYED_SCORE ? new RankEntry(weekScore, productId) : null;
+                case ALL:
+                default:
+                    return new RankEntry(salesVolume, productId);
+            }
+        }
+    }
+
+    // 한 순위 기준의 정렬 집합 (전체 + 카테고리별)
+    private static class Board {
+        private final NavigableSet<RankEntry> all = new ConcurrentSkipListSet<>(RANK_ORDER);
+        private final Map<Integer, NavigableSet<RankEntry>> byCategory = new ConcurrentHashMap<>();
+
+        void add(int categoryKey, RankEntry entry) {
+            all.add(entry);
+            byCategory.computeIfAbsent(categoryKey, k -> new ConcurrentSkipListSet<>(RANK_ORDER)).add(entry);
+        }
+
+        void remove(int categoryKey, RankEntry entry) {
+            all.remove(entry);
+            NavigableSet<RankEntry> set = byCategory.get(categoryKey);
+            if (set != null) {
+                set.remove(entry);
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RankSlice {
+        private final List<Integer> productIds;
+        private final long total;
+    }
+}
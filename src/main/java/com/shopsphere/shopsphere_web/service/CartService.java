@@ -3,6 +3,7 @@ package com.shopsphere.shopsphere_web.service;
 import com.shopsphere.shopsphere_web.dto.CartDTO;
 import com.shopsphere.shopsphere_web.dto.CartItemDTO;
 import com.shopsphere.shopsphere_web.dto.OrderItemDTO;
+import com.shopsphere.shopsphere_web.dto.ProductDTO;
 import com.shopsphere.shopsphere_web.dto.ProductOptionDTO;
 import com.shopsphere.shopsphere_web.dto.UserDTO;
 import com.shopsphere.shopsphere_web.entity.*;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -196,8 +198,13 @@ public class CartService {
         response.setId(cart.getId());
         response.setUser(convertToUserResponse(cart.getUser()));
         
-        List<CartItemDTO.Response> itemResponses = cartItemRepository.findByCart_Id(cart.getId()).stream()
-                .map(this::convertToCartItemResponse)
+        List<CartItem> cartItems = cartItemRepository.findByCart_Id(cart.getId());
+        // 장바구니 상품 정보를 한 번에 조회 (항목 수와 관계없이 쿼리 수 일정)
+        Map<Integer, ProductDTO.Response> productSummaries = productService.getProductSummaries(
+                cartItems.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet()));
+
+        List<CartItemDTO.Response> itemResponses = cartItems.stream()
+                .map(item -> convertToCartItemResponse(item, productSummaries))
                 .collect(Collectors.toList());
         
         response.setItems(itemResponses);
@@ -212,10 +219,10 @@ public class CartService {
         return response;
     }
 
-    private CartItemDTO.Response convertToCartItemResponse(CartItem item) {
+    private CartItemDTO.Response convertToCartItemResponse(CartItem item, Map<Integer, ProductDTO.Response> productSummaries) {
         CartItemDTO.Response response = new CartItemDTO.Response();
         response.setId(item.getId());
-        response.setProduct(productService.getProduct(item.getProduct().getId()));
+        response.setProduct(productSummaries.get(item.getProduct().getId()));
         response.setQuantity(item.getQuantity());
         
         // Set product option if exists
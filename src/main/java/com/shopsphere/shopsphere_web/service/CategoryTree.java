@@ -0,0 +1,176 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.entity.ProductCategory;
+import com.shopsphere.shopsphere_web.repository.ProductCategoryRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * product_category 테이블 전체를 한 번에 읽어 만든 불변 카테고리 트리.
+ * 각 노드에 자식 목록과 전위 순회(Euler tour) 구간 [enter, exit)을 미리 계산해 두므로,
+ * 하위 트리 ID 목록은 전위 순회 배열의 구간으로 O(1)에 얻고, 조상/자손 관계는 구간 비교로 판단합니다.
+ *
+ * 트리는 AtomicReference로 통째로 교체하므로 조회 중인 요청은 항상 일관된 스냅샷을 봅니다.
+ * 카테고리는 관리 도구로 DB에서 직접 변경되므로, 주기적으로 다시 읽어 교체합니다. (refresh()로 즉시 교체 가능)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTree {
+
+    private final ProductCategoryRepository categoryRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * 현재 트리 스냅샷을 반환합니다. 아직 구축되지 않았으면 지금 구축합니다.
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${category.tree.refresh-interval-ms:60000}", initialDelayString = "${category.tree.refresh-interval-ms:60000}")
+    public Snapshot refresh() {
+        Snapshot built = Snapshot.build(categoryRepository.findAll());
+        snapshot.set(built);
+        log.debug("카테고리 트리 갱신: {}개", built.size());
+        return built;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Node {
+        private final Integer id;
+        private final String name;
+        private final Integer parentId;
+        private final LocalDateTime createdAt;
+        private final List<Integer> childIds;
+        // 전위 순회 구간: 자신과 모든 자손이 preorder[enter, exit)에 위치
+        private final int enter;
+        private final int exit;
+    }
+
+    public static class Snapshot {
+        private final Map<Integer, Node> nodes;
+        private final List<Integer> rootIds;
+        private final List<Integer> preorder;
+
+        private Snapshot(Map<Integer, Node> nodes, List<Integer> rootIds, List<Integer> preorder) {
+            this.nodes = nodes;
+            this.rootIds = rootIds;
+            this.preorder = preorder;
+        }
+
+        public int size() {
+            return nodes.size();
+        }
+
+        public Node get(Integer categoryId) {
+            return nodes.get(categoryId);
+        }
+
+        public List<Node> roots() {
+            return rootIds.stream().map(nodes::get).toList();
+        }
+
+        public List<Node> children(Integer categoryId) {
+            Node node = nodes.get(categoryId);
+            return node == null ? List.of() : node.childIds.stream().map(nodes::get).toList();
+        }
+
+        public List<Node> all() {
+            return preorder.stream().map(nodes::get).toList();
+        }
+
+        /**
+         * 카테고리와 모든 하위 카테고리의 ID (전위 순회 배열의 구간 뷰이므로 복사 비용 없음).
+         * 트리에 없는 카테고리면 해당 ID 하나만 반환합니다.
+         */
+        public List<Integer> subtreeIds(Integer categoryId) {
+            Node node = nodes.get(categoryId);
+            return node == null ? List.of(categoryId) : preorder.subList(node.enter, node.exit);
+        }
+
+        // ancestorId의 하위 트리에 categoryId가 포함되는지 (자기 자신 포함)
+        public boolean isInSubtree(Integer ancestorId, Integer categoryId) {
+            Node ancestor = nodes.get(ancestorId);
+            Node node = nodes.get(categoryId);
+            return ancestor != null && node != null && ancestor.enter <= node.enter && node.enter < ancestor.exit;
+        }
+
+        static Snapshot build(List<ProductCategory> loaded) {
+            List<ProductCategory> categories = new ArrayList<>(loaded);
+            Map<Integer, ProductCategory> byId = new HashMap<>();
+            Map<Integer, List<Integer>> childrenByParent = new HashMap<>();
+            List<Integer> rootIds = new ArrayList<>();
+            categories.sort(Comparator.comparing(ProductCategory::getId));
+            for (ProductCategory category : categories) {
+                byId.put(category.getId(), category);
+            }
+            for (ProductCategory category : categories) {
+                Integer parentId = category.getParent() != null ? category.getParent().getId() : null;
+                if (parentId == null || !byId.containsKey(parentId)) {
+                    rootIds.add(category.getId());
+                } else {
+                    childrenByParent.computeIfAbsent(parentId, k -> new ArrayList<>()).add(category.getId());
+                }
+            }
+
+            // 반복 DFS로 전위 순회 순서와 구간 계산 (부모가 순환 참조되어 루트에서 닿지 않는 노드는 제외)
+            List<Integer> preorder = new ArrayList<>(categories.size());
+            Map<Integer, Integer> enterIndex = new HashMap<>();
+            Map<Integer, Integer> exitIndex = new HashMap<>();
+            Deque<Integer[]> stack = new ArrayDeque<>();  // {카테고리 ID, 다음 방문할 자식 위치}
+            for (Integer rootId : rootIds) {
+                stack.push(new Integer[]{rootId, 0});
+                enterIndex.put(rootId, preorder.size());
+                preorder.add(rootId);
+                while (!stack.isEmpty()) {
+                    Integer[] frame = stack.peek();
+                    List<Integer> children = childrenByParent.getOrDefault(frame[0], List.of());
+                    if (frame[1] < children.size()) {
+                        Integer childId = children.get(frame[1]++);
+                        if (enterIndex.containsKey(childId)) {
+                            continue;
+                        }
+                        enterIndex.put(childId, preorder.size());
+                        preorder.add(childId);
+                        stack.push(new Integer[]{childId, 0});
+                    } else {
+                        exitIndex.put(frame[0], preorder.size());
+                        stack.pop();
+                    }
+                }
+            }
+
+            Map<Integer, Node> nodes = new HashMap<>();
+            for (Integer id : preorder) {
+                ProductCategory category = byId.get(id);
+                Integer parentId = category.getParent() != null && byId.containsKey(category.getParent().getId())
+                        ? category.getParent().getId() : null;
+                nodes.put(id, new Node(id, category.getName(), parentId, category.getCreatedAt(),
+                        List.copyOf(childrenByParent.getOrDefault(id, List.of())),
+                        enterIndex.get(id), exitIndex.get(id)));
+            }
+            return new Snapshot(Collections.unmodifiableMap(nodes), List.copyOf(rootIds), List.copyOf(preorder));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatDto;
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatPageDto;
+import com.shopsphere.shopsphere_web.event.InquiryChatSentEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * 채팅방별 최근 메시지 링 버퍼.
+ * 방마다 최신 buffer-size개 메시지를 ID 오름차순으로 보관하므로, 채팅방을 열 때(최근 페이지)와 새 메시지 조회(after)는
+ * 대부분 DB를 읽지 않고 메모리에서 응답합니다. 버퍼 범위를 벗어나는 과거 메시지 요청은 null을 반환해 DB 조회로 넘깁니다.
+ *
+ * 처음 접근한 방만 DB(와 아직 저장되지 않은 메시지)에서 최근 메시지를 읽어 채우고, 이후에는 InquiryChatSentEvent로 새 메시지를 추가합니다.
+ * 보관하는 방 수는 max-rooms로 제한하며 가장 오래 사용되지 않은 방부터 제거합니다.
+ * 버퍼는 애플리케이션 인스턴스 메모리에 있으므로 단일 인스턴스 배포를 전제로 합니다.
+ */
+@Component
+public class InquiryChatHistoryBuffer {
+
+    private final int capacity;
+    private final Map<Long, RoomBuffer> rooms;
+
+    public InquiryChatHistoryBuffer(@Value("${chat.history.buffer-size:50}") int capacity,
+                                    @Value("${chat.history.max-rooms:10000}") int maxRooms) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("채팅 버퍼 크기는 1 이상이어야 합니다.");
+        }
+        this.capacity = capacity;
+        this.rooms = Collections.synchronizedMap(new LinkedHashMap<>(Math.min(maxRooms, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RoomBuffer> eldest) {
+                return size() > maxRooms;
+            }
+        });
+    }
+
+    /**
+     * 버퍼로 커서 페이지를 만듭니다. 버퍼에 없는 범위가 필요하면 null을 반환합니다.
+     *
+     * @param loader 방을 처음 채울 때 사용할 최근 메시지 조회 (인자: 조회할 개수, 결과: ID 내림차순)
+     */
+    public InquiryChatPageDto read(Long chatRoomId, Long before, Long after, int limit,
+                                   IntFunction<List<InquiryChatDto>> loader) {
+        RoomBuffer buffer = rooms.computeIfAbsent(chatRoomId, id -> new RoomBuffer(capacity));
+        return buffer.read(before, after, limit, loader);
+    }
+
+    // 커밋된 메시지만 추가 (이미 버퍼에 있는 방만 갱신하고, 없는 방은 처음 조회할 때 DB에서 읽음)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMessageSent(InquiryChatSentEvent event) {
+        InquiryChatDto message = event.getMessage();
+        RoomBuffer buffer = rooms.get(message.getChatRoomId());
+        if (buffer != null) {
+            buffer.add(message);
+        }
+    }
+
+    private static class RoomBuffer {
+        private final int capacity;
+        private final ArrayDeque<InquiryChatDto> messages;
+        private boolean loaded = false;
+        // 방의 모든 메시지가 버퍼에 있는지 (false면 버퍼의 가장 오래된 메시지보다 이전 메시지가 DB에 있음)
+        private boolean complete = false;
+
+        RoomBuffer(int capacity) {
+            this.capacity = capacity;
+            this.messages = new ArrayDeque<>(capacity);
+        }
+
+        synchronized InquiryChatPageDto read(Long before, Long after, int limit, IntFunction<List<InquiryChatDto>> loader) {
+            if (!loaded) {
+                load(loader);
+            }
+            List<InquiryChatDto> all = new ArrayList<>(messages);
+
+            if (after != null) {
+                // after 이후 메시지가 모두 버퍼에 있어야 응답 가능
+                if (!complete && (all.isEmpty() || all.get(0).getId() > after)) {
+                    return null;
+                }
+                List<InquiryChatDto> newer = all.stream().filter(message -> message.getId() > after).toList();
+                return new InquiryChatPageDto(new ArrayList<>(newer.subList(0, Math.min(limit, newer.size()))),
+                        newer.size() > limit);
+            }
+
+            List<InquiryChatDto> older = before == null ? all
+                    : all.stream().filter(message -> message.getId() < before).toList();
+            if (older.size() < limit && !complete) {
+                return null; // 버퍼보다 이전 메시지가 필요
+            }
+            return new InquiryChatPageDto(new ArrayList<>(older.subList(Math.max(0, older.size() - limit), older.size())),
+                    older.size() > limit || !complete);
+        }
+
+        synchronized void add(InquiryChatDto message) {
+            insert(message);
+        }
+
+        // DB의 최근 메시지로 채우고, 로딩 전에 추가된 메시지가 있으면 합침 (ID 기준 중복 제거)
+        private void load(IntFunction<List<InquiryChatDto>> loader) {
+            List<InquiryChatDto> pending = new ArrayList<>(messages);
+            List<InquiryChatDto> latest = loader.apply(capacity + 1); // ID 내림차순
+            messages.clear();
+            complete = latest.size() <= capacity;
+            for (int i = Math.min(latest.size(), capacity) - 1; i >= 0; i--) {
+                messages.addLast(latest.get(i));
+            }
+            pending.forEach(this::insert);
+            loaded = true;
+        }
+
+        private void insert(InquiryChatDto message) {
+            InquiryChatDto newest = messages.peekLast();
+            if (newest == null || newest.getId() < message.getId()) {
+                messages.addLast(message); // 일반적인 경우: 가장 최신 메시지
+            } else {
+                // 커밋 순서가 ID 순서와 다른 경우: 정렬 위치에 삽입
+                List<InquiryChatDto> sorted = new ArrayList<>(messages);
+                int index = 0;
+                while (index < sorted.size() && sorted.get(index).getId() < message.getId()) {
+                    index++;
+                }
+                if (index < sorted.size() && sorted.get(index).getId().equals(message.getId())) {
+                    return; // 이미 있음
+                }
+                if (index == 0 && messages.size() >= capacity) {
+                    complete = false; // 버퍼 범위보다 오래된 메시지
+                    return;
+                }
+                sorted.add(index, message);
+                messages.clear();
+                messages.addAll(sorted);
+            }
+            while (messages.size() > capacity) {
+                messages.pollFirst();
+                complete = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.cache.BoundedTtlCache;
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatRoomDto;
+import com.shopsphere.shopsphere_web.entity.InquiryChatRoom;
+import com.shopsphere.shopsphere_web.event.InquiryChatRoomChangedEvent;
+import com.shopsphere.shopsphere_web.repository.InquiryChatRoomRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * 문의 채팅방 참여자(구매자/판매자 ID와 이름) 캐시.
+ * 메시지 전송, 메시지 조회, STOMP 구독의 권한 확인이 캐시 적중 시 쿼리 없이 처리됩니다.
+ * 채팅방을 열 때(getOrCreateChatRoom) 채워지고, 없으면 채팅방과 참여자를 한 번에 조회해 채웁니다.
+ * 채팅방이 삭제되거나 참여자가 바뀌면 InquiryChatRoomChangedEvent로 무효화하며, 이름 변경 등은 TTL 안에 반영됩니다.
+ */
+@Component
+public class InquiryChatMembershipCache {
+
+    private final InquiryChatRoomRepository chatRoomRepository;
+    private final BoundedTtlCache<Long, Membership> cache;
+
+    public InquiryChatMembershipCache(InquiryChatRoomRepository chatRoomRepository,
+                                      @Value("${chat.membership.max-size:50000}") int maxSize,
+                                      @Value("${chat.membership.ttl:10m}") Duration ttl) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.cache = new BoundedTtlCache<>("inquiryChatMembership", maxSize, ttl);
+    }
+
+    /**
+     * 채팅방 참여자를 반환합니다. 채팅방이 없으면 null을 반환합니다.
+     */
+    public Membership get(Long chatRoomId) {
+        if (chatRoomId == null) {
+            return null;
+        }
+        return cache.get(chatRoomId, id -> chatRoomRepository.findByIdWithParticipants(id)
+                .map(Membership::of)
+                .orElse(null));
+    }
+
+    public boolean isParticipant(Long chatRoomId, String userId) {
+        Membership membership = get(chatRoomId);
+        return membership != null && membership.isParticipant(userId);
+    }
+
+    // 이미 조회한 채팅방 정보로 캐시를 채움 (캐시에 없을 때만)
+    public void remember(InquiryChatRoomDto chatRoom) {
+        cache.get(chatRoom.getId(), id -> new Membership(id, chatRoom.getBuyerId(), chatRoom.getBuyerName(),
+                chatRoom.getSellerId(), chatRoom.getSellerName()));
+    }
+
+    public void evict(Long chatRoomId) {
+        cache.invalidate(chatRoomId);
+    }
+
+    public BoundedTtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChatRoomChanged(InquiryChatRoomChangedEvent event) {
+        cache.invalidate(event.getChatRoomId());
+    }
+
+    // 만료 항목 정리 (기본: 1분마다)
+    @Scheduled(fixedDelayString = "${chat.membership.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        cache.purgeExpired();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Membership {
+        private final Long chatRoomId;
+        private final String buyerId;
+        private final String buyerName;
+        private final String sellerId;
+        private final String sellerName;
+
+        // 구매자/판매자를 함께 조회한 채팅방으로 생성
+        static Membership of(InquiryChatRoom chatRoom) {
+            return new Membership(chatRoom.getId(), chatRoom.getBuyer().getId(), chatRoom.getBuyer().getName(),
+                    chatRoom.getSeller().getId(), chatRoom.getSeller().getName());
+        }
+
+        public boolean isParticipant(String userId) {
+            return userId != null && (userId.equals(buyerId) || userId.equals(sellerId));
+        }
+
+        // 참여자의 이름 (참여자가 아니면 null)
+        public String nameOf(String userId) {
+            if (userId == null) {
+                return null;
+            }
+            if (userId.equals(buyerId)) {
+                return buyerName;
+            }
+            return userId.equals(sellerId) ? sellerName : null;
+        }
+    }
+}
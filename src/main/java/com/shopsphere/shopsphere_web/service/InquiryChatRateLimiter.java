@@ -0,0 +1,88 @@
+package com.shopsphere.shopsphere_web.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 문의 채팅방별 메시지 전송 속도 제한 (토큰 버킷).
+ * 채팅방마다 최대 capacity개까지 연속 전송을 허용하고 초당 refill-per-second개씩 다시 채웁니다.
+ * 한 채팅방에서 메시지가 폭주해도 제한을 넘는 메시지는 처리 스레드와 브로커에 들어가기 전에 버려지므로
+ * 다른 채팅방의 전달 지연에 영향을 주지 않습니다.
+ */
+@Component
+public class InquiryChatRateLimiter {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final long idleNanos;
+    private final Map<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public InquiryChatRateLimiter(@Value("${chat.rate-limit.room-capacity:20}") int capacity,
+                                  @Value("${chat.rate-limit.room-refill-per-second:5}") double refillPerSecond) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("채팅 전송 제한 값은 0보다 커야 합니다.");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        // 버킷이 가득 찰 때까지 사용되지 않은 채팅방은 정리해도 동작이 같음
+        this.idleNanos = (long) Math.ceil(capacity / refillPerNano);
+    }
+
+    /**
+     * 채팅방에서 메시지 하나를 보낼 수 있으면 토큰을 차감하고 true를 반환합니다.
+     */
+    public boolean tryAcquire(Long chatRoomId) {
+        TokenBucket bucket = buckets.computeIfAbsent(chatRoomId, id -> new TokenBucket(capacity, System.nanoTime()));
+        if (bucket.tryAcquire(System.nanoTime())) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getTrackedRooms() {
+        return buckets.size();
+    }
+
+    // 오래 사용되지 않은 채팅방의 버킷 정리 (기본: 1분마다)
+    @Scheduled(fixedDelayString = "${chat.rate-limit.purge-interval-ms:60000}")
+    public void purgeIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    private final class TokenBucket {
+        private double tokens;
+        private long updatedAt;
+
+        private TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.updatedAt = now;
+        }
+
+        private synchronized boolean tryAcquire(long now) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * refillPerNano);
+            updatedAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        private synchronized boolean isIdle(long now, long idleNanos) {
+            return now - updatedAt >= idleNanos;
+        }
+    }
+}
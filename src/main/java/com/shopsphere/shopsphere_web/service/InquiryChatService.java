@@ -1,6 +1,7 @@
 package com.shopsphere.shopsphere_web.service;
 
 import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatDto;
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatPageDto;
 import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatRequestDto;
 import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatRoomDto;
 import com.shopsphere.shopsphere_web.entity.InquiryChat;
@@ -8,21 +9,26 @@ import com.shopsphere.shopsphere_web.entity.InquiryChatRoom;
 import com.shopsphere.shopsphere_web.entity.OrderItem;
 import com.shopsphere.shopsphere_web.entity.Product;
 import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.event.InquiryChatSentEvent;
 import com.shopsphere.shopsphere_web.repository.InquiryChatRepository;
 import com.shopsphere.shopsphere_web.repository.InquiryChatRoomRepository;
 import com.shopsphere.shopsphere_web.repository.OrderItemRepository;
 import com.shopsphere.shopsphere_web.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,6 +40,20 @@ public class InquiryChatService {
     private final InquiryChatRepository chatRepository;
     private final UserRepository userRepository;
     private final OrderItemRepository orderItemRepository;
+    private final InquiryChatHistoryBuffer historyBuffer;
+    private final InquiryChatWriteBehind chatWriteBehind;
+    private final InquiryChatMembershipCache membershipCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${chat.history.default-page-size:30}")
+    private int defaultPageSize;
+
+    @Value("${chat.history.max-page-size:100}")
+    private int maxPageSize;
+
+    // 메시지 한 건의 최대 길이 (문자 수)
+    @Value("${chat.message.max-length:2000}")
+    private int maxMessageLength;
 
     // 채팅방 생성 또는 조회
     @Transactional
@@ -49,9 +69,12 @@ public class InquiryChatService {
             String sellerId = seller.getId();
 
             // 이미 존재하는 채팅방이 있는지 확인
-            return chatRoomRepository.findByBuyerIdAndSellerIdAndOrderItemId(buyerId, sellerId, orderItemId)
+            InquiryChatRoomDto chatRoom = chatRoomRepository.findByBuyerIdAndSellerIdAndOrderItemId(buyerId, sellerId, orderItemId)
                     .map(InquiryChatRoomDto::new)
                     .orElseGet(() -> createNewChatRoom(buyerId, sellerId, orderItemId));
+            // 이어지는 메시지 전송/조회의 권한 확인에 사용할 참여자 정보 저장
+            membershipCache.remember(chatRoom);
+            return chatRoom;
         } catch (Exception e) {
             log.error("Error in getOrCreateChatRoom: {}", e.getMessage(), e);
             throw new IllegalArgumentException("채팅방을 생성하거나 조회하는 중 오류가 발생했습니다.");
@@ -96,8 +119,10 @@ public class InquiryChatService {
         }
     }
 
-    // 채팅 메시지 전송
-    @Transactional
+    /**
+     * 채팅 메시지 전송.
+     * 채팅방 참여자 검증 후 메시지는 ID를 받아 바로 반환되고(브로드캐스트 가능), DB 저장은 InquiryChatWriteBehind가 배치로 처리합니다.
+     */
     public InquiryChatDto sendMessage(String senderId, InquiryChatRequestDto requestDto) {
         try {
             if (senderId == null || senderId.isEmpty() || requestDto == null) {
@@ -107,30 +132,24 @@ public class InquiryChatService {
             if (requestDto.getMessage() == null || requestDto.getMessage().trim().isEmpty()) {
                 throw new IllegalArgumentException("메시지 내용은 필수입니다.");
             }
+            if (requestDto.getMessage().length() > maxMessageLength) {
+                throw new IllegalArgumentException("메시지는 " + maxMessageLength + "자 이하로 입력해주세요.");
+            }
 
-            User sender = userRepository.findById(senderId)
-                    .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-            
-            InquiryChatRoom chatRoom = chatRoomRepository.findById(requestDto.getChatRoomId())
-                    .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-            
-            // 권한 확인: 채팅방의 구매자 또는 판매자만 메시지를 보낼 수 있음
-            if (!chatRoom.getBuyer().getId().equals(senderId) && 
-                !chatRoom.getSeller().getId().equals(senderId)) {
+            // 권한 확인: 채팅방의 구매자 또는 판매자만 메시지를 보낼 수 있음 (참여자 캐시 적중 시 쿼리 없음)
+            InquiryChatMembershipCache.Membership membership = membershipCache.get(requestDto.getChatRoomId());
+            if (membership == null) {
+                throw new IllegalArgumentException("채팅방을 찾을 수 없습니다.");
+            }
+            if (!membership.isParticipant(senderId)) {
                 throw new SecurityException("이 채팅방에 메시지를 보낼 권한이 없습니다.");
             }
 
-
-            InquiryChat chat = InquiryChat.builder()
-                    .chatRoom(chatRoom)
-                    .sender(sender)
-                    .message(requestDto.getMessage())
-                    .build();
-
-            // 수동으로 시간 설정
-            chat.setSentAt(LocalDateTime.now());
-
-            return new InquiryChatDto(chatRepository.save(chat));
+            InquiryChatDto message = chatWriteBehind.accept(membership.getChatRoomId(), senderId,
+                    membership.nameOf(senderId), requestDto.getMessage());
+            // 채팅방 최근 메시지 버퍼에 추가 (트랜잭션이 없으므로 즉시 처리됨)
+            eventPublisher.publishEvent(new InquiryChatSentEvent(message));
+            return message;
         } catch (IllegalArgumentException | SecurityException e) {
             throw e; // 이미 처리된 예외는 그대로 전달
         } catch (Exception e) {
@@ -139,26 +158,69 @@ public class InquiryChatService {
         }
     }
 
-    // 채팅방의 모든 메시지 조회
-    @Transactional(readOnly = true)
-    public List<InquiryChatDto> getChatMessages(Long chatRoomId, String userId) {
+    /**
+     * 채팅 메시지를 메시지 ID 커서로 페이지 조회합니다. (before/after를 모두 생략하면 최근 메시지)
+     * 최근 메시지와 새 메시지(after)는 대부분 채팅방 최근 메시지 버퍼에서 응답하고, 버퍼 범위 밖이면
+     * (inquiry_chat_room_id, inquiry_chat_id) 인덱스를 따라 limit + 1건만 읽습니다.
+     *
+     * 버퍼를 처음 채우는 조회가 이 메서드의 이전 조회와 같은 트랜잭션 스냅샷을 쓰면 그 사이 커밋된 메시지를 놓칠 수 있으므로
+     * 트랜잭션을 걸지 않고 각 조회가 자체 트랜잭션으로 실행되도록 합니다.
+     * 아직 저장되지 않은(지연 저장 대기 중인) 메시지는 DB 조회 결과에 합쳐 응답합니다.
+     *
+     * @param before 이 ID보다 오래된 메시지 조회 (위로 스크롤)
+     * @param after  이 ID보다 최신 메시지 조회 (재접속 후 누락분)
+     * @param limit  최대 메시지 수 (null이면 chat.history.default-page-size)
+     */
+    public InquiryChatPageDto getChatMessages(Long chatRoomId, String userId, Long before, Long after, Integer limit) {
         try {
             if (chatRoomId == null || userId == null || userId.isEmpty()) {
                 throw new IllegalArgumentException("채팅방 ID와 사용자 ID는 필수입니다.");
             }
+            if (before != null && after != null) {
+                throw new IllegalArgumentException("before와 after는 함께 사용할 수 없습니다.");
+            }
+            int size = limit != null ? limit : defaultPageSize;
+            if (size < 1 || size > maxPageSize) {
+                throw new IllegalArgumentException("limit는 1 이상 " + maxPageSize + " 이하여야 합니다.");
+            }
+
+            InquiryChatMembershipCache.Membership membership = membershipCache.get(chatRoomId);
+            if (membership == null) {
+                throw new IllegalArgumentException("채팅방을 찾을 수 없습니다.");
+            }
 
-            InquiryChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                    .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
-            
             // 권한 확인: 채팅방의 구매자 또는 판매자만 메시지를 조회할 수 있음
-            if (!chatRoom.getBuyer().getId().equals(userId) && 
-                !chatRoom.getSeller().getId().equals(userId)) {
+            if (!membership.isParticipant(userId)) {
                 throw new SecurityException("이 채팅방의 메시지를 볼 권한이 없습니다.");
             }
 
-            return chatRepository.findByChatRoomIdOrderBySentAtAsc(chatRoomId).stream()
-                    .map(InquiryChatDto::new)
-                    .collect(Collectors.toList());
+            InquiryChatPageDto buffered = historyBuffer.read(chatRoomId, before, after, size, count -> {
+                List<InquiryChatDto> unsaved = chatWriteBehind.unsavedMessages(chatRoomId);
+                List<InquiryChatDto> latest = toDtos(chatRepository.findLatestByChatRoomId(chatRoomId, PageRequest.of(0, count)));
+                return mergeUnsaved(latest, unsaved, null, null, false, count);
+            });
+            if (buffered != null) {
+                return buffered;
+            }
+
+            // limit + 1건을 읽어 다음 페이지 존재 여부 판단 (저장 대기 목록을 DB보다 먼저 읽어야 그 사이 저장된 메시지가 빠지지 않음)
+            List<InquiryChatDto> unsaved = chatWriteBehind.unsavedMessages(chatRoomId);
+            PageRequest page = PageRequest.of(0, size + 1);
+            List<InquiryChatDto> rows;
+            if (after != null) {
+                rows = toDtos(chatRepository.findByChatRoomIdAfter(chatRoomId, after, page));
+            } else if (before != null) {
+                rows = toDtos(chatRepository.findByChatRoomIdBefore(chatRoomId, before, page));
+            } else {
+                rows = toDtos(chatRepository.findLatestByChatRoomId(chatRoomId, page));
+            }
+            rows = mergeUnsaved(rows, unsaved, before, after, after != null, size + 1);
+            boolean hasMore = rows.size() > size;
+            List<InquiryChatDto> messages = new ArrayList<>(rows.subList(0, Math.min(size, rows.size())));
+            if (after == null) {
+                Collections.reverse(messages); // 내림차순으로 읽은 결과를 오름차순으로
+            }
+            return new InquiryChatPageDto(messages, hasMore);
         } catch (IllegalArgumentException | SecurityException e) {
             throw e; // 이미 처리된 예외는 그대로 전달
         } catch (Exception e) {
@@ -167,9 +229,31 @@ public class InquiryChatService {
         }
     }
 
+    // DB 조회 결과와 저장 대기 메시지를 커서 조건으로 합쳐 ID 순서(ascending이 아니면 내림차순)로 최대 count건 반환
+    private static List<InquiryChatDto> mergeUnsaved(List<InquiryChatDto> rows, List<InquiryChatDto> unsaved,
+                                                     Long before, Long after, boolean ascending, int count) {
+        if (unsaved.isEmpty()) {
+            return rows;
+        }
+        Comparator<Long> order = ascending ? Comparator.naturalOrder() : Comparator.reverseOrder();
+        Map<Long, InquiryChatDto> byId = new TreeMap<>(order);
+        rows.forEach(message -> byId.put(message.getId(), message));
+        for (InquiryChatDto message : unsaved) {
+            if ((before == null || message.getId() < before) && (after == null || message.getId() > after)) {
+                byId.putIfAbsent(message.getId(), message);
+            }
+        }
+        return byId.values().stream().limit(count).collect(Collectors.toList());
+    }
+
+    private static List<InquiryChatDto> toDtos(List<InquiryChat> chats) {
+        return chats.stream()
+                .map(InquiryChatDto::new)
+                .collect(Collectors.toList());
+    }
+
     // 사용자의 모든 채팅방 조회 (구매자 또는 판매자 기준)
     // WebSocket을 통해 메시지 전송을 위한 메서드 (기존 sendMessage와 유사하지만 senderId를 requestDto에서 가져옴)
-    @Transactional
     public InquiryChatDto sendMessage(InquiryChatRequestDto requestDto) {
         try {
             if (requestDto == null || requestDto.getSenderId() == null || requestDto.getSenderId().isEmpty()) {
@@ -196,46 +280,13 @@ public class InquiryChatService {
                 throw new IllegalArgumentException("사용자 ID는 필수입니다.");
             }
 
-            // 구매자 또는 판매자로 등록된 모든 채팅방 조회
-            List<InquiryChatRoom> buyerRooms = chatRoomRepository.findByBuyerId(userId);
-            List<InquiryChatRoom> sellerRooms = chatRoomRepository.findBySellerId(userId);
-
-            // 중복 제거를 위해 Set 사용
-            Set<InquiryChatRoom> uniqueRooms = new HashSet<>();
-            uniqueRooms.addAll(buyerRooms);
-            uniqueRooms.addAll(sellerRooms);
-
-            // 채팅방 ID 목록 추출
-            List<Long> chatRoomIds = uniqueRooms.stream()
-                    .map(InquiryChatRoom::getId)
-                    .collect(Collectors.toList());
-
-            // 모든 채팅방의 마지막 메시지 일괄 조회 (N+1 문제 방지)
-            List<InquiryChat> lastMessages = chatRoomIds.isEmpty() 
-                    ? List.of() 
-                    : chatRepository.findLastMessagesByChatRoomIds(chatRoomIds);
-
-            // 채팅방 ID를 키로 하는 마지막 메시지 맵 생성
-            Map<Long, InquiryChat> lastMessageMap = lastMessages.stream()
-                    .collect(Collectors.toMap(
-                            chat -> chat.getChatRoom().getId(),
-                            chat -> chat,
-                            (existing, replacement) -> existing.getSentAt().isAfter(replacement.getSentAt()) ? existing : replacement
-                    ));
-
-            // DTO로 변환하여 반환
-            return uniqueRooms.stream()
-                    .map(room -> {
-                        // 채팅방의 마지막 메시지 가져오기
-                        InquiryChat lastMessage = lastMessageMap.get(room.getId());
-                        
-                        // 마지막 메시지가 있으면 두 개의 매개변수를 받는 생성자 사용
-                        // 없으면 InquiryChatRoom만 받는 생성자 사용
-                        return lastMessage != null 
-                                ? new InquiryChatRoomDto(room, lastMessage)
-                                : new InquiryChatRoomDto(room);
-                    })
+            // 구매자 또는 판매자로 등록된 모든 채팅방을 한 번의 쿼리로 조회 (마지막 메시지와 읽지 않은 수는 채팅방에 비정규화되어 있음)
+            List<InquiryChatRoomDto> chatRooms = chatRoomRepository.findByParticipantId(userId).stream()
+                    .map(room -> new InquiryChatRoomDto(room, userId))
                     .collect(Collectors.toList());
+            // 목록에서 채팅방을 열 때의 권한 확인을 위해 참여자 정보 저장
+            chatRooms.forEach(membershipCache::remember);
+            return chatRooms;
         } catch (IllegalArgumentException e) {
             throw e; // 이미 처리된 예외는 그대로 전달
         } catch (Exception e) {
@@ -0,0 +1,121 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatDto;
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatUnreadDto;
+import com.shopsphere.shopsphere_web.entity.InquiryChatRoom;
+import com.shopsphere.shopsphere_web.event.InquiryChatPersistedEvent;
+import com.shopsphere.shopsphere_web.repository.InquiryChatRoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 문의 채팅 읽음 처리와 읽지 않은 메시지 수 알림.
+ * 참여자별 마지막 읽은 메시지 ID와 읽지 않은 메시지 수는 inquiry_chat_room에 저장되며,
+ * 메시지 저장 배치(InquiryChatWriteBehind)가 증분 갱신하고 읽음 처리 시 마지막 읽은 ID 이후 메시지로 다시 계산합니다.
+ * 값이 바뀌면 해당 사용자에게 /user/queue/inquiry-chat-unread로 알림을 보내므로 클라이언트는 주기적으로 조회하지 않아도 됩니다.
+ * (알림은 로그인 세션으로 연결한 STOMP 세션에만 전달됩니다)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InquiryChatUnreadService {
+
+    public static final String UNREAD_DESTINATION = "/queue/inquiry-chat-unread";
+
+    // 읽음 위치는 뒤로 되돌리지 않고, 채팅방의 최신 메시지 ID(저장된 마지막 메시지와 저장 대기 중인 최신 메시지 중 큰 값)를 넘지 않도록 제한
+    private static final String MARK_READ_BUYER_SQL =
+            "UPDATE inquiry_chat_room r SET " +
+            "r.buyer_last_read_id = LEAST(?, GREATEST(COALESCE(r.last_message_id, 0), ?)), " +
+            "r.buyer_unread_count = (SELECT COUNT(*) FROM inquiry_chat c WHERE c.inquiry_chat_room_id = r.inquiry_chat_room_id " +
+            "AND c.inquiry_chat_id > LEAST(?, GREATEST(COALESCE(r.last_message_id, 0), ?)) AND c.sender_user_id <> r.buyer_id) " +
+            "WHERE r.inquiry_chat_room_id = ? AND COALESCE(r.buyer_last_read_id, 0) < ?";
+    private static final String MARK_READ_SELLER_SQL =
+            "UPDATE inquiry_chat_room r SET " +
+            "r.seller_last_read_id = LEAST(?, GREATEST(COALESCE(r.last_message_id, 0), ?)), " +
+            "r.seller_unread_count = (SELECT COUNT(*) FROM inquiry_chat c WHERE c.inquiry_chat_room_id = r.inquiry_chat_room_id " +
+            "AND c.inquiry_chat_id > LEAST(?, GREATEST(COALESCE(r.last_message_id, 0), ?)) AND c.sender_user_id <> r.seller_id) " +
+            "WHERE r.inquiry_chat_room_id = ? AND COALESCE(r.seller_last_read_id, 0) < ?";
+
+    // 비정규화 컬럼 도입 이전 채팅방: 마지막 메시지를 채우고 기존 메시지는 모두 읽은 것으로 처리
+    // 1단계에서 마지막 메시지 ID를 채우고, 2단계에서 그 메시지의 미리보기(컬럼 길이로 자름)/시각과 읽음 위치를 채움
+    private static final String BACKFILL_LAST_ID_SQL =
+            "UPDATE inquiry_chat_room r SET r.last_message_id = (SELECT MAX(c.inquiry_chat_id) FROM inquiry_chat c " +
+            "WHERE c.inquiry_chat_room_id = r.inquiry_chat_room_id) " +
+            "WHERE r.last_message_id IS NULL " +
+            "AND EXISTS (SELECT 1 FROM inquiry_chat c WHERE c.inquiry_chat_room_id = r.inquiry_chat_room_id)";
+    private static final String BACKFILL_PREVIEW_SQL =
+            "UPDATE inquiry_chat_room r SET " +
+            "r.last_message = (SELECT LEFT(c.message, " + InquiryChatRoom.LAST_MESSAGE_PREVIEW_LENGTH + ") FROM inquiry_chat c " +
+            "WHERE c.inquiry_chat_id = r.last_message_id), " +
+            "r.last_message_at = (SELECT c.inquiry_chat_sent_at FROM inquiry_chat c WHERE c.inquiry_chat_id = r.last_message_id), " +
+            "r.buyer_last_read_id = r.last_message_id, r.seller_last_read_id = r.last_message_id " +
+            "WHERE r.last_message_id IS NOT NULL AND r.last_message_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InquiryChatRoomRepository chatRoomRepository;
+    private final InquiryChatMembershipCache membershipCache;
+    private final InquiryChatWriteBehind chatWriteBehind;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        jdbcTemplate.update(BACKFILL_LAST_ID_SQL);
+        int updated = jdbcTemplate.update(BACKFILL_PREVIEW_SQL);
+        if (updated > 0) {
+            log.info("채팅방 마지막 메시지/읽음 위치 초기화: {}개", updated);
+        }
+    }
+
+    /**
+     * 사용자가 채팅방의 lastReadMessageId까지 읽었음을 기록하고, 갱신된 읽지 않은 메시지 수를 반환합니다.
+     */
+    public InquiryChatUnreadDto markRead(Long chatRoomId, String userId, Long lastReadMessageId) {
+        if (chatRoomId == null || userId == null || userId.isEmpty() || lastReadMessageId == null) {
+            throw new IllegalArgumentException("채팅방 ID, 사용자 ID, 마지막으로 읽은 메시지 ID는 필수입니다.");
+        }
+        InquiryChatMembershipCache.Membership membership = membershipCache.get(chatRoomId);
+        if (membership == null) {
+            throw new IllegalArgumentException("채팅방을 찾을 수 없습니다.");
+        }
+        if (!membership.isParticipant(userId)) {
+            throw new SecurityException("이 채팅방의 메시지를 볼 권한이 없습니다.");
+        }
+
+        // 아직 저장되지 않은 메시지도 화면에 표시되었을 수 있으므로 읽음 위치 상한에 포함
+        List<InquiryChatDto> unsaved = chatWriteBehind.unsavedMessages(chatRoomId);
+        long newestUnsaved = unsaved.isEmpty() ? 0L : unsaved.get(unsaved.size() - 1).getId();
+        String sql = userId.equals(membership.getBuyerId()) ? MARK_READ_BUYER_SQL : MARK_READ_SELLER_SQL;
+        jdbcTemplate.update(sql, lastReadMessageId, newestUnsaved, lastReadMessageId, newestUnsaved,
+                chatRoomId, lastReadMessageId);
+
+        InquiryChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
+                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다."));
+        InquiryChatUnreadDto unread = toUnreadDto(chatRoom, userId);
+        // 같은 사용자의 다른 화면(탭, 기기)의 배지도 갱신
+        messagingTemplate.convertAndSendToUser(userId, UNREAD_DESTINATION, unread);
+        return unread;
+    }
+
+    // 메시지 배치가 저장되면 해당 채팅방 참여자에게 읽지 않은 메시지 수를 알림
+    @EventListener
+    public void onMessagesPersisted(InquiryChatPersistedEvent event) {
+        for (InquiryChatRoom chatRoom : chatRoomRepository.findAllById(event.getChatRoomIds())) {
+            messagingTemplate.convertAndSendToUser(chatRoom.getBuyerId(), UNREAD_DESTINATION, toUnreadDto(chatRoom, chatRoom.getBuyerId()));
+            messagingTemplate.convertAndSendToUser(chatRoom.getSellerId(), UNREAD_DESTINATION, toUnreadDto(chatRoom, chatRoom.getSellerId()));
+        }
+    }
+
+    private static InquiryChatUnreadDto toUnreadDto(InquiryChatRoom chatRoom, String userId) {
+        return new InquiryChatUnreadDto(chatRoom.getId(), chatRoom.getUnreadCountFor(userId),
+                chatRoom.getLastMessageId(), chatRoom.getLastMessage(), chatRoom.getLastMessageAt());
+    }
+}
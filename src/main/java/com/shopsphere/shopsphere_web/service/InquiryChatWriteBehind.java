@@ -0,0 +1,412 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatDto;
+import com.shopsphere.shopsphere_web.entity.InquiryChatRoom;
+import com.shopsphere.shopsphere_web.event.InquiryChatPersistedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 문의 채팅 메시지 지연 저장(write-behind).
+ * 메시지는 검증 직후 ID를 받아 바로 브로드캐스트되고, DB 저장은 크기가 제한된 큐를 거쳐 전용 스레드가 JDBC 배치로 처리합니다.
+ * 그래서 메시지 전달 지연에 INSERT 시간이 포함되지 않습니다.
+ *
+ * ID는 시작 시 DB(와 남은 보조 파일)의 최대 ID에서 이어서 메모리에서 발급하고, 큐에 넣는 순서와 같은 순서로 발급하므로
+ * 채팅방별 메시지 순서(ID 순서)와 저장 순서가 항상 일치합니다. 저장 스레드는 하나뿐이며 실패한 배치는 성공할 때까지 다시 시도합니다.
+ *
+ * 큐가 가득 차면(DB 지연/장애) 그 이후 메시지는 디스크의 보조 파일(NDJSON, 쓰기마다 동기화)에 추가되고,
+ * 큐를 모두 저장한 뒤 파일 순서대로 다시 저장합니다. 보조 파일이 남아 있는 동안은 새 메시지도 파일로 보내 순서를 유지합니다.
+ * 저장 전에 같은 트랜잭션에서 배치의 ID 구간 중 이미 저장된 ID를 조회해 제외하므로, 다시 저장하는 중 중단되었거나
+ * 커밋 결과를 모른 채 재시도해도 중복 저장되지 않습니다. (INSERT IGNORE처럼 다른 오류까지 무시하지 않음)
+ * 보조 파일에 있는 메시지도 다시 저장될 때까지 저장 대기 메시지로 유지되어 대화 내역 조회에 포함됩니다.
+ * 같은 트랜잭션에서 채팅방의 마지막 메시지와 참여자별 읽지 않은 메시지 수도 갱신하고, 커밋 후 InquiryChatPersistedEvent를 발행합니다.
+ * 큐에만 있는 메시지는 프로세스가 비정상 종료되면 유실될 수 있습니다. (정상 종료 시에는 모두 저장하거나 보조 파일로 옮김)
+ *
+ * ID 발급과 큐가 애플리케이션 인스턴스 메모리에 있으므로 단일 인스턴스 배포를 전제로 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InquiryChatWriteBehind {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO inquiry_chat (inquiry_chat_id, inquiry_chat_room_id, sender_user_id, message, inquiry_chat_sent_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    // 배치에 포함된 채팅방 메시지 구간 [?, ?]으로 마지막 메시지와 읽지 않은 메시지 수를 증분 갱신
+    // (채팅방의 메시지는 ID 순서로 저장되므로 이미 반영된 구간이면 WHERE 조건으로 건너뜀 → 보조 파일 재저장 시 중복 집계 방지)
+    private static final String UPDATE_ROOM_SQL =
+            "UPDATE inquiry_chat_room r SET " +
+            "r.buyer_unread_count = r.buyer_unread_count + (SELECT COUNT(*) FROM inquiry_chat c " +
+            "WHERE c.inquiry_chat_room_id = r.inquiry_chat_room_id AND c.inquiry_chat_id BETWEEN ? AND ? " +
+            "AND c.inquiry_chat_id > COALESCE(r.buyer_last_read_id, 0) AND c.sender_user_id <> r.buyer_id), " +
+            "r.seller_unread_count = r.seller_unread_count + (SELECT COUNT(*) FROM inquiry_chat c " +
+            "WHERE c.inquiry_chat_room_id = r.inquiry_chat_room_id AND c.inquiry_chat_id BETWEEN ? AND ? " +
+            "AND c.inquiry_chat_id > COALESCE(r.seller_last_read_id, 0) AND c.sender_user_id <> r.seller_id), " +
+            "r.last_message_id = ?, r.last_message = ?, r.last_message_at = ? " +
+            "WHERE r.inquiry_chat_room_id = ? AND COALESCE(r.last_message_id, 0) < ?";
+    private static final String SAVED_IDS_SQL =
+            "SELECT inquiry_chat_id FROM inquiry_chat WHERE inquiry_chat_id BETWEEN ? AND ?";
+    private static final String SPILL_PREFIX = "inquiry-chat-";
+    private static final String SPILL_SUFFIX = ".ndjson";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${chat.persist.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.persist.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chat.persist.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${chat.persist.spill-dir:./data/chat-spill}")
+    private String spillDirValue;
+
+    private BlockingQueue<PendingChat> queue;
+    // 아직 커밋되지 않은 메시지 (큐 + 저장 중인 배치 + 보조 파일). 조회가 DB와 합쳐 누락 없이 응답하는 데 사용
+    private final Map<Long, PendingChat> unsaved = new ConcurrentHashMap<>();
+    // ID 발급, 큐/보조 파일 선택, 보조 파일 전환을 직렬화
+    private final Object routeLock = new Object();
+    private long lastId;
+    private boolean spilling = false;
+    private Path activeSpill;
+    private int spillSequence = 0;
+
+    private Path spillDir;
+    private Thread writer;
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void start() throws IOException {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        spillDir = Paths.get(spillDirValue).toAbsolutePath().normalize();
+        Files.createDirectories(spillDir);
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(inquiry_chat_id), 0) FROM inquiry_chat", Long.class);
+        lastId = maxId != null ? maxId : 0L;
+        List<Path> leftovers = spillFiles();
+        for (Path file : leftovers) {
+            for (PendingChat chat : readSpill(file)) {
+                lastId = Math.max(lastId, chat.getId());
+                unsaved.put(chat.getId(), chat);
+            }
+        }
+        // 이전 실행의 보조 파일이 있으면 먼저 저장될 때까지 새 메시지도 보조 파일로 보냄
+        spilling = !leftovers.isEmpty();
+        if (spilling) {
+            log.warn("저장되지 않은 채팅 보조 파일 {}개를 다시 저장합니다: {}", leftovers.size(), spillDir);
+        }
+
+        writer = new Thread(this::runWriter, "inquiry-chat-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        // 남은 큐를 마지막으로 저장하고, 실패하면 보조 파일로 옮겨 다음 실행에서 저장
+        List<PendingChat> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (rest.isEmpty()) {
+            return;
+        }
+        try {
+            insert(rest);
+        } catch (DataAccessException e) {
+            log.error("종료 중 채팅 메시지 {}건 저장 실패, 보조 파일로 옮깁니다.", rest.size(), e);
+            synchronized (routeLock) {
+                appendSpill(rest);
+            }
+        }
+    }
+
+    /**
+     * 메시지에 ID를 발급하고 저장을 예약합니다. 반환된 메시지는 바로 브로드캐스트해도 됩니다.
+     *
+     * @throws IllegalStateException 큐가 가득 찼는데 보조 파일에도 쓰지 못한 경우 (메시지는 접수되지 않음)
+     */
+    public InquiryChatDto accept(Long chatRoomId, String senderId, String senderName, String message) {
+        synchronized (routeLock) {
+            PendingChat chat = new PendingChat(lastId + 1, chatRoomId, senderId, senderName, message, LocalDateTime.now());
+            if (!spilling) {
+                unsaved.put(chat.getId(), chat);
+                if (queue.offer(chat)) {
+                    lastId = chat.getId();
+                    return chat.toDto();
+                }
+                unsaved.remove(chat.getId());
+                spilling = true;
+                log.warn("채팅 저장 큐가 가득 차 보조 파일에 기록합니다: {}", spillDir);
+            }
+            unsaved.put(chat.getId(), chat);
+            try {
+                appendSpill(List.of(chat));
+            } catch (IllegalStateException e) {
+                unsaved.remove(chat.getId());
+                throw e;
+            }
+            lastId = chat.getId();
+            return chat.toDto();
+        }
+    }
+
+    /**
+     * 채팅방의 아직 커밋되지 않은 메시지 (ID 오름차순). 보조 파일에서 다시 저장되기를 기다리는 메시지도 포함합니다.
+     * DB 조회보다 먼저 호출해야 그 사이 저장된 메시지가 양쪽 모두에서 빠지지 않습니다.
+     */
+    public List<InquiryChatDto> unsavedMessages(Long chatRoomId) {
+        return unsaved.values().stream()
+                .filter(chat -> chat.getChatRoomId().equals(chatRoomId))
+                .sorted(Comparator.comparing(PendingChat::getId))
+                .map(PendingChat::toDto)
+                .toList();
+    }
+
+    private void runWriter() {
+        List<PendingChat> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    PendingChat first = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        replaySpills(); // 큐가 비었을 때만 보조 파일 저장 (큐의 메시지가 항상 더 오래됨)
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                insert(batch);
+                batch.forEach(chat -> unsaved.remove(chat.getId()));
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (DataAccessException e) {
+                // 같은 배치를 다시 시도 (다음 메시지를 먼저 저장하지 않음)
+                log.error("채팅 메시지 {}건 저장 실패, {}ms 후 다시 시도합니다.", batch.size(), retryBackoffMs, e);
+                if (!sleepBackoff()) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                log.error("채팅 저장 스레드 오류", e);
+                if (!sleepBackoff()) {
+                    break;
+                }
+            }
+        }
+        // 종료 중 저장하지 못한 배치는 큐 앞에 있던 메시지이므로 보조 파일로 옮김
+        if (!batch.isEmpty()) {
+            synchronized (routeLock) {
+                appendSpill(batch);
+            }
+        }
+    }
+
+    private boolean sleepBackoff() {
+        try {
+            Thread.sleep(retryBackoffMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 메시지 INSERT와 채팅방 마지막 메시지/읽지 않은 수 갱신을 한 트랜잭션으로 처리하고, 커밋 후 갱신된 채팅방을 알림
+    private void insert(List<PendingChat> batch) {
+        // 채팅방별 [첫 메시지, 마지막 메시지] (배치는 ID 오름차순)
+        Map<Long, PendingChat[]> ranges = new LinkedHashMap<>();
+        for (PendingChat chat : batch) {
+            ranges.computeIfAbsent(chat.getChatRoomId(), id -> new PendingChat[]{chat, chat})[1] = chat;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // 이전 시도에서 이미 커밋된 메시지는 제외 (배치는 ID 오름차순이므로 구간 조회 한 번으로 확인)
+            Set<Long> saved = new HashSet<>(jdbcTemplate.queryForList(SAVED_IDS_SQL, Long.class,
+                    batch.get(0).getId(), batch.get(batch.size() - 1).getId()));
+            List<PendingChat> toInsert = saved.isEmpty() ? batch
+                    : batch.stream().filter(chat -> !saved.contains(chat.getId())).toList();
+            if (!saved.isEmpty()) {
+                log.info("이미 저장된 채팅 메시지 {}건을 건너뜁니다.", batch.size() - toInsert.size());
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, Math.max(toInsert.size(), 1), (ps, chat) -> {
+                ps.setLong(1, chat.getId());
+                ps.setLong(2, chat.getChatRoomId());
+                ps.setString(3, chat.getSenderId());
+                ps.setString(4, chat.getMessage());
+                ps.setTimestamp(5, Timestamp.valueOf(chat.getSentAt()));
+            });
+            List<PendingChat[]> rooms = new ArrayList<>(ranges.values());
+            jdbcTemplate.batchUpdate(UPDATE_ROOM_SQL, rooms, rooms.size(), (ps, range) -> {
+                long first = range[0].getId();
+                long last = range[1].getId();
+                ps.setLong(1, first);
+                ps.setLong(2, last);
+                ps.setLong(3, first);
+                ps.setLong(4, last);
+                ps.setLong(5, last);
+                ps.setString(6, preview(range[1].getMessage()));
+                ps.setTimestamp(7, Timestamp.valueOf(range[1].getSentAt()));
+                ps.setLong(8, range[1].getChatRoomId());
+                ps.setLong(9, first);
+            });
+        });
+        try {
+            eventPublisher.publishEvent(new InquiryChatPersistedEvent(ranges.keySet()));
+        } catch (RuntimeException e) {
+            log.warn("채팅 저장 알림 처리 실패: {}", e.getMessage(), e); // 저장은 완료되었으므로 다시 시도하지 않음
+        }
+    }
+
+    // last_message 컬럼 길이를 넘는 메시지는 잘라서 저장 (strict 모드에서 UPDATE가 실패해 배치 재시도가 멈추지 않도록)
+    static String preview(String message) {
+        if (message == null || message.length() <= InquiryChatRoom.LAST_MESSAGE_PREVIEW_LENGTH) {
+            return message;
+        }
+        int end = InquiryChatRoom.LAST_MESSAGE_PREVIEW_LENGTH;
+        if (Character.isHighSurrogate(message.charAt(end - 1))) {
+            end--; // 이모지 등 서로게이트 쌍이 잘리지 않도록
+        }
+        return message.substring(0, end);
+    }
+
+    // 보조 파일을 오래된 순서로 저장하고 삭제. 모두 저장되면 새 메시지를 다시 큐로 보냄
+    private void replaySpills() {
+        List<Path> files;
+        synchronized (routeLock) {
+            if (!spilling) {
+                return;
+            }
+            // 지금까지의 파일만 저장 대상으로 고정하고, 이후 넘치는 메시지는 새 파일에 기록
+            activeSpill = null;
+            files = spillFiles();
+        }
+        for (Path file : files) {
+            List<PendingChat> chats = readSpill(file);
+            for (int from = 0; from < chats.size(); from += batchSize) {
+                List<PendingChat> chunk = chats.subList(from, Math.min(from + batchSize, chats.size()));
+                insert(chunk);
+                chunk.forEach(chat -> unsaved.remove(chat.getId()));
+            }
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            log.info("채팅 보조 파일 저장 완료: {} ({}건)", file.getFileName(), chats.size());
+        }
+        synchronized (routeLock) {
+            if (activeSpill == null && spillFiles().isEmpty()) {
+                spilling = false;
+            }
+        }
+    }
+
+    // routeLock을 잡은 상태에서 호출
+    private void appendSpill(List<PendingChat> chats) {
+        try {
+            if (activeSpill == null) {
+                activeSpill = spillDir.resolve(String.format("%s%013d-%06d%s",
+                        SPILL_PREFIX, System.currentTimeMillis(), spillSequence++ % 1_000_000, SPILL_SUFFIX));
+            }
+            List<String> lines = new ArrayList<>(chats.size());
+            for (PendingChat chat : chats) {
+                lines.add(objectMapper.writeValueAsString(chat));
+            }
+            Files.write(activeSpill, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            log.error("채팅 보조 파일 기록 실패: {}", activeSpill, e);
+            throw new IllegalStateException("메시지를 저장할 수 없습니다. 잠시 후 다시 시도해주세요.", e);
+        }
+    }
+
+    private List<Path> spillFiles() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDir, SPILL_PREFIX + "*" + SPILL_SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        files.sort(Comparator.comparing(path -> path.getFileName().toString())); // 파일 이름이 생성 순서
+        return files;
+    }
+
+    private List<PendingChat> readSpill(Path file) {
+        List<PendingChat> chats = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chats.add(objectMapper.readValue(line, PendingChat.class));
+                } catch (IOException e) {
+                    log.error("채팅 보조 파일의 손상된 줄을 건너뜁니다: {} - {}", file.getFileName(), line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chats;
+    }
+
+    // 저장 대기 중인 메시지 (보조 파일의 한 줄)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PendingChat {
+        private Long id;
+        private Long chatRoomId;
+        private String senderId;
+        private String senderName;
+        private String message;
+        private LocalDateTime sentAt;
+
+        InquiryChatDto toDto() {
+            return new InquiryChatDto(id, chatRoomId, senderId, senderName, message, sentAt);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SKU(상품 또는 상품 옵션)별 가용 재고를 메모리 카운터로 관리하는 재고 원장.
+ * 주문 시 재고 예약은 CAS 연산으로 처리하고, DB에는 주문 트랜잭션 안에서 저널(inventory_journal) 행만 INSERT하므로
+ * 인기 상품의 product 행에 잠금이 몰리지 않습니다. 저널은 주기적으로 상품별 순 증감량으로 합산되어
+ * product.stock_quantity / product_option.stock_quantity에 일괄 반영되고 같은 트랜잭션에서 삭제됩니다(정확히 한 번 반영).
+ *
+ * 카운터 값 = DB 재고 + 아직 반영되지 않은 차감 저널 합계 - 커밋 대기 중인 예약 수량.
+ * 복원(주문 취소) 저널은 DB 반영 시점에 카운터에 더해지므로, 취소된 재고는 최대 한 번의 반영 주기 뒤에 다시 판매됩니다.
+ * 서버가 비정상 종료되어도 저널은 DB에 남아 있으므로, 시작 시 남은 저널을 모두 반영한 뒤 카운터를 DB에서 다시 읽습니다.
+ *
+ * 카운터는 애플리케이션 인스턴스 메모리에 있으므로 단일 인스턴스 배포를 전제로 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation-mode", havingValue = "ledger")
+public class InventoryLedger {
+
+    private static final String LOAD_PRODUCT_SQL =
+            "SELECT p.stock_quantity + COALESCE((SELECT SUM(j.quantity_delta) FROM inventory_journal j " +
+            "WHERE j.product_id = p.product_id AND j.option_id IS NULL AND j.quantity_delta < 0), 0) " +
+            "FROM product p WHERE p.product_id = ?";
+    private static final String LOAD_OPTION_SQL =
+            "SELECT o.stock_quantity + COALESCE((SELECT SUM(j.quantity_delta) FROM inventory_journal j " +
+            "WHERE j.option_id = o.option_id AND j.quantity_delta < 0), 0) " +
+            "FROM product_option o WHERE o.option_id = ? AND o.product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.ledger.flush-batch-size:5000}")
+    private int flushBatchSize;
+
+    private final Map<SkuKey, SkuCounter> counters = new ConcurrentHashMap<>();
+    // 카운터 로딩/재설정과 저널 반영을 직렬화 (예약 경로는 이 잠금을 사용하지 않음)
+    private final ReentrantLock ledgerLock = new ReentrantLock();
+
+    /**
+     * SKU 카운터를 반환합니다. 처음 접근하는 SKU는 DB에서 읽어 생성하며, 상품/옵션이 없으면 IllegalArgumentException을 던집니다.
+     */
+    public SkuCounter counter(Integer productId, Integer optionId) {
+        SkuKey key = new SkuKey(productId, optionId);
+        SkuCounter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        ledgerLock.lock();
+        try {
+            counter = counters.get(key);
+            if (counter == null) {
+                counter = new SkuCounter(loadAvailable(key));
+                counters.put(key, counter);
+            }
+            return counter;
+        } finally {
+            ledgerLock.unlock();
+        }
+    }
+
+    /**
+     * 재고 변경 저널을 현재 트랜잭션(주문 트랜잭션)에서 일괄 INSERT합니다.
+     */
+    public void appendJournal(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO inventory_journal (product_id, option_id, quantity_delta, sales_delta, created_at) VALUES (?, ?, ?, ?, ?)",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setInt(1, entry.getProductId());
+                    ps.setObject(2, entry.getOptionId());
+                    ps.setInt(3, entry.getQuantityDelta());
+                    ps.setInt(4, entry.getSalesDelta());
+                    ps.setTimestamp(5, now);
+                });
+    }
+
+    // 시작 시 이전 실행에서 남은 저널을 모두 반영 (비정상 종료 복구)
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int total = 0;
+        int applied;
+        do {
+            applied = flush();
+            total += applied;
+        } while (applied >= flushBatchSize);
+        log.info("재고 원장 복구 완료: 미반영 저널 {}건 반영", total);
+    }
+
+    /**
+     * 저널을 SKU별 순 증감량으로 합산해 재고/판매량에 일괄 반영하고, 반영한 저널 행을 같은 트랜잭션에서 삭제합니다.
+     *
+     * @return 반영한 저널 행 수
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:200}")
+    public int flush() {
+        ledgerLock.lock();
+        try {
+            List<JournalRow> rows = new ArrayList<>();
+            Integer flushed = transactionTemplate.execute(status -> {
+                rows.addAll(jdbcTemplate.query(
+                        "SELECT entry_id, product_id, option_id, quantity_delta, sales_delta FROM inventory_journal ORDER BY entry_id LIMIT ?",
+                        (rs, rowNum) -> new JournalRow(rs.getLong("entry_id"),
+                                new JournalEntry(rs.getInt("product_id"), rs.getObject("option_id", Integer.class),
+                                        rs.getInt("quantity_delta"), rs.getInt("sales_delta"))),
+                        flushBatchSize));
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+
+                Map<Integer, int[]> productDeltas = new HashMap<>(); // [재고, 판매량]
+                Map<Integer, Integer> optionDeltas = new HashMap<>();
+                for (JournalRow row : rows) {
+                    JournalEntry entry = row.getEntry();
+                    if (entry.getOptionId() == null) {
+                        int[] delta = productDeltas.computeIfAbsent(entry.getProductId(), k -> new int[2]);
+                        delta[0] += entry.getQuantityDelta();
+                        delta[1] += entry.getSalesDelta();
+                    } else {
+                        optionDeltas.merge(entry.getOptionId(), entry.getQuantityDelta(), Integer::sum);
+                    }
+                }
+
+                List<Object[]> productArgs = new ArrayList<>();
+                productDeltas.forEach((productId, delta) -> productArgs.add(new Object[]{delta[0], delta[1], productId}));
+                jdbcTemplate.batchUpdate(
+                        "UPDATE product SET stock_quantity = stock_quantity + ?, " +
+                        "sales_volume = COALESCE(sales_volume, 0) + ? WHERE product_id = ?", productArgs);
+
+                List<Object[]> optionArgs = new ArrayList<>();
+                optionDeltas.forEach((optionId, delta) -> optionArgs.add(new Object[]{delta, optionId}));
+                jdbcTemplate.batchUpdate(
+                        "UPDATE product_option SET stock_quantity = stock_quantity + ? WHERE option_id = ?", optionArgs);
+
+                List<Object[]> deleteArgs = new ArrayList<>();
+                rows.forEach(row -> deleteArgs.add(new Object[]{row.getEntryId()}));
+                jdbcTemplate.batchUpdate("DELETE FROM inventory_journal WHERE entry_id = ?", deleteArgs);
+                return rows.size();
+            });
+
+            // 커밋 이후: 복원 저널만 카운터에 더함 (차감은 예약 시점에 이미 카운터에 반영됨)
+            for (JournalRow row : rows) {
+                JournalEntry entry = row.getEntry();
+                if (entry.getQuantityDelta() > 0) {
+                    SkuCounter counter = counters.get(new SkuKey(entry.getProductId(), entry.getOptionId()));
+                    if (counter != null) {
+                        counter.available.addAndGet(entry.getQuantityDelta());
+                    }
+                }
+            }
+            return flushed != null ? flushed : 0;
+        } finally {
+            ledgerLock.unlock();
+        }
+    }
+
+    // 판매자가 상품/옵션 재고를 직접 수정할 수 있으므로, 상품 변경 커밋 이후 해당 상품의 카운터를 DB 기준으로 다시 계산
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductChangedEvent.ChangeType type = event.getChangeType();
+        if (type != ProductChangedEvent.ChangeType.UPDATED && type != ProductChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        ledgerLock.lock();
+        try {
+            for (Map.Entry<SkuKey, SkuCounter> entry : counters.entrySet()) {
+                if (!event.getProductIds().contains(entry.getKey().productId)) {
+                    continue;
+                }
+                if (type == ProductChangedEvent.ChangeType.DELETED) {
+                    counters.remove(entry.getKey());
+                    continue;
+                }
+                SkuCounter counter = entry.getValue();
+                // 커밋 대기 중인 예약 수를 DB 조회보다 먼저 읽어야 재계산 중 커밋된 예약이 누락되지 않음 (중복 차감은 안전한 방향)
+                int inFlight = counter.inFlight.get();
+                try {
+                    counter.available.set(loadAvailable(entry.getKey()) - inFlight);
+                } catch (IllegalArgumentException e) {
+                    counters.remove(entry.getKey()); // 삭제된 옵션
+                }
+            }
+        } finally {
+            ledgerLock.unlock();
+        }
+    }
+
+    private int loadAvailable(SkuKey key) {
+        List<Integer> result = key.optionId == null
+                ? jdbcTemplate.queryForList(LOAD_PRODUCT_SQL, Integer.class, key.productId)
+                : jdbcTemplate.queryForList(LOAD_OPTION_SQL, Integer.class, key.optionId, key.productId);
+        if (result.isEmpty() || result.get(0) == null) {
+            throw new IllegalArgumentException(key.optionId == null
+                    ? "상품을 찾을 수 없습니다. ID: " + key.productId
+                    : String.format("상품 ID %d에 대한 옵션 ID %d가 유효하지 않습니다.", key.productId, key.optionId));
+        }
+        return result.get(0);
+    }
+
+    /**
+     * SKU 하나의 가용 재고 카운터.
+     * 예약은 커밋 대기 수(inFlight)를 먼저 올린 뒤 CAS로 차감하고, 트랜잭션 종료 시 confirm/cancel로 정리합니다.
+     */
+    public static class SkuCounter {
+        private final AtomicInteger available;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        SkuCounter(int available) {
+            this.available = new AtomicInteger(available);
+        }
+
+        public int getAvailable() {
+            return available.get();
+        }
+
+        // 가용 재고가 충분하면 차감하고 true, 부족하면 아무것도 바꾸지 않고 false
+        public boolean tryReserve(int quantity) {
+            inFlight.addAndGet(quantity);
+            while (true) {
+                int current = available.get();
+                if (current < quantity) {
+                    inFlight.addAndGet(-quantity);
+                    return false;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        // 예약한 트랜잭션이 커밋됨: 저널이 DB에 남았으므로 커밋 대기 수만 줄임
+        public void confirm(int quantity) {
+            inFlight.addAndGet(-quantity);
+        }
+
+        // 예약한 트랜잭션이 롤백됨: 재고를 먼저 되돌린 뒤 커밋 대기 수를 줄임 (재계산과 겹쳐도 과다 계산되지 않는 순서)
+        public void cancel(int quantity) {
+            available.addAndGet(quantity);
+            inFlight.addAndGet(-quantity);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class JournalEntry {
+        private final Integer productId;
+        private final Integer optionId;
+        private final int quantityDelta;
+        private final int salesDelta;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class JournalRow {
+        private final long entryId;
+        private final JournalEntry entry;
+    }
+
+    private static final class SkuKey {
+        private final Integer productId;
+        private final Integer optionId;
+
+        private SkuKey(Integer productId, Integer optionId) {
+            this.productId = productId;
+            this.optionId = optionId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SkuKey)) return false;
+            SkuKey other = (SkuKey) o;
+            return Objects.equals(productId, other.productId) && Objects.equals(optionId, other.optionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, optionId);
+        }
+    }
+}
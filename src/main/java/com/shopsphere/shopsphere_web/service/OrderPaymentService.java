@@ -0,0 +1,69 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.OrderDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 토스 결제 흐름을 조율합니다. (로컬 검증/상태 준비 → 토스 API 호출 → 결과 반영)
+ * DB 트랜잭션은 OrderService의 각 단계에만 걸리고, 토스 API 응답을 기다리는 동안에는
+ * 트랜잭션/커넥션/요청 스레드를 점유하지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderPaymentService {
+
+    private final OrderService orderService;
+    private final TossPaymentGateway tossPaymentGateway;
+
+    public Mono<Map<String, String>> requestTossPayment(Integer orderId, String userId) {
+        return Mono.fromCallable(() -> orderService.preparePaymentRequest(orderId, userId))
+                .flatMap(tossPaymentGateway::requestPayment)
+                .map(tossResponse -> {
+                    // 임시 저장했던 tossOrderId (transactionId)와 실제로 발급받은 paymentKey를 함께 반환
+                    Map<String, String> paymentInfo = new HashMap<>();
+                    paymentInfo.put("paymentKey", tossResponse.getPaymentKey());
+                    paymentInfo.put("checkoutUrl", tossResponse.getCheckout() != null ? tossResponse.getCheckout().getUrl() : null); // 결제창 URL
+                    paymentInfo.put("tossOrderId", tossResponse.getOrderId()); // 토스에서 받은 orderId (우리가 보낸 값과 동일해야 함)
+                    return paymentInfo;
+                });
+    }
+
+    /**
+     * 결제 승인: 주문을 CONFIRMING으로 전이한 요청만 토스 승인 API를 호출하고,
+     * 중복 요청(같은 paymentKey)은 DB 잠금 대기나 외부 호출 없이 현재 주문 상태를 반환합니다.
+     */
+    public Mono<OrderDTO.Response> confirmTossPayment(String paymentKey, String tossOrderId, int amount, String userId) {
+        return Mono.fromCallable(() -> orderService.beginPaymentConfirmation(tossOrderId, paymentKey, amount, userId))
+                .flatMap(current -> current
+                        .map(Mono::just)
+                        .orElseGet(() -> confirmWithToss(paymentKey, tossOrderId, amount, userId)));
+    }
+
+    private Mono<OrderDTO.Response> confirmWithToss(String paymentKey, String tossOrderId, int amount, String userId) {
+        return tossPaymentGateway.confirmPayment(paymentKey, tossOrderId, amount)
+                .onErrorResume(e -> {
+                    // 응답을 받지 못한 경우(타임아웃 등) 토스에서 승인되었을 수 있으므로 CONFIRMING으로 두고
+                    // PaymentConfirmationRecoveryScheduler가 토스 결제 조회로 결과를 확정하게 함
+                    if (TossPaymentGateway.isOutcomeUnknown(e)) {
+                        log.warn("결제 승인 결과 확인 불가, 복구 대기: tossOrderId={}, paymentKey={}, 원인={}",
+                                tossOrderId, paymentKey, e.toString());
+                        return Mono.error(new IllegalStateException(
+                                "결제 승인 결과를 확인하고 있습니다. 잠시 후 주문 내역에서 결제 상태를 확인해주세요."));
+                    }
+                    return Mono.fromRunnable(() -> orderService.failTossPayment(tossOrderId, paymentKey))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(Mono.error(e));
+                })
+                // 응답 이후의 DB 작업은 Netty 이벤트 루프가 아닌 별도 스레드에서 수행
+                .publishOn(Schedulers.boundedElastic())
+                .map(tossResponse -> orderService.completeTossPayment(tossOrderId, paymentKey, userId, tossResponse));
+    }
+}
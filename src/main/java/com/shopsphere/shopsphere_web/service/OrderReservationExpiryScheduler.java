@@ -0,0 +1,62 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 결제되지 않은 채 예약 시간이 지난 주문을 주기적으로 EXPIRED 처리하여 붙잡혀 있던 재고를 돌려놓습니다.
+ * 만료 대상은 (order_status, reservation_expires_at) 인덱스 범위 스캔으로 찾고, 주문마다 별도 트랜잭션으로 처리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderReservationExpiryScheduler {
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+
+    // 한 번에 조회할 만료 대상 주문 수
+    @Value("${order.reservation.expiry-batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.reservation.expiry-check-interval-ms:60000}")
+    public void expireReservations() {
+        long startedAt = System.currentTimeMillis();
+        int expired = 0;
+        int failed = 0;
+        while (true) {
+            List<Integer> orderIds = orderRepository.findExpiredReservationIds(
+                    OrderService.RESERVATION_HOLDING_STATUSES, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (orderIds.isEmpty()) {
+                break;
+            }
+            int processed = 0;
+            for (Integer orderId : orderIds) {
+                try {
+                    if (orderService.expireReservation(orderId)) {
+                        expired++;
+                        processed++;
+                    }
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("주문 예약 만료 처리 실패: orderId={}", orderId, e);
+                }
+            }
+            // 이번 배치에서 아무것도 처리하지 못했다면 (모두 실패/경합) 같은 주문을 반복 조회하지 않도록 중단
+            if (processed == 0 || orderIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (expired > 0 || failed > 0) {
+            log.info("주문 예약 만료 처리: {}건 만료, {}건 실패, {}ms", expired, failed, System.currentTimeMillis() - startedAt);
+        }
+    }
+}
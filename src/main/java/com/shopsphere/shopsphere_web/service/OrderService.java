@@ -1,36 +1,38 @@
 // src/main/java/com/shopsphere/shopsphere_web/service/OrderService.java
 package com.shopsphere.shopsphere_web.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopsphere.shopsphere_web.config.TossPaymentsProperties;
 import com.shopsphere.shopsphere_web.dto.OrderDTO;
 import com.shopsphere.shopsphere_web.dto.OrderItemDTO;
 import com.shopsphere.shopsphere_web.dto.ProductDTO;
 import com.shopsphere.shopsphere_web.dto.ProductOptionDTO;
 import com.shopsphere.shopsphere_web.dto.UserDTO; // ProductDTO는 ProductService에서 변환하므로 여기선 UserDTO만 필요할 수 있음
 import com.shopsphere.shopsphere_web.entity.*;
+import com.shopsphere.shopsphere_web.event.OrderSalesEvent;
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
 import com.shopsphere.shopsphere_web.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.http.HttpHeaders;
-import java.util.Base64;
-import java.nio.charset.StandardCharsets;
-import org.springframework.http.MediaType;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 // 토스페이먼츠 API 통신을 위한 DTO (해당 경로에 있어야 합니다)
 import com.shopsphere.shopsphere_web.dto.TossPaymentResponseDTO;
 
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -44,60 +46,42 @@ public class OrderService {
     private final ProductService productService; // ProductDTO 변환을 위해
     private final ReviewRepository reviewRepository;
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationService stockReservationService;
+    private final SalesRollupService salesRollupService;
 
-    // application.properties 또는 application.yml에서 설정된 값 주입
-    @Value("${toss.payments.secretKey}")
-    private String tossPaymentsSecretKey;
+    private final TossPaymentsProperties tossPaymentsProperties;
 
-    @Value("${toss.payments.baseUrl}")
-    private String tossPaymentsBaseUrl;
+    // 주문 생성 후 결제 승인까지 재고를 붙잡아 두는 시간
+    @Value("${order.reservation.ttl:30m}")
+    private Duration reservationTtl;
 
-    @Value("${toss.payments.successUrl}")
-    private String tossPaymentsSuccessUrl;
+    // 재고 예약을 유지하는 (결제가 끝나지 않은) 주문 상태
+    public static final List<String> RESERVATION_HOLDING_STATUSES = List.of("PENDING_PAYMENT", "PAYMENT_FAILED");
 
-    @Value("${toss.payments.failUrl}")
-    private String tossPaymentsFailUrl;
+    // 취소할 수 있는 (재고를 붙잡고 있는) 주문 상태. 승인 중(CONFIRMING)/만료/취소된 주문은 제외
+    public static final List<String> CANCELLABLE_STATUSES = List.of("PENDING_PAYMENT", "PAYMENT_FAILED", "PROCESSING", "COMPLETED");
 
     @Transactional
     public OrderDTO.Response createOrder(String userId, OrderDTO.CreateRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다. ID: " + userId));
 
-        // 주문 생성 전 모든 상품의 재고 확인
-        for (OrderItemDTO.CreateRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findByIdForUpdate(itemRequest.getProductId()) // 이 부분 변경
-                    .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. ID: " + itemRequest.getProductId()));
-
-            // 상품 재고 확인 (옵션 없는 경우)
-            if (itemRequest.getOptionId() == null) {
-                if (product.getStockQuantity() < itemRequest.getQuantity()) {
-                    throw new IllegalArgumentException(String.format(
-                        "[%s] 상품의 재고가 부족합니다. 요청 수량: %d, 현재 재고: %d",
-                        product.getName(), itemRequest.getQuantity(), product.getStockQuantity()
-                    ));
-                }
-            } else { // 옵션 재고 확인
-                ProductOption option = productOptionRepository.findByIdForUpdate(itemRequest.getOptionId()) // 이 부분 변경
-                        .orElseThrow(() -> new IllegalArgumentException("상품 옵션을 찾을 수 없습니다. ID: " + itemRequest.getOptionId()));
-
-                if (!option.getProduct().getId().equals(product.getId())) {
-                     throw new IllegalArgumentException(String.format(
-                        "상품 ID %d에 대한 옵션 ID %d가 유효하지 않습니다.", product.getId(), itemRequest.getOptionId()
-                    ));
-                }
-
-                if (option.getStockQuantity() < itemRequest.getQuantity()) {
-                    throw new IllegalArgumentException(String.format(
-                        "[%s - %s] 옵션의 재고가 부족합니다. 요청 수량: %d, 현재 재고: %d",
-                        product.getName(), option.getSize(), itemRequest.getQuantity(), option.getStockQuantity()
-                    ));
-                }
-            }
-        }
+        // 재고 차감(예약)을 먼저 수행: 상품 ID 순서로 조건부 UPDATE를 실행하며, 하나라도 부족하면 예외 → 전체 롤백
+        List<StockReservationService.StockLine> stockLines = request.getItems().stream()
+                .map(item -> new StockReservationService.StockLine(item.getProductId(), item.getOptionId(), item.getQuantity()))
+                .collect(Collectors.toList());
+        stockReservationService.reserve(stockLines);
 
-        // 모든 재고 확인 후 주문 생성
+        // 차감 이후에 상품/옵션을 한 번에 조회하므로 엔티티에는 차감된 재고가 반영되어 있음
+        Map<Integer, Product> productMap = productRepository.findAllById(request.getItems().stream()
+                        .map(OrderItemDTO.CreateRequest::getProductId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+        Map<Integer, ProductOption> optionMap = productOptionRepository.findAllById(request.getItems().stream()
+                        .map(OrderItemDTO.CreateRequest::getOptionId).filter(Objects::nonNull).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ProductOption::getId, option -> option));
+
+        // 주문 생성
         Order order = Order.builder()
                 .user(user)
                 .orderDate(LocalDateTime.now())
@@ -105,34 +89,24 @@ public class OrderService {
                 .shippingAddress(request.getShippingAddress())
                 .paymentMethod(request.getPaymentMethod())
                 .createdAt(LocalDateTime.now())
+                .reservationExpiresAt(LocalDateTime.now().plus(reservationTtl)) // 이 시각까지 미결제면 자동 취소(EXPIRED)
                 .build();
         // orderItems 리스트는 Order 엔티티의 @Builder.Default에 의해 new ArrayList<>()로 초기화됨
 
         int calculatedTotalAmount = 0;
 
-        // 주문 상품 생성 및 재고 업데이트
+        // 주문 상품 생성 (재고/판매량은 위에서 반영됨)
         for (OrderItemDTO.CreateRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId()).get(); // 위에서 이미 검증됨
+            Product product = productMap.get(itemRequest.getProductId()); // 예약 단계에서 이미 검증됨
 
             int itemBasePrice = product.getPrice();
             ProductOption option = null;
 
             if (itemRequest.getOptionId() != null) {
-                option = productOptionRepository.findById(itemRequest.getOptionId()).get(); // 위에서 이미 검증됨
-                // 옵션 재고 차감
-                option.setStockQuantity(option.getStockQuantity() - itemRequest.getQuantity());
-                productOptionRepository.save(option); // 변경된 옵션 재고 저장
+                option = optionMap.get(itemRequest.getOptionId()); // 예약 단계에서 이미 검증됨
                 itemBasePrice += option.getAdditionalPrice();
-            } else {
-                // 상품 재고 차감 (옵션 없는 경우)
-                product.setStockQuantity(product.getStockQuantity() - itemRequest.getQuantity());
             }
 
-            // 공통: 상품 판매량 증가
-            product.setSalesVolume((product.getSalesVolume() != null ? product.getSalesVolume() : 0) + itemRequest.getQuantity());
-            productRepository.save(product); // 변경된 상품 재고 및 판매량 저장
-
-
             OrderItem orderItem = OrderItem.builder()
                     .order(order) // 양방향 연관관계 설정 (Order 엔티티 저장 시 OrderItem도 함께 저장됨 - CascadeType.ALL)
                     .product(product)
@@ -157,6 +131,14 @@ public class OrderService {
         // 3. transactionId가 업데이트된 주문을 다시 저장합니다.
         Order finalOrder = orderRepository.save(savedOrder);
 
+        // 재고/판매량이 바뀐 상품의 캐시 무효화 (커밋 이후 반영)
+        eventPublisher.publishEvent(ProductChangedEvent.of(
+                request.getItems().stream().map(OrderItemDTO.CreateRequest::getProductId).distinct().collect(Collectors.toList()),
+                ProductChangedEvent.ChangeType.STOCK));
+        eventPublisher.publishEvent(OrderSalesEvent.placed(request.getItems().stream()
+                .map(item -> new OrderSalesEvent.Line(item.getProductId(), item.getQuantity()))
+                .collect(Collectors.toList()), savedOrder.getCreatedAt()));
+
         // 4. 주문한 상품들만 장바구니에서 제거
         cartService.removeItems(userId, request.getItems());
 
@@ -168,47 +150,85 @@ public class OrderService {
 
     public OrderDTO.Response getOrder(Integer orderId) {
         // Fetch Join을 사용하여 연관 엔티티를 함께 로드하는 것이 좋음
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findByIdWithDetails(orderId)
                 .orElseThrow(() -> new RuntimeException("주문을 찾을 수 없습니다. ID: " + orderId));
         return convertToResponse(order, order.getUser().getId()); // 주문자 ID 전달
     }
 
     public List<OrderDTO.Response> getUserOrders(String userId) {
         List<Order> userOrders = orderRepository.findByUser_IdWithDetails(userId);
-        return userOrders.stream()
-                .map(order -> convertToResponse(order, userId))
-                .collect(Collectors.toList());
+        return convertToResponses(userOrders, userId);
     }
 
     @Transactional
     public OrderDTO.Response updateOrderStatus(Integer orderId, String status) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("주문을 찾을 수 없습니다. ID: " + orderId));
+        String currentStatus = order.getOrderStatus();
 
-        // TODO: 주문 상태 변경에 따른 추가 로직 (예: 재고 복원 등)
-        if ("CANCELLED".equals(status) && !"PENDING_PAYMENT".equals(order.getOrderStatus()) && !"PROCESSING".equals(order.getOrderStatus())) {
-             // 이미 배송 시작되었거나 완료된 주문은 취소 불가 등의 로직 추가 가능
-            // throw new IllegalStateException("주문을 취소할 수 없는 상태입니다.");
-        }
-        // 주문 취소 시 재고 복원 로직 (예시)
-        if ("CANCELLED".equals(status) && ("PENDING_PAYMENT".equals(order.getOrderStatus()) || "PROCESSING".equals(order.getOrderStatus()))) {
-            for (OrderItem item : order.getOrderItems()) {
-                Product product = item.getProduct();
-                product.setStockQuantity(product.getStockQuantity() + item.getQuantity());
-                product.setSalesVolume((product.getSalesVolume() != null ? product.getSalesVolume() : 0) - item.getQuantity());
-                productRepository.save(product);
-
-                if (item.getProductOption() != null) {
-                    ProductOption option = item.getProductOption();
-                    option.setStockQuantity(option.getStockQuantity() + item.getQuantity());
-                    productOptionRepository.save(option);
-                }
+        if ("CANCELLED".equals(status)) {
+            // 승인 중인 주문은 토스 승인이 뒤이어 성공할 수 있으므로 결과(COMPLETED/PAYMENT_FAILED)가 정해진 뒤에만 취소 가능
+            if ("CONFIRMING".equals(currentStatus)) {
+                throw new IllegalStateException("결제 승인 중인 주문은 취소할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            }
+            if (!CANCELLABLE_STATUSES.contains(currentStatus)) {
+                throw new IllegalStateException("주문을 취소할 수 없는 상태입니다. 현재 상태: " + currentStatus);
             }
         }
 
+        // 모든 상태 전이는 조건부 UPDATE로 처리: 조회 이후 결제 승인/예약 만료가 먼저 상태를 바꿨다면 덮어쓰지 않음
+        if (orderRepository.compareAndSetStatus(orderId, currentStatus, status) == 0) {
+            throw new IllegalStateException("주문 상태가 변경되어 처리할 수 없습니다. 다시 조회 후 시도해주세요.");
+        }
         order.setOrderStatus(status);
-        Order updatedOrder = orderRepository.save(order);
-        return convertToResponse(updatedOrder, updatedOrder.getUser().getId());
+
+        // 주문 취소 시 재고 복원 (위의 조건부 전이에 성공한 요청만 실행하므로 한 번만 복원됨)
+        if ("CANCELLED".equals(status)) {
+            stockReservationService.release(order.getOrderItems().stream()
+                    .map(item -> new StockReservationService.StockLine(
+                            item.getProduct().getId(),
+                            item.getProductOption() != null ? item.getProductOption().getId() : null,
+                            item.getQuantity()))
+                    .collect(Collectors.toList()));
+            eventPublisher.publishEvent(ProductChangedEvent.of(
+                    order.getOrderItems().stream().map(item -> item.getProduct().getId()).distinct().collect(Collectors.toList()),
+                    ProductChangedEvent.ChangeType.STOCK));
+            eventPublisher.publishEvent(OrderSalesEvent.cancelled(toSalesLines(order), order.getCreatedAt()));
+            // 결제 완료 후 취소된 주문은 판매자 매출 집계에서 차감 (recordPaid로 더해졌던 상태만)
+            if (SalesRollupService.PAID_STATUSES.contains(currentStatus)) {
+                salesRollupService.recordCancelled(order);
+            }
+        }
+
+        return convertToResponse(order, order.getUser().getId());
+    }
+
+    /**
+     * 재고 예약이 만료된 결제 대기 주문을 EXPIRED로 바꾸고 재고/판매량을 복원합니다.
+     * 상태 전이는 조건부 UPDATE로 처리하므로, 그 사이 결제 승인/취소된 주문은 건너뜁니다.
+     *
+     * @return 만료 처리했으면 true
+     */
+    @Transactional
+    public boolean expireReservation(Integer orderId) {
+        if (orderRepository.expireReservation(orderId, RESERVATION_HOLDING_STATUSES, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        Order order = orderRepository.findByIdWithDetails(orderId).orElse(null);
+        if (order == null) {
+            return false;
+        }
+        stockReservationService.release(order.getOrderItems().stream()
+                .map(item -> new StockReservationService.StockLine(
+                        item.getProduct().getId(),
+                        item.getProductOption() != null ? item.getProductOption().getId() : null,
+                        item.getQuantity()))
+                .collect(Collectors.toList()));
+        eventPublisher.publishEvent(ProductChangedEvent.of(
+                order.getOrderItems().stream().map(item -> item.getProduct().getId()).distinct().collect(Collectors.toList()),
+                ProductChangedEvent.ChangeType.STOCK));
+        eventPublisher.publishEvent(OrderSalesEvent.cancelled(toSalesLines(order), order.getCreatedAt()));
+        return true;
     }
 
     @Transactional
@@ -229,33 +249,64 @@ public class OrderService {
         return convertToResponse(updatedOrder, updatedOrder.getUser().getId());
     }
 
-    private OrderDTO.Response convertToResponse(Order order, String userId) {
-        OrderDTO.Response response = new OrderDTO.Response();
-        response.setId(order.getId());
-        response.setUser(convertToUserResponse(order.getUser()));
-        response.setOrderDate(order.getOrderDate());
-        response.setOrderStatus(order.getOrderStatus());
-        response.setShippingAddress(order.getShippingAddress());
-        response.setTotalAmount(order.getTotalAmount());
-        response.setPaymentMethod(order.getPaymentMethod());
-        response.setTransactionId(order.getTransactionId());
-        response.setCreatedAt(order.getCreatedAt());
-
-        List<OrderItemDTO.Response> itemResponses = order.getOrderItems().stream()
-                .map(item -> convertToOrderItemResponse(item, userId))
+    private List<OrderSalesEvent.Line> toSalesLines(Order order) {
+        return order.getOrderItems().stream()
+                .map(item -> new OrderSalesEvent.Line(item.getProduct().getId(), item.getQuantity()))
                 .collect(Collectors.toList());
-        response.setItems(itemResponses);
+    }
 
-        return response;
+    private boolean isReservationExpired(Order order) {
+        return order.getReservationExpiresAt() != null && !order.getReservationExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+    private OrderDTO.Response convertToResponse(Order order, String userId) {
+        return convertToResponses(List.of(order), userId).get(0);
+    }
+
+    /**
+     * 주문 목록을 DTO로 변환합니다.
+     * 모든 주문 항목의 상품 정보와 리뷰 작성 여부를 각각 한 번에 조회하므로, 주문/항목 수와 관계없이 쿼리 수가 일정합니다.
+     */
+    private List<OrderDTO.Response> convertToResponses(List<Order> orders, String userId) {
+        Set<Integer> productIds = orders.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .filter(item -> item.getProduct() != null)
+                .map(item -> item.getProduct().getId())
+                .collect(Collectors.toSet());
+        Map<Integer, ProductDTO.Response> productSummaries = productService.getProductSummaries(productIds);
+        Set<Integer> reviewedProductIds = (userId == null || productIds.isEmpty()) ? Set.of()
+                : new HashSet<>(reviewRepository.findReviewedProductIds(userId, productIds));
+
+        return orders.stream()
+                .map(order -> {
+                    OrderDTO.Response response = new OrderDTO.Response();
+                    response.setId(order.getId());
+                    response.setUser(convertToUserResponse(order.getUser()));
+                    response.setOrderDate(order.getOrderDate());
+                    response.setOrderStatus(order.getOrderStatus());
+                    response.setShippingAddress(order.getShippingAddress());
+                    response.setTotalAmount(order.getTotalAmount());
+                    response.setPaymentMethod(order.getPaymentMethod());
+                    response.setTransactionId(order.getTransactionId());
+                    response.setCreatedAt(order.getCreatedAt());
+
+                    List<OrderItemDTO.Response> itemResponses = order.getOrderItems().stream()
+                            .map(item -> convertToOrderItemResponse(item, productSummaries, reviewedProductIds))
+                            .collect(Collectors.toList());
+                    response.setItems(itemResponses);
+                    return response;
+                })
+                .collect(Collectors.toList());
     }
 
-    private OrderItemDTO.Response convertToOrderItemResponse(OrderItem item, String userId) {
+    private OrderItemDTO.Response convertToOrderItemResponse(OrderItem item,
+                                                             Map<Integer, ProductDTO.Response> productSummaries,
+                                                             Set<Integer> reviewedProductIds) {
         OrderItemDTO.Response response = new OrderItemDTO.Response();
         response.setId(item.getId());
 
         if (item.getProduct() != null) {
-            ProductDTO.Response productDto = productService.getProduct(item.getProduct().getId());
-            response.setProduct(productDto);
+            response.setProduct(productSummaries.get(item.getProduct().getId()));
         }
 
         if (item.getProductOption() != null) {
@@ -266,12 +317,8 @@ public class OrderService {
         response.setTotalPrice(item.getPrice() * item.getQuantity());
         response.setCreatedAt(item.getCreatedAt());
 
-        if (item.getProduct() != null && userId != null) {
-            boolean hasReviewed = reviewRepository.existsByUser_IdAndProduct_Id(userId, item.getProduct().getId());
-            response.setHasReviewed(hasReviewed);
-        } else {
-            response.setHasReviewed(false);
-        }
+        // 리뷰 작성 여부는 convertToResponses에서 한 번에 조회한 결과 사용
+        response.setHasReviewed(item.getProduct() != null && reviewedProductIds.contains(item.getProduct().getId()));
 
         return response;
     }
@@ -299,8 +346,12 @@ public class OrderService {
         return response;
     }
 
+    /**
+     * 토스 결제창 요청 전 로컬 상태를 준비합니다. 주문을 검증하고 토스용 주문 ID를 저장한 뒤 요청 바디를 돌려줍니다.
+     * 실제 토스 API 호출은 트랜잭션 밖(OrderPaymentService)에서 이루어집니다.
+     */
     @Transactional // 결제 요청 시 order 테이블의 transactionId를 업데이트하므로 @Transactional 필요
-    public Map<String, String> requestTossPayment(Integer orderId, String userId) {
+    public Map<String, Object> preparePaymentRequest(Integer orderId, String userId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
 
@@ -310,27 +361,21 @@ public class OrderService {
             throw new IllegalArgumentException("해당 주문에 대한 접근 권한이 없습니다.");
         }
 
-        // TODO: 주문 상태가 'PENDING_PAYMENT' 또는 'PAYMENT_FAILED'와 같이 결제 가능한 상태인지 확인하는 로직 추가
         if (!"PENDING_PAYMENT".equals(order.getOrderStatus()) && !"PAYMENT_FAILED".equals(order.getOrderStatus())) {
             throw new IllegalArgumentException("현재 주문 상태에서는 결제를 요청할 수 없습니다. 현재 상태: " + order.getOrderStatus());
         }
-
-        // 토스페이먼츠 요청에 필요한 HTTP 헤더 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        String encodedAuth = Base64.getEncoder().encodeToString((tossPaymentsSecretKey + ":").getBytes(StandardCharsets.UTF_8));
-        headers.setBasicAuth(encodedAuth);
+        if (isReservationExpired(order)) {
+            throw new IllegalArgumentException("결제 가능 시간이 만료된 주문입니다. 다시 주문해주세요.");
+        }
 
         // 토스페이먼츠용 고유 주문 ID 생성 (예: "order_우리시스템OrderId_타임스탬프")
         // 토스페이먼츠 orderId는 최대 64자 영문 대소문자, 숫자, -, _ 만 허용
         String tossOrderId = "order_" + order.getId() + "_" + System.currentTimeMillis();
 
-        // 주문 정보에 토스 주문 ID 저장 (선택 사항이지만 추적에 유용)
         // Order 엔티티의 transactionId 필드를 토스페이먼츠의 orderId로 활용
         order.setTransactionId(tossOrderId);
         orderRepository.save(order);
 
-
         // 토스페이먼츠 요청 바디 생성
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("orderId", tossOrderId); // 토스페이먼츠용 고유 주문 ID
@@ -338,133 +383,89 @@ public class OrderService {
         // 실제 상품명 조합 로직 필요 (예: "상품A 외 2개" 또는 주문 상품 리스트에서 대표 상품명)
         requestBody.put("orderName", "상품 구매 (" + order.getId() + ")");
         requestBody.put("customerName", order.getUser().getName()); // 사용자 이름 사용
-        requestBody.put("successUrl", tossPaymentsSuccessUrl);
-        requestBody.put("failUrl", tossPaymentsFailUrl);
-        // requestBody.put("flowMode", "DEFAULT"); // 리다이렉트 방식 (필요시 추가)
-        // requestBody.put("easyPay", "NAVER_PAY"); // 특정 간편결제로 바로 연결 (필요시 추가)
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-        try {
-            // 토스페이먼츠 결제 승인 API 호출 (POST /v1/payments)
-            ResponseEntity<TossPaymentResponseDTO> responseEntity = restTemplate.postForEntity(
-                    tossPaymentsBaseUrl + "/v1/payments",
-                    entity,
-                    TossPaymentResponseDTO.class
-            );
-
-            if (responseEntity.getStatusCode().is2xxSuccessful() && responseEntity.getBody() != null) {
-                TossPaymentResponseDTO tossResponse = responseEntity.getBody();
-
-                // 임시 저장했던 tossOrderId (transactionId)와 실제로 발급받은 paymentKey를 함께 반환
-                Map<String, String> paymentInfo = new HashMap<>();
-                paymentInfo.put("paymentKey", tossResponse.getPaymentKey());
-                paymentInfo.put("checkoutUrl", tossResponse.getCheckout().getUrl()); // 결제창 URL
-                paymentInfo.put("tossOrderId", tossResponse.getOrderId()); // 토스에서 받은 orderId (우리가 보낸 값과 동일해야 함)
-
-                return paymentInfo;
-
-            } else {
-                // 토스 응답은 2xx이나 body가 없거나 예상치 못한 경우
-                throw new RuntimeException("토스페이먼츠 결제 요청 실패: 응답 코드 " + responseEntity.getStatusCode() + " - 응답 바디 없음 또는 오류.");
-            }
-        } catch (HttpClientErrorException e) {
-            String errorBody = e.getResponseBodyAsString();
-            System.err.println("토스페이먼츠 API 에러 (requestTossPayment): " + errorBody);
-            // 오류 응답 본문을 파싱하여 클라이언트에 더 상세한 정보 제공
-            try {
-                Map<String, String> errorMap = objectMapper.readValue(errorBody, Map.class);
-                throw new IllegalArgumentException("토스페이먼츠 결제 요청 오류: " + errorMap.getOrDefault("message", "알 수 없는 오류"), e);
-            } catch (Exception jsonEx) {
-                // JSON 파싱 실패 시 원본 오류를 그대로 전달
-                throw new RuntimeException("토스페이먼츠 결제 요청 중 오류 발생 (JSON 파싱 실패): " + errorBody, e);
-            }
-        } catch (Exception e) {
-            // 그 외 예상치 못한 예외 처리
-            throw new RuntimeException("토스페이먼츠 API 통신 중 예외 발생: " + e.getMessage(), e);
+        requestBody.put("successUrl", tossPaymentsProperties.getSuccessUrl());
+        requestBody.put("failUrl", tossPaymentsProperties.getFailUrl());
+        return requestBody;
+    }
+
+    /**
+     * 결제 승인 시작 단계. 주문을 CONFIRMING으로 조건부 전이하고, 성공하면 빈 값을 반환합니다. (토스 승인 API 호출 진행)
+     * 같은 paymentKey로 이미 승인 중이거나 완료된 주문이면 잠금 대기 없이 현재 주문 상태를 그대로 반환합니다.
+     */
+    @Transactional
+    public Optional<OrderDTO.Response> beginPaymentConfirmation(String tossOrderId, String paymentKey, int amount, String userId) {
+        int updated = orderRepository.beginPaymentConfirmation(
+                tossOrderId, paymentKey, userId, amount, RESERVATION_HOLDING_STATUSES, LocalDateTime.now());
+        if (updated == 1) {
+            return Optional.empty();
         }
+
+        // 상태 전이에 실패한 경우에만 주문을 조회하여 원인을 판별
+        Order order = orderRepository.findByTransactionIdWithDetails(tossOrderId)
+                .orElseThrow(() -> new IllegalArgumentException("DB에서 주문을 찾을 수 없습니다. ID: " + tossOrderId));
+        if (!order.getUser().getId().equals(userId)) {
+            throw new SecurityException("주문 정보에 접근할 권한이 없습니다.");
+        }
+        if (order.getTotalAmount() != amount) {
+            throw new IllegalArgumentException("결제 금액이 일치하지 않습니다. 요청된 금액: " + amount + ", 주문 금액: " + order.getTotalAmount());
+        }
+        if (paymentKey.equals(order.getPaymentKey())
+                && ("CONFIRMING".equals(order.getOrderStatus()) || "COMPLETED".equals(order.getOrderStatus()))) {
+            log.debug("중복 결제 승인 요청: orderId={}, status={}", order.getId(), order.getOrderStatus());
+            return Optional.of(convertToResponse(order, userId));
+        }
+        throw new IllegalArgumentException("결제 가능 시간이 만료되었거나 결제할 수 없는 주문입니다. 현재 상태: " + order.getOrderStatus());
     }
 
+    /**
+     * 토스 결제 승인 성공 응답을 주문에 반영합니다. (CONFIRMING → COMPLETED)
+     */
     @Transactional
-    public OrderDTO.Response confirmTossPayment(String paymentKey, String tossOrderId, int amount, String userId) {
-        System.out.println("--- confirmTossPayment 시작 ---");
-        System.out.println("paymentKey: " + paymentKey + ", tossOrderId: " + tossOrderId + ", amount: " + amount + ", userId: " + userId);
-
-        try {
-            System.out.println("[1] 주문 정보 조회 시작: " + tossOrderId);
-            Order order = orderRepository.findByTransactionIdWithDetails(tossOrderId)
-                    .orElseThrow(() -> new IllegalArgumentException("DB에서 주문을 찾을 수 없습니다. ID: " + tossOrderId));
-            System.out.println("[1] 주문 정보 조회 성공! Order ID: " + order.getId());
-
-            System.out.println("[2] 주문자 권한 및 금액 검증 시작");
-            if (!order.getUser().getId().equals(userId)) {
-                throw new SecurityException("주문 정보에 접근할 권한이 없습니다.");
-            }
-            if (order.getTotalAmount() != amount) { // Integer 비교는 equals가 더 안전하지만, 여기선 ==도 가능
-                throw new IllegalArgumentException("결제 금액이 일치하지 않습니다. 요청된 금액: " + amount + ", 주문 금액: " + order.getTotalAmount());
-            }
-            System.out.println("[2] 검증 성공!");
-
-            System.out.println("[3] 토스페이먼츠 API 호출 준비");
-            HttpHeaders headers = new HttpHeaders();
-            String encodedAuth = Base64.getEncoder().encodeToString((tossPaymentsSecretKey + ":").getBytes(StandardCharsets.UTF_8));
-            headers.setBasicAuth(encodedAuth);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("paymentKey", paymentKey);
-            requestBody.put("orderId", tossOrderId);
-            requestBody.put("amount", amount);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-            System.out.println("[3] API 호출 준비 완료");
-
-            System.out.println("[4] 토스페이먼츠 API 호출 시작");
-            ResponseEntity<TossPaymentResponseDTO> responseEntity = restTemplate.postForEntity(
-                    tossPaymentsBaseUrl + "/v1/payments/confirm",
-                    entity,
-                    TossPaymentResponseDTO.class
-            );
-            System.out.println("[4] API 호출 성공! 응답 코드: " + responseEntity.getStatusCode());
-
-            if (responseEntity.getStatusCode().is2xxSuccessful() && responseEntity.getBody() != null) {
-                TossPaymentResponseDTO tossResponse = responseEntity.getBody();
-                System.out.println("[5] 주문 상태 업데이트 시작");
-
-                order.setOrderStatus("COMPLETED");
-                order.setPaymentMethod(tossResponse.getMethod());
-                order.setPaymentKey(tossResponse.getPaymentKey());
-
-                Order savedOrder = orderRepository.save(order);
-                System.out.println("[5] 주문 상태 업데이트 및 저장 성공! Order ID: " + savedOrder.getId());
-
-                System.out.println("[6] DTO 변환 시작");
-                OrderDTO.Response responseDTO = convertToResponse(savedOrder, userId);
-                System.out.println("[6] DTO 변환 성공");
-
-                System.out.println("--- confirmTossPayment 정상 종료 ---");
-                return responseDTO;
-
-            } else {
-                System.err.println("토스 API 응답 오류: 코드는 2xx 이나 바디가 없거나 문제가 있음");
-                throw new RuntimeException("토스페이먼츠 최종 결제 승인에 실패했습니다. 응답 코드: " + responseEntity.getStatusCode());
-            }
+    public OrderDTO.Response completeTossPayment(String tossOrderId, String paymentKey, String userId, TossPaymentResponseDTO tossResponse) {
+        int updated = orderRepository.completePaymentConfirmation(tossOrderId, paymentKey, tossResponse.getMethod());
+        Order order = orderRepository.findByTransactionIdWithDetails(tossOrderId)
+                .orElseThrow(() -> new IllegalArgumentException("DB에서 주문을 찾을 수 없습니다. ID: " + tossOrderId));
+        if (updated == 0 && !("COMPLETED".equals(order.getOrderStatus()) && paymentKey.equals(order.getPaymentKey()))) {
+            // CONFIRMING 상태는 취소/예약 만료 대상이 아니므로 정상 흐름에서는 발생하지 않음
+            log.error("결제 승인 후 주문 상태 불일치: orderId={}, status={}, paymentKey={}",
+                    order.getId(), order.getOrderStatus(), paymentKey);
+            throw new IllegalStateException("결제는 승인되었으나 주문이 " + order.getOrderStatus() + " 상태입니다. 고객센터에 문의해주세요.");
+        }
+        if (updated == 1) {
+            salesRollupService.recordPaid(order); // 판매자 일별 매출 집계 반영 (상태 전이와 같은 트랜잭션)
+        }
+        log.info("결제 승인 반영 완료: orderId={}, paymentKey={}", order.getId(), paymentKey);
+        return convertToResponse(order, userId);
+    }
 
-        } catch (IllegalArgumentException | SecurityException e) {
-            System.err.println("!!! 유효성 검증 실패 !!!");
-            e.printStackTrace(); // 콘솔에 에러 로그 출력
-            throw e; // 예외를 다시 던져서 Controller에서 처리하도록 함
-        } catch (HttpClientErrorException e) {
-            System.err.println("!!! 토스 API 호출 실패 (HttpClientErrorException) !!!");
-            System.err.println("응답 코드: " + e.getStatusCode());
-            System.err.println("응답 바디: " + e.getResponseBodyAsString());
-            e.printStackTrace();
-            throw new RuntimeException("결제 승인 중 API 오류가 발생했습니다: " + e.getResponseBodyAsString(), e);
-        } catch (Exception e) {
-            System.err.println("!!! 알 수 없는 예외 발생 !!!");
-            e.printStackTrace(); // 모든 예외의 스택 트레이스를 콘솔에 출력!
-            throw new RuntimeException("결제 승인 중 예상치 못한 오류가 발생했습니다.", e);
+    /**
+     * 결과를 알 수 없던 승인 중 주문이 토스 조회 결과 승인 완료(DONE)로 확인된 경우 반영합니다. (CONFIRMING → COMPLETED)
+     *
+     * @return 이번 호출로 완료 처리했으면 true
+     */
+    @Transactional
+    public boolean recoverConfirmedPayment(String tossOrderId, String paymentKey, String paymentMethod) {
+        if (orderRepository.completePaymentConfirmation(tossOrderId, paymentKey, paymentMethod) == 0) {
+            return false;
+        }
+        Order order = orderRepository.findByTransactionIdWithDetails(tossOrderId)
+                .orElseThrow(() -> new IllegalArgumentException("DB에서 주문을 찾을 수 없습니다. ID: " + tossOrderId));
+        salesRollupService.recordPaid(order);
+        log.info("승인 중 주문 복구(결제 완료): orderId={}, paymentKey={}", order.getId(), paymentKey);
+        return true;
+    }
+
+    /**
+     * 토스 결제 승인 실패 시 주문을 PAYMENT_FAILED로 되돌립니다. (CONFIRMING → PAYMENT_FAILED)
+     * 같은 paymentKey로 다시 승인을 요청하면 토스 멱등 키에 의해 중복 승인 없이 결과를 받을 수 있습니다.
+     */
+    @Transactional
+    public boolean failTossPayment(String tossOrderId, String paymentKey) {
+        if (orderRepository.failPaymentConfirmation(tossOrderId, paymentKey) == 1) {
+            log.warn("결제 승인 실패로 주문 상태 복원: tossOrderId={}, paymentKey={}", tossOrderId, paymentKey);
+            return true;
         }
+        return false;
     }
 
     // --- Private DTO Conversion Methods ---
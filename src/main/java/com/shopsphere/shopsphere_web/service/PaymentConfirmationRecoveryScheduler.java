@@ -0,0 +1,94 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.TossPaymentResponseDTO;
+import com.shopsphere.shopsphere_web.entity.Order;
+import com.shopsphere.shopsphere_web.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 승인을 시작한 뒤 오래도록 CONFIRMING에 머문 주문을 토스 결제 조회(주문 ID 기준)로 확정합니다.
+ * 승인 API 응답을 받지 못했거나(타임아웃) 응답 반영 전에 서버가 종료된 주문이 대상이며,
+ * CONFIRMING 주문은 취소/예약 만료 대상이 아니므로 이 작업이 없으면 재고가 계속 묶여 있게 됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentConfirmationRecoveryScheduler {
+
+    // 토스에서 승인되지 않았음이 확정된 결제 상태
+    private static final Set<String> UNPAID_TOSS_STATUSES = Set.of("READY", "IN_PROGRESS", "ABORTED", "EXPIRED", "CANCELED");
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final TossPaymentGateway tossPaymentGateway;
+
+    // 승인 시작 후 이 시간이 지나도 CONFIRMING이면 복구 대상 (토스 응답 대기 시간 x 재시도 횟수보다 길게)
+    @Value("${order.payment.confirmation-recovery-after:2m}")
+    private Duration recoveryAfter;
+
+    // 한 번에 조회할 복구 대상 주문 수
+    @Value("${order.payment.confirmation-recovery-batch-size:100}")
+    private int batchSize;
+
+    // 토스 결제 조회 1건의 최대 대기 시간
+    @Value("${order.payment.confirmation-recovery-lookup-timeout:30s}")
+    private Duration lookupTimeout;
+
+    @Scheduled(fixedDelayString = "${order.payment.confirmation-recovery-interval-ms:60000}")
+    public void recoverStaleConfirmations() {
+        List<Order> orders = orderRepository.findStaleConfirmations(
+                LocalDateTime.now().minus(recoveryAfter), PageRequest.of(0, batchSize));
+        int completed = 0;
+        int failed = 0;
+        int pending = 0;
+        for (Order order : orders) {
+            try {
+                switch (recover(order)) {
+                    case COMPLETED -> completed++;
+                    case FAILED -> failed++;
+                    case PENDING -> pending++;
+                }
+            } catch (RuntimeException e) {
+                // 토스 조회 실패 등: CONFIRMING으로 두고 다음 주기에 다시 확인
+                pending++;
+                log.warn("승인 중 주문 복구 실패: orderId={}, tossOrderId={}", order.getId(), order.getTransactionId(), e);
+            }
+        }
+        if (!orders.isEmpty()) {
+            log.info("승인 중 주문 복구: {}건 완료, {}건 실패 처리, {}건 보류", completed, failed, pending);
+        }
+    }
+
+    private Outcome recover(Order order) {
+        TossPaymentResponseDTO payment = tossPaymentGateway.getPaymentByOrderId(order.getTransactionId())
+                .block(lookupTimeout);
+
+        if (payment != null && "DONE".equals(payment.getStatus()) && order.getPaymentKey().equals(payment.getPaymentKey())) {
+            return orderService.recoverConfirmedPayment(order.getTransactionId(), order.getPaymentKey(), payment.getMethod())
+                    ? Outcome.COMPLETED : Outcome.PENDING;
+        }
+        // 토스에 결제가 없거나(404) 승인되지 않은 상태면 PAYMENT_FAILED로 되돌림 → 재결제 또는 예약 만료로 재고 복원
+        if (payment == null || UNPAID_TOSS_STATUSES.contains(payment.getStatus())) {
+            return orderService.failTossPayment(order.getTransactionId(), order.getPaymentKey())
+                    ? Outcome.FAILED : Outcome.PENDING;
+        }
+        // 가상계좌 입금 대기 등 판단할 수 없는 상태는 그대로 두고 확인 필요 로그만 남김
+        log.warn("승인 중 주문의 토스 결제 상태 확인 필요: orderId={}, tossStatus={}, tossPaymentKey={}",
+                order.getId(), payment.getStatus(), payment.getPaymentKey());
+        return Outcome.PENDING;
+    }
+
+    private enum Outcome {
+        COMPLETED, FAILED, PENDING
+    }
+}
@@ -0,0 +1,52 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.cache.BoundedTtlCache;
+import com.shopsphere.shopsphere_web.dto.ProductDTO;
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 상품 상세(ProductDTO.Response) 캐시.
+ * 상품 수정/삭제, 재고 변경, 이미지 업로드, 리뷰 작성 등으로 발행되는 ProductChangedEvent를 커밋 이후 받아 해당 상품을 무효화합니다.
+ * 주문/취소/만료로 재고가 바뀌어도 STOCK 이벤트로 무효화되므로, 캐시 적중 시 재고를 다시 조회하지 않습니다.
+ */
+@Component
+public class ProductDetailCache {
+
+    private final BoundedTtlCache<Integer, ProductDTO.Response> cache;
+
+    public ProductDetailCache(@Value("${product.cache.max-size:10000}") int maxSize,
+                              @Value("${product.cache.ttl:10m}") Duration ttl) {
+        this.cache = new BoundedTtlCache<>("productDetail", maxSize, ttl);
+    }
+
+    public ProductDTO.Response get(Integer productId, Function<Integer, ProductDTO.Response> loader) {
+        return cache.get(productId, loader);
+    }
+
+    public void evict(Integer productId) {
+        cache.invalidate(productId);
+    }
+
+    public BoundedTtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidateAll(event.getProductIds());
+    }
+
+    // 만료 항목 정리 (기본: 1분마다)
+    @Scheduled(fixedDelayString = "${product.cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        cache.purgeExpired();
+    }
+}
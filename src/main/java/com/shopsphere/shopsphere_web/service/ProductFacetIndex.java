@@ -0,0 +1,405 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.ProductDTO;
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
+import com.shopsphere.shopsphere_web.repository.ProductOptionRepository;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.NumberFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * 상품 목록 필터의 패싯(하위 카테고리/가격 구간/옵션 사이즈별 상품 수)을 계산하는 인메모리 색인.
+ * 상품마다 고정 슬롯 번호를 부여하고 카테고리별 BitSet(posting)과 슬롯별 가격/사이즈 배열을 유지하므로,
+ * 필터에 해당하는 BitSet을 OR한 뒤 한 번 순회하면서 모든 패싯을 함께 집계합니다. (패싯마다 COUNT 쿼리를 실행하지 않음)
+ *
+ * 애플리케이션 시작 시 DB에서 한 번 구축하고, 이후에는 ProductChangedEvent(커밋 이후)로 변경된 상품만 다시 반영합니다.
+ * 구축이 끝나기 전에는 isReady()가 false이며, 호출 측은 패싯 없이 응답해야 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductFacetIndex {
+
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final int NO_PRICE = Integer.MIN_VALUE;
+    private static final int NO_CATEGORY = -1;
+
+    private final ProductRepository productRepository;
+    private final ProductOptionRepository optionRepository;
+    private final CategoryTree categoryTree;
+
+    // 가격 구간 경계 (오름차순, 예: 10000,30000 → 0~9999 / 10000~29999 / 30000 이상)
+    @Value("${facet.price-bounds:10000,30000,50000,100000}")
+    private int[] priceBounds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings = new Postings();
+
+    private volatile boolean ready = false;
+    private volatile boolean rebuilding = false;
+    // 전체 구축 중에 변경된 상품 ID (구축 완료 후 다시 반영)
+    private final Set<Integer> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * DB의 모든 상품으로 색인을 새로 구축한 뒤 교체합니다. 구축 중에도 기존 색인으로 집계는 계속 가능합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        Postings built = new Postings();
+        try {
+            int lastId = 0;
+            while (true) {
+                List<ProductRepository.FacetDocument> batch =
+                        productRepository.findFacetDocumentsAfter(lastId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<Integer, List<String>> sizes = loadSizes(batch);
+                for (ProductRepository.FacetDocument doc : batch) {
+                    built.put(doc, sizes.getOrDefault(doc.getId(), List.of()));
+                    lastId = doc.getId();
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                postings = built;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Integer> changedIds = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            reindex(changedIds);
+        }
+        log.info("상품 패싯 색인 구축 완료: {}개 상품, {}ms", built.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    // 상품 변경 트랜잭션이 커밋된 뒤에만 반영 (카테고리/가격/옵션은 생성·수정·삭제에서만 바뀜)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductChangedEvent.ChangeType type = event.getChangeType();
+        if (type != ProductChangedEvent.ChangeType.CREATED
+                && type != ProductChangedEvent.ChangeType.UPDATED
+                && type != ProductChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getProductIds());
+        }
+        if (type == ProductChangedEvent.ChangeType.DELETED) {
+            lock.writeLock().lock();
+            try {
+                event.getProductIds().forEach(postings::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        reindex(event.getProductIds());
+    }
+
+    // 지정한 상품들을 DB에서 다시 읽어 반영 (DB에 없으면 색인에서 제거)
+    public void reindex(List<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        List<ProductRepository.FacetDocument> docs = productRepository.findFacetDocumentsByIdIn(productIds);
+        Map<Integer, List<String>> sizes = loadSizes(docs);
+        lock.writeLock().lock();
+        try {
+            Set<Integer> found = new LinkedHashSet<>();
+            for (ProductRepository.FacetDocument doc : docs) {
+                Integer productId = doc.getId();
+                postings.put(doc, sizes.getOrDefault(productId, List.of()));
+                found.add(productId);
+            }
+            for (Integer id : productIds) {
+                if (!found.contains(id)) {
+                    postings.remove(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 필터 조건의 패싯을 집계합니다.
+     * 카테고리 하위 트리에 속한 상품을 한 번 순회하면서, 가격 구간은 가격 필터를 제외하고(다른 구간 선택지를 보여주기 위해)
+     * 하위 카테고리/사이즈와 total은 가격 필터까지 적용해 집계합니다.
+     *
+     * @param categoryId 선택한 카테고리 (null이면 전체 상품, 최상위 카테고리별로 집계)
+     */
+    public ProductDTO.Facets facets(Integer categoryId, Integer minPrice, Integer maxPrice) {
+        CategoryTree.Snapshot tree = categoryTree.current();
+        List<CategoryTree.Node> facetCategories = categoryId == null ? tree.roots() : tree.children(categoryId);
+        // 상품의 카테고리 → 집계할 하위 카테고리 위치
+        Map<Integer, Integer> facetOfCategory = new HashMap<>();
+        for (int i = 0; i < facetCategories.size(); i++) {
+            for (Integer id : tree.subtreeIds(facetCategories.get(i).getId())) {
+                facetOfCategory.put(id, i);
+            }
+        }
+        int[] bounds = priceBounds;
+        long[] categoryCounts = new long[facetCategories.size()];
+        long[] priceCounts = new long[bounds.length + 1];
+        long total = 0;
+        long[] sizeCounts;
+        List<String> sizeNames;
+
+        lock.readLock().lock();
+        try {
+            Postings current = postings;
+            BitSet matched;
+            if (categoryId == null) {
+                matched = current.live;
+            } else {
+                matched = new BitSet();
+                for (Integer id : tree.subtreeIds(categoryId)) {
+                    BitSet posting = current.byCategory.get(id);
+                    if (posting != null) {
+                        matched.or(posting);
+                    }
+                }
+            }
+
+            sizeNames = new ArrayList<>(current.sizeNames);
+            sizeCounts = new long[sizeNames.size()];
+            for (int slot = matched.nextSetBit(0); slot >= 0; slot = matched.nextSetBit(slot + 1)) {
+                int price = current.priceBySlot[slot];
+                if (price == NO_PRICE) {
+                    if (minPrice != null || maxPrice != null) {
+                        continue; // DB 조건(price >= / <=)과 동일하게 가격이 없는 상품은 가격 필터에서 제외
+                    }
+                } else {
+                    priceCounts[bucketOf(bounds, price)]++;
+                    if ((minPrice != null && price < minPrice) || (maxPrice != null && price > maxPrice)) {
+                        continue;
+                    }
+                }
+                total++;
+                Integer facet = facetOfCategory.get(current.categoryBySlot[slot]);
+                if (facet != null) {
+                    categoryCounts[facet]++;
+                }
+                for (int size : current.sizesBySlot[slot]) {
+                    sizeCounts[size]++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ProductDTO.Facets facets = new ProductDTO.Facets();
+        facets.setTotal(total);
+        List<ProductDTO.FacetCount> categories = new ArrayList<>(facetCategories.size());
+        for (int i = 0; i < facetCategories.size(); i++) {
+            CategoryTree.Node node = facetCategories.get(i);
+            categories.add(new ProductDTO.FacetCount(String.valueOf(node.getId()), node.getName(), categoryCounts[i]));
+        }
+        facets.setCategories(categories);
+        List<ProductDTO.FacetCount> priceRanges = new ArrayList<>(priceCounts.length);
+        for (int i = 0; i < priceCounts.length; i++) {
+            priceRanges.add(priceRange(bounds, i, priceCounts[i]));
+        }
+        facets.setPriceRanges(priceRanges);
+        List<ProductDTO.FacetCount> sizes = new ArrayList<>();
+        for (int i = 0; i < sizeCounts.length; i++) {
+            if (sizeCounts[i] > 0) {
+                sizes.add(new ProductDTO.FacetCount(sizeNames.get(i), sizeNames.get(i), sizeCounts[i]));
+            }
+        }
+        sizes.sort(Comparator.comparingLong(ProductDTO.FacetCount::getCount).reversed()
+                .thenComparing(ProductDTO.FacetCount::getValue));
+        facets.setSizes(sizes);
+        return facets;
+    }
+
+    /**
+     * 카테고리 하위 트리/가격 조건을 상품 ID 판정 함수로 만들어 action에 전달합니다.
+     * 판정 함수는 색인을 직접 읽으므로 action 실행 중(읽기 잠금 보유)에만 사용해야 합니다.
+     * 가격이 없는 상품은 DB 조건(price >= / <=)과 동일하게 가격 필터에서 제외합니다.
+     */
+    public <T> T withFilter(Integer categoryId, Integer minPrice, Integer maxPrice, Function<IntPredicate, T> action) {
+        Set<Integer> categoryIds = categoryId == null ? null : new HashSet<>(categoryTree.current().subtreeIds(categoryId));
+        lock.readLock().lock();
+        try {
+            Postings current = postings;
+            return action.apply(productId -> {
+                Integer slot = current.slotByProduct.get(productId);
+                if (slot == null) {
+                    return false;
+                }
+                if (categoryIds != null && !categoryIds.contains(current.categoryBySlot[slot])) {
+                    return false;
+                }
+                int price = current.priceBySlot[slot];
+                if (price == NO_PRICE) {
+                    return minPrice == null && maxPrice == null;
+                }
+                return (minPrice == null || price >= minPrice) && (maxPrice == null || price <= maxPrice);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, List<String>> loadSizes(List<ProductRepository.FacetDocument> docs) {
+        if (docs.isEmpty()) {
+            return Map.of();
+        }
+        List<Integer> ids = docs.stream().map(ProductRepository.FacetDocument::getId).toList();
+        Map<Integer, List<String>> sizes = new HashMap<>();
+        for (ProductOptionRepository.OptionSize option : optionRepository.findSizesByProductIdIn(ids)) {
+            // 프로젝션 getter는 호출마다 프록시를 거치므로 값을 한 번씩만 읽음
+            String size = option.getSize();
+            if (size != null && !size.isBlank()) {
+                sizes.computeIfAbsent(option.getProductId(), key -> new ArrayList<>()).add(size.trim());
+            }
+        }
+        return sizes;
+    }
+
+    // bounds를 기준으로 가격이 속하는 구간 번호 (경계값은 위 구간에 포함)
+    private static int bucketOf(int[] bounds, int price) {
+        int index = Arrays.binarySearch(bounds, price);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static ProductDTO.FacetCount priceRange(int[] bounds, int bucket, long count) {
+        NumberFormat format = NumberFormat.getNumberInstance(Locale.KOREA);
+        Integer from = bucket == 0 ? null : bounds[bucket - 1];
+        Integer to = bucket == bounds.length ? null : bounds[bucket];
+        String value = (from == null ? "0" : from) + "-" + (to == null ? "" : to);
+        String label;
+        if (from == null) {
+            label = format.format(to) + "원 미만";
+        } else if (to == null) {
+            label = format.format(from) + "원 이상";
+        } else {
+            label = format.format(from) + "원 ~ " + format.format(to) + "원 미만";
+        }
+        return new ProductDTO.FacetCount(value, label, count);
+    }
+
+    /**
+     * 슬롯 기반 posting 저장소. 상품 ID마다 슬롯을 하나 부여하고, 삭제된 슬롯은 재사용합니다.
+     * 잠금은 바깥의 ReentrantReadWriteLock이 담당합니다.
+     */
+    private static class Postings {
+        private final Map<Integer, Integer> slotByProduct = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private final BitSet live = new BitSet();
+        private final Map<Integer, BitSet> byCategory = new HashMap<>();
+        private final Map<String, Integer> sizeOrdinals = new HashMap<>();
+        private final List<String> sizeNames = new ArrayList<>();
+        private int[] categoryBySlot = new int[0];
+        private int[] priceBySlot = new int[0];
+        private int[][] sizesBySlot = new int[0][];
+        private int nextSlot = 0;
+
+        int size() {
+            return slotByProduct.size();
+        }
+
+        void put(ProductRepository.FacetDocument doc, List<String> sizes) {
+            Integer productId = doc.getId();
+            Integer docCategoryId = doc.getCategoryId();
+            Integer price = doc.getPrice();
+            Integer slot = slotByProduct.get(productId);
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.pop();
+                ensureCapacity(slot + 1);
+                slotByProduct.put(productId, slot);
+            } else {
+                clearCategory(slot);
+            }
+            int categoryId = docCategoryId != null ? docCategoryId : NO_CATEGORY;
+            categoryBySlot[slot] = categoryId;
+            priceBySlot[slot] = price != null ? price : NO_PRICE;
+            // 같은 사이즈의 옵션이 여러 개여도 상품은 한 번만 집계
+            sizesBySlot[slot] = new LinkedHashSet<>(sizes).stream()
+                    .mapToInt(size -> sizeOrdinals.computeIfAbsent(size, key -> {
+                        sizeNames.add(key);
+                        return sizeNames.size() - 1;
+                    }))
+                    .toArray();
+            live.set(slot);
+            if (categoryId != NO_CATEGORY) {
+                byCategory.computeIfAbsent(categoryId, key -> new BitSet()).set(slot);
+            }
+        }
+
+        void remove(Integer productId) {
+            Integer slot = slotByProduct.remove(productId);
+            if (slot == null) {
+                return;
+            }
+            clearCategory(slot);
+            live.clear(slot);
+            categoryBySlot[slot] = NO_CATEGORY;
+            priceBySlot[slot] = NO_PRICE;
+            sizesBySlot[slot] = new int[0];
+            freeSlots.push(slot);
+        }
+
+        private void clearCategory(int slot) {
+            BitSet posting = byCategory.get(categoryBySlot[slot]);
+            if (posting != null) {
+                posting.clear(slot);
+                if (posting.isEmpty()) {
+                    byCategory.remove(categoryBySlot[slot]);
+                }
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= categoryBySlot.length) {
+                return;
+            }
+            int newLength = Math.max(capacity, Math.max(16, categoryBySlot.length * 2));
+            categoryBySlot = Arrays.copyOf(categoryBySlot, newLength);
+            priceBySlot = Arrays.copyOf(priceBySlot, newLength);
+            sizesBySlot = Arrays.copyOf(sizesBySlot, newLength);
+        }
+    }
+}
@@ -0,0 +1,630 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopsphere.shopsphere_web.dto.ProductDTO;
+import com.shopsphere.shopsphere_web.dto.ProductImportDTO;
+import com.shopsphere.shopsphere_web.dto.ProductOptionDTO;
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 판매자 상품 대량 등록(CSV / JSON Lines).
+ * 업로드된 본문은 임시 파일로 받아 두고 백그라운드 작업에서 한 행씩 읽어 batch-size 단위 청크로 처리합니다.
+ * 청크의 행 검증은 병렬로 수행하고, 통과한 행은 JdbcTemplate 배치 INSERT로 저장합니다.
+ * (IDENTITY 키 엔티티는 Hibernate가 INSERT를 배치하지 못하므로 JPA save를 사용하지 않음)
+ * 청크마다 하나의 트랜잭션으로 커밋하며, 커밋된 상품은 ProductChangedEvent로 색인들에 알립니다.
+ *
+ * 작업 상태는 애플리케이션 메모리에 보관하며, 끝난 작업은 job-retention이 지나면 제거됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO product (category_id, name, description, price, stock_quantity, created_at, user_id, seller_id, " +
+            "sales_volume, review_count, rating_sum) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0)";
+    private static final String INSERT_IMAGE_SQL =
+            "INSERT INTO product_image (product_id, image_url, display_order, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_OPTION_SQL =
+            "INSERT INTO product_option (product_id, size, stock_quantity, additional_price) VALUES (?, ?, ?, ?)";
+
+    private static final int EVENT_BATCH_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final CategoryTree categoryTree;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${product.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${product.import.max-file-size:200MB}")
+    private DataSize maxFileSize;
+
+    @Value("${product.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Value("${product.import.concurrent-jobs:2}")
+    private int concurrentJobs;
+
+    @Value("${product.import.job-retention:1h}")
+    private Duration jobRetention;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void startExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(concurrentJobs, runnable -> {
+            Thread thread = new Thread(runnable, "product-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 요청 본문을 임시 파일로 받은 뒤 대량 등록 작업을 시작합니다. (동시 작업 수를 넘으면 대기열에서 QUEUED 상태로 대기)
+     *
+     * @param format csv 또는 ndjson
+     * @return 시작된 작업의 상태 (jobId로 진행 상황 조회)
+     */
+    public ProductImportDTO.Status startImport(String userId, String format, InputStream body) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("판매자를 찾을 수 없습니다: " + userId);
+        }
+        if (!"csv".equals(format) && !"ndjson".equals(format)) {
+            throw new IllegalArgumentException("지원하지 않는 형식입니다. (csv, ndjson)");
+        }
+
+        Path file = Files.createTempFile("product-import-", "." + format);
+        try {
+            copyLimited(body, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiredBefore));
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), userId, format, maxErrors);
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job, file));
+        return job.toStatus();
+    }
+
+    public ProductImportDTO.Status getStatus(String userId, String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("등록 작업을 찾을 수 없습니다: " + jobId);
+        }
+        if (!job.userId.equals(userId)) {
+            throw new SecurityException("본인의 등록 작업만 조회할 수 있습니다.");
+        }
+        return job.toStatus();
+    }
+
+    private void copyLimited(InputStream body, Path file) throws IOException {
+        long limit = maxFileSize.toBytes();
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > limit) {
+                    throw new IllegalArgumentException("파일이 너무 큽니다. (최대 " + maxFileSize.toMegabytes() + "MB)");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("빈 파일입니다.");
+        }
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.start();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowReader rows = "csv".equals(job.format) ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            List<ImportRow> chunk = new ArrayList<>(batchSize);
+            for (ImportRow row = rows.next(); row != null; row = rows.next()) {
+                chunk.add(row);
+                if (chunk.size() >= batchSize) {
+                    importChunk(job, chunk);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk);
+            }
+            job.finish(null);
+        } catch (Exception e) {
+            log.warn("상품 대량 등록 실패: job={}", job.id, e);
+            job.finish(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("대량 등록 임시 파일 삭제 실패: {}", file, e);
+            }
+        }
+        log.info("상품 대량 등록 종료: job={}, 등록 {}건, 실패 {}건", job.id, job.imported.get(), job.failed.get());
+    }
+
+    private void importChunk(ImportJob job, List<ImportRow> chunk) {
+        CategoryTree.Snapshot categories = categoryTree.current();
+        // 행 검증은 DB를 사용하지 않는 CPU 작업이므로 병렬로 수행 (결과 순서는 파일 순서 유지)
+        List<ImportRow> valid = chunk.parallelStream()
+                .filter(row -> {
+                    String error = row.error() != null ? row.error() : validate(row.request(), categories);
+                    if (error != null) {
+                        job.addError(row.line(), error);
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        List<Integer> productIds = List.of();
+        if (!valid.isEmpty()) {
+            try {
+                productIds = transactionTemplate.execute(status -> insertChunk(job.userId, valid));
+            } catch (DataAccessException | IllegalStateException e) {
+                // 청크 트랜잭션이 롤백되었으므로 청크의 모든 행을 실패로 기록
+                log.warn("상품 대량 등록 청크 저장 실패: job={}", job.id, e);
+                String message = "저장 실패: " + (e instanceof DataAccessException dae
+                        ? dae.getMostSpecificCause().getMessage() : e.getMessage());
+                valid.forEach(row -> job.addError(row.line(), message));
+            }
+        }
+        job.advance(chunk.size(), productIds.size());
+        // 색인들은 이벤트의 상품 ID로 IN 조회를 하므로, 목록이 너무 길어지지 않게 나눠서 알림
+        for (int from = 0; from < productIds.size(); from += EVENT_BATCH_SIZE) {
+            List<Integer> ids = productIds.subList(from, Math.min(from + EVENT_BATCH_SIZE, productIds.size()));
+            eventPublisher.publishEvent(ProductChangedEvent.of(ids, ProductChangedEvent.ChangeType.CREATED));
+        }
+    }
+
+    // 상품을 배치 INSERT해 생성된 ID를 받은 뒤, 이미지/옵션을 같은 트랜잭션에서 배치 INSERT
+    private List<Integer> insertChunk(String userId, List<ImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_PRODUCT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ProductDTO.CreateRequest request = rows.get(i).request();
+                        ps.setInt(1, request.getCategoryId());
+                        ps.setString(2, request.getName().trim());
+                        ps.setString(3, request.getDescription());
+                        ps.setInt(4, request.getPrice());
+                        ps.setInt(5, request.getStockQuantity());
+                        ps.setTimestamp(6, now);
+                        ps.setString(7, userId);
+                        ps.setString(8, userId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            throw new IllegalStateException("생성된 상품 ID 수(" + keys.size() + ")가 행 수(" + rows.size() + ")와 다릅니다.");
+        }
+
+        List<Integer> productIds = new ArrayList<>(rows.size());
+        List<Object[]> images = new ArrayList<>();
+        List<Object[]> options = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Integer productId = ((Number) keys.get(i).values().iterator().next()).intValue();
+            productIds.add(productId);
+            ProductDTO.CreateRequest request = rows.get(i).request();
+
+            int displayOrder = 0;
+            if (request.getImageUrl() != null && !request.getImageUrl().isBlank()) {
+                images.add(new Object[]{productId, request.getImageUrl().trim(), displayOrder++, now});
+            }
+            if (request.getAdditionalImageUrls() != null) {
+                for (String url : request.getAdditionalImageUrls()) {
+                    if (url != null && !url.isBlank()) {
+                        images.add(new Object[]{productId, url.trim(), displayOrder++, now});
+                    }
+                }
+            }
+            if (request.getOptions() != null) {
+                for (ProductOptionDTO.CreateRequest option : request.getOptions()) {
+                    options.add(new Object[]{productId, option.getSize().trim(), option.getStockQuantity(),
+                            option.getAdditionalPrice() != null ? option.getAdditionalPrice() : 0});
+                }
+            }
+        }
+        if (!images.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE_SQL, images);
+        }
+        if (!options.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_OPTION_SQL, options);
+        }
+        return productIds;
+    }
+
+    // 행 검증: 오류 메시지 (정상이면 null). 카테고리 존재 여부는 메모리 카테고리 트리로 확인
+    private static String validate(ProductDTO.CreateRequest request, CategoryTree.Snapshot categories) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "상품명은 필수입니다.";
+        }
+        if (request.getName().trim().length() > 255) {
+            return "상품명은 255자 이하여야 합니다.";
+        }
+        if (request.getCategoryId() == null) {
+            return "카테고리 ID는 필수입니다.";
+        }
+        if (categories.get(request.getCategoryId()) == null) {
+            return "카테고리를 찾을 수 없습니다: " + request.getCategoryId();
+        }
+        if (request.getPrice() == null || request.getPrice() < 0) {
+            return "가격은 0 이상이어야 합니다.";
+        }
+        if (request.getStockQuantity() == null || request.getStockQuantity() < 0) {
+            return "재고 수량은 0 이상이어야 합니다.";
+        }
+        List<String> imageUrls = new ArrayList<>();
+        imageUrls.add(request.getImageUrl());
+        if (request.getAdditionalImageUrls() != null) {
+            imageUrls.addAll(request.getAdditionalImageUrls());
+        }
+        for (String url : imageUrls) {
+            if (url != null && url.trim().length() > 512) {
+                return "이미지 URL은 512자 이하여야 합니다.";
+            }
+        }
+        if (request.getOptions() != null) {
+            for (ProductOptionDTO.CreateRequest option : request.getOptions()) {
+                if (option == null || option.getSize() == null || option.getSize().isBlank()) {
+                    return "옵션 사이즈는 필수입니다.";
+                }
+                if (option.getSize().trim().length() > 50) {
+                    return "옵션 사이즈는 50자 이하여야 합니다.";
+                }
+                if (option.getStockQuantity() == null || option.getStockQuantity() < 0) {
+                    return "옵션 재고 수량은 0 이상이어야 합니다.";
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String stripBom(String text) {
+        return !text.isEmpty() && text.charAt(0) == '\uFEFF' ? text.substring(1) : text;
+    }
+
+    // 파일의 한 행 (파싱에 실패했으면 request 대신 error가 채워짐)
+    private record ImportRow(long line, ProductDTO.CreateRequest request, String error) {
+    }
+
+    private interface RowReader {
+        // 다음 행 (파일 끝이면 null)
+        ImportRow next() throws IOException;
+    }
+
+    // 각 줄이 상품 등록 요청(ProductDTO.CreateRequest) JSON인 파일
+    private class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long lineNumber = 0;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1) {
+                    line = stripBom(line);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ImportRow(lineNumber, objectMapper.readValue(line, ProductDTO.CreateRequest.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ImportRow(lineNumber, null, "JSON 형식 오류: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 헤더가 있는 CSV (RFC 4180 따옴표 규칙, 따옴표 안의 쉼표/줄바꿈 허용).
+     * 컬럼: categoryId, name, price, stockQuantity (필수), description, imageUrl,
+     * additionalImageUrls ("|" 구분), options ("사이즈:재고[:추가금액]"을 "|" 구분)
+     */
+    private static class CsvRowReader implements RowReader {
+        private static final List<String> REQUIRED_COLUMNS = List.of("categoryId", "name", "price", "stockQuantity");
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long lineNumber = 0;
+
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String column = i == 0 ? stripBom(header.get(i)) : header.get(i);
+                columns.put(column.trim(), i);
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new IllegalArgumentException("CSV 헤더에 " + column + " 컬럼이 없습니다.");
+                }
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            while (true) {
+                long startLine = lineNumber + 1;
+                List<String> fields;
+                try {
+                    fields = readRecord();
+                } catch (IllegalArgumentException e) {
+                    return new ImportRow(startLine, null, e.getMessage());
+                }
+                if (fields == null) {
+                    return null;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue; // 빈 줄
+                }
+                try {
+                    return new ImportRow(startLine, toRequest(fields), null);
+                } catch (IllegalArgumentException e) {
+                    return new ImportRow(startLine, null, e.getMessage());
+                }
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < line.length(); i++) {
+                    char c = line.charAt(i);
+                    if (quoted) {
+                        if (c == '"') {
+                            if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                                field.append('"');
+                                i++;
+                            } else {
+                                quoted = false;
+                            }
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) {
+                    break;
+                }
+                // 따옴표 안의 줄바꿈: 다음 줄을 같은 필드로 이어서 읽음
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다.");
+                }
+                lineNumber++;
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private ProductDTO.CreateRequest toRequest(List<String> fields) {
+            ProductDTO.CreateRequest request = new ProductDTO.CreateRequest();
+            request.setCategoryId(parseInt(field(fields, "categoryId"), "categoryId"));
+            request.setName(field(fields, "name"));
+            request.setDescription(field(fields, "description"));
+            request.setPrice(parseInt(field(fields, "price"), "price"));
+            request.setStockQuantity(parseInt(field(fields, "stockQuantity"), "stockQuantity"));
+            request.setImageUrl(field(fields, "imageUrl"));
+
+            String additionalImageUrls = field(fields, "additionalImageUrls");
+            if (additionalImageUrls != null) {
+                request.setAdditionalImageUrls(Arrays.stream(additionalImageUrls.split("\\|"))
+                        .map(String::trim)
+                        .filter(url -> !url.isEmpty())
+                        .toList());
+            }
+
+            String optionSpecs = field(fields, "options");
+            if (optionSpecs != null) {
+                List<ProductOptionDTO.CreateRequest> options = new ArrayList<>();
+                for (String spec : optionSpecs.split("\\|")) {
+                    if (spec.isBlank()) {
+                        continue;
+                    }
+                    String[] parts = spec.split(":", -1);
+                    if (parts.length < 2 || parts.length > 3) {
+                        throw new IllegalArgumentException("옵션 형식이 올바르지 않습니다: " + spec + " (사이즈:재고[:추가금액])");
+                    }
+                    ProductOptionDTO.CreateRequest option = new ProductOptionDTO.CreateRequest();
+                    option.setSize(parts[0].trim());
+                    option.setStockQuantity(parseInt(parts[1], "options 재고"));
+                    option.setAdditionalPrice(parts.length == 3 ? parseInt(parts[2], "options 추가금액") : 0);
+                    options.add(option);
+                }
+                request.setOptions(options);
+            }
+            return request;
+        }
+
+        // 컬럼 값 (컬럼이 없거나 비어 있으면 null)
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        private static Integer parseInt(String value, String column) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " 값이 숫자가 아닙니다: " + value);
+            }
+        }
+    }
+
+    private static class ImportJob {
+        private final String id;
+        private final String userId;
+        private final String format;
+        private final int maxErrors;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<ProductImportDTO.RowError> errors = new ArrayList<>();
+        private volatile String state = "QUEUED";
+        private volatile String message;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long startedNanos;
+        private volatile long finishedNanos;
+
+        ImportJob(String id, String userId, String format, int maxErrors) {
+            this.id = id;
+            this.userId = userId;
+            this.format = format;
+            this.maxErrors = maxErrors;
+        }
+
+        void start() {
+            startedNanos = System.nanoTime();
+            startedAt = LocalDateTime.now();
+            state = "RUNNING";
+        }
+
+        void addError(long line, String error) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(new ProductImportDTO.RowError(line, error));
+                }
+            }
+        }
+
+        void advance(int processedRows, int importedRows) {
+            processed.addAndGet(processedRows);
+            imported.addAndGet(importedRows);
+        }
+
+        void finish(String failure) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            message = failure;
+            state = failure == null ? "COMPLETED" : "FAILED";
+        }
+
+        ProductImportDTO.Status toStatus() {
+            ProductImportDTO.Status status = new ProductImportDTO.Status();
+            status.setJobId(id);
+            status.setState(state);
+            status.setFormat(format);
+            status.setProcessedRows(processed.get());
+            status.setImportedRows(imported.get());
+            status.setFailedRows(failed.get());
+            status.setStartedAt(startedAt);
+            status.setFinishedAt(finishedAt);
+            status.setMessage(message);
+            if (startedAt != null) {
+                long endNanos = finishedAt != null ? finishedNanos : System.nanoTime();
+                double seconds = Math.max(endNanos - startedNanos, 1) / 1_000_000_000.0;
+                status.setRowsPerSecond(Math.round(imported.get() / seconds * 10) / 10.0);
+            }
+            List<ProductImportDTO.RowError> snapshot;
+            synchronized (errors) {
+                snapshot = new ArrayList<>(errors);
+            }
+            snapshot.sort(Comparator.comparingLong(ProductImportDTO.RowError::getLine));
+            status.setErrors(snapshot);
+            return status;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * 상품명/설명/카테고리명에 대한 인메모리 역색인(inverted index).
+ * 한글은 형태소 분석 없이도 부분 일치가 되도록 2-gram 단위로 색인하며, 검색어의 모든 gram을 포함한 상품만 매칭(AND)합니다.
+ * 점수는 필드 가중치(상품명 3, 카테고리명 2, 설명 1)를 곱한 gram 빈도에 IDF를 곱해 합산합니다.
+ *
+ * 애플리케이션 시작 시 DB에서 한 번 구축하고, 이후에는 ProductChangedEvent(커밋 이후)로 변경된 상품만 다시 색인합니다.
+ * 구축이 끝나기 전에는 isReady()가 false이며, 호출 측은 DB 검색으로 대체해야 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int BUILD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // gram → (상품 ID → 가중치 적용 빈도)
+    private Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    // 상품 ID → 색인된 gram 목록 (재색인/삭제 시 기존 posting 제거용)
+    private Map<Integer, String[]> documentTerms = new HashMap<>();
+
+    private volatile boolean ready = false;
+    private volatile boolean rebuilding = false;
+    // 전체 구축 중에 변경된 상품 ID (구축 완료 후 다시 색인)
+    private final Set<Integer> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * DB의 모든 상품으로 색인을 새로 구축한 뒤 교체합니다. 구축 중에도 기존 색인으로 검색은 계속 가능합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+        try {
+            Map<String, Map<Integer, Integer>> newPostings = new HashMap<>();
+            Map<Integer, String[]> newDocumentTerms = new HashMap<>();
+
+            int lastId = 0;
+            while (true) {
+                List<ProductRepository.SearchDocument> batch =
+                        productRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (ProductRepository.SearchDocument doc : batch) {
+                    addDocument(newPostings, newDocumentTerms, doc);
+                    lastId = doc.getId();
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                postings = newPostings;
+                documentTerms = newDocumentTerms;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        if (!changedDuringRebuild.isEmpty()) {
+            List<Integer> changedIds = new ArrayList<>(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            reindex(changedIds);
+        }
+        log.info("상품 검색 색인 구축 완료: {}개 상품, {}개 gram, {}ms",
+                size(), postings.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    // 상품 변경 트랜잭션이 커밋된 뒤에만 색인에 반영 (롤백된 변경은 반영되지 않음)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductChangedEvent.ChangeType type = event.getChangeType();
+        if (type != ProductChangedEvent.ChangeType.CREATED
+                && type != ProductChangedEvent.ChangeType.UPDATED
+                && type != ProductChangedEvent.ChangeType.DELETED) {
+            return; // 재고/리뷰/이미지 변경은 색인 대상 필드와 무관
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getProductIds());
+        }
+        if (type == ProductChangedEvent.ChangeType.DELETED) {
+            lock.writeLock().lock();
+            try {
+                event.getProductIds().forEach(id -> removeDocument(postings, documentTerms, id));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        reindex(event.getProductIds());
+    }
+
+    // 지정한 상품들을 DB에서 다시 읽어 색인 (DB에 없으면 색인에서 제거)
+    public void reindex(List<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        List<ProductRepository.SearchDocument> docs = productRepository.findSearchDocumentsByIdIn(productIds);
+        lock.writeLock().lock();
+        try {
+            Set<Integer> found = new HashSet<>();
+            for (ProductRepository.SearchDocument doc : docs) {
+                Integer productId = doc.getId();
+                removeDocument(postings, documentTerms, productId);
+                addDocument(postings, documentTerms, doc);
+                found.add(productId);
+            }
+            for (Integer id : productIds) {
+                if (!found.contains(id)) {
+                    removeDocument(postings, documentTerms, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어와 매칭되는 상품을 관련도 순으로 조회합니다.
+     * 전체 매칭 결과를 정렬하지 않고 (offset + limit)개만 유지하는 힙으로 상위 결과를 구하므로,
+     * 메모리 사용량은 요청한 페이지 범위에 비례합니다.
+     *
+     * @return 요청 범위의 상품 ID(관련도 내림차순, 동점이면 ID 오름차순)와 전체 매칭 수
+     */
+    public SearchResult search(String keyword, int offset, int limit) {
+        return search(keyword, offset, limit, null);
+    }
+
+    /**
+     * 검색어와 매칭되고 filter를 만족하는 상품만 관련도 순으로 조회합니다.
+     * 필터는 전체 매칭 결과에 적용되므로, 관련도 상위 일부만 필터링할 때처럼 결과나 전체 건수가 줄어들지 않습니다.
+     *
+     * @param filter 상품 ID 조건 (null이면 조건 없음)
+     */
+    public SearchResult search(String keyword, int offset, int limit, IntPredicate filter) {
+        if (limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+        int keep = offset + limit;
+        // 점수 오름차순(동점이면 ID 내림차순) 최소 힙: 루트가 현재 상위 keep개 중 가장 낮은 순위
+        PriorityQueue<ScoredId> heap = new PriorityQueue<>(Math.min(keep, 1024) + 1,
+                Comparator.comparingDouble(ScoredId::score).thenComparing(ScoredId::id, Comparator.reverseOrder()));
+        long total = forEachMatch(keyword, filter, (productId, score) -> {
+            heap.offer(new ScoredId(productId, score));
+            if (heap.size() > keep) {
+                heap.poll();
+            }
+        });
+
+        List<ScoredId> ranked = new ArrayList<>(heap);
+        ranked.sort(Comparator.comparingDouble(ScoredId::score).reversed().thenComparing(ScoredId::id));
+        List<Integer> pageIds = new ArrayList<>();
+        for (int i = offset; i < ranked.size(); i++) {
+            pageIds.add(ranked.get(i).id());
+        }
+        return new SearchResult(pageIds, total);
+    }
+
+    /**
+     * 검색어와 매칭되고 filter를 만족하는 모든 상품 ID를 반환합니다. (순서 없음)
+     * 관련도 외의 기준으로 정렬할 때 전체 매칭 결과를 DB 정렬 대상으로 넘기기 위해 사용합니다.
+     */
+    public List<Integer> matchingIds(String keyword, IntPredicate filter) {
+        List<Integer> ids = new ArrayList<>();
+        forEachMatch(keyword, filter, (productId, score) -> ids.add(productId));
+        return ids;
+    }
+
+    // 모든 검색어 gram을 포함하고 filter를 만족하는 상품마다 (ID, 점수)를 전달하고, 전달한 상품 수를 반환
+    private long forEachMatch(String keyword, IntPredicate filter, MatchConsumer consumer) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(keyword, false)));
+        if (queryTerms.isEmpty()) {
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Integer>> termPostings = new ArrayList<>();
+            for (String term : queryTerms) {
+                Map<Integer, Integer> posting = postings.get(term);
+                if (posting == null || posting.isEmpty()) {
+                    return 0; // AND 검색: 하나라도 없으면 결과 없음
+                }
+                termPostings.add(posting);
+            }
+            // 가장 짧은 posting부터 순회해 교집합 계산 비용을 최소화
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            int totalDocs = Math.max(documentTerms.size(), 1);
+            double[] idf = new double[termPostings.size()];
+            for (int i = 0; i < termPostings.size(); i++) {
+                idf[i] = Math.log(1.0 + (double) totalDocs / termPostings.get(i).size());
+            }
+
+            long total = 0;
+            outer:
+            for (Map.Entry<Integer, Integer> entry : termPostings.get(0).entrySet()) {
+                Integer productId = entry.getKey();
+                double score = entry.getValue() * idf[0];
+                for (int i = 1; i < termPostings.size(); i++) {
+                    Integer weight = termPostings.get(i).get(productId);
+                    if (weight == null) {
+                        continue outer;
+                    }
+                    score += weight * idf[i];
+                }
+                if (filter != null && !filter.test(productId)) {
+                    continue;
+                }
+                total++;
+                consumer.accept(productId, score);
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void addDocument(Map<String, Map<Integer, Integer>> postings,
+                                    Map<Integer, String[]> documentTerms,
+                                    ProductRepository.SearchDocument doc) {
+        Map<String, Integer> weights = new HashMap<>();
+        accumulate(weights, tokenize(doc.getName(), true), NAME_WEIGHT);
+        accumulate(weights, tokenize(doc.getCategoryName(), false), CATEGORY_WEIGHT);
+        accumulate(weights, tokenize(doc.getDescription(), false), DESCRIPTION_WEIGHT);
+
+        // 상품 ID는 한 번만 읽어 gram마다 쓰임 (프로젝션 getter 호출은 매번 프록시를 거침)
+        Integer productId = doc.getId();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(productId, entry.getValue());
+        }
+        documentTerms.put(productId, weights.keySet().toArray(new String[0]));
+    }
+
+    private static void removeDocument(Map<String, Map<Integer, Integer>> postings,
+                                       Map<Integer, String[]> documentTerms,
+                                       Integer productId) {
+        String[] terms = documentTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void accumulate(Map<String, Integer> weights, List<String> terms, int weight) {
+        for (String term : terms) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * 텍스트를 검색 gram으로 분리합니다.
+     * 유니코드 정규화(NFKC) + 소문자 변환 후 글자/숫자가 아닌 문자로 단어를 나누고, 각 단어를 2-gram으로 만듭니다.
+     * 한 글자 단어는 그대로 사용하며, includeUnigrams가 true면 한 글자 검색("옷" 등)을 위해 1-gram도 추가합니다.
+     * (1-gram은 상품명에만 색인하고 검색어는 한 글자 단어만 1-gram이 되므로, 한 글자 검색은 주로 상품명에서 매칭됩니다.)
+     */
+    static List<String> tokenize(String text, boolean includeUnigrams) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase();
+        List<String> grams = new ArrayList<>();
+        int length = normalized.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                appendWordGrams(grams, normalized.substring(start, i), includeUnigrams);
+                start = -1;
+            }
+        }
+        return grams;
+    }
+
+    private static void appendWordGrams(List<String> grams, String word, boolean includeUnigrams) {
+        if (word.length() == 1) {
+            grams.add(word);
+            return;
+        }
+        for (int i = 0; i + 1 < word.length(); i++) {
+            grams.add(word.substring(i, i + 2));
+        }
+        if (includeUnigrams) {
+            for (int i = 0; i < word.length(); i++) {
+                grams.add(word.substring(i, i + 1));
+            }
+        }
+    }
+
+    private record ScoredId(Integer id, double score) {
+    }
+
+    @FunctionalInterface
+    private interface MatchConsumer {
+        void accept(Integer productId, double score);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SearchResult {
+        private final List<Integer> productIds;
+        private final long totalMatches;
+    }
+}
@@ -1,10 +1,15 @@
 package com.shopsphere.shopsphere_web.service;
 
+import com.shopsphere.shopsphere_web.cache.BoundedTtlCache;
 import com.shopsphere.shopsphere_web.dto.*;
 import com.shopsphere.shopsphere_web.entity.*;
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
 import com.shopsphere.shopsphere_web.repository.*;
+import com.shopsphere.shopsphere_web.specification.ProductCursor;
 import com.shopsphere.shopsphere_web.specification.ProductSpecifications; // Specification 클래스
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -16,10 +21,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,7 +41,15 @@ public class ProductService {
     private final ProductImageRepository productImageRepository;
     private final ProductOptionRepository optionRepository;
     private final UserRepository userRepository;
-    private final ReviewRepository reviewRepository; // 리뷰 정보에 필요
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductDetailCache productDetailCache;
+    private final BestsellerRanking bestsellerRanking;
+    private final CategoryTree categoryTree;
+    private final ProductFacetIndex productFacetIndex;
+
+    @Value("${search.index.sort-batch-size:5000}")
+    private int sortBatchSize;
 
     @Transactional
     public ProductDTO.Response createProduct(String userId, ProductDTO.CreateRequest request) {
@@ -102,6 +119,8 @@ public class ProductService {
             }
         }
 
+        eventPublisher.publishEvent(ProductChangedEvent.of(savedProduct.getId(), ProductChangedEvent.ChangeType.CREATED));
+
         // ID로 다시 조회하여 모든 연관관계가 로드된 엔티티를 DTO로 변환
         return productRepository.findById(savedProduct.getId())
                 .map(this::convertToResponseWithFetchedData) // N+1 주의하며 변환
@@ -110,31 +129,210 @@ public class ProductService {
 
     public Page<ProductDTO.Response> findProductsWithFiltersAndSort(
             Integer categoryId, Integer minPrice, Integer maxPrice, String sortOption, Pageable pageable) {
+        return searchProducts(null, categoryId, minPrice, maxPrice, sortOption, pageable);
+    }
 
-        Sort sort = Sort.unsorted();
-        switch (sortOption.toLowerCase()) {
-            case "sales_volume_desc":
-                sort = Sort.by(Sort.Direction.DESC, "salesVolume").and(Sort.by(Sort.Direction.ASC, "id"));
-                break;
-            case "created_at_desc":
-                sort = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.ASC, "id"));
-                break;
-            case "price_asc":
-                sort = Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id"));
-                break;
-            case "price_desc":
-                sort = Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.ASC, "id"));
-                break;
-            case "musinsa_recommend":
-            default:
-                sort = Sort.by(Sort.Direction.DESC, "salesVolume").and(Sort.by(Sort.Direction.ASC, "id")); // 기본: 판매량순
-                break;
+    /**
+     * 상품 목록 필터의 패싯(하위 카테고리/가격 구간/옵션 사이즈별 상품 수)을 조회합니다.
+     * 메모리 패싯 색인에서 한 번에 집계하며, 색인이 아직 구축되지 않았으면 null을 반환합니다.
+     */
+    public ProductDTO.Facets getProductFacets(Integer categoryId, Integer minPrice, Integer maxPrice) {
+        if (!productFacetIndex.isReady()) {
+            return null;
+        }
+        return productFacetIndex.facets(categoryId, minPrice, maxPrice);
+    }
+
+    /**
+     * 상품 목록 조회와 검색의 공통 실행 경로.
+     * 필터(카테고리 하위 트리, 가격), 키워드, 정렬, 페이징을 모두 하나의 Specification 쿼리로 DB에 위임하므로
+     * 요청당 메모리 사용량은 매칭 건수가 아닌 페이지 크기에 비례합니다.
+     *
+     * 키워드 검색은 검색 인덱스의 전체 매칭 결과에 카테고리/가격 필터(패싯 색인)를 메모리에서 적용하므로,
+     * 필터가 관련도 상위 일부에만 적용되어 결과나 전체 건수가 줄어드는 일이 없습니다.
+     * sort가 "relevance"면 인덱스에서 바로 페이지를 잘라 조회하고, 다른 정렬은 매칭된 상품 ID를 sortBatchSize개씩 나눠 DB에서 정렬한 뒤 병합합니다.
+     * 검색 인덱스(필터가 있으면 패싯 색인도)가 아직 구축되지 않았으면 상품명/카테고리명 LIKE 조건으로 대체합니다.
+     *
+     * @param keyword 검색어 (null 또는 공백이면 검색어 조건 없음)
+     */
+    public Page<ProductDTO.Response> searchProducts(String keyword, Integer categoryId, Integer minPrice,
+                                                    Integer maxPrice, String sortOption, Pageable pageable) {
+        Sort sort = resolveSort(sortOption);
+        boolean hasKeyword = keyword != null && !keyword.isBlank();
+
+        // 판매량순 앞쪽 페이지는 메모리 판매 순위에서 바로 잘라 조회 (키워드/가격 조건이 없을 때)
+        if (!hasKeyword && minPrice == null && maxPrice == null && bestsellerRanking.isReady()
+                && ProductCursor.SALES_VOLUME_DESC.equals(ProductCursor.normalizeSortKey(sortOption))
+                && pageable.getOffset() + pageable.getPageSize() <= bestsellerRanking.getMaxRank()) {
+            BestsellerRanking.RankSlice slice = bestsellerRanking.top(BestsellerRanking.Window.ALL,
+                    categoryId != null ? findCategorySubtreeIds(categoryId) : null,
+                    (int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(convertToResponses(findAllInOrder(slice.getProductIds())),
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort), slice.getTotal());
+        }
+
+        boolean filtered = categoryId != null || minPrice != null || maxPrice != null;
+        if (hasKeyword && productSearchIndex.isReady() && (!filtered || productFacetIndex.isReady())) {
+            int offset = (int) pageable.getOffset();
+            int size = pageable.getPageSize();
+            if ("relevance".equalsIgnoreCase(sortOption)) {
+                ProductSearchIndex.SearchResult result = filtered
+                        ? productFacetIndex.withFilter(categoryId, minPrice, maxPrice,
+                                filter -> productSearchIndex.search(keyword, offset, size, filter))
+                        : productSearchIndex.search(keyword, offset, size);
+                return new PageImpl<>(convertToResponses(findAllInOrder(result.getProductIds())),
+                        pageable, result.getTotalMatches());
+            }
+
+            List<Integer> matchedIds = filtered
+                    ? productFacetIndex.withFilter(categoryId, minPrice, maxPrice,
+                            filter -> productSearchIndex.matchingIds(keyword, filter))
+                    : productSearchIndex.matchingIds(keyword, null);
+            Pageable sortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+            return new PageImpl<>(convertToResponses(findSortedPage(matchedIds, sort, offset, size)),
+                    sortedPageable, matchedIds.size());
         }
+
+        Specification<Product> spec = buildFilterSpec(categoryId, minPrice, maxPrice);
+        if (hasKeyword) {
+            spec = spec.and(ProductSpecifications.keywordLike(keyword));
+        }
+
         Pageable newPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
 
+        // 상품 페이지를 조회한 뒤 연관 데이터는 convertToResponses에서 IN 쿼리로 일괄 조회
+        Page<Product> productPage = productRepository.findAll(spec, newPageable);
+
+        List<ProductDTO.Response> dtoList = convertToResponses(productPage.getContent());
+
+        return new PageImpl<>(dtoList, newPageable, productPage.getTotalElements());
+    }
+
+    /**
+     * 판매 순위 상위 상품을 조회합니다. 카테고리를 지정하면 하위 카테고리 상품을 포함합니다.
+     * 순위가 아직 구축되지 않았으면 누적 판매량 순위는 DB 정렬로 대체하고, 최근 판매 순위는 빈 목록을 반환합니다.
+     *
+     * @param window all(누적 판매량), 24h, 7d
+     */
+    public List<ProductDTO.Response> getBestsellers(Integer categoryId, String window, int limit) {
+        BestsellerRanking.Window rankWindow = BestsellerRanking.Window.from(window);
+        if (limit <= 0 || limit > bestsellerRanking.getMaxRank()) {
+            throw new IllegalArgumentException("limit는 1 이상 " + bestsellerRanking.getMaxRank() + " 이하여야 합니다.");
+        }
+        if (!bestsellerRanking.isReady()) {
+            if (rankWindow != BestsellerRanking.Window.ALL) {
+                return new ArrayList<>();
+            }
+            return searchProducts(null, categoryId, null, null, ProductCursor.SALES_VOLUME_DESC, PageRequest.of(0, limit)).getContent();
+        }
+        BestsellerRanking.RankSlice slice = bestsellerRanking.top(rankWindow,
+                categoryId != null ? findCategorySubtreeIds(categoryId) : null, 0, limit);
+        return convertToResponses(findAllInOrder(slice.getProductIds()));
+    }
+
+    /**
+     * 커서(keyset) 방식으로 상품 목록을 조회합니다.
+     * OFFSET 대신 마지막 상품의 (정렬 키, id) 이후 행만 읽고, size + 1건을 조회해 다음 페이지 여부를 판단하므로
+     * 깊은 페이지에서도 조회 비용이 일정하며 COUNT 쿼리를 실행하지 않습니다.
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+     */
+    public ProductDTO.CursorPage findProductsWithCursor(
+            Integer categoryId, Integer minPrice, Integer maxPrice, String sortOption, String cursor, int size) {
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        String sortKey = ProductCursor.normalizeSortKey(sortOption);
+        ProductCursor after = (cursor == null || cursor.isBlank()) ? null : ProductCursor.decode(cursor, sortKey);
+
+        Specification<Product> spec = buildFilterSpec(categoryId, minPrice, maxPrice)
+                .and(ProductSpecifications.afterCursor(after));
+        Sort sort = resolveSort(sortKey);
+
+        List<Product> rows = productRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<Product> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        ProductDTO.CursorPage result = new ProductDTO.CursorPage();
+        result.setContent(convertToResponses(pageRows));
+        result.setHasNext(hasNext);
+        result.setSize(size);
+        result.setNextCursor(hasNext ? ProductCursor.of(sortKey, pageRows.get(pageRows.size() - 1)).encode() : null);
+        return result;
+    }
+
+    // 정렬 옵션 → Sort 변환 (id를 정렬 키와 같은 방향의 보조 키로 사용해 순서를 결정적으로 유지)
+    // 두 키의 방향이 같아야 (정렬 키, product_id) 오름차순 인덱스를 역방향으로 읽어 filesort 없이 정렬할 수 있음
+    private Sort resolveSort(String sortOption) {
+        switch (ProductCursor.normalizeSortKey(sortOption)) {
+            case ProductCursor.CREATED_AT_DESC:
+                return Sort.by(Sort.Direction.DESC, "createdAt", "id");
+            case ProductCursor.PRICE_ASC:
+                return Sort.by(Sort.Direction.ASC, "price", "id");
+            case ProductCursor.PRICE_DESC:
+                return Sort.by(Sort.Direction.DESC, "price", "id");
+            case ProductCursor.SALES_VOLUME_DESC:
+            default:
+                return Sort.by(Sort.Direction.DESC, "salesVolume", "id"); // 기본: 판매량순
+        }
+    }
+
+    /**
+     * 상품 ID 목록 중 sort 순서로 [offset, offset + size) 구간의 상품을 조회합니다.
+     * IN 조건이 너무 길어지지 않도록 sortBatchSize개씩 나눠 각 묶음의 앞 (offset + size)개만 DB에서 정렬해 읽고,
+     * 메모리에서 같은 순서로 병합해 구간을 자릅니다.
+     */
+    private List<Product> findSortedPage(List<Integer> productIds, Sort sort, int offset, int size) {
+        if (productIds.isEmpty() || offset >= productIds.size()) {
+            return new ArrayList<>();
+        }
+        int keep = offset + size;
+        List<Product> rows = new ArrayList<>();
+        for (int from = 0; from < productIds.size(); from += sortBatchSize) {
+            List<Integer> batch = productIds.subList(from, Math.min(from + sortBatchSize, productIds.size()));
+            rows.addAll(productRepository.findBy(ProductSpecifications.idIn(batch),
+                    query -> query.sortBy(sort).limit(keep).all()));
+        }
+        if (productIds.size() > sortBatchSize) {
+            rows.sort(comparatorOf(sort));
+        }
+        return rows.size() <= offset ? new ArrayList<>() : new ArrayList<>(rows.subList(offset, Math.min(keep, rows.size())));
+    }
+
+    // Sort와 같은 순서의 Comparator (MariaDB와 동일하게 NULL은 가장 작은 값으로 취급)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Product> comparatorOf(Sort sort) {
+        Comparator<Product> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Function<Product, Comparable> key = sortKeyOf(order.getProperty());
+            Comparator<Product> byKey = Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byKey : byKey.reversed());
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Function<Product, Comparable> sortKeyOf(String property) {
+        switch (property) {
+            case "createdAt":
+                return Product::getCreatedAt;
+            case "price":
+                return Product::getPrice;
+            case "salesVolume":
+                return Product::getSalesVolume;
+            case "id":
+                return Product::getId;
+            default:
+                throw new IllegalArgumentException("지원하지 않는 정렬 속성입니다: " + property);
+        }
+    }
+
+    private Specification<Product> buildFilterSpec(Integer categoryId, Integer minPrice, Integer maxPrice) {
         Specification<Product> spec = Specification.where(null); // 항상 true인 Specification으로 시작
         if (categoryId != null) {
-            spec = spec.and(ProductSpecifications.withCategoryId(categoryId));
+            spec = spec.and(ProductSpecifications.withCategoryIn(findCategorySubtreeIds(categoryId)));
         }
         if (minPrice != null) {
             spec = spec.and(ProductSpecifications.minPrice(minPrice));
@@ -142,27 +340,72 @@ public class ProductService {
         if (maxPrice != null) {
             spec = spec.and(ProductSpecifications.maxPrice(maxPrice));
         }
+        return spec;
+    }
 
-        // ProductRepository의 findAll(Specification, Pageable) 사용
-        // 이 findAll은 N+1을 해결하기 위해 EntityGraph나 Fetch Join을 내부적으로 사용하도록 설정하거나,
-        // DTO 프로젝션을 사용하는 커스텀 Repository 메소드로 대체해야 함.
-        // 여기서는 기본 findAll을 사용하고, convertToResponseWithFetchedData에서 LAZY 로딩을 주의하도록 함.
-        // 가장 좋은 방법은 Repository에서 DTO로 직접 프로젝션하는 것입니다.
-        Page<Product> productPage = productRepository.findAll(spec, newPageable);
+    // 선택한 카테고리와 그 모든 하위 카테고리의 ID (메모리 카테고리 트리의 전위 순회 구간, 쿼리 없음)
+    private List<Integer> findCategorySubtreeIds(Integer categoryId) {
+        return categoryTree.current().subtreeIds(categoryId);
+    }
 
-        List<ProductDTO.Response> dtoList = productPage.getContent().stream()
-                .map(this::convertToResponseWithFetchedData) // N+1 주의하며 변환
-                .collect(Collectors.toList());
+    /**
+     * 상품 목록을 한 번에 DTO로 변환합니다.
+     * 페이지에 포함된 상품 ID를 모아 카테고리, 판매자, 이미지, 옵션을 각각 IN 쿼리 한 번으로 조회한 뒤
+     * 메모리에서 조립하므로, 상품 수와 관계없이 실행되는 쿼리 수가 일정합니다.
+     * 리뷰 개수/평균 평점은 Product의 집계 컬럼을 사용하므로 review 테이블을 읽지 않습니다.
+     */
+    public List<ProductDTO.Response> convertToResponses(List<Product> products) {
+        if (products == null || products.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        return new PageImpl<>(dtoList, newPageable, productPage.getTotalElements());
+        List<Integer> productIds = products.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList());
+        // LAZY 프록시의 getId()는 초기화를 일으키지 않으므로 추가 쿼리 없이 FK 값만 모을 수 있음
+        Set<Integer> categoryIds = products.stream()
+                .filter(product -> product.getCategory() != null)
+                .map(product -> product.getCategory().getId())
+                .collect(Collectors.toSet());
+        Set<String> sellerIds = products.stream()
+                .filter(product -> product.getUser() != null)
+                .map(product -> product.getUser().getId())
+                .collect(Collectors.toSet());
+
+        Map<Integer, ProductCategory> categoryMap = categoryIds.isEmpty() ? Map.of()
+                : categoryRepository.findAllById(categoryIds).stream()
+                        .collect(Collectors.toMap(ProductCategory::getId, Function.identity()));
+        Map<String, User> sellerMap = sellerIds.isEmpty() ? Map.of()
+                : userRepository.findAllById(sellerIds).stream()
+                        .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Integer, List<ProductImage>> imageMap = productImageRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.groupingBy(image -> image.getProduct().getId()));
+        Map<Integer, List<ProductOption>> optionMap = optionRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.groupingBy(option -> option.getProduct().getId()));
+
+        List<ProductDTO.Response> responses = new ArrayList<>(products.size());
+        for (Product product : products) {
+            responses.add(buildResponse(
+                    product,
+                    product.getCategory() != null ? categoryMap.get(product.getCategory().getId()) : null,
+                    product.getUser() != null ? sellerMap.get(product.getUser().getId()) : null,
+                    imageMap.getOrDefault(product.getId(), List.of()),
+                    optionMap.getOrDefault(product.getId(), List.of())));
+        }
+        return responses;
     }
 
-    // N+1 문제가 해결된 convertToResponse (연관 엔티티가 EAGER 로딩되었거나, Fetch Join으로 가져왔거나, DTO
-    // 프로젝션인 경우)
+    // 단건 변환 (연관 엔티티가 EntityGraph 등으로 이미 로드된 경우 사용)
     public ProductDTO.Response convertToResponseWithFetchedData(Product product) {
         if (product == null)
             return null;
 
+        return buildResponse(product, product.getCategory(), product.getUser(),
+                product.getImages(), product.getOptions());
+    }
+
+    private ProductDTO.Response buildResponse(Product product, ProductCategory category, User seller,
+                                              List<ProductImage> images, List<ProductOption> options) {
         ProductDTO.Response dto = new ProductDTO.Response();
         dto.setId(product.getId());
         dto.setName(product.getName());
@@ -173,39 +416,32 @@ public class ProductService {
         dto.setCreatedAt(product.getCreatedAt());
         dto.setSalesVolume(product.getSalesVolume());
 
-        if (product.getCategory() != null) { // FetchType.LAZY라면 N+1 유발 가능성
-            dto.setCategory(convertToCategoryResponse(product.getCategory()));
+        if (category != null) {
+            dto.setCategory(convertToCategoryResponse(category));
         }
-        if (product.getUser() != null) { // FetchType.LAZY라면 N+1 유발 가능성
-            dto.setSeller(convertToUserResponse(product.getUser()));
+        if (seller != null) {
+            dto.setSeller(convertToUserResponse(seller));
         }
 
-        // 이미지: Product 엔티티의 images 필드가 LAZY 로딩이고, 여기서 접근하면 N+1 발생
-        // EntityGraph나 Fetch Join으로 함께 가져와야 함.
-        if (product.getImages() != null && !product.getImages().isEmpty()) {
-            dto.setImages(product.getImages().stream()
+        if (images != null && !images.isEmpty()) {
+            dto.setImages(images.stream()
                     .map(this::convertToProductImageDTO)
                     .collect(Collectors.toList()));
         } else {
             dto.setImages(new ArrayList<>());
         }
 
-        // 옵션: EntityGraph로 이미 로드된 옵션 사용
-        if (product.getOptions() != null && !product.getOptions().isEmpty()) {
-            dto.setOptions(product.getOptions().stream()
+        if (options != null && !options.isEmpty()) {
+            dto.setOptions(options.stream()
                     .map(this::convertToOptionResponse)
                     .collect(Collectors.toList()));
         } else {
             dto.setOptions(new ArrayList<>());
         }
 
-        // 리뷰 정보: N+1 문제의 주범이 될 수 있음. DTO 프로젝션 시 서브쿼리나 집계 함수 사용 권장.
-        // 또는 상품 ID 리스트를 모아 한 번의 쿼리로 리뷰 정보를 가져와서 매핑하는 방식.
-        // 여기서는 간단히 표시 (실제로는 최적화 필수)
-        Long reviewCount = reviewRepository.countByProductId(product.getId()); // N+1
-        Double averageRating = reviewRepository.findAverageRatingByProductId(product.getId()).orElse(0.0); // N+1
-        dto.setReviewCount(reviewCount);
-        dto.setAverageRating(averageRating);
+        // 리뷰 정보: Product의 집계 컬럼 사용 (review 테이블 조회 없음)
+        dto.setReviewCount(product.getReviewCount() != null ? product.getReviewCount().longValue() : 0L);
+        dto.setAverageRating(product.getAverageRating());
 
         dto.setInterestCount(0L); // 실제 관심 수 로직 필요
 
@@ -282,26 +518,76 @@ public class ProductService {
         return dto;
     }
 
+    /**
+     * 상품 상세 조회. 조립된 상세 DTO는 ProductDetailCache에 보관하며, 캐시 적중 시에는 쿼리를 실행하지 않습니다.
+     * 재고가 바뀌는 주문/취소/만료와 상품 수정/삭제는 커밋 이후 ProductChangedEvent로 해당 상품을 무효화하므로
+     * 캐시된 재고 수량은 커밋된 최신 값과 같습니다.
+     */
     public ProductDTO.Response getProduct(Integer productId) {
-        // 상세 조회 시에는 모든 정보를 포함해야 하므로, Fetch Join이 필수적일 수 있음
-        // 또는 ProductRepository에 @EntityGraph를 사용한 findById 정의
-        return productRepository.findById(productId)
-                .map(this::convertToDetailResponse) // N+1 주의
-                .orElse(null);
+        ProductDTO.Response cached = productDetailCache.get(productId, id -> productRepository.findById(id)
+                .map(this::convertToDetailResponse)
+                .orElse(null));
+        return cached != null ? copyOf(cached) : null;
+    }
+
+    /**
+     * 여러 상품의 요약 정보(목록용 DTO)를 한 번에 조회합니다. 장바구니/주문 화면처럼 상품 여러 개를 함께 그릴 때 사용하며,
+     * 상품 수와 관계없이 상품 1회 + convertToResponses의 연관 데이터 IN 쿼리만 실행합니다.
+     *
+     * @return 상품 ID → 상품 DTO (존재하지 않는 ID는 포함되지 않음)
+     */
+    public Map<Integer, ProductDTO.Response> getProductSummaries(Collection<Integer> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Product> products = productRepository.findAllById(new HashSet<>(productIds));
+        return convertToResponses(products).stream()
+                .collect(Collectors.toMap(ProductDTO.Response::getId, Function.identity()));
+    }
+
+    public BoundedTtlCache.Stats getProductCacheStats() {
+        return productDetailCache.stats();
+    }
+
+    // 캐시된 DTO는 공유 객체이므로 호출 측이 수정해도 캐시 값이 바뀌지 않도록 복사본을 반환
+    private ProductDTO.Response copyOf(ProductDTO.Response source) {
+        ProductDTO.Response dto = new ProductDTO.Response();
+        dto.setId(source.getId());
+        dto.setCategory(source.getCategory());
+        dto.setName(source.getName());
+        dto.setDescription(source.getDescription());
+        dto.setPrice(source.getPrice());
+        dto.setStockQuantity(source.getStockQuantity());
+        dto.setCreatedAt(source.getCreatedAt());
+        dto.setSeller(source.getSeller());
+        dto.setSalesVolume(source.getSalesVolume());
+        dto.setImages(source.getImages() != null ? new ArrayList<>(source.getImages()) : null);
+        dto.setAverageRating(source.getAverageRating());
+        dto.setReviewCount(source.getReviewCount());
+        dto.setInterestCount(source.getInterestCount());
+        if (source.getOptions() != null) {
+            List<ProductOptionDTO.Response> options = new ArrayList<>();
+            for (ProductOptionDTO.Response cachedOption : source.getOptions()) {
+                ProductOptionDTO.Response option = new ProductOptionDTO.Response();
+                option.setId(cachedOption.getId());
+                option.setSize(cachedOption.getSize());
+                option.setStockQuantity(cachedOption.getStockQuantity());
+                option.setAdditionalPrice(cachedOption.getAdditionalPrice());
+                options.add(option);
+            }
+            dto.setOptions(options);
+        }
+        return dto;
     }
 
     public List<ProductDTO.Response> getProductsByCategory(Integer categoryId) {
-        // 페이징 없이 카테고리별 모든 상품 조회 (N+1 주의)
-        return productRepository.findByCategory_Id(categoryId).stream()
-                .map(this::convertToResponseWithFetchedData) // N+1 주의
-                .collect(Collectors.toList());
+        // 페이징 없이 카테고리별 모든 상품 조회
+        return convertToResponses(productRepository.findByCategory_Id(categoryId));
     }
 
     public List<ProductDTO.Response> getProductsBySeller(String userId) {
-        // 페이징 없이 판매자별 모든 상품 조회 (N+1 주의)
-        return productRepository.findByUser_Id(userId).stream()
-                .map(this::convertToResponseWithFetchedData) // N+1 주의
-                .collect(Collectors.toList());
+        // 페이징 없이 판매자별 모든 상품 조회
+        return convertToResponses(productRepository.findByUser_Id(userId));
     }
 
     @Transactional
@@ -353,6 +639,7 @@ public class ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId, ProductChangedEvent.ChangeType.UPDATED));
         return convertToResponseWithFetchedData(updatedProduct);
     }
 
@@ -364,53 +651,19 @@ public class ProductService {
             throw new SecurityException("상품을 삭제할 권한이 없습니다.");
         }
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId, ProductChangedEvent.ChangeType.DELETED));
     }
 
-    public List<ProductDTO.Response> searchProductsByKeyword(String keyword, String sortOption) {
-        // 이 로직은 페이징이 없고, 애플리케이션 레벨에서 정렬하므로 데이터가 많을 때 비효율적일 수 있음.
-        // findProductsWithFiltersAndSort와 유사하게 Specification과 Pageable을 사용하도록 개선하는 것이
-        // 좋음.
-        List<Product> productsByName = productRepository.findByNameContainingIgnoreCase(keyword);
-        List<ProductCategory> foundCategories = categoryRepository.findByNameContainingIgnoreCase(keyword);
-        List<Product> productsByCategoryName = new ArrayList<>();
-        if (!foundCategories.isEmpty()) {
-            List<Integer> categoryIds = foundCategories.stream().map(ProductCategory::getId)
-                    .collect(Collectors.toList());
-            productsByCategoryName = productRepository.findByCategory_IdIn(categoryIds);
-        }
-
-        Set<Product> combinedProductSet = new HashSet<>(productsByName);
-        combinedProductSet.addAll(productsByCategoryName);
-
-        List<Product> sortedProducts = new ArrayList<>(combinedProductSet);
-        switch (sortOption.toLowerCase()) {
-            case "sales_volume_desc":
-                sortedProducts.sort(
-                        Comparator.comparing(Product::getSalesVolume, Comparator.nullsLast(Comparator.reverseOrder()))
-                                .thenComparing(Product::getId));
-                break;
-            case "created_at_desc":
-                sortedProducts.sort(
-                        Comparator.comparing(Product::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
-                                .thenComparing(Product::getId));
-                break;
-            case "price_asc":
-                sortedProducts.sort(Comparator.comparing(Product::getPrice).thenComparing(Product::getId));
-                break;
-            case "price_desc":
-                sortedProducts.sort(Comparator.comparing(Product::getPrice, Comparator.reverseOrder())
-                        .thenComparing(Product::getId));
-                break;
-            case "musinsa_recommend":
-            default:
-                sortedProducts.sort(
-                        Comparator.comparing(Product::getSalesVolume, Comparator.nullsLast(Comparator.reverseOrder()))
-                                .thenComparing(Product::getId));
-                break;
+    // ID 목록 순서를 유지한 채 상품을 조회 (조회 사이 삭제된 상품은 제외)
+    private List<Product> findAllInOrder(List<Integer> productIds) {
+        if (productIds.isEmpty()) {
+            return new ArrayList<>();
         }
-
-        return sortedProducts.stream()
-                .map(this::convertToResponseWithFetchedData) // N+1 주의
+        Map<Integer, Product> productMap = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return productIds.stream()
+                .map(productMap::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Product의 리뷰 집계 컬럼(review_count, rating_sum)을 review 테이블 기준으로 일괄 재계산합니다.
+ * 평소에는 ReviewService가 증분 갱신하므로, 이 작업은 기존 데이터 백필과 드리프트 보정 용도입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewAggregateReconciler {
+
+    private final ProductRepository productRepository;
+
+    // 애플리케이션 시작 시 1회 + 설정된 주기(기본: 매일 새벽 4시)마다 실행
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${review.aggregate.reconcile-cron:0 0 4 * * *}")
+    @Transactional
+    public void reconcile() {
+        long startedAt = System.currentTimeMillis();
+        int updated = productRepository.reconcileReviewAggregates();
+        log.info("리뷰 집계 재계산 완료: {}개 상품, {}ms", updated, System.currentTimeMillis() - startedAt);
+    }
+}
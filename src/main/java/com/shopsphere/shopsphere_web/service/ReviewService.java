@@ -2,11 +2,13 @@ package com.shopsphere.shopsphere_web.service;
 
 import com.shopsphere.shopsphere_web.dto.*; // 모든 필요한 DTO import 가정
 import com.shopsphere.shopsphere_web.entity.*; // 모든 필요한 Entity import 가정
+import com.shopsphere.shopsphere_web.event.ProductChangedEvent;
 import com.shopsphere.shopsphere_web.repository.ProductRepository;
 import com.shopsphere.shopsphere_web.repository.ReviewRepository;
 import com.shopsphere.shopsphere_web.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -26,6 +28,7 @@ public class ReviewService {
     private final ProductRepository productRepository; // Product 정보 접근 시 필요할 수 있음
     private final FileStorageService fileStorageService;
     private final HttpServletRequest httpServletRequest;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 상품 ID로 리뷰 목록 조회
@@ -91,8 +94,11 @@ public class ReviewService {
                 .build();
 
         Review savedReview = reviewRepository.save(review);
+        // 상품의 리뷰 집계 컬럼 갱신 (같은 트랜잭션 안에서 원자적으로 증감)
+        productRepository.applyReviewDelta(product.getId(), 1, savedReview.getRating());
+        eventPublisher.publishEvent(ProductChangedEvent.of(product.getId(), ProductChangedEvent.ChangeType.REVIEW));
         // 저장 후 반환되는 DTO에는 Product의 상세 정보가 포함되어야 함
-        return convertToDTO(savedReview);
+        return withCurrentReviewAggregate(convertToDTO(savedReview), product.getId());
     }
 
     /**
@@ -107,11 +113,17 @@ public class ReviewService {
             throw new RuntimeException("리뷰를 수정할 권한이 없습니다.");
         }
 
+        int previousRating = review.getRating();
         review.setRating(requestDto.getRating());
         review.setComment(requestDto.getComment());
         // 이미지 수정 로직은 여기에 추가 (필요시)
 
         Review updatedReview = reviewRepository.save(review);
+        if (updatedReview.getRating() != previousRating) {
+            productRepository.applyReviewDelta(review.getProduct().getId(), 0, updatedReview.getRating() - previousRating);
+            eventPublisher.publishEvent(ProductChangedEvent.of(review.getProduct().getId(), ProductChangedEvent.ChangeType.REVIEW));
+            return withCurrentReviewAggregate(convertToDTO(updatedReview), review.getProduct().getId());
+        }
         return convertToDTO(updatedReview);
     }
 
@@ -145,24 +157,41 @@ public class ReviewService {
             }
         }
         reviewRepository.delete(review);
+        productRepository.applyReviewDelta(review.getProduct().getId(), -1, -review.getRating());
+        eventPublisher.publishEvent(ProductChangedEvent.of(review.getProduct().getId(), ProductChangedEvent.ChangeType.REVIEW));
     }
 
     /**
-     * 상품의 평균 평점 조회
+     * 상품의 평균 평점 조회 (Product 리뷰 집계 컬럼 기준)
      */
     public Double getAverageRatingByProductId(Integer productId) {
-        return reviewRepository.findAverageRatingByProductId(productId).orElse(0.0);
+        return productRepository.findReviewAggregateById(productId)
+                .map(ProductRepository.ReviewAggregate::getAverageRating)
+                .orElse(0.0);
     }
 
     /**
-     * 상품의 리뷰 개수 조회
+     * 상품의 리뷰 개수 조회 (Product 리뷰 집계 컬럼 기준)
      */
     public Long getReviewCountByProductId(Integer productId) {
-        return reviewRepository.countByProductId(productId);
+        return productRepository.findReviewAggregateById(productId)
+                .map(aggregate -> aggregate.getReviewCount() != null ? aggregate.getReviewCount().longValue() : 0L)
+                .orElse(0L);
     }
 
     // --- DTO 변환 헬퍼 메소드들 ---
 
+    // 집계 컬럼의 벌크 UPDATE는 영속성 컨텍스트의 Product에 반영되지 않으므로, 갱신된 값을 DB에서 다시 읽어 응답에 사용
+    private ReviewDTO.Response withCurrentReviewAggregate(ReviewDTO.Response response, Integer productId) {
+        if (response != null && response.getProduct() != null) {
+            productRepository.findReviewAggregateById(productId).ifPresent(aggregate -> {
+                response.getProduct().setReviewCount(aggregate.getReviewCount() != null ? aggregate.getReviewCount().longValue() : 0L);
+                response.getProduct().setAverageRating(aggregate.getAverageRating());
+            });
+        }
+        return response;
+    }
+
     private UserDTO.Response convertToUserDTOResponse(User user) {
         if (user == null) return null;
         UserDTO.Response userResponse = new UserDTO.Response();
@@ -270,19 +299,9 @@ public class ReviewService {
                 productResponse.setOptions(Collections.emptyList());
             }
 
-            // 리뷰 평균 및 개수 (Product 엔티티에 이 필드들이 이미 계산되어 있다면 사용, 없다면 여기서 계산하지 않도록 주의)
-            // ProductDTO.Response에 averageRating, reviewCount 필드가 정의되어 있으므로, Product 엔티티에서 가져오거나 ProductService를 통해 가져온 값을 사용해야 함.
-            // 여기서는 Product 엔티티에 이미 해당 값이 있다고 가정하고 매핑합니다. (N+1 방지를 위해)
-            // 만약 Product 엔티티에 없다면, ProductDTO.Response에서 이 필드들을 제거하거나,
-            // ReviewService에서 이 값을 채우지 않도록 하고, ProductService에서 채우도록 해야합니다.
-            // 또는, DTO 프로젝션 시점에서 계산하도록 합니다.
-            // 여기서는 Product 엔티티에 getter가 있다고 가정하고 채웁니다.
-            // 실제로는 productEntity.getAverageRating(), productEntity.getReviewCount() 와 같이 접근해야 합니다.
-            // 만약 Product 엔티티에 해당 필드/getter가 없다면, 다음 두 줄은 주석 처리하거나 ProductService에서 처리하도록 위임해야 합니다.
-            // productResponse.setAverageRating(reviewRepository.findAverageRatingByProductId(productEntity.getId()).orElse(0.0)); // N+1 유발 가능성 매우 높음 (주석 처리 권장)
-            // productResponse.setReviewCount(reviewRepository.countByProductId(productEntity.getId())); // N+1 유발 가능성 매우 높음 (주석 처리 권장)
-            // ==> ProductDTO.Response에 이미 이 필드들이 있으므로 Product 엔티티에서 해당 값을 가져와야 합니다.
-            // Product 엔티티에 averageRating과 reviewCount 필드가 있고, 적절히 업데이트 된다고 가정.
+            // 리뷰 평균 및 개수: Product 엔티티의 리뷰 집계 컬럼 사용 (추가 쿼리 없음)
+            productResponse.setReviewCount(productEntity.getReviewCount() != null ? productEntity.getReviewCount().longValue() : 0L);
+            productResponse.setAverageRating(productEntity.getAverageRating());
             
             response.setProduct(productResponse);
         }
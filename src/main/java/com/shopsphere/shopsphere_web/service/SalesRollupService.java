@@ -0,0 +1,101 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.entity.Order;
+import com.shopsphere.shopsphere_web.entity.OrderItem;
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.repository.SellerOrderDailyRepository;
+import com.shopsphere.shopsphere_web.repository.SellerSalesDailyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 판매자 매출 일별 집계(seller_sales_daily, seller_order_daily)를 관리합니다.
+ * 주문이 결제 완료되면 더하고, 결제 완료된 주문이 취소되면 같은 판매일에서 뺍니다.
+ * 호출한 쪽의 주문 상태 변경과 같은 트랜잭션에서 반영되므로 상태 전이와 집계가 어긋나지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    // 매출로 집계하는 (결제가 끝난) 주문 상태. recordPaid는 결제 승인(CONFIRMING → COMPLETED) 때만 호출되므로
+    // 백필과 취소 시 차감도 같은 상태만 대상으로 해야 집계가 음수로 내려가지 않음
+    public static final List<String> PAID_STATUSES = List.of("COMPLETED");
+
+    private final SellerSalesDailyRepository sellerSalesDailyRepository;
+    private final SellerOrderDailyRepository sellerOrderDailyRepository;
+
+    @Transactional
+    public void recordPaid(Order order) {
+        apply(order, 1);
+    }
+
+    @Transactional
+    public void recordCancelled(Order order) {
+        apply(order, -1);
+    }
+
+    private void apply(Order order, int sign) {
+        Map<RollupKey, RollupDelta> deltas = new LinkedHashMap<>();
+        Set<SellerDay> sellerDays = new LinkedHashSet<>();
+        for (OrderItem item : order.getOrderItems()) {
+            Product product = item.getProduct();
+            LocalDate salesDate = (item.getCreatedAt() != null ? item.getCreatedAt() : order.getCreatedAt()).toLocalDate();
+            String sellerId = product.getUser().getId();
+            RollupKey key = new RollupKey(sellerId, salesDate, product.getId());
+            RollupDelta delta = deltas.computeIfAbsent(key,
+                    k -> new RollupDelta(product.getCategory() != null ? product.getCategory().getId() : null));
+            delta.revenue += (long) item.getPrice() * item.getQuantity();
+            delta.units += item.getQuantity();
+            sellerDays.add(new SellerDay(sellerId, salesDate));
+        }
+
+        deltas.forEach((key, delta) -> sellerSalesDailyRepository.upsert(
+                key.sellerId(), key.salesDate(), key.productId(), delta.categoryId,
+                sign * delta.revenue, sign * delta.units, sign)); // 주문 하나에 같은 상품 행이 여러 개여도 주문 수는 1
+        sellerDays.forEach(day -> sellerOrderDailyRepository.upsert(day.sellerId(), day.salesDate(), sign));
+    }
+
+    /**
+     * 집계 테이블이 비어 있으면(최초 배포) 기존 결제 완료 주문으로 집계를 채웁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (sellerSalesDailyRepository.count() > 0) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        int salesRows = sellerSalesDailyRepository.backfill(PAID_STATUSES);
+        sellerOrderDailyRepository.deleteAllInBatch();
+        int orderRows = sellerOrderDailyRepository.backfill(PAID_STATUSES);
+        log.info("판매 집계 백필 완료: 상품별 {}행, 주문수 {}행, {}ms", salesRows, orderRows, System.currentTimeMillis() - startedAt);
+    }
+
+    private record RollupKey(String sellerId, LocalDate salesDate, Integer productId) {
+    }
+
+    private record SellerDay(String sellerId, LocalDate salesDate) {
+    }
+
+    private static class RollupDelta {
+        private final Integer categoryId;
+        private long revenue;
+        private int units;
+
+        private RollupDelta(Integer categoryId) {
+            this.categoryId = categoryId;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.shopsphere.shopsphere_web.service;
 
 import com.shopsphere.shopsphere_web.dto.SalesStatisticsDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 
 public interface SalesService {
@@ -10,4 +13,19 @@ public interface SalesService {
                                                  String timeRange, 
                                                  LocalDate startDate, 
                                                  LocalDate endDate);
+
+    /**
+     * 판매자의 주문 항목 내역을 CSV 또는 NDJSON으로 스트리밍합니다. (행 단위로 읽어 바로 쓰므로 메모리 사용량이 일정)
+     *
+     * @param format "csv" 또는 "ndjson"
+     * @param gzip   true이면 gzip으로 압축하여 씀
+     */
+    void exportSalesLines(String userId,
+                          String category,
+                          String product,
+                          LocalDate startDate,
+                          LocalDate endDate,
+                          String format,
+                          boolean gzip,
+                          OutputStream out) throws IOException;
 }
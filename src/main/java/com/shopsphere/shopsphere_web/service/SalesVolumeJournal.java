@@ -0,0 +1,122 @@
+package com.shopsphere.shopsphere_web.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품 판매량(product.sales_volume)을 주문 트랜잭션 밖에서 반영합니다.
+ * 주문/취소 트랜잭션은 sales_volume_journal에 상품별 증감 행을 INSERT만 하므로, 옵션 상품 주문처럼 상품 재고를 건드리지 않는 주문은
+ * product 행을 전혀 갱신하지 않고, 상품 재고를 차감하는 주문도 재고 UPDATE 한 번만 실행합니다.
+ * 저널은 주기적으로 잠금 읽기로 선점되어 상품별 합계로 sales_volume에 일괄 반영되고 같은 트랜잭션에서 삭제됩니다.
+ * (여러 인스턴스가 동시에 반영해도 각 저널 행은 정확히 한 번 반영됨)
+ * 따라서 DB의 sales_volume은 반영 주기만큼 늦을 수 있습니다. (판매 순위는 주문 이벤트로 즉시 갱신됨)
+ *
+ * 재고 원장 모드(ledger)는 판매량을 inventory_journal로 함께 반영하므로 이 저널을 사용하지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesVolumeJournal {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sales.volume.flush-batch-size:5000}")
+    private int flushBatchSize;
+
+    // 같은 인스턴스의 스케줄러와 시작 시 복구가 DB 잠금을 두고 서로 기다리지 않도록 직렬화
+    // (여러 인스턴스 사이의 중복 반영은 flush의 잠금 읽기로 막음)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * 주문 항목의 판매량 증감을 현재 트랜잭션(주문/취소 트랜잭션)에 기록합니다.
+     *
+     * @param sign 주문이면 1, 취소/만료면 -1
+     */
+    public void append(List<StockReservationService.StockLine> lines, int sign) {
+        Map<Integer, Integer> deltas = new TreeMap<>();
+        for (StockReservationService.StockLine line : lines) {
+            deltas.merge(line.getProductId(), sign * line.getQuantity(), Integer::sum);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> args.add(new Object[]{productId, delta, now}));
+        jdbcTemplate.batchUpdate("INSERT INTO sales_volume_journal (product_id, sales_delta, created_at) VALUES (?, ?, ?)", args);
+    }
+
+    // 시작 시 이전 실행에서 남은 저널을 모두 반영
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int total = 0;
+        int applied;
+        do {
+            applied = flush();
+            total += applied;
+        } while (applied >= flushBatchSize);
+        if (total > 0) {
+            log.info("판매량 저널 복구 완료: 미반영 저널 {}건 반영", total);
+        }
+    }
+
+    /**
+     * 저널을 상품별 합계로 sales_volume에 반영하고, 반영한 저널 행을 같은 트랜잭션에서 삭제합니다.
+     *
+     * @return 반영한 저널 행 수
+     */
+    @Scheduled(fixedDelayString = "${sales.volume.flush-interval-ms:1000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            Integer flushed = transactionTemplate.execute(status -> {
+                // 잠금 읽기로 저널 행을 선점: 다른 인스턴스의 반영 트랜잭션은 커밋될 때까지 기다린 뒤
+                // 이미 삭제된 행을 제외하고 다시 읽으므로 같은 행이 두 번 반영되지 않음
+                List<long[]> rows = jdbcTemplate.query(
+                        "SELECT entry_id, product_id, sales_delta FROM sales_volume_journal ORDER BY entry_id LIMIT ? FOR UPDATE",
+                        (rs, rowNum) -> new long[]{rs.getLong(1), rs.getInt(2), rs.getInt(3)},
+                        flushBatchSize);
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+                // 상품 ID 순서로 갱신 (주문 트랜잭션의 재고 UPDATE와 같은 순서라 교착 상태가 생기지 않음)
+                Map<Integer, Integer> deltas = new TreeMap<>();
+                for (long[] row : rows) {
+                    deltas.merge((int) row[1], (int) row[2], Integer::sum);
+                }
+                List<Object[]> updateArgs = new ArrayList<>(deltas.size());
+                deltas.forEach((productId, delta) -> {
+                    if (delta != 0) {
+                        updateArgs.add(new Object[]{delta, productId});
+                    }
+                });
+                jdbcTemplate.batchUpdate(
+                        "UPDATE product SET sales_volume = COALESCE(sales_volume, 0) + ? WHERE product_id = ?", updateArgs);
+
+                List<Object[]> deleteArgs = new ArrayList<>(rows.size());
+                rows.forEach(row -> deleteArgs.add(new Object[]{row[0]}));
+                jdbcTemplate.batchUpdate("DELETE FROM sales_volume_journal WHERE entry_id = ?", deleteArgs);
+                return rows.size();
+            });
+            return flushed != null ? flushed : 0;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.shopsphere.shopsphere_web.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 주문 시 재고 차감(예약)과 주문 취소 시 재고 복원을 담당합니다.
+ * 구현체는 inventory.reservation-mode 설정으로 선택합니다. (atomic: 조건부 UPDATE, pessimistic: 행 잠금)
+ * 두 메소드 모두 호출 측 트랜잭션 안에서 실행되어야 하며, 예외 발생 시 트랜잭션 롤백으로 앞서 차감한 재고도 함께 취소됩니다.
+ */
+public interface StockReservationService {
+
+    /**
+     * 주문 항목의 재고를 차감하고 상품 판매량 증가를 기록합니다. (판매량은 저널을 통해 비동기로 반영)
+     * 재고가 부족하거나 상품/옵션이 유효하지 않으면 IllegalArgumentException을 던집니다.
+     */
+    void reserve(List<StockLine> lines);
+
+    /**
+     * reserve로 차감한 재고를 복원하고 상품 판매량 감소를 기록합니다.
+     */
+    void release(List<StockLine> lines);
+
+    @Getter
+    @RequiredArgsConstructor
+    class StockLine {
+        private final Integer productId;
+        private final Integer optionId; // 옵션이 없는 상품이면 null (상품 재고에서 차감)
+        private final int quantity;
+    }
+}
@@ -0,0 +1,165 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopsphere.shopsphere_web.config.TossPaymentsProperties;
+import com.shopsphere.shopsphere_web.dto.TossPaymentResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 토스페이먼츠 API 호출을 담당합니다.
+ * WebClient로 비동기 호출하므로 응답을 기다리는 동안 요청 스레드와 DB 커넥션을 점유하지 않으며,
+ * 동시 호출 수 제한(벌크헤드)과 Idempotency-Key 기반의 재시도를 적용합니다.
+ */
+@Slf4j
+@Component
+public class TossPaymentGateway {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final WebClient webClient;
+    private final TossPaymentsProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+
+    public TossPaymentGateway(@Qualifier("tossPaymentsWebClient") WebClient webClient,
+                              TossPaymentsProperties properties,
+                              ObjectMapper objectMapper) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(properties.getMaxConcurrentCalls());
+    }
+
+    /**
+     * 결제창 생성 요청 (POST /v1/payments). 토스 주문 ID를 멱등 키로 사용합니다.
+     */
+    public Mono<TossPaymentResponseDTO> requestPayment(Map<String, Object> requestBody) {
+        return post("/v1/payments", requestBody, "payment-" + requestBody.get("orderId"));
+    }
+
+    /**
+     * 결제 최종 승인 요청 (POST /v1/payments/confirm). paymentKey를 멱등 키로 사용하므로
+     * 응답을 받지 못해 재시도하더라도 토스에서 승인은 한 번만 이루어집니다.
+     */
+    public Mono<TossPaymentResponseDTO> confirmPayment(String paymentKey, String tossOrderId, int amount) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("paymentKey", paymentKey);
+        requestBody.put("orderId", tossOrderId);
+        requestBody.put("amount", amount);
+        return post("/v1/payments/confirm", requestBody, "confirm-" + paymentKey);
+    }
+
+    /**
+     * 토스 주문 ID로 결제를 조회합니다. (GET /v1/payments/orders/{orderId})
+     * 승인 결과를 알 수 없는 주문을 복구할 때 사용하며, 토스에 결제가 없으면(404) 빈 값을 반환합니다.
+     */
+    public Mono<TossPaymentResponseDTO> getPaymentByOrderId(String tossOrderId) {
+        Mono<TossPaymentResponseDTO> call = webClient.get()
+                .uri("/v1/payments/orders/{orderId}", tossOrderId)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == 404) {
+                        return response.releaseBody().then(Mono.<TossPaymentResponseDTO>empty());
+                    }
+                    if (response.statusCode().isError()) {
+                        return toException(response).flatMap(Mono::<TossPaymentResponseDTO>error);
+                    }
+                    return response.bodyToMono(TossPaymentResponseDTO.class);
+                });
+        return withRetryAndBulkhead(call, "/v1/payments/orders/" + tossOrderId);
+    }
+
+    /**
+     * 토스 응답을 받지 못해 실제 처리 결과를 알 수 없는 오류인지 판별합니다.
+     * (연결 실패/타임아웃, 재시도 후에도 계속된 5xx/429) 이 경우 승인이 이루어졌을 수 있으므로 실패로 단정하면 안 됩니다.
+     */
+    public static boolean isOutcomeUnknown(Throwable e) {
+        return e instanceof RetryableTossException
+                || e instanceof WebClientRequestException
+                || e instanceof TimeoutException;
+    }
+
+    private Mono<TossPaymentResponseDTO> post(String uri, Map<String, Object> requestBody, String idempotencyKey) {
+        Mono<TossPaymentResponseDTO> call = webClient.post()
+                .uri(uri)
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .bodyValue(requestBody)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::toException)
+                .bodyToMono(TossPaymentResponseDTO.class)
+                .switchIfEmpty(Mono.error(new RuntimeException("토스페이먼츠 응답 바디가 없습니다. URI: " + uri)));
+        return withRetryAndBulkhead(call, uri);
+    }
+
+    private Mono<TossPaymentResponseDTO> withRetryAndBulkhead(Mono<TossPaymentResponseDTO> call, String uri) {
+        Mono<TossPaymentResponseDTO> retried = call
+                .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff())
+                        .filter(this::isRetryable)
+                        .doBeforeRetry(signal -> log.warn("토스페이먼츠 API 재시도 {}회: uri={}, 원인={}",
+                                signal.totalRetries() + 1, uri, signal.failure().toString()))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+
+        // 벌크헤드: 허용량을 넘는 호출은 대기열에 쌓지 않고 바로 거절하여 느린 외부 API가 서버 자원을 잠식하지 않게 함
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                return Mono.error(new TossPaymentUnavailableException("결제 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."));
+            }
+            return retried.doFinally(signal -> permits.release());
+        });
+    }
+
+    private Mono<? extends Throwable> toException(ClientResponse response) {
+        HttpStatusCode status = response.statusCode();
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> {
+                    String message = extractMessage(body);
+                    log.warn("토스페이먼츠 API 오류 응답: status={}, body={}", status.value(), body);
+                    if (status.is5xxServerError() || status.value() == 429) {
+                        return new RetryableTossException("토스페이먼츠 서버 오류(" + status.value() + "): " + message);
+                    }
+                    return new IllegalArgumentException("토스페이먼츠 오류: " + message);
+                });
+    }
+
+    private String extractMessage(String body) {
+        try {
+            Object message = objectMapper.readValue(body, Map.class).get("message");
+            return message != null ? message.toString() : body;
+        } catch (Exception e) {
+            return body;
+        }
+    }
+
+    // 멱등 키가 있으므로 응답을 받지 못한 경우(연결 실패/타임아웃)도 재시도 대상
+    private boolean isRetryable(Throwable e) {
+        return isOutcomeUnknown(e);
+    }
+
+    private static class RetryableTossException extends RuntimeException {
+        RetryableTossException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 벌크헤드 허용량을 초과하여 토스 API를 호출하지 못한 경우
+     */
+    public static class TossPaymentUnavailableException extends RuntimeException {
+        public TossPaymentUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.shopsphere.shopsphere_web.service.impl;
+
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.ProductOption;
+import com.shopsphere.shopsphere_web.repository.ProductOptionRepository;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.service.SalesVolumeJournal;
+import com.shopsphere.shopsphere_web.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 조건부 UPDATE(stock = stock - ? WHERE stock >= ?)로 재고를 차감하는 기본 구현.
+ * SELECT ... FOR UPDATE로 행을 읽어 검사한 뒤 저장하는 대신 DB가 검사와 차감을 한 문장으로 처리하므로,
+ * 인기 상품 행에 대한 잠금 보유 시간이 UPDATE 한 번으로 줄어듭니다.
+ * 판매량은 저널(SalesVolumeJournal)에만 기록하므로, 옵션 상품 주문은 product 행을 갱신하지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation-mode", havingValue = "atomic", matchIfMissing = true)
+public class AtomicStockReservationService implements StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final ProductOptionRepository productOptionRepository;
+    private final SalesVolumeJournal salesVolumeJournal;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(List<StockLine> lines) {
+        for (StockReservationPlan.ProductChange change : new StockReservationPlan(lines).getChanges()) {
+            for (Map.Entry<Integer, Integer> option : change.getOptionQuantities().entrySet()) {
+                if (productOptionRepository.reserveStock(option.getKey(), change.getProductId(), option.getValue()) == 0) {
+                    throw optionFailure(change.getProductId(), option.getKey(), option.getValue());
+                }
+            }
+            if (change.getProductQuantity() > 0
+                    && productRepository.reserveStock(change.getProductId(), change.getProductQuantity()) == 0) {
+                throw productFailure(change.getProductId(), change.getProductQuantity());
+            }
+        }
+        salesVolumeJournal.append(lines, 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(List<StockLine> lines) {
+        for (StockReservationPlan.ProductChange change : new StockReservationPlan(lines).getChanges()) {
+            for (Map.Entry<Integer, Integer> option : change.getOptionQuantities().entrySet()) {
+                productOptionRepository.releaseStock(option.getKey(), option.getValue());
+            }
+            if (change.getProductQuantity() > 0) {
+                productRepository.releaseStock(change.getProductId(), change.getProductQuantity());
+            }
+        }
+        salesVolumeJournal.append(lines, -1);
+    }
+
+    // 갱신 실패(0건) 시에만 원인을 조회해 기존과 같은 오류 메시지를 구성
+    private IllegalArgumentException productFailure(Integer productId, int quantity) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null) {
+            return new IllegalArgumentException("상품을 찾을 수 없습니다. ID: " + productId);
+        }
+        return new IllegalArgumentException(String.format(
+                "[%s] 상품의 재고가 부족합니다. 요청 수량: %d, 현재 재고: %d",
+                product.getName(), quantity, product.getStockQuantity()));
+    }
+
+    private IllegalArgumentException optionFailure(Integer productId, Integer optionId, int quantity) {
+        ProductOption option = productOptionRepository.findById(optionId).orElse(null);
+        if (option == null) {
+            return new IllegalArgumentException("상품 옵션을 찾을 수 없습니다. ID: " + optionId);
+        }
+        if (!option.getProduct().getId().equals(productId)) {
+            return new IllegalArgumentException(String.format(
+                    "상품 ID %d에 대한 옵션 ID %d가 유효하지 않습니다.", productId, optionId));
+        }
+        return new IllegalArgumentException(String.format(
+                "[%s - %s] 옵션의 재고가 부족합니다. 요청 수량: %d, 현재 재고: %d",
+                option.getProduct().getName(), option.getSize(), quantity, option.getStockQuantity()));
+    }
+}
@@ -0,0 +1,118 @@
+package com.shopsphere.shopsphere_web.service.impl;
+
+import com.shopsphere.shopsphere_web.repository.ProductOptionRepository;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.service.InventoryLedger;
+import com.shopsphere.shopsphere_web.service.InventoryLedger.JournalEntry;
+import com.shopsphere.shopsphere_web.service.InventoryLedger.SkuCounter;
+import com.shopsphere.shopsphere_web.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InventoryLedger의 메모리 카운터로 재고를 예약하는 구현 (inventory.reservation-mode=ledger).
+ * 예약은 DB 잠금 없이 CAS로 처리하고, 주문 트랜잭션에는 재고 변경 저널만 기록합니다.
+ * 트랜잭션이 롤백되면 afterCompletion에서 카운터를 되돌립니다.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation-mode", havingValue = "ledger")
+public class LedgerStockReservationService implements StockReservationService {
+
+    private final InventoryLedger inventoryLedger;
+    private final ProductRepository productRepository;
+    private final ProductOptionRepository productOptionRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(List<StockLine> lines) {
+        List<Reservation> reservations = new ArrayList<>();
+        List<JournalEntry> journal = new ArrayList<>();
+        try {
+            for (StockReservationPlan.ProductChange change : new StockReservationPlan(lines).getChanges()) {
+                Integer productId = change.getProductId();
+                for (Map.Entry<Integer, Integer> option : change.getOptionQuantities().entrySet()) {
+                    SkuCounter counter = inventoryLedger.counter(productId, option.getKey());
+                    if (!counter.tryReserve(option.getValue())) {
+                        throw optionShortage(productId, option.getKey(), option.getValue(), counter);
+                    }
+                    reservations.add(new Reservation(counter, option.getValue()));
+                    journal.add(new JournalEntry(productId, option.getKey(), -option.getValue(), 0));
+                }
+
+                // 상품 행: 옵션 없는 수량만큼 재고 차감 + 전체 수량만큼 판매량 증가
+                SkuCounter productCounter = inventoryLedger.counter(productId, null);
+                if (change.getProductQuantity() > 0) {
+                    if (!productCounter.tryReserve(change.getProductQuantity())) {
+                        throw productShortage(productId, change.getProductQuantity(), productCounter);
+                    }
+                    reservations.add(new Reservation(productCounter, change.getProductQuantity()));
+                }
+                journal.add(new JournalEntry(productId, null, -change.getProductQuantity(), change.getSalesQuantity()));
+            }
+        } catch (RuntimeException e) {
+            reservations.forEach(reservation -> reservation.counter.cancel(reservation.quantity));
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (Reservation reservation : reservations) {
+                    if (status == STATUS_COMMITTED) {
+                        reservation.counter.confirm(reservation.quantity);
+                    } else {
+                        reservation.counter.cancel(reservation.quantity);
+                    }
+                }
+            }
+        });
+        inventoryLedger.appendJournal(journal);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(List<StockLine> lines) {
+        // 복원은 저널에만 기록하고, 저널이 DB에 반영될 때 카운터에도 더해짐
+        List<JournalEntry> journal = new ArrayList<>();
+        for (StockReservationPlan.ProductChange change : new StockReservationPlan(lines).getChanges()) {
+            for (Map.Entry<Integer, Integer> option : change.getOptionQuantities().entrySet()) {
+                journal.add(new JournalEntry(change.getProductId(), option.getKey(), option.getValue(), 0));
+            }
+            journal.add(new JournalEntry(change.getProductId(), null, change.getProductQuantity(), -change.getSalesQuantity()));
+        }
+        inventoryLedger.appendJournal(journal);
+    }
+
+    private IllegalArgumentException productShortage(Integer productId, int quantity, SkuCounter counter) {
+        // 품절 이후 몰리는 주문은 모두 이 경로를 타므로 상품명만 조회
+        String name = productRepository.findNameById(productId).orElse(String.valueOf(productId));
+        return new IllegalArgumentException(String.format(
+                "[%s] 상품의 재고가 부족합니다. 요청 수량: %d, 현재 재고: %d", name, quantity, counter.getAvailable()));
+    }
+
+    private IllegalArgumentException optionShortage(Integer productId, Integer optionId, int quantity, SkuCounter counter) {
+        String label = productOptionRepository.findLabelById(optionId).orElse(productId + " - " + optionId);
+        return new IllegalArgumentException(String.format(
+                "[%s] 옵션의 재고가 부족합니다. 요청 수량: %d, 현재 재고: %d", label, quantity, counter.getAvailable()));
+    }
+
+    private static final class Reservation {
+        private final SkuCounter counter;
+        private final int quantity;
+
+        private Reservation(SkuCounter counter, int quantity) {
+            this.counter = counter;
+            this.quantity = quantity;
+        }
+    }
+}
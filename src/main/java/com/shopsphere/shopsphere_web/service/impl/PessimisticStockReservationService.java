@@ -0,0 +1,79 @@
+package com.shopsphere.shopsphere_web.service.impl;
+
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.ProductOption;
+import com.shopsphere.shopsphere_web.repository.ProductOptionRepository;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.service.SalesVolumeJournal;
+import com.shopsphere.shopsphere_web.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PESSIMISTIC_WRITE 행 잠금으로 상품/옵션을 읽어 재고를 검사·차감하는 구현 (기존 createOrder 방식).
+ * inventory.reservation-mode=pessimistic 일 때 사용합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation-mode", havingValue = "pessimistic")
+public class PessimisticStockReservationService implements StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final ProductOptionRepository productOptionRepository;
+    private final SalesVolumeJournal salesVolumeJournal;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(List<StockLine> lines) {
+        for (StockReservationPlan.ProductChange change : new StockReservationPlan(lines).getChanges()) {
+            Product product = productRepository.findByIdForUpdate(change.getProductId())
+                    .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. ID: " + change.getProductId()));
+
+            for (Map.Entry<Integer, Integer> entry : change.getOptionQuantities().entrySet()) {
+                ProductOption option = productOptionRepository.findByIdForUpdate(entry.getKey())
+                        .orElseThrow(() -> new IllegalArgumentException("상품 옵션을 찾을 수 없습니다. ID: " + entry.getKey()));
+                if (!option.getProduct().getId().equals(product.getId())) {
+                    throw new IllegalArgumentException(String.format(
+                            "상품 ID %d에 대한 옵션 ID %d가 유효하지 않습니다.", product.getId(), entry.getKey()));
+                }
+                if (option.getStockQuantity() < entry.getValue()) {
+                    throw new IllegalArgumentException(String.format(
+                            "[%s - %s] 옵션의 재고가 부족합니다. 요청 수량: %d, 현재 재고: %d",
+                            product.getName(), option.getSize(), entry.getValue(), option.getStockQuantity()));
+                }
+                option.setStockQuantity(option.getStockQuantity() - entry.getValue());
+            }
+
+            if (product.getStockQuantity() < change.getProductQuantity()) {
+                throw new IllegalArgumentException(String.format(
+                        "[%s] 상품의 재고가 부족합니다. 요청 수량: %d, 현재 재고: %d",
+                        product.getName(), change.getProductQuantity(), product.getStockQuantity()));
+            }
+            product.setStockQuantity(product.getStockQuantity() - change.getProductQuantity());
+        }
+        salesVolumeJournal.append(lines, 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(List<StockLine> lines) {
+        for (StockReservationPlan.ProductChange change : new StockReservationPlan(lines).getChanges()) {
+            Product product = productRepository.findByIdForUpdate(change.getProductId()).orElse(null);
+            if (product == null) {
+                continue; // 이미 삭제된 상품
+            }
+            for (Map.Entry<Integer, Integer> entry : change.getOptionQuantities().entrySet()) {
+                productOptionRepository.findByIdForUpdate(entry.getKey())
+                        .ifPresent(option -> option.setStockQuantity(option.getStockQuantity() + entry.getValue()));
+            }
+            product.setStockQuantity(product.getStockQuantity() + change.getProductQuantity());
+        }
+        salesVolumeJournal.append(lines, -1);
+    }
+}
@@ -1,32 +1,92 @@
 package com.shopsphere.shopsphere_web.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shopsphere.shopsphere_web.dto.SalesStatisticsDTO;
-import com.shopsphere.shopsphere_web.entity.OrderItem;
 import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.ProductCategory;
 import com.shopsphere.shopsphere_web.repository.OrderItemRepository;
+import com.shopsphere.shopsphere_web.repository.ProductCategoryRepository;
 import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.SalesAggregates;
+import com.shopsphere.shopsphere_web.repository.SellerOrderDailyRepository;
+import com.shopsphere.shopsphere_web.repository.SellerSalesDailyRepository;
+import com.shopsphere.shopsphere_web.service.SalesRollupService;
 import com.shopsphere.shopsphere_web.service.SalesService;
 import lombok.RequiredArgsConstructor;
-import org.hibernate.Hibernate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.YearMonth;
 import java.time.temporal.WeekFields;
-import java.util.Locale;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * 판매 통계는 판매자 일별 집계(seller_sales_daily, seller_order_daily)에서 계산합니다.
+ * 주/월/연 단위는 일별 합계를 묶어 만들므로, 조회 비용은 주문 항목 수가 아니라 조회 기간의 일수에 비례합니다.
+ * sales.statistics.source=order-items이면 집계 테이블 대신 주문 항목을 DB에서 직접 GROUP BY합니다. (집계 검증/비교용)
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SalesServiceImpl implements SalesService {
 
-        private final OrderItemRepository orderItemRepository;
+        private final SellerSalesDailyRepository sellerSalesDailyRepository;
+        private final SellerOrderDailyRepository sellerOrderDailyRepository;
         private final ProductRepository productRepository;
+        private final ProductCategoryRepository productCategoryRepository;
+        private final OrderItemRepository orderItemRepository;
+
+        private final JdbcTemplate jdbcTemplate;
+        private final ObjectMapper objectMapper;
+
+        // 내보내기 컬럼 (EXPORT_SQL의 SELECT 순서와 동일)
+        private static final List<String> EXPORT_COLUMNS = List.of(
+                        "order_item_id", "order_id", "ordered_at", "order_status", "product_id", "product_name",
+                        "category_id", "category_name", "option_id", "option_size", "quantity", "price", "amount");
+
+        private static final String EXPORT_SQL =
+                        "SELECT oi.order_item_id, oi.order_id, oi.created_at, o.order_status, oi.product_id, p.name, " +
+                        "p.category_id, c.name, oi.option_id, po.size, oi.quantity, oi.price, " +
+                        "CAST(oi.price AS SIGNED) * oi.quantity " +
+                        "FROM order_item oi " +
+                        "JOIN orders o ON o.order_id = oi.order_id " +
+                        "JOIN product p ON p.product_id = oi.product_id " +
+                        "LEFT JOIN product_category c ON c.category_id = p.category_id " +
+                        "LEFT JOIN product_option po ON po.option_id = oi.option_id " +
+                        "WHERE p.user_id = ? AND oi.created_at >= ? AND oi.created_at < ?";
+
+        // 내보내기 시 DB에서 한 번에 가져올 행 수
+        @Value("${sales.export.fetch-size:1000}")
+        private int exportFetchSize;
+
+        // 통계 원본 (rollup: 판매자 일별 집계 테이블, order-items: 주문 항목을 DB에서 직접 GROUP BY)
+        @Value("${sales.statistics.source:rollup}")
+        private String statisticsSource;
 
         @Override
         @Transactional(readOnly = true)
@@ -37,162 +97,241 @@ public class SalesServiceImpl implements SalesService {
                         LocalDate startDate,
                         LocalDate endDate) {
 
-                System.out.println("Getting sales statistics for user: " + userId);
-                System.out.println("Parameters - category: " + category + ", product: " + product +
-                                ", timeRange: " + timeRange + ", startDate: " + startDate + ", endDate: " + endDate);
+                log.debug("판매 통계 조회: userId={}, category={}, product={}, timeRange={}, startDate={}, endDate={}",
+                                userId, category, product, timeRange, startDate, endDate);
+
+                // 카테고리/상품 ID 파싱 ("all" 또는 빈 값이면 필터 없음)
+                Integer categoryId = parseId(category);
+                Integer productId = parseId(product);
 
-                // 날짜 범위 설정
                 LocalDateTime startDateTime = startDate.atStartOfDay();
-                LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay().minusNanos(1);
+                LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+                boolean fromOrderItems = "order-items".equals(statisticsSource);
+
+                // 일별 합계 조회
+                List<SalesAggregates.DailyTotal> dailyTotals = fromOrderItems
+                                ? orderItemRepository.findDailySalesTotals(userId, startDateTime, endDateTime,
+                                                SalesRollupService.PAID_STATUSES, categoryId, productId)
+                                : sellerSalesDailyRepository.findDailyTotals(userId, startDate, endDate, categoryId, productId);
+
+                // 집계 테이블 사용 시 필터가 없으면 주문 수는 판매자 단위 집계를 사용 (여러 상품이 담긴 주문을 한 번만 셈)
+                // 주문 항목 직접 집계는 일자별 COUNT(DISTINCT order_id)이므로 그대로 사용
+                Map<LocalDate, Integer> sellerOrderCounts = null;
+                if (!fromOrderItems && categoryId == null && productId == null) {
+                        sellerOrderCounts = sellerOrderDailyRepository.findDailyOrderCounts(userId, startDate, endDate)
+                                        .stream()
+                                        .collect(Collectors.toMap(
+                                                        SellerOrderDailyRepository.DailyOrderCount::getSalesDate,
+                                                        SellerOrderDailyRepository.DailyOrderCount::getOrderCount));
+                }
+
+                // 시간 범위에 따른 데이터 그룹화 (라벨 순 정렬)
+                Function<LocalDate, String> labeler = labelerFor(timeRange);
+                Map<String, SalesStatisticsDTO.SalesData> buckets = new TreeMap<>();
+                SalesStatisticsDTO.SalesData total = createSalesData("전체");
+                for (SalesAggregates.DailyTotal daily : dailyTotals) {
+                        int orderCount = sellerOrderCounts != null
+                                        ? sellerOrderCounts.getOrDefault(daily.getSalesDate(), 0)
+                                        : daily.getOrderCount().intValue();
+                        SalesStatisticsDTO.SalesData bucket = buckets.computeIfAbsent(
+                                        labeler.apply(daily.getSalesDate()), this::createSalesData);
+                        accumulate(bucket, daily.getRevenue(), orderCount, daily.getUnits());
+                        accumulate(total, daily.getRevenue(), orderCount, daily.getUnits());
+                }
+
+                // 기간 구분이 없으면(전체) 결과가 비어 있어도 합계 한 건을 반환
+                List<SalesStatisticsDTO.SalesData> salesData = "전체".equals(labeler.apply(startDate))
+                                ? List.of(total)
+                                : List.copyOf(buckets.values());
+
+                // 요약 정보 생성
+                List<SalesAggregates.CategoryTotal> categoryTotals = fromOrderItems
+                                ? orderItemRepository.findCategorySalesTotals(userId, startDateTime, endDateTime,
+                                                SalesRollupService.PAID_STATUSES, categoryId, productId)
+                                : sellerSalesDailyRepository.findCategoryTotals(userId, startDate, endDate, categoryId, productId);
+                List<SalesAggregates.ProductTotal> productTotals = fromOrderItems
+                                ? orderItemRepository.findProductSalesTotals(userId, startDateTime, endDateTime,
+                                                SalesRollupService.PAID_STATUSES, categoryId, productId)
+                                : sellerSalesDailyRepository.findProductTotals(userId, startDate, endDate, categoryId, productId);
+                SalesStatisticsDTO.Summary summary = createSummary(total, categoryTotals, productTotals);
+
+                return new SalesStatisticsDTO.Response(salesData, summary);
+        }
+
+        @Override
+        public void exportSalesLines(String userId,
+                        String category,
+                        String product,
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        String format,
+                        boolean gzip,
+                        OutputStream out) throws IOException {
+                Integer categoryId = parseId(category);
+                Integer productId = parseId(product);
+                boolean csv = "csv".equals(format);
+
+                StringBuilder sql = new StringBuilder(EXPORT_SQL);
+                List<Object> params = new ArrayList<>(List.of(userId,
+                                Timestamp.valueOf(startDate.atStartOfDay()),
+                                Timestamp.valueOf(endDate.plusDays(1).atStartOfDay())));
+                if (categoryId != null) {
+                        sql.append(" AND p.category_id = ?");
+                        params.add(categoryId);
+                }
+                if (productId != null) {
+                        sql.append(" AND oi.product_id = ?");
+                        params.add(productId);
+                }
+                sql.append(" ORDER BY oi.created_at, oi.order_item_id");
 
-                // 상품 ID 파싱
-                Integer productId = null;
+                GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+                Writer writer = new BufferedWriter(new OutputStreamWriter(gzipOut != null ? gzipOut : out, StandardCharsets.UTF_8), 64 * 1024);
+                if (csv) {
+                        writer.write('\uFEFF'); // 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM
+                        writer.write(String.join(",", EXPORT_COLUMNS));
+                        writer.write('\n');
+                }
+
+                long startedAt = System.currentTimeMillis();
+                long[] rowCount = {0};
                 try {
-                        if (product != null && !product.isEmpty() && !"all".equals(product)) {
-                                productId = Integer.parseInt(product);
+                        // 전진 전용 커서 + fetch size로 결과를 나눠 받으며 한 행씩 바로 출력 (전체 결과를 메모리에 올리지 않음)
+                        jdbcTemplate.query(connection -> {
+                                PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                                ps.setFetchSize(exportFetchSize);
+                                for (int i = 0; i < params.size(); i++) {
+                                        ps.setObject(i + 1, params.get(i));
+                                }
+                                return ps;
+                        }, (ResultSet rs) -> {
+                                try {
+                                        if (csv) {
+                                                writeCsvRow(writer, rs);
+                                        } else {
+                                                writeJsonRow(writer, rs);
+                                        }
+                                } catch (IOException e) {
+                                        // 클라이언트 연결 종료 등 출력 실패 시 조회를 중단
+                                        throw new UncheckedIOException(e);
+                                }
+                                rowCount[0]++;
+                        });
+                } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                }
+
+                writer.flush();
+                if (gzipOut != null) {
+                        gzipOut.finish();
+                }
+                log.info("판매 내역 내보내기 완료: userId={}, format={}, gzip={}, {}행, {}ms",
+                                userId, format, gzip, rowCount[0], System.currentTimeMillis() - startedAt);
+        }
+
+        private void writeCsvRow(Writer writer, ResultSet rs) throws SQLException, IOException {
+                for (int i = 1; i <= EXPORT_COLUMNS.size(); i++) {
+                        if (i > 1) {
+                                writer.write(',');
+                        }
+                        String value = rs.getString(i);
+                        if (value == null) {
+                                continue;
+                        }
+                        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                                writer.write('"');
+                                writer.write(value.replace("\"", "\"\""));
+                                writer.write('"');
+                        } else {
+                                writer.write(value);
                         }
-                } catch (NumberFormatException e) {
-                        System.out.println("Product ID is not a number: " + product);
                 }
+                writer.write('\n');
+        }
 
-                // 주문 상품 조회
-                List<OrderItem> orderItems = orderItemRepository.findSalesData(
-                                userId,
-                                startDateTime,
-                                endDateTime,
-                                (category != null && !category.isEmpty() && !"all".equalsIgnoreCase(category) ? category
-                                                : null),
-                                productId);
-
-                // 필요한 경우에만 상품 정보 로드
-                if (!orderItems.isEmpty()) {
-                        orderItems.forEach(oi -> Hibernate.initialize(oi.getProduct()));
+        private void writeJsonRow(Writer writer, ResultSet rs) throws SQLException, IOException {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 1; i <= EXPORT_COLUMNS.size(); i++) {
+                        Object value = rs.getObject(i);
+                        row.put(EXPORT_COLUMNS.get(i - 1), value instanceof Timestamp ts ? ts.toLocalDateTime().toString() : value);
                 }
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+        }
 
-                // 시간 범위에 따른 데이터 그룹화
-                List<SalesStatisticsDTO.SalesData> salesData;
+        private Integer parseId(String value) {
+                if (value == null || value.isEmpty() || "all".equalsIgnoreCase(value)) {
+                        return null;
+                }
+                try {
+                        return Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                        log.debug("ID 형식이 아닌 필터 값은 무시합니다: {}", value);
+                        return null;
+                }
+        }
 
+        private Function<LocalDate, String> labelerFor(String timeRange) {
                 if ("daily".equals(timeRange)) {
-                        // 일별 그룹화
-                        Map<LocalDate, List<OrderItem>> dailySales = orderItems.stream()
-                                        .collect(Collectors.groupingBy(item -> item.getCreatedAt().toLocalDate()));
-
-                        salesData = dailySales.entrySet().stream()
-                                        .map(entry -> createSalesData(
-                                                        entry.getKey().toString(),
-                                                        entry.getValue()))
-                                        .sorted(Comparator.comparing(SalesStatisticsDTO.SalesData::getLabel))
-                                        .collect(Collectors.toList());
+                        return LocalDate::toString;
                 } else if ("weekly".equals(timeRange)) {
                         // 주간 그룹화 (연도-주차 형식으로 표시)
-                        Map<String, List<OrderItem>> weeklySales = orderItems.stream()
-                                        .collect(Collectors.groupingBy(item -> {
-                                                LocalDate date = item.getCreatedAt().toLocalDate();
-                                                int year = date.getYear();
-                                                int week = date.get(WeekFields.of(Locale.KOREA).weekOfWeekBasedYear());
-                                                return String.format("%d-%02d", year, week);
-                                        }));
-
-                        salesData = weeklySales.entrySet().stream()
-                                        .map(entry -> createSalesData(
-                                                        entry.getKey() + "주차",
-                                                        entry.getValue()))
-                                        .sorted(Comparator.comparing(SalesStatisticsDTO.SalesData::getLabel))
-                                        .collect(Collectors.toList());
+                        WeekFields weekFields = WeekFields.of(Locale.KOREA);
+                        return date -> String.format("%d-%02d", date.getYear(), date.get(weekFields.weekOfWeekBasedYear())) + "주차";
                 } else if ("monthly".equals(timeRange)) {
-                        // 월별 그룹화
-                        Map<YearMonth, List<OrderItem>> monthlySales = orderItems.stream()
-                                        .collect(Collectors.groupingBy(item -> YearMonth.from(item.getCreatedAt())));
-
-                        salesData = monthlySales.entrySet().stream()
-                                        .map(entry -> createSalesData(
-                                                        entry.getKey().getYear() + "-" +
-                                                                        String.format("%02d",
-                                                                                        entry.getKey().getMonthValue()),
-                                                        entry.getValue()))
-                                        .sorted(Comparator.comparing(SalesStatisticsDTO.SalesData::getLabel))
-                                        .collect(Collectors.toList());
+                        return date -> date.getYear() + "-" + String.format("%02d", date.getMonthValue());
                 } else if ("yearly".equals(timeRange)) {
-                        // 연도별 그룹화
-                        Map<Integer, List<OrderItem>> yearlySales = orderItems.stream()
-                                        .collect(Collectors.groupingBy(item -> item.getCreatedAt().getYear()));
-
-                        salesData = yearlySales.entrySet().stream()
-                                        .map(entry -> createSalesData(
-                                                        String.valueOf(entry.getKey()),
-                                                        entry.getValue()))
-                                        .sorted(Comparator.comparing(SalesStatisticsDTO.SalesData::getLabel))
-                                        .collect(Collectors.toList());
-                } else {
-                        // 기본은 전체 기간으로 집계
-                        SalesStatisticsDTO.SalesData allTimeData = createSalesData("전체", orderItems);
-                        salesData = List.of(allTimeData);
+                        return date -> String.valueOf(date.getYear());
                 }
-
-                // 요약 정보 생성
-                SalesStatisticsDTO.Summary summary = createSummary(orderItems);
-
-                return new SalesStatisticsDTO.Response(salesData, summary);
+                // 기본은 전체 기간으로 집계
+                return date -> "전체";
         }
 
-        private SalesStatisticsDTO.SalesData createSalesData(String label, List<OrderItem> items) {
-                int totalSales = items.stream()
-                                .mapToInt(item -> item.getPrice() * item.getQuantity())
-                                .sum();
-
-                long orderCount = items.stream()
-                                .map(OrderItem::getOrder)
-                                .distinct()
-                                .count();
-
-                int productCount = items.stream()
-                                .mapToInt(OrderItem::getQuantity)
-                                .sum();
-
+        private SalesStatisticsDTO.SalesData createSalesData(String label) {
                 SalesStatisticsDTO.SalesData data = new SalesStatisticsDTO.SalesData();
                 data.setLabel(label);
-                data.setSalesAmount(totalSales);
-                data.setOrderCount((int) orderCount);
-                data.setProductCount(productCount);
-
+                data.setSalesAmount(0);
+                data.setOrderCount(0);
+                data.setProductCount(0);
                 return data;
         }
 
-        private SalesStatisticsDTO.Summary createSummary(List<OrderItem> items) {
+        private void accumulate(SalesStatisticsDTO.SalesData data, Long revenue, int orderCount, Long units) {
+                data.setSalesAmount(data.getSalesAmount() + revenue.intValue());
+                data.setOrderCount(data.getOrderCount() + orderCount);
+                data.setProductCount(data.getProductCount() + units.intValue());
+        }
+
+        private SalesStatisticsDTO.Summary createSummary(SalesStatisticsDTO.SalesData total,
+                        List<SalesAggregates.CategoryTotal> categoryTotals,
+                        List<SalesAggregates.ProductTotal> productTotals) {
                 SalesStatisticsDTO.Summary summary = new SalesStatisticsDTO.Summary();
 
-                // 총 매출액
-                int totalSales = items.stream()
-                                .mapToInt(item -> item.getPrice() * item.getQuantity())
-                                .sum();
-
-                // 총 주문 건수
-                long orderCount = items.stream()
-                                .map(OrderItem::getOrder)
-                                .distinct()
-                                .count();
-
-                // 총 판매 상품 수
-                int productCount = items.stream()
-                                .mapToInt(OrderItem::getQuantity)
-                                .sum();
-
-                // 카테고리별 매출
-                Map<String, Integer> salesByCategory = items.stream()
-                                .collect(Collectors.groupingBy(
-                                                item -> item.getProduct().getCategory().toString(), // Convert category
-                                                                                                    // to String
-                                                Collectors.summingInt(item -> item.getPrice() * item.getQuantity())));
-
-                // 상품별 매출
-                Map<String, Integer> salesByProduct = items.stream()
-                                .collect(Collectors.groupingBy(
-                                                item -> item.getProduct().getName(),
-                                                Collectors.summingInt(item -> item.getPrice() * item.getQuantity())));
-
-                summary.setTotalSalesAmount(totalSales);
-                summary.setTotalOrderCount((int) orderCount);
-                summary.setTotalProductCount(productCount);
+                // 카테고리별 매출 (카테고리 이름 기준)
+                Map<Integer, String> categoryNames = productCategoryRepository.findAllById(categoryTotals.stream()
+                                .map(SalesAggregates.CategoryTotal::getCategoryId)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toSet())).stream()
+                                .collect(Collectors.toMap(ProductCategory::getId, ProductCategory::getName));
+                Map<String, Integer> salesByCategory = new HashMap<>();
+                categoryTotals.forEach(row -> salesByCategory.merge(
+                                categoryNames.getOrDefault(row.getCategoryId(), "미분류"),
+                                row.getRevenue().intValue(), Integer::sum));
+
+                // 상품별 매출 (상품 이름 기준)
+                Map<Integer, String> productNames = productRepository.findAllById(productTotals.stream()
+                                .map(SalesAggregates.ProductTotal::getProductId)
+                                .collect(Collectors.toSet())).stream()
+                                .collect(Collectors.toMap(Product::getId, Product::getName));
+                Map<String, Integer> salesByProduct = new HashMap<>();
+                productTotals.forEach(row -> salesByProduct.merge(
+                                productNames.getOrDefault(row.getProductId(), "삭제된 상품 (" + row.getProductId() + ")"),
+                                row.getRevenue().intValue(), Integer::sum));
+
+                summary.setTotalSalesAmount(total.getSalesAmount());
+                summary.setTotalOrderCount(total.getOrderCount());
+                summary.setTotalProductCount(total.getProductCount());
                 summary.setSalesByCategory(salesByCategory);
                 summary.setSalesByProduct(salesByProduct);
 
@@ -0,0 +1,52 @@
+package com.shopsphere.shopsphere_web.service.impl;
+
+import com.shopsphere.shopsphere_web.service.StockReservationService.StockLine;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 주문 항목을 상품 ID → 옵션 ID 순으로 정렬·합산한 재고 변경 계획.
+ * 모든 트랜잭션이 같은 순서(상품 ID 오름차순, 상품 안에서는 옵션 → 상품 행)로 행을 갱신하므로 교착 상태가 생기지 않습니다.
+ */
+class StockReservationPlan {
+
+    private final Map<Integer, ProductChange> changes = new TreeMap<>();
+
+    StockReservationPlan(List<StockLine> lines) {
+        for (StockLine line : lines) {
+            if (line.getProductId() == null) {
+                throw new IllegalArgumentException("상품 ID가 필요합니다.");
+            }
+            if (line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("수량은 1개 이상이어야 합니다.");
+            }
+            ProductChange change = changes.computeIfAbsent(line.getProductId(), ProductChange::new);
+            change.salesQuantity += line.getQuantity();
+            if (line.getOptionId() == null) {
+                change.productQuantity += line.getQuantity();
+            } else {
+                change.optionQuantities.merge(line.getOptionId(), line.getQuantity(), Integer::sum);
+            }
+        }
+    }
+
+    Collection<ProductChange> getChanges() {
+        return changes.values();
+    }
+
+    @Getter
+    static class ProductChange {
+        private final Integer productId;
+        private int productQuantity;  // 옵션 없이 상품 재고에서 차감할 수량
+        private int salesQuantity;    // 판매량 증감 수량 (옵션 포함 전체)
+        private final Map<Integer, Integer> optionQuantities = new TreeMap<>();
+
+        ProductChange(Integer productId) {
+            this.productId = productId;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.shopsphere.shopsphere_web.specification;
+
+import com.shopsphere.shopsphere_web.entity.Product;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 상품 목록 keyset(seek) 페이지네이션용 커서.
+ * 마지막으로 내려준 상품의 정렬 키 값과 ID를 담으며, 클라이언트에는 Base64(URL-safe) 문자열로만 노출됩니다.
+ * 형식: "{sortKey}|{정렬 값 또는 ~(null)}|{productId}"
+ */
+@Getter
+public class ProductCursor {
+
+    public static final String SALES_VOLUME_DESC = "sales_volume_desc";
+    public static final String CREATED_AT_DESC = "created_at_desc";
+    public static final String PRICE_ASC = "price_asc";
+    public static final String PRICE_DESC = "price_desc";
+
+    private static final String NULL_VALUE = "~";
+
+    private final String sortKey;
+    private final Comparable<?> value; // Integer(판매량/가격) 또는 LocalDateTime(등록일), null 가능
+    private final Integer id;
+
+    private ProductCursor(String sortKey, Comparable<?> value, Integer id) {
+        this.sortKey = sortKey;
+        this.value = value;
+        this.id = id;
+    }
+
+    // 정렬 옵션 문자열을 keyset이 지원하는 정렬 키로 정규화 (musinsa_recommend 등 기본값은 판매량순)
+    public static String normalizeSortKey(String sortOption) {
+        if (sortOption == null) {
+            return SALES_VOLUME_DESC;
+        }
+        switch (sortOption.toLowerCase()) {
+            case CREATED_AT_DESC:
+                return CREATED_AT_DESC;
+            case PRICE_ASC:
+                return PRICE_ASC;
+            case PRICE_DESC:
+                return PRICE_DESC;
+            case SALES_VOLUME_DESC:
+            case "musinsa_recommend":
+            default:
+                return SALES_VOLUME_DESC;
+        }
+    }
+
+    // 페이지의 마지막 상품으로 다음 페이지 커서 생성
+    public static ProductCursor of(String sortKey, Product last) {
+        Comparable<?> value;
+        switch (sortKey) {
+            case CREATED_AT_DESC:
+                value = last.getCreatedAt();
+                break;
+            case PRICE_ASC:
+            case PRICE_DESC:
+                value = last.getPrice();
+                break;
+            default:
+                value = last.getSalesVolume();
+                break;
+        }
+        return new ProductCursor(sortKey, value, last.getId());
+    }
+
+    public String encode() {
+        String raw = sortKey + "|" + (value == null ? NULL_VALUE : value.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열을 해석합니다. 현재 요청의 정렬 키와 다른 커서이거나 형식이 잘못되면 IllegalArgumentException을 던집니다.
+     */
+    public static ProductCursor decode(String encoded, String expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(expectedSortKey)) {
+                throw new IllegalArgumentException("정렬 조건과 일치하지 않는 커서입니다.");
+            }
+            Integer id = Integer.valueOf(parts[2]);
+            Comparable<?> value = null;
+            if (!NULL_VALUE.equals(parts[1])) {
+                value = CREATED_AT_DESC.equals(expectedSortKey)
+                        ? LocalDateTime.parse(parts[1])
+                        : Integer.valueOf(parts[1]);
+            }
+            return new ProductCursor(expectedSortKey, value, id);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("잘못된 커서 값입니다.", e);
+        }
+    }
+}
@@ -2,9 +2,16 @@ package com.shopsphere.shopsphere_web.specification;
 
 import com.shopsphere.shopsphere_web.entity.Product;
 import com.shopsphere.shopsphere_web.entity.ProductCategory; // ProductCategory 엔티티 import
+import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Join; // Join import
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 public class ProductSpecifications {
 
     public static Specification<Product> withCategoryId(Integer categoryId) {
@@ -36,5 +43,92 @@ public class ProductSpecifications {
         };
     }
 
+    // 카테고리 하위 트리 필터: 선택한 카테고리와 모든 하위 카테고리의 ID 목록으로 비교 (조인 없이 category_id 컬럼만 사용)
+    // ID 목록은 CategoryTree의 전위 순회 구간에서 얻으므로 하위 트리 전체가 IN 조건 하나로 표현됨 (리프면 = 조건)
+    public static Specification<Product> withCategoryIn(Collection<Integer> categoryIds) {
+        return (root, query, criteriaBuilder) -> {
+            if (categoryIds == null) {
+                return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            }
+            if (categoryIds.isEmpty()) {
+                return criteriaBuilder.disjunction();
+            }
+            if (categoryIds.size() == 1) {
+                return criteriaBuilder.equal(root.get("category").get("id"), categoryIds.iterator().next());
+            }
+            return root.get("category").get("id").in(categoryIds);
+        };
+    }
+
+    public static Specification<Product> idIn(Collection<Integer> productIds) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(productIds);
+    }
+
+    // 검색 인덱스가 준비되지 않았을 때의 대체 검색: 상품명 또는 카테고리명 부분 일치
+    public static Specification<Product> keywordLike(String keyword) {
+        return (root, query, criteriaBuilder) -> {
+            if (keyword == null || keyword.isBlank()) {
+                return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            }
+            String pattern = "%" + keyword.trim().toLowerCase() + "%";
+            Join<Product, ProductCategory> categoryJoin = root.join("category", JoinType.LEFT);
+            return criteriaBuilder.or(
+                    criteriaBuilder.like(criteriaBuilder.lower(root.get("name")), pattern),
+                    criteriaBuilder.like(criteriaBuilder.lower(categoryJoin.get("name")), pattern));
+        };
+    }
+
+    /**
+     * keyset 페이지네이션 조건: 커서가 가리키는 상품 "다음" 위치의 상품만 조회합니다.
+     * 정렬은 (정렬 키, id)를 같은 방향으로 정렬하므로(price_asc는 id ASC, 나머지는 id DESC) 보조 키 조건도 방향을 따르며,
+     * MariaDB는 DESC 정렬 시 NULL을 마지막에 두므로 NULL이 가능한 판매량/등록일은 NULL 구간까지 이어서 탐색합니다.
+     */
+    public static Specification<Product> afterCursor(ProductCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return criteriaBuilder.isTrue(criteriaBuilder.literal(true));
+            }
+            Path<Integer> id = root.get("id");
+            switch (cursor.getSortKey()) {
+                case ProductCursor.CREATED_AT_DESC:
+                    return descNullsLast(criteriaBuilder, root.<LocalDateTime>get("createdAt"),
+                            (LocalDateTime) cursor.getValue(), criteriaBuilder.lessThan(id, cursor.getId()));
+                case ProductCursor.PRICE_ASC: {
+                    Path<Integer> price = root.get("price");
+                    Integer value = (Integer) cursor.getValue();
+                    return criteriaBuilder.and(
+                            criteriaBuilder.greaterThanOrEqualTo(price, value),
+                            criteriaBuilder.or(criteriaBuilder.greaterThan(price, value),
+                                    criteriaBuilder.greaterThan(id, cursor.getId())));
+                }
+                case ProductCursor.PRICE_DESC: {
+                    Path<Integer> price = root.get("price");
+                    Integer value = (Integer) cursor.getValue();
+                    return criteriaBuilder.and(
+                            criteriaBuilder.lessThanOrEqualTo(price, value),
+                            criteriaBuilder.or(criteriaBuilder.lessThan(price, value),
+                                    criteriaBuilder.lessThan(id, cursor.getId())));
+                }
+                case ProductCursor.SALES_VOLUME_DESC:
+                default:
+                    return descNullsLast(criteriaBuilder, root.<Integer>get("salesVolume"),
+                            (Integer) cursor.getValue(), criteriaBuilder.lessThan(id, cursor.getId()));
+            }
+        };
+    }
+
+    // (field DESC NULLS LAST, id DESC) 정렬에서 (value, id) 이후 행: value보다 작거나, 같으면서 id가 작거나, NULL 구간
+    private static <T extends Comparable<? super T>> Predicate descNullsLast(
+            CriteriaBuilder criteriaBuilder, Path<T> field, T value, Predicate idBefore) {
+        if (value == null) {
+            return criteriaBuilder.and(criteriaBuilder.isNull(field), idBefore);
+        }
+        // field <= value 조건을 앞에 두어 (정렬 키, product_id) 인덱스의 범위 탐색이 가능하도록 함
+        Predicate afterValue = criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(field, value),
+                criteriaBuilder.or(criteriaBuilder.lessThan(field, value), idBefore));
+        return criteriaBuilder.or(afterValue, criteriaBuilder.isNull(field));
+    }
+
     // 필요에 따라 다른 Specification 추가 (예: 키워드 검색, 재고 유무 등)
 }
\ No newline at end of file
@@ -1,5 +1,14 @@
 package com.shopsphere.shopsphere_web;
 
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
 class ShopsphereWebApplicationTests {
 
+    @Test
+    void contextLoads() {
     }
+}
@@ -0,0 +1,119 @@
+package com.shopsphere.shopsphere_web.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BoundedTtlCache의 키 단위 무효화, 크기 제한, 동시 조회 테스트.
+ */
+class BoundedTtlCacheTest {
+
+    @Test
+    void invalidationDuringLoadDropsOnlyThatKeysStaleValue() throws Exception {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<String> slowLoad = pool.submit(() -> cache.get(1, key -> {
+            loading.countDown();
+            await(release);
+            return "stale";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 다른 키의 저장/무효화는 로딩 중인 키에 영향을 주지 않음
+        cache.get(2, key -> "two");
+        cache.invalidate(3);
+        cache.invalidate(1);
+        release.countDown();
+        assertThat(slowLoad.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        pool.shutdown();
+
+        assertThat(cache.get(1, key -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get(2, key -> "reloaded")).isEqualTo("two");
+    }
+
+    @Test
+    void unrelatedInvalidationDoesNotBlockStore() throws Exception {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMinutes(1));
+        assertThat(cache.get(1, key -> {
+            cache.invalidate(2);
+            return "one";
+        })).isEqualTo("one");
+        assertThat(cache.get(1, key -> "reloaded")).isEqualTo("one");
+        assertThat(cache.stats().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sizeStaysBoundedAndRecentlyUsedEntriesSurvive() {
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>("test", 100, Duration.ofMinutes(1));
+        cache.get(0, key -> key);
+        for (int i = 1; i <= 1000; i++) {
+            cache.get(i, key -> key);
+            cache.get(0, key -> -1); // 자주 쓰는 키
+        }
+        assertThat(cache.stats().getSize()).isLessThanOrEqualTo(100);
+        assertThat(cache.stats().getEvictionCount()).isPositive();
+        assertThat(cache.get(0, key -> -1)).isZero();
+    }
+
+    @Test
+    void expiredEntriesAreReloadedAndPurged() throws Exception {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMillis(20));
+        cache.get(1, key -> "old");
+        cache.get(2, key -> "old");
+        Thread.sleep(50);
+        assertThat(cache.get(1, key -> "new")).isEqualTo("new");
+        assertThat(cache.purgeExpired()).isEqualTo(1);
+        assertThat(cache.stats().getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentHitsLoadOncePerKey() throws Exception {
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>("test", 1000, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        for (int key = 0; key < 10; key++) {
+            cache.get(key, k -> {
+                loads.incrementAndGet();
+                return k;
+            });
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    int key = i % 10;
+                    assertThat(cache.get(key, k -> {
+                        loads.incrementAndGet();
+                        return k;
+                    })).isEqualTo(key);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertThat(loads.get()).isEqualTo(10);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.shopsphere.shopsphere_web.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * relay 모드 시험용 내장 STOMP 브로커.
+ * 외부 브로커(RabbitMQ, ActiveMQ 등)의 STOMP 1.2 동작 중 중계에 필요한 부분(CONNECT, SUBSCRIBE, UNSUBSCRIBE, SEND, DISCONNECT)만
+ * 구현하며, SEND된 메시지를 같은 목적지를 구독한 모든 연결에 MESSAGE로 전달합니다. (하트비트는 협상하지 않음)
+ * 여러 애플리케이션 노드가 같은 브로커에 연결한 상황은 {@link #publish}로 다른 노드의 발행을 흉내 냅니다.
+ */
+class EmbeddedStompBroker implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final AtomicLong messageIds = new AtomicLong();
+    private final AtomicLong sendFrames = new AtomicLong();
+
+    EmbeddedStompBroker() throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(this::acceptLoop, "embedded-stomp-broker");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // 브로커가 받은 SEND 프레임 수 (애플리케이션 노드가 브로커로 발행한 메시지 수)
+    long sendFrameCount() {
+        return sendFrames.get();
+    }
+
+    // 연결된 클라이언트 중 destination을 구독한 구독 수
+    int subscriptionCount(String destination) {
+        int count = 0;
+        for (Connection connection : connections) {
+            count += (int) connection.subscriptions.values().stream().filter(destination::equals).count();
+        }
+        return count;
+    }
+
+    // 다른 애플리케이션 노드가 브로커로 발행한 것처럼 메시지를 전달
+    void publish(String destination, String body) {
+        deliver(destination, "text/plain;charset=UTF-8", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Connection connection = new Connection(serverSocket.accept());
+                connections.add(connection);
+                Thread reader = new Thread(connection::readLoop, "embedded-stomp-connection");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                return; // 브로커 종료
+            }
+        }
+    }
+
+    private void deliver(String destination, String contentType, byte[] body) {
+        for (Connection connection : connections) {
+            connection.subscriptions.forEach((subscriptionId, subscribed) -> {
+                if (subscribed.equals(destination)) {
+                    Map<String, String> headers = new LinkedHashMap<>();
+                    headers.put("destination", destination);
+                    headers.put("subscription", subscriptionId);
+                    headers.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+                    if (contentType != null) {
+                        headers.put("content-type", contentType);
+                    }
+                    connection.write("MESSAGE", headers, body);
+                }
+            });
+        }
+    }
+
+    private class Connection {
+
+        private final Socket socket;
+        private final OutputStream out;
+        // 구독 ID -> 목적지
+        private final Map<String, String> subscriptions = new ConcurrentHashMap<>();
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = socket.getOutputStream();
+        }
+
+        private void readLoop() {
+            try (InputStream in = socket.getInputStream()) {
+                while (true) {
+                    Frame frame = Frame.read(in);
+                    if (frame == null) {
+                        break;
+                    }
+                    handle(frame);
+                }
+            } catch (IOException e) {
+                // 연결 종료
+            } finally {
+                connections.remove(this);
+                close();
+            }
+        }
+
+        private void handle(Frame frame) {
+            switch (frame.command()) {
+                case "CONNECT", "STOMP" -> write("CONNECTED",
+                        Map.of("version", "1.2", "heart-beat", "0,0", "server", "embedded-stomp-broker"), new byte[0]);
+                case "SUBSCRIBE" -> subscriptions.put(frame.headers().get("id"), frame.headers().get("destination"));
+                case "UNSUBSCRIBE" -> subscriptions.remove(frame.headers().get("id"));
+                case "SEND" -> {
+                    sendFrames.incrementAndGet();
+                    deliver(frame.headers().get("destination"), frame.headers().get("content-type"), frame.body());
+                }
+                case "DISCONNECT" -> {
+                    String receipt = frame.headers().get("receipt");
+                    if (receipt != null) {
+                        write("RECEIPT", Map.of("receipt-id", receipt), new byte[0]);
+                    }
+                    close();
+                }
+                default -> {
+                    // 중계 시험에 필요 없는 프레임(ACK, BEGIN 등)은 무시
+                }
+            }
+            String receipt = frame.headers().get("receipt");
+            if (receipt != null && !"DISCONNECT".equals(frame.command())) {
+                write("RECEIPT", Map.of("receipt-id", receipt), new byte[0]);
+            }
+        }
+
+        private synchronized void write(String command, Map<String, String> headers, byte[] body) {
+            StringBuilder head = new StringBuilder(command).append('\n');
+            headers.forEach((name, value) -> head.append(name).append(':').append(value).append('\n'));
+            head.append("content-length:").append(body.length).append("\n\n");
+            try {
+                out.write(head.toString().getBytes(StandardCharsets.UTF_8));
+                out.write(body);
+                out.write(0);
+                out.flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 이미 닫힘
+            }
+        }
+    }
+
+    private record Frame(String command, Map<String, String> headers, byte[] body) {
+
+        // 프레임 하나를 읽음 (프레임 사이의 줄바꿈은 하트비트로 보고 건너뜀), 연결이 끝나면 null
+        static Frame read(InputStream in) throws IOException {
+            int b;
+            do {
+                b = in.read();
+            } while (b == '\n' || b == '\r');
+            if (b < 0) {
+                return null;
+            }
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            line.write(b);
+            String command = readLine(in, line);
+            Map<String, String> headers = new LinkedHashMap<>();
+            String header;
+            while (!(header = readLine(in, new ByteArrayOutputStream())).isEmpty()) {
+                int colon = header.indexOf(':');
+                // 같은 헤더가 반복되면 처음 값을 사용 (STOMP 1.2)
+                headers.putIfAbsent(header.substring(0, colon), header.substring(colon + 1));
+            }
+            byte[] body;
+            String contentLength = headers.get("content-length");
+            if (contentLength != null) {
+                body = in.readNBytes(Integer.parseInt(contentLength));
+                in.read(); // 프레임 끝의 NULL
+            } else {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                while ((b = in.read()) > 0) {
+                    buffer.write(b);
+                }
+                body = buffer.toByteArray();
+            }
+            return new Frame(command, headers, body);
+        }
+
+        private static String readLine(InputStream in, ByteArrayOutputStream line) throws IOException {
+            int b;
+            while ((b = in.read()) >= 0 && b != '\n') {
+                line.write(b);
+            }
+            String text = line.toString(StandardCharsets.UTF_8);
+            return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.shopsphere.shopsphere_web.config;
+
+import com.shopsphere.shopsphere_web.service.InquiryChatMembershipCache;
+import com.shopsphere.shopsphere_web.service.InquiryChatRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로그인 세션 없는 STOMP 세션의 채팅방 구독/전송 거부와 참여자 확인 테스트.
+ */
+class StompAuthChannelInterceptorTest {
+
+    private final InquiryChatMembershipCache membershipCache = mock(InquiryChatMembershipCache.class);
+    private final InquiryChatRateLimiter rateLimiter = mock(InquiryChatRateLimiter.class);
+    private final WebSocketTrafficMetrics trafficMetrics = mock(WebSocketTrafficMetrics.class);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final StompAuthChannelInterceptor interceptor =
+            new StompAuthChannelInterceptor(membershipCache, rateLimiter, trafficMetrics);
+
+    @Test
+    void anonymousChatSubscribeIsRejected() {
+        assertThatThrownBy(() -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/inquiry-chat/7", null), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+        verifyNoInteractions(membershipCache);
+    }
+
+    @Test
+    void anonymousChatSendIsRejected() {
+        assertThatThrownBy(() -> interceptor.preSend(frame(StompCommand.SEND, "/app/inquiry-chat/7", null), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+        verifyNoInteractions(rateLimiter);
+    }
+
+    @Test
+    void nonParticipantSubscribeIsRejected() {
+        when(membershipCache.isParticipant(7L, "stranger")).thenReturn(false);
+        assertThatThrownBy(() -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/inquiry-chat/7", user("stranger")), channel))
+                .isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void participantSubscribeAndSendArePassedThrough() {
+        when(membershipCache.isParticipant(7L, "buyer")).thenReturn(true);
+        when(rateLimiter.tryAcquire(anyLong())).thenReturn(true);
+        assertThat(interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/inquiry-chat/7", user("buyer")), channel)).isNotNull();
+        assertThat(interceptor.preSend(frame(StompCommand.SEND, "/app/inquiry-chat/7", user("buyer")), channel)).isNotNull();
+    }
+
+    @Test
+    void anonymousNonChatSubscribeIsAllowed() {
+        assertThat(interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/products", null), channel)).isNotNull();
+    }
+
+    private static Principal user(String userId) {
+        return new UsernamePasswordAuthenticationToken(userId, null, List.of());
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination, Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setSessionId("session-1");
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,110 @@
+package com.shopsphere.shopsphere_web.config;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * STOMP 프레임을 직접 주고받는 최소 WebSocket 클라이언트 (SockJS의 raw WebSocket 경로 /ws/websocket 사용).
+ * reading이 false면 CONNECTED를 받은 뒤 소켓을 더 읽지 않아 서버 쪽 전송 버퍼가 차오르는 느린 클라이언트가 됩니다.
+ */
+class StompTestClient implements WebSocket.Listener {
+
+    private final boolean reading;
+    private final CountDownLatch connected = new CountDownLatch(1);
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final AtomicLong messages = new AtomicLong();
+    private final BlockingQueue<String> bodies = new LinkedBlockingQueue<>();
+    private final StringBuilder frame = new StringBuilder();
+    private WebSocket webSocket;
+
+    private StompTestClient(boolean reading) {
+        this.reading = reading;
+    }
+
+    static StompTestClient connect(int port, boolean reading) throws Exception {
+        StompTestClient client = new StompTestClient(reading);
+        client.webSocket = HttpClient.newHttpClient().newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .buildAsync(URI.create("ws://localhost:" + port + "/ws/websocket"), client)
+                .get(5, TimeUnit.SECONDS);
+        client.send("CONNECT\naccept-version:1.2\nhost:localhost\nheart-beat:0,0\n\n\0");
+        if (!client.connected.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("STOMP 연결 확인(CONNECTED)을 받지 못했습니다.");
+        }
+        return client;
+    }
+
+    void subscribe(String id, String destination) throws Exception {
+        send("SUBSCRIBE\nid:" + id + "\ndestination:" + destination + "\n\n\0");
+    }
+
+    long messageCount() {
+        return messages.get();
+    }
+
+    // 받은 MESSAGE 프레임의 본문을 순서대로 꺼냄 (없으면 null)
+    String pollBody(long timeout, TimeUnit unit) throws InterruptedException {
+        return bodies.poll(timeout, unit);
+    }
+
+    boolean isOpen() {
+        return closed.getCount() > 0;
+    }
+
+    // 느린 클라이언트의 읽기를 재개 (쌓여 있던 프레임을 받음)
+    void resumeReading() {
+        webSocket.request(Long.MAX_VALUE);
+    }
+
+    void close() throws Exception {
+        if (isOpen()) {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void send(String stompFrame) throws Exception {
+        webSocket.sendText(stompFrame, true).get(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        frame.append(data);
+        if (last) {
+            String text = frame.toString();
+            frame.setLength(0);
+            if (text.startsWith("CONNECTED")) {
+                connected.countDown();
+            } else if (text.startsWith("MESSAGE")) {
+                messages.incrementAndGet();
+                int bodyStart = text.indexOf("\n\n");
+                bodies.add(text.substring(bodyStart + 2, text.endsWith("\0") ? text.length() - 1 : text.length()));
+            }
+            // 느린 클라이언트는 연결 확인(CONNECTED) 이후 더 읽지 않음 (구독 프레임 전송은 읽기와 무관)
+            if (!reading && text.startsWith("CONNECTED")) {
+                return null;
+            }
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        closed.countDown();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        closed.countDown();
+    }
+}
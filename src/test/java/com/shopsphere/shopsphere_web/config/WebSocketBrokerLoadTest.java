@@ -0,0 +1,143 @@
+package com.shopsphere.shopsphere_web.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * in-process 브로커 부하 시험: 구독자 세션 20,000개(채팅방마다 2명 + 공지 주제 공통 구독)를 내부 브로커에 등록하고
+ * 공지 브로드캐스트 한 번과 채팅방별 메시지 전체(목적지 캐시를 채우는 첫 회차와 캐시 적중 회차)가
+ * 모든 구독자에게 전달되는 시간을 측정합니다.
+ * 소켓 대신 브로커가 클라이언트 송신 채널로 내보내는 메시지를 세어 브로커의 구독 조회/전달 비용만 측정합니다.
+ * 구독자 수는 -Dbenchmark.ws.subscribers 로 조정할 수 있습니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WebSocketBrokerLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketBrokerLoadTest.class);
+
+    private static final int SUBSCRIBERS = Integer.getInteger("benchmark.ws.subscribers", 20_000);
+    private static final String SESSION_PREFIX = "load-test-";
+    private static final String ANNOUNCE_TOPIC = "/topic/load-test/announce";
+    private static final String ROOM_TOPIC_PREFIX = "/topic/load-test/room-";
+
+    @Autowired
+    private ApplicationContext applicationContext;
+    @Autowired
+    private WebSocketBrokerProperties brokerProperties;
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    @Autowired
+    @Qualifier("clientOutboundChannel")
+    private AbstractSubscribableChannel clientOutboundChannel;
+
+    @Test
+    void twentyThousandSubscribersReceiveBroadcastsAndRoomMessages() throws Exception {
+        SimpleBrokerMessageHandler broker = applicationContext.getBean(
+                "simpleBrokerMessageHandler", SimpleBrokerMessageHandler.class);
+        // 기본 구독 저장소를 그대로 쓰고 목적지 캐시 크기만 설정값으로 조정
+        DefaultSubscriptionRegistry registry = (DefaultSubscriptionRegistry) broker.getSubscriptionRegistry();
+        assertThat(registry.getCacheLimit()).isEqualTo(brokerProperties.getDestinationCacheLimit());
+
+        // 시험 세션으로 나가는 메시지는 소켓으로 보내지 않고 세기만 함
+        AtomicLong delivered = new AtomicLong();
+        ChannelInterceptor counter = new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                if (sessionId == null || !sessionId.startsWith(SESSION_PREFIX)) {
+                    return message;
+                }
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                    delivered.incrementAndGet();
+                }
+                return null;
+            }
+        };
+        clientOutboundChannel.addInterceptor(counter);
+        try {
+            long startedAt = System.nanoTime();
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                String sessionId = SESSION_PREFIX + i;
+                broker.handleMessage(frame(SimpMessageType.CONNECT, sessionId, null, null));
+                broker.handleMessage(frame(SimpMessageType.SUBSCRIBE, sessionId, "announce", ANNOUNCE_TOPIC));
+                broker.handleMessage(frame(SimpMessageType.SUBSCRIBE, sessionId, "room", ROOM_TOPIC_PREFIX + i / 2));
+            }
+            long subscribeMs = elapsedMs(startedAt);
+
+            startedAt = System.nanoTime();
+            messagingTemplate.convertAndSend(ANNOUNCE_TOPIC, "공지");
+            awaitCount(delivered::get, SUBSCRIBERS);
+            long broadcastMs = elapsedMs(startedAt);
+
+            // 첫 회차는 채팅방마다 목적지 캐시를 채우고(전체 구독 매칭), 두 번째 회차는 캐시된 구독자 조회만 함
+            int rooms = (SUBSCRIBERS + 1) / 2;
+            long coldMs = sendToEveryRoom(rooms, delivered);
+            long warmMs = sendToEveryRoom(rooms, delivered);
+
+            log.info("in-process 브로커 부하: 구독자 {}명, 구독 등록 {}ms, 공지 브로드캐스트 {}ms, "
+                            + "채팅방 {}개 메시지 첫 회차 {}ms, 캐시 적중 회차 {}ms ({} msg/s)",
+                    SUBSCRIBERS, subscribeMs, broadcastMs, rooms, coldMs, warmMs,
+                    warmMs > 0 ? rooms * 1000L / warmMs : rooms);
+            assertThat(delivered.get()).isEqualTo(SUBSCRIBERS);
+        } finally {
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                broker.handleMessage(frame(SimpMessageType.DISCONNECT, SESSION_PREFIX + i, null, null));
+            }
+            clientOutboundChannel.removeInterceptor(counter);
+        }
+    }
+
+    private long sendToEveryRoom(int rooms, AtomicLong delivered) throws InterruptedException {
+        delivered.set(0);
+        long startedAt = System.nanoTime();
+        for (int room = 0; room < rooms; room++) {
+            messagingTemplate.convertAndSend(ROOM_TOPIC_PREFIX + room, "채팅");
+        }
+        awaitCount(delivered::get, SUBSCRIBERS);
+        return elapsedMs(startedAt);
+    }
+
+    private static Message<byte[]> frame(SimpMessageType type, String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[]{0, 0});
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+        while (count.getAsLong() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count.getAsLong()).isEqualTo(expected);
+    }
+
+    private static long elapsedMs(long startedAt) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+}
@@ -0,0 +1,98 @@
+package com.shopsphere.shopsphere_web.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * relay 모드 통합 시험: 내장 STOMP 브로커를 외부 브로커로 두고 애플리케이션을 relay 모드로 띄워,
+ * 이 노드에서 발행한 메시지와 다른 노드가 브로커로 발행한 메시지가 모두 이 노드에 연결된 구독자에게 전달되는지 확인합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "websocket.broker.mode=relay",
+        "websocket.broker.relay.system-heartbeat-send-interval=0",
+        "websocket.broker.relay.system-heartbeat-receive-interval=0"
+})
+@ActiveProfiles("test")
+class WebSocketBrokerRelayTest {
+
+    private static final String TOPIC = "/topic/relay-test";
+
+    private static final EmbeddedStompBroker broker = startBroker();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) {
+        registry.add("websocket.broker.relay.port", broker::getPort);
+    }
+
+    @AfterAll
+    static void stopBroker() throws IOException {
+        broker.close();
+    }
+
+    @Test
+    void messagesFromThisNodeAndOtherNodesReachSubscribersThroughTheRelay() throws Exception {
+        AbstractBrokerMessageHandler relay = applicationContext.getBean(
+                "stompBrokerRelayMessageHandler", AbstractBrokerMessageHandler.class);
+        assertThat(relay).isInstanceOf(StompBrokerRelayMessageHandler.class);
+        awaitTrue(relay::isBrokerAvailable, "외부 브로커 시스템 연결");
+
+        StompTestClient client = StompTestClient.connect(port, true);
+        client.subscribe("sub-0", TOPIC);
+        awaitTrue(() -> broker.subscriptionCount(TOPIC) == 1, "구독 중계");
+
+        // 이 노드에서 발행: 브로커로 SEND된 뒤 브로커가 구독자 연결로 되돌려 줌
+        long sendFrames = broker.sendFrameCount();
+        messagingTemplate.convertAndSend(TOPIC, "from-this-node");
+        assertThat(client.pollBody(10, TimeUnit.SECONDS)).isEqualTo("from-this-node");
+        assertThat(broker.sendFrameCount()).isGreaterThan(sendFrames);
+
+        // 다른 노드에서 발행: 이 노드의 내부 브로커를 거치지 않고도 구독자에게 전달됨
+        broker.publish(TOPIC, "from-another-node");
+        assertThat(client.pollBody(10, TimeUnit.SECONDS)).isEqualTo("from-another-node");
+
+        client.close();
+        awaitTrue(() -> broker.subscriptionCount(TOPIC) == 0, "연결 종료 후 구독 정리");
+    }
+
+    private static EmbeddedStompBroker startBroker() {
+        try {
+            return new EmbeddedStompBroker();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError(what + " 대기 시간 초과");
+            }
+            Thread.sleep(20);
+        }
+    }
+}
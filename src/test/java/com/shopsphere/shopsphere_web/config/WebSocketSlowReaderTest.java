@@ -0,0 +1,98 @@
+package com.shopsphere.shopsphere_web.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 느린 클라이언트 시험 장치(harness).
+ * 수신을 멈춘 클라이언트(JDK WebSocket의 request()를 더 호출하지 않아 소켓을 읽지 않음)와 정상 클라이언트가 같은 주제를 구독한 상태에서
+ * 큰 메시지를 계속 브로드캐스트하면, 느린 세션만 전송 버퍼 한도를 넘어 SESSION_NOT_RELIABLE로 닫히고
+ * 그 횟수가 지표에 집계되며 정상 클라이언트는 계속 메시지를 받는지 확인합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "websocket.broker.transport.send-buffer-size-limit=64KB",
+        "websocket.broker.transport.send-time-limit=2s"
+})
+@ActiveProfiles("test")
+class WebSocketSlowReaderTest {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketSlowReaderTest.class);
+
+    private static final String TOPIC = "/topic/slow-reader-test";
+    private static final String PAYLOAD = "x".repeat(16 * 1024);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    @Autowired
+    private WebSocketTrafficMetrics trafficMetrics;
+
+    @Test
+    void slowReaderIsClosedWhileFastReaderKeepsReceiving() throws Exception {
+        long slowClosedBefore = slowSessionsClosed();
+        long activeBefore = activeSessions();
+
+        StompTestClient fast = StompTestClient.connect(port, true);
+        StompTestClient slow = StompTestClient.connect(port, false);
+        fast.subscribe("sub-0", TOPIC);
+        slow.subscribe("sub-0", TOPIC);
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        // 구독이 브로커에 등록되어 정상 클라이언트가 받기 시작할 때까지 확인 메시지를 보냄
+        while (fast.messageCount() == 0 && System.currentTimeMillis() < deadline) {
+            messagingTemplate.convertAndSend(TOPIC, "probe");
+            Thread.sleep(50);
+        }
+        long sent = fast.messageCount();
+        while (slowSessionsClosed() == slowClosedBefore && System.currentTimeMillis() < deadline) {
+            // 정상 클라이언트가 받은 만큼만 이어서 보내(미수신 2개 이하) 느린 클라이언트의 버퍼만 차오르게 함
+            messagingTemplate.convertAndSend(TOPIC, PAYLOAD);
+            sent++;
+            while (sent - fast.messageCount() > 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+
+        log.info("느린 클라이언트 시험: 전송 {}건, 정상 클라이언트 수신 {}건, 느린 클라이언트 수신 {}건",
+                sent, fast.messageCount(), slow.messageCount());
+        // 서버가 SESSION_NOT_RELIABLE로 닫은 세션이 집계됨
+        assertThat(slowSessionsClosed()).isGreaterThan(slowClosedBefore);
+        // 서버에서는 느린 세션만 정리되고 정상 세션은 열려 있음
+        // (클라이언트가 종료 프레임을 받는 시점은 막혀 있던 소켓 쓰기를 컨테이너가 어떻게 정리하는지에 달려 있어 검사하지 않음)
+        assertThat(activeSessions()).isEqualTo(activeBefore + 1);
+
+        // 느린 세션이 닫힌 뒤에도 정상 클라이언트는 연결을 유지하고 새 메시지를 받음
+        long receivedBefore = fast.messageCount();
+        messagingTemplate.convertAndSend(TOPIC, PAYLOAD);
+        long waitUntil = System.currentTimeMillis() + 5_000;
+        while (fast.messageCount() == receivedBefore && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(20);
+        }
+        assertThat(fast.isOpen()).isTrue();
+        assertThat(fast.messageCount()).isGreaterThan(receivedBefore);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> sessions = (Map<String, Object>) trafficMetrics.snapshot().get("webSocketSessions");
+        assertThat(((Number) sessions.get("limitExceeded")).intValue()).isPositive();
+        fast.close();
+        slow.resumeReading(); // 남은 프레임을 비워 서버 쪽 연결 정리를 마무리
+    }
+
+    private long activeSessions() {
+        return ((Number) trafficMetrics.snapshot().get("activeSessions")).longValue();
+    }
+
+    private long slowSessionsClosed() {
+        return ((Number) trafficMetrics.snapshot().get("slowSessionsClosed")).longValue();
+    }
+}
@@ -0,0 +1,88 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.OrderDTO;
+import com.shopsphere.shopsphere_web.dto.OrderItemDTO;
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 판매 순위의 누적 판매량이 주문 이벤트로 갱신되고, DB의 sales_volume이 뒤처져 있어도 재동기화로 덮어써지지 않는지 확인합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BestsellerRankingTest {
+
+    // 다른 테스트의 상품보다 판매량이 많도록 충분히 큰 수량
+    private static final int QUANTITY = 10_000;
+
+    @Autowired
+    private BestsellerRanking bestsellerRanking;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private SalesVolumeJournal salesVolumeJournal;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void resyncKeepsInMemorySalesVolumeWhenDatabaseLags() {
+        User seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build());
+        User buyer = userRepository.save(User.builder().id("buyer-" + UUID.randomUUID()).name("구매자").role("USER")
+                .createdAt(LocalDateTime.now()).build());
+        Product product = productRepository.save(Product.builder().name("순위 상품").price(1000).stockQuantity(QUANTITY)
+                .salesVolume(0).user(seller).seller(seller).createdAt(LocalDateTime.now()).build());
+        // 취소 후 순위 비교 대상
+        productRepository.save(Product.builder().name("비교 상품").price(1000).stockQuantity(1)
+                .salesVolume(1).user(seller).seller(seller).createdAt(LocalDateTime.now()).build());
+        assertThat(bestsellerRanking.isReady()).isTrue();
+        // 이벤트 없이 저장된 상품은 재동기화에서 추가됨
+        bestsellerRanking.resync();
+
+        OrderDTO.Response order = orderService.createOrder(buyer.getId(), orderRequest(product.getId()));
+        assertThat(topProductId()).isEqualTo(product.getId());
+
+        // 저널 반영 전 상태(sales_volume이 주문을 아직 포함하지 않음)를 재현한 뒤 재동기화
+        salesVolumeJournal.flush();
+        jdbcTemplate.update("UPDATE product SET sales_volume = 0 WHERE product_id = ?", product.getId());
+        bestsellerRanking.resync();
+        assertThat(topProductId()).isEqualTo(product.getId());
+
+        // 취소하면 순위에서 판매량이 빠짐
+        orderService.updateOrderStatus(order.getId(), "CANCELLED");
+        assertThat(topProductId()).isNotEqualTo(product.getId());
+    }
+
+    private Integer topProductId() {
+        List<Integer> top = bestsellerRanking.top(BestsellerRanking.Window.ALL, null, 0, 1).getProductIds();
+        return top.isEmpty() ? null : top.get(0);
+    }
+
+    private OrderDTO.CreateRequest orderRequest(Integer productId) {
+        OrderItemDTO.CreateRequest item = new OrderItemDTO.CreateRequest();
+        item.setProductId(productId);
+        item.setQuantity(QUANTITY);
+        OrderDTO.CreateRequest request = new OrderDTO.CreateRequest();
+        request.setShippingAddress("서울시 테스트구");
+        request.setPaymentMethod("CARD");
+        request.setItems(List.of(item));
+        return request;
+    }
+}
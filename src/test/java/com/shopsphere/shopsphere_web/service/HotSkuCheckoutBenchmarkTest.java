@@ -0,0 +1,182 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.OrderDTO;
+import com.shopsphere.shopsphere_web.dto.OrderItemDTO;
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인기 상품 하나에 구매자가 동시에 몰리는 주문(체크아웃) 벤치마크.
+ * 재고보다 많은 구매자가 동시에 주문해도 재고만큼만 성공하고(초과 판매 없음),
+ * 판매량은 주문 트랜잭션에서 product 행을 갱신하지 않고 저널로 반영되는지 확인합니다.
+ * 잠금을 공유하지 않는 반영기(서버 인스턴스) 여러 개가 동시에 저널을 반영해도 각 저널 행이 한 번만 반영되는지도 확인합니다.
+ * 구매자 수와 재고는 -Dbenchmark.hot-sku.buyers, -Dbenchmark.hot-sku.stock 으로 조정할 수 있습니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HotSkuCheckoutBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(HotSkuCheckoutBenchmarkTest.class);
+
+    private static final int BUYERS = Integer.getInteger("benchmark.hot-sku.buyers", 200);
+    private static final int STOCK = Integer.getInteger("benchmark.hot-sku.stock", 150);
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private SalesVolumeJournal salesVolumeJournal;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentBuyersOnOneSkuNeverOversell() throws Exception {
+        User seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build());
+        Product product = productRepository.save(Product.builder().name("인기 상품").price(10000).stockQuantity(STOCK)
+                .salesVolume(0).user(seller).seller(seller).createdAt(LocalDateTime.now()).build());
+        List<User> buyers = new ArrayList<>();
+        for (int i = 0; i < BUYERS; i++) {
+            buyers.add(userRepository.save(User.builder().id("buyer-" + UUID.randomUUID()).name("구매자" + i).role("USER")
+                    .createdAt(LocalDateTime.now()).build()));
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        List<Future<?>> results = new ArrayList<>();
+        for (User buyer : buyers) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    orderService.createOrder(buyer.getId(), orderRequest(product.getId()));
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // 재고 부족
+                    soldOut.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(120, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        pool.shutdown();
+        log.info("인기 상품 동시 주문: 구매자 {}명, 성공 {}건, 품절 {}건, {}ms ({} orders/s)",
+                BUYERS, succeeded.get(), soldOut.get(), elapsedMs,
+                elapsedMs > 0 ? succeeded.get() * 1000L / elapsedMs : succeeded.get());
+
+        assertThat(succeeded.get()).isEqualTo(Math.min(BUYERS, STOCK));
+        assertThat(succeeded.get() + soldOut.get()).isEqualTo(BUYERS);
+        assertThat(stock(product)).isEqualTo(STOCK - succeeded.get());
+
+        // 판매량은 저널 반영 후 정확히 한 번씩 누적됨
+        while (salesVolumeJournal.flush() > 0) {
+            // 남은 저널이 없을 때까지 반영
+        }
+        assertThat(salesVolume(product)).isEqualTo(succeeded.get());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales_volume_journal WHERE product_id = ?",
+                Integer.class, product.getId())).isZero();
+    }
+
+    @Test
+    void concurrentFlushersApplyEachJournalRowOnce() throws Exception {
+        User seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build());
+        Product product = productRepository.save(Product.builder().name("저널 상품").price(10000).stockQuantity(0)
+                .salesVolume(0).user(seller).seller(seller).createdAt(LocalDateTime.now()).build());
+        int entries = 2000;
+        List<Object[]> args = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            args.add(new Object[]{product.getId(), 1, LocalDateTime.now()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO sales_volume_journal (product_id, sales_delta, created_at) VALUES (?, ?, ?)", args);
+
+        // 다른 서버 인스턴스처럼 잠금을 공유하지 않는 반영기 두 개가 같은 저널을 동시에 반영
+        List<SalesVolumeJournal> flushers = List.of(newFlusher(300), newFlusher(300));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(flushers.size());
+        List<Future<Integer>> results = new ArrayList<>();
+        for (SalesVolumeJournal flusher : flushers) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int total = 0;
+                int applied;
+                while ((applied = flusher.flush()) > 0) {
+                    total += applied;
+                }
+                return total;
+            }));
+        }
+        start.countDown();
+        int applied = 0;
+        for (Future<Integer> result : results) {
+            applied += result.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        while (salesVolumeJournal.flush() > 0) {
+            // 스케줄러가 함께 반영했을 수 있으므로 남은 저널까지 반영
+        }
+
+        assertThat(applied).isLessThanOrEqualTo(entries);
+        assertThat(salesVolume(product)).isEqualTo(entries);
+    }
+
+    private SalesVolumeJournal newFlusher(int batchSize) {
+        SalesVolumeJournal flusher = new SalesVolumeJournal(jdbcTemplate, transactionTemplate);
+        ReflectionTestUtils.setField(flusher, "flushBatchSize", batchSize);
+        return flusher;
+    }
+
+    private OrderDTO.CreateRequest orderRequest(Integer productId) {
+        OrderItemDTO.CreateRequest item = new OrderItemDTO.CreateRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        OrderDTO.CreateRequest request = new OrderDTO.CreateRequest();
+        request.setShippingAddress("서울시 테스트구");
+        request.setPaymentMethod("CARD");
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private int stock(Product product) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM product WHERE product_id = ?", Integer.class, product.getId());
+    }
+
+    private int salesVolume(Product product) {
+        return jdbcTemplate.queryForObject("SELECT sales_volume FROM product WHERE product_id = ?", Integer.class, product.getId());
+    }
+}
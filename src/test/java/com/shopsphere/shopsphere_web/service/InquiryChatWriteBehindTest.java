@@ -0,0 +1,132 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopsphere.shopsphere_web.dto.OrderDTO;
+import com.shopsphere.shopsphere_web.dto.OrderItemDTO;
+import com.shopsphere.shopsphere_web.dto.inquiry.InquiryChatDto;
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 보조 파일(NDJSON)에 남은 채팅 메시지가 다시 저장되기 전에도 대화 내역 조회(저장 대기 메시지)에 포함되고,
+ * 일부가 이미 저장된 상태에서 다시 저장해도 중복 없이 한 번씩만 저장/집계되는지 확인합니다.
+ * 공유 빈의 저장 스레드에 영향을 주지 않도록 같은 의존성으로 별도 인스턴스를 만들어 사용합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InquiryChatWriteBehindTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void spilledMessagesAreReadableAndReplayedExactlyOnce() throws Exception {
+        User seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build());
+        User buyer = userRepository.save(User.builder().id("buyer-" + UUID.randomUUID()).name("구매자").role("USER")
+                .createdAt(LocalDateTime.now()).build());
+        Long chatRoomId = createChatRoom(buyer, seller);
+
+        // 이전 실행에서 보조 파일로 옮겨진 메시지 3건, 그중 첫 번째는 다시 저장하다 중단되어 이미 저장된 상태
+        long firstId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(inquiry_chat_id), 0) FROM inquiry_chat", Long.class) + 1000;
+        List<InquiryChatWriteBehind.PendingChat> spilled = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            spilled.add(new InquiryChatWriteBehind.PendingChat(firstId + i, chatRoomId, buyer.getId(), buyer.getName(),
+                    "문의 " + i, LocalDateTime.now()));
+        }
+        List<String> lines = new ArrayList<>();
+        for (InquiryChatWriteBehind.PendingChat chat : spilled) {
+            lines.add(objectMapper.writeValueAsString(chat));
+        }
+        Files.write(spillDir.resolve("inquiry-chat-0000000000001-000000.ndjson"), lines, StandardCharsets.UTF_8);
+        jdbcTemplate.update("INSERT INTO inquiry_chat (inquiry_chat_id, inquiry_chat_room_id, sender_user_id, message, inquiry_chat_sent_at) " +
+                "VALUES (?, ?, ?, ?, ?)", firstId, chatRoomId, buyer.getId(), "문의 0", Timestamp.valueOf(LocalDateTime.now()));
+
+        InquiryChatWriteBehind writeBehind = new InquiryChatWriteBehind(jdbcTemplate, transactionTemplate, objectMapper, eventPublisher);
+        ReflectionTestUtils.setField(writeBehind, "queueCapacity", 10);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 500);
+        ReflectionTestUtils.setField(writeBehind, "retryBackoffMs", 100L);
+        ReflectionTestUtils.setField(writeBehind, "spillDirValue", spillDir.toString());
+        writeBehind.start();
+        try {
+            // 저장 스레드는 큐가 빈 것을 확인한 뒤(200ms) 보조 파일을 저장하므로, 시작 직후에는 아직 보조 파일에만 있음
+            assertThat(writeBehind.unsavedMessages(chatRoomId)).extracting(InquiryChatDto::getId)
+                    .containsExactly(firstId, firstId + 1, firstId + 2);
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!writeBehind.unsavedMessages(chatRoomId).isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(writeBehind.unsavedMessages(chatRoomId)).isEmpty();
+        } finally {
+            writeBehind.stop();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inquiry_chat WHERE inquiry_chat_room_id = ?",
+                Integer.class, chatRoomId)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT seller_unread_count FROM inquiry_chat_room WHERE inquiry_chat_room_id = ?",
+                Integer.class, chatRoomId)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_message_id FROM inquiry_chat_room WHERE inquiry_chat_room_id = ?",
+                Long.class, chatRoomId)).isEqualTo(firstId + 2);
+        try (var files = Files.list(spillDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private Long createChatRoom(User buyer, User seller) {
+        Product product = productRepository.save(Product.builder().name("문의 상품").price(1000).stockQuantity(10)
+                .salesVolume(0).user(seller).seller(seller).createdAt(LocalDateTime.now()).build());
+        OrderItemDTO.CreateRequest item = new OrderItemDTO.CreateRequest();
+        item.setProductId(product.getId());
+        item.setQuantity(1);
+        OrderDTO.CreateRequest request = new OrderDTO.CreateRequest();
+        request.setShippingAddress("서울시 테스트구");
+        request.setPaymentMethod("CARD");
+        request.setItems(List.of(item));
+        Integer orderId = orderService.createOrder(buyer.getId(), request).getId();
+        Integer orderItemId = jdbcTemplate.queryForObject("SELECT order_item_id FROM order_item WHERE order_id = ?",
+                Integer.class, orderId);
+        jdbcTemplate.update("INSERT INTO inquiry_chat_room (buyer_id, seller_id, order_item_id, created_at, " +
+                        "buyer_unread_count, seller_unread_count) VALUES (?, ?, ?, ?, 0, 0)",
+                buyer.getId(), seller.getId(), orderItemId, Timestamp.valueOf(LocalDateTime.now()));
+        return jdbcTemplate.queryForObject("SELECT inquiry_chat_room_id FROM inquiry_chat_room WHERE order_item_id = ?",
+                Long.class, orderItemId);
+    }
+}
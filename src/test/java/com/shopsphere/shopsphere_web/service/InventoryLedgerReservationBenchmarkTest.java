@@ -0,0 +1,193 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 원장(inventory.reservation-mode=ledger) 예약 벤치마크.
+ * 인기 SKU 하나에 여러 스레드가 동시에 예약할 때, 메모리 카운터(CAS 차감/확정)가 초당 10,000건 이상을 처리하고
+ * 재고만큼만 성공하는지(초과 판매 없음) 확인합니다.
+ * 주문 트랜잭션 경로(카운터 차감 + 저널 INSERT + 커밋)도 같은 방식으로 실행해 처리량을 기록하고,
+ * 저널 반영 후 DB 재고/판매량이 예약 결과와 정확히 맞는지 확인합니다. (이 경로의 처리량은 DB의 INSERT/커밋 처리량에 좌우되므로 기록만 함)
+ * 반영되지 않은 저널이 남은 채로 재시작한 경우 시작 시 복구로 DB와 카운터가 맞춰지는지도 확인합니다.
+ * 예약 수, 스레드 수, 최소 처리량은 -Dbenchmark.ledger.reservations, -Dbenchmark.ledger.stock,
+ * -Dbenchmark.ledger.threads, -Dbenchmark.ledger.min-rate 로 조정할 수 있습니다.
+ */
+@SpringBootTest(properties = "inventory.reservation-mode=ledger")
+@ActiveProfiles("test")
+class InventoryLedgerReservationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedgerReservationBenchmarkTest.class);
+
+    private static final int RESERVATIONS = Integer.getInteger("benchmark.ledger.reservations", 1_000_000);
+    private static final int STOCK = Integer.getInteger("benchmark.ledger.stock", 5_000);
+    private static final int THREADS = Integer.getInteger("benchmark.ledger.threads", 8);
+    private static final int MIN_RATE = Integer.getInteger("benchmark.ledger.min-rate", 10_000);
+
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private InventoryLedger inventoryLedger;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void counterSustainsTargetRateOnOneSkuWithoutOverselling() throws Exception {
+        // 재고를 예약 수보다 조금 적게 두어 품절 이후 요청까지 측정에 포함
+        int stock = RESERVATIONS - RESERVATIONS / 10;
+        Product product = saveProduct(stock);
+        InventoryLedger.SkuCounter counter = inventoryLedger.counter(product.getId(), null);
+
+        Result result = runConcurrently(RESERVATIONS, () -> {
+            if (!counter.tryReserve(1)) {
+                return false;
+            }
+            counter.confirm(1);
+            return true;
+        });
+        log.info("재고 원장 카운터 단일 SKU 예약: {}", result);
+
+        assertThat(result.reserved).isEqualTo(stock);
+        assertThat(result.soldOut).isEqualTo(RESERVATIONS - stock);
+        assertThat(counter.getAvailable()).isZero();
+        assertThat(result.rate()).isGreaterThanOrEqualTo(MIN_RATE);
+    }
+
+    @Test
+    void transactionalReservationsOnOneSkuNeverOversell() throws Exception {
+        Product product = saveProduct(STOCK);
+        List<StockReservationService.StockLine> line =
+                List.of(new StockReservationService.StockLine(product.getId(), null, 1));
+        inventoryLedger.counter(product.getId(), null); // 카운터 로딩은 측정에서 제외
+        int attempts = STOCK + STOCK / 10;
+
+        Result result = runConcurrently(attempts, () -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> stockReservationService.reserve(line));
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false; // 재고 부족
+            }
+        });
+        log.info("재고 원장 주문 트랜잭션 단일 SKU 예약: {}", result);
+
+        assertThat(result.reserved).isEqualTo(STOCK);
+        assertThat(result.soldOut).isEqualTo(attempts - STOCK);
+        assertThat(inventoryLedger.counter(product.getId(), null).getAvailable()).isZero();
+
+        // 저널이 모두 반영되면 DB 재고/판매량이 예약 결과와 정확히 일치
+        while (inventoryLedger.flush() > 0) {
+            // 남은 저널이 없을 때까지 반영
+        }
+        assertThat(column(product, "stock_quantity")).isZero();
+        assertThat(column(product, "sales_volume")).isEqualTo(STOCK);
+    }
+
+    @Test
+    void restartAppliesLeftoverJournalBeforeReloadingCounters() {
+        Product product = saveProduct(100);
+        // 이전 실행에서 커밋됐지만 반영되기 전에 종료된 저널: 30개 판매, 5개 취소
+        jdbcTemplate.batchUpdate("INSERT INTO inventory_journal (product_id, option_id, quantity_delta, sales_delta, created_at) "
+                        + "VALUES (?, NULL, ?, ?, ?)",
+                List.of(new Object[]{product.getId(), -30, 30, LocalDateTime.now()},
+                        new Object[]{product.getId(), 5, -5, LocalDateTime.now()}));
+
+        // 새로 시작한 인스턴스의 원장 (카운터가 비어 있음)
+        InventoryLedger restarted = new InventoryLedger(jdbcTemplate, transactionTemplate);
+        ReflectionTestUtils.setField(restarted, "flushBatchSize", 1);
+        restarted.recover();
+
+        assertThat(column(product, "stock_quantity")).isEqualTo(75);
+        assertThat(column(product, "sales_volume")).isEqualTo(25);
+        assertThat(restarted.counter(product.getId(), null).getAvailable()).isEqualTo(75);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_journal WHERE product_id = ?",
+                Integer.class, product.getId())).isZero();
+    }
+
+    // THREADS개 스레드가 attempts번의 예약을 나눠 실행 (reservation은 성공하면 true, 재고 부족이면 false)
+    private static Result runConcurrently(int attempts, BooleanSupplier reservation) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                while (next.getAndIncrement() < attempts) {
+                    if (reservation.getAsBoolean()) {
+                        reserved.incrementAndGet();
+                    } else {
+                        soldOut.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(300, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        pool.shutdown();
+        return new Result(attempts, reserved.get(), soldOut.get(), elapsedNanos);
+    }
+
+    private Product saveProduct(int stock) {
+        User seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build());
+        return productRepository.save(Product.builder().name("한정 판매 상품").price(10000).stockQuantity(stock)
+                .salesVolume(0).user(seller).seller(seller).createdAt(LocalDateTime.now()).build());
+    }
+
+    private int column(Product product, String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM product WHERE product_id = ?",
+                Integer.class, product.getId());
+    }
+
+    private record Result(int attempts, int reserved, int soldOut, long elapsedNanos) {
+
+        long rate() {
+            return attempts * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("요청 %d건(스레드 %d개), 성공 %d건, 품절 %d건, %dms (%d reservations/s)",
+                    attempts, THREADS, reserved, soldOut, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rate());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.OrderDTO;
+import com.shopsphere.shopsphere_web.dto.OrderItemDTO;
+import com.shopsphere.shopsphere_web.dto.TossPaymentResponseDTO;
+import com.shopsphere.shopsphere_web.entity.Order;
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.OrderRepository;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 결제 승인 상태 전이(PENDING_PAYMENT → CONFIRMING → COMPLETED/PAYMENT_FAILED) 동시성 테스트.
+ * 토스 API는 목으로 대체하고, 주문 상태 전이는 실제 DB(H2)의 조건부 UPDATE로 검증합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderPaymentConcurrencyTest {
+
+    private static final int PARALLEL_CONFIRMS = 50;
+    private static final int QUANTITY = 2;
+    private static final int INITIAL_STOCK = 100;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderPaymentService orderPaymentService;
+    @Autowired
+    private PaymentConfirmationRecoveryScheduler recoveryScheduler;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private TossPaymentGateway tossPaymentGateway;
+
+    private User buyer;
+    private User seller;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build());
+        buyer = userRepository.save(User.builder().id("buyer-" + UUID.randomUUID()).name("구매자").role("USER")
+                .createdAt(LocalDateTime.now()).build());
+        product = productRepository.save(Product.builder().name("테스트 상품").price(10000).stockQuantity(INITIAL_STOCK)
+                .salesVolume(0).user(seller).seller(seller).createdAt(LocalDateTime.now()).build());
+    }
+
+    @Test
+    void sameConfirmFiftyTimesInParallelCallsTossOnceAndRecordsRevenueOnce() throws Exception {
+        Order order = placeOrder();
+        String paymentKey = "pk-" + UUID.randomUUID();
+        when(tossPaymentGateway.confirmPayment(eq(paymentKey), eq(order.getTransactionId()), anyInt()))
+                .thenReturn(Mono.delay(Duration.ofMillis(200)).map(tick -> donePayment(paymentKey, order.getTransactionId())));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(PARALLEL_CONFIRMS);
+        List<Future<OrderDTO.Response>> results = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_CONFIRMS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return orderPaymentService.confirmTossPayment(paymentKey, order.getTransactionId(),
+                        order.getTotalAmount(), buyer.getId()).block(Duration.ofSeconds(30));
+            }));
+        }
+        start.countDown();
+        for (Future<OrderDTO.Response> result : results) {
+            // 승인 권한을 얻은 한 요청은 COMPLETED, 나머지 중복 요청은 그 시점의 상태(CONFIRMING/COMPLETED)를 즉시 받음
+            assertThat(result.get(30, TimeUnit.SECONDS).getOrderStatus()).isIn("CONFIRMING", "COMPLETED");
+        }
+        pool.shutdown();
+
+        verify(tossPaymentGateway, times(1)).confirmPayment(anyString(), anyString(), anyInt());
+        assertThat(status(order)).isEqualTo("COMPLETED");
+        assertThat(rollupUnits()).isEqualTo(QUANTITY);
+        assertThat(stock()).isEqualTo(INITIAL_STOCK - QUANTITY);
+    }
+
+    @Test
+    void cancelIsRejectedWhileConfirmationIsInFlight() throws Exception {
+        Order order = placeOrder();
+        String paymentKey = "pk-" + UUID.randomUUID();
+        CountDownLatch tossCalled = new CountDownLatch(1);
+        CountDownLatch tossRespond = new CountDownLatch(1);
+        when(tossPaymentGateway.confirmPayment(eq(paymentKey), eq(order.getTransactionId()), anyInt()))
+                .thenReturn(Mono.fromCallable(() -> {
+                    tossCalled.countDown();
+                    tossRespond.await(10, TimeUnit.SECONDS);
+                    return donePayment(paymentKey, order.getTransactionId());
+                }).subscribeOn(Schedulers.boundedElastic()));
+
+        var confirm = orderPaymentService.confirmTossPayment(paymentKey, order.getTransactionId(),
+                order.getTotalAmount(), buyer.getId()).toFuture();
+        assertThat(tossCalled.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> orderService.updateOrderStatus(order.getId(), "CANCELLED"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(stock()).isEqualTo(INITIAL_STOCK - QUANTITY);
+
+        tossRespond.countDown();
+        assertThat(confirm.get(10, TimeUnit.SECONDS).getOrderStatus()).isEqualTo("COMPLETED");
+        assertThat(status(order)).isEqualTo("COMPLETED");
+
+        // 승인 완료 후에는 취소 가능: 재고 복원과 매출 차감이 한 번씩 일어남
+        orderService.updateOrderStatus(order.getId(), "CANCELLED");
+        assertThat(status(order)).isEqualTo("CANCELLED");
+        assertThat(stock()).isEqualTo(INITIAL_STOCK);
+        assertThat(rollupUnits()).isZero();
+    }
+
+    @Test
+    void parallelCancelsReleaseStockOnce() throws Exception {
+        Order order = placeOrder();
+        AtomicInteger cancelled = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    orderService.updateOrderStatus(order.getId(), "CANCELLED");
+                    cancelled.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    // 먼저 취소된 주문
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(cancelled.get()).isEqualTo(1);
+        assertThat(stock()).isEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    void timedOutConfirmationStaysConfirmingUntilRecoveredFromToss() {
+        Order order = placeOrder();
+        String paymentKey = "pk-" + UUID.randomUUID();
+        when(tossPaymentGateway.confirmPayment(eq(paymentKey), eq(order.getTransactionId()), anyInt()))
+                .thenReturn(Mono.error(new WebClientRequestException(new SocketTimeoutException("read timed out"),
+                        HttpMethod.POST, URI.create("https://api.tosspayments.com/v1/payments/confirm"), new HttpHeaders())));
+
+        assertThatThrownBy(() -> orderPaymentService.confirmTossPayment(paymentKey, order.getTransactionId(),
+                order.getTotalAmount(), buyer.getId()).block(Duration.ofSeconds(10)))
+                .isInstanceOf(IllegalStateException.class);
+        // 토스에서 승인되었을 수 있으므로 PAYMENT_FAILED(예약 만료 대상)로 되돌리지 않음
+        assertThat(status(order)).isEqualTo("CONFIRMING");
+
+        // 승인 시작 시각을 복구 기준보다 과거로 옮기고 토스 조회 결과를 승인 완료로 응답
+        jdbcTemplate.update("UPDATE orders SET confirmation_started_at = ? WHERE order_id = ?",
+                LocalDateTime.now().minusHours(1), order.getId());
+        when(tossPaymentGateway.getPaymentByOrderId(order.getTransactionId()))
+                .thenReturn(Mono.just(donePayment(paymentKey, order.getTransactionId())));
+        recoveryScheduler.recoverStaleConfirmations();
+
+        assertThat(status(order)).isEqualTo("COMPLETED");
+        assertThat(rollupUnits()).isEqualTo(QUANTITY);
+        assertThat(stock()).isEqualTo(INITIAL_STOCK - QUANTITY);
+    }
+
+    @Test
+    void staleConfirmationUnknownToTossIsReturnedToPaymentFailed() {
+        Order order = placeOrder();
+        String paymentKey = "pk-" + UUID.randomUUID();
+        orderService.beginPaymentConfirmation(order.getTransactionId(), paymentKey, order.getTotalAmount(), buyer.getId());
+        jdbcTemplate.update("UPDATE orders SET confirmation_started_at = ? WHERE order_id = ?",
+                LocalDateTime.now().minusHours(1), order.getId());
+        when(tossPaymentGateway.getPaymentByOrderId(order.getTransactionId())).thenReturn(Mono.empty());
+
+        recoveryScheduler.recoverStaleConfirmations();
+
+        assertThat(status(order)).isEqualTo("PAYMENT_FAILED");
+        assertThat(rollupUnits()).isZero();
+    }
+
+    private Order placeOrder() {
+        OrderItemDTO.CreateRequest item = new OrderItemDTO.CreateRequest();
+        item.setProductId(product.getId());
+        item.setQuantity(QUANTITY);
+        OrderDTO.CreateRequest request = new OrderDTO.CreateRequest();
+        request.setShippingAddress("서울시 테스트구");
+        request.setPaymentMethod("CARD");
+        request.setItems(List.of(item));
+        OrderDTO.Response created = orderService.createOrder(buyer.getId(), request);
+        return orderRepository.findById(created.getId()).orElseThrow();
+    }
+
+    private TossPaymentResponseDTO donePayment(String paymentKey, String tossOrderId) {
+        TossPaymentResponseDTO response = new TossPaymentResponseDTO();
+        response.setPaymentKey(paymentKey);
+        response.setOrderId(tossOrderId);
+        response.setStatus("DONE");
+        response.setMethod("카드");
+        return response;
+    }
+
+    private String status(Order order) {
+        return jdbcTemplate.queryForObject("SELECT order_status FROM orders WHERE order_id = ?", String.class, order.getId());
+    }
+
+    private int stock() {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM product WHERE product_id = ?", Integer.class, product.getId());
+    }
+
+    private int rollupUnits() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(units), 0) FROM seller_sales_daily WHERE seller_id = ?",
+                Integer.class, seller.getId());
+    }
+}
@@ -0,0 +1,184 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.ProductDTO;
+import com.shopsphere.shopsphere_web.entity.ProductCategory;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductCategoryRepository;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import com.shopsphere.shopsphere_web.specification.ProductCursor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 목록 페이지네이션 벤치마크: 한 카테고리에 (PAGE × SIZE + SIZE)개 상품을 넣고 정렬 옵션마다
+ * PAGE번째 페이지를 OFFSET 방식(searchProducts, COUNT 포함)과 커서 방식(findProductsWithCursor)으로 조회해 지연 시간을 비교합니다.
+ * 판매량/등록일/가격에 동점과 NULL이 많도록 데이터를 만들어, 커서로 끝까지 넘긴 순서가 (정렬 키, id) 정렬과 같은지도 확인합니다.
+ * 페이지 번호와 크기는 -Dbenchmark.paging.page, -Dbenchmark.paging.size 로 조정할 수 있습니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductCursorPaginationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCursorPaginationBenchmarkTest.class);
+
+    private static final int PAGE = Integer.getInteger("benchmark.paging.page", 1000);
+    private static final int SIZE = Integer.getInteger("benchmark.paging.size", 20);
+    private static final int PRODUCTS = PAGE * SIZE + SIZE;
+    private static final int RUNS = 10;
+    private static final List<String> SORT_KEYS = List.of(ProductCursor.SALES_VOLUME_DESC,
+            ProductCursor.CREATED_AT_DESC, ProductCursor.PRICE_ASC, ProductCursor.PRICE_DESC);
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CategoryTree categoryTree;
+    @Autowired
+    private ProductCategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer categoryId;
+    private List<Row> rows;
+
+    @BeforeAll
+    void insertProducts() {
+        User seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build());
+        categoryId = categoryRepository.save(ProductCategory.builder().name("페이지네이션 벤치마크")
+                .createdAt(LocalDateTime.now()).build()).getId();
+        categoryTree.refresh();
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> args = new ArrayList<>(1000);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Integer salesVolume = i % 97 == 0 ? null : i % 7;
+            Timestamp createdAt = i % 89 == 0 ? null : Timestamp.valueOf(base.plusMinutes(i % 500));
+            args.add(new Object[]{categoryId, "상품" + i, 1000 * (i % 40 + 1), 10, createdAt, seller.getId(),
+                    seller.getId(), salesVolume});
+            if (args.size() == 1000 || i == PRODUCTS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO product (category_id, name, price, stock_quantity, created_at, "
+                        + "user_id, seller_id, sales_volume, review_count, rating_sum) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 0)", args);
+                args.clear();
+            }
+        }
+        rows = jdbcTemplate.query("SELECT product_id, sales_volume, created_at, price FROM product WHERE category_id = ?",
+                (rs, rowNum) -> new Row(rs.getInt(1), (Integer) rs.getObject(2),
+                        rs.getTimestamp(3) != null ? rs.getTimestamp(3).toLocalDateTime() : null, rs.getInt(4)),
+                categoryId);
+    }
+
+    @AfterAll
+    void deleteProducts() {
+        jdbcTemplate.update("DELETE FROM product WHERE category_id = ?", categoryId);
+        categoryRepository.deleteById(categoryId);
+        categoryTree.refresh();
+    }
+
+    @Test
+    void cursorWalkVisitsEveryProductOnceInSortOrder() {
+        for (String sortKey : SORT_KEYS) {
+            List<Integer> expected = expectedOrder(sortKey);
+            List<Integer> walked = new ArrayList<>(PRODUCTS);
+            String cursor = null;
+            do {
+                ProductDTO.CursorPage page = productService.findProductsWithCursor(categoryId, null, null, sortKey, cursor, 500);
+                page.getContent().forEach(product -> walked.add(product.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(walked).as(sortKey).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void deepPageWithCursorVersusOffset() {
+        int offset = (PAGE - 1) * SIZE;
+        for (String sortKey : SORT_KEYS) {
+            List<Integer> expected = expectedOrder(sortKey);
+            List<Integer> expectedPage = expected.subList(offset, offset + SIZE);
+            // 이전 페이지의 마지막 상품으로 만든 커서 (클라이언트가 999페이지를 넘겨 받은 nextCursor와 같음)
+            String cursor = ProductCursor.of(sortKey, productRepository.findById(expected.get(offset - 1)).orElseThrow()).encode();
+
+            Supplier<List<Integer>> offsetQuery = () -> ids(productService.searchProducts(null, categoryId, null, null,
+                    sortKey, PageRequest.of(PAGE - 1, SIZE)).getContent());
+            Supplier<List<Integer>> keysetQuery = () -> ids(productService.findProductsWithCursor(categoryId, null, null,
+                    sortKey, cursor, SIZE).getContent());
+            assertThat(offsetQuery.get()).as(sortKey + " offset").isEqualTo(expectedPage);
+            assertThat(keysetQuery.get()).as(sortKey + " keyset").isEqualTo(expectedPage);
+
+            double offsetMs = medianMs(offsetQuery);
+            double keysetMs = medianMs(keysetQuery);
+            log.info("{}페이지(크기 {}, 상품 {}개) {}: OFFSET {}ms, 커서 {}ms",
+                    PAGE, SIZE, PRODUCTS, sortKey, String.format("%.2f", offsetMs), String.format("%.2f", keysetMs));
+        }
+    }
+
+    // (정렬 키, id)를 같은 방향으로 정렬한 기대 순서 (DESC 정렬에서 NULL은 마지막)
+    private List<Integer> expectedOrder(String sortKey) {
+        Comparator<Row> order;
+        switch (sortKey) {
+            case ProductCursor.CREATED_AT_DESC:
+                order = Comparator.comparing(Row::createdAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                        .thenComparing(Row::id).reversed();
+                break;
+            case ProductCursor.PRICE_ASC:
+                order = Comparator.comparing(Row::price).thenComparing(Row::id);
+                break;
+            case ProductCursor.PRICE_DESC:
+                order = Comparator.comparing(Row::price).thenComparing(Row::id).reversed();
+                break;
+            default:
+                order = Comparator.comparing(Row::salesVolume, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+                        .thenComparing(Row::id).reversed();
+                break;
+        }
+        return rows.stream().sorted(order).map(Row::id).toList();
+    }
+
+    private static List<Integer> ids(List<ProductDTO.Response> products) {
+        return products.stream().map(ProductDTO.Response::getId).toList();
+    }
+
+    private static double medianMs(Supplier<?> query) {
+        for (int i = 0; i < 3; i++) {
+            query.get(); // 예열
+        }
+        double[] elapsed = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long startedAt = System.nanoTime();
+            query.get();
+            elapsed[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[RUNS / 2];
+    }
+
+    private record Row(Integer id, Integer salesVolume, LocalDateTime createdAt, Integer price) {
+    }
+}
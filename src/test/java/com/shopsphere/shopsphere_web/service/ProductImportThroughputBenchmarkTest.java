@@ -0,0 +1,191 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.ProductImportDTO;
+import com.shopsphere.shopsphere_web.entity.ProductCategory;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductCategoryRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 대량 등록(ProductImportService) 처리량 벤치마크: 판매자 한 명의 상품 CSV(상품마다 이미지 1개, 옵션 2개)를 등록하고
+ * 작업이 보고하는 처리량이 초당 5,000개 이상인지, 잘못된 행은 줄 번호와 함께 실패로 기록되고 나머지만 저장되는지 확인합니다.
+ * JSON Lines 형식도 같은 방식으로 등록되는지 확인합니다.
+ * 측정 전에 다른 판매자로 예열용 등록을 한 번 실행합니다.
+ * 상품 수, 예열 상품 수, 최소 처리량은 -Dbenchmark.import.products, -Dbenchmark.import.warmup,
+ * -Dbenchmark.import.min-rate 로 조정할 수 있습니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductImportThroughputBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportThroughputBenchmarkTest.class);
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.import.products", 50_000);
+    private static final int MIN_RATE = Integer.getInteger("benchmark.import.min-rate", 5_000);
+    private static final int WARMUP_PRODUCTS = Integer.getInteger("benchmark.import.warmup", 10_000);
+    // 이 간격마다 가격이 음수인 잘못된 행을 넣음
+    private static final int INVALID_EVERY = 1000;
+    private static final int CLEANUP_BATCH = 5000;
+
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private CategoryTree categoryTree;
+    @Autowired
+    private ProductCategoryRepository categoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> sellerIds = new ArrayList<>();
+    private Integer categoryId;
+
+    @BeforeAll
+    void createCategory() {
+        categoryId = categoryRepository.save(ProductCategory.builder().name("대량 등록 시험")
+                .createdAt(LocalDateTime.now()).build()).getId();
+        categoryTree.refresh();
+    }
+
+    @AfterAll
+    void deleteProducts() {
+        for (String sellerId : sellerIds) {
+            List<Integer> productIds = jdbcTemplate.queryForList(
+                    "SELECT product_id FROM product WHERE user_id = ? ORDER BY product_id", Integer.class, sellerId);
+            // 한 번에 지우면 H2가 트랜잭션 기록을 메모리에 모두 쌓으므로 상품 ID 구간별로 나눠 삭제
+            for (int from = 0; from < productIds.size(); from += CLEANUP_BATCH) {
+                Integer first = productIds.get(from);
+                Integer last = productIds.get(Math.min(from + CLEANUP_BATCH, productIds.size()) - 1);
+                jdbcTemplate.update("DELETE FROM product_option WHERE product_id BETWEEN ? AND ? AND product_id IN "
+                        + "(SELECT product_id FROM product WHERE user_id = ?)", first, last, sellerId);
+                jdbcTemplate.update("DELETE FROM product_image WHERE product_id BETWEEN ? AND ? AND product_id IN "
+                        + "(SELECT product_id FROM product WHERE user_id = ?)", first, last, sellerId);
+                jdbcTemplate.update("DELETE FROM product WHERE user_id = ? AND product_id BETWEEN ? AND ?",
+                        sellerId, first, last);
+            }
+        }
+        categoryRepository.deleteById(categoryId);
+        categoryTree.refresh();
+    }
+
+    @Test
+    void csvImportSustainsTargetRateAndReportsInvalidRows() throws Exception {
+        // 첫 청크들은 JIT 컴파일 전이라 느리므로 다른 판매자로 먼저 등록해 예열한 뒤 측정
+        String warmupSellerId = createSeller();
+        ProductImportDTO.Status warmup = awaitFinished(warmupSellerId, productImportService.startImport(warmupSellerId,
+                "csv", new ByteArrayInputStream(csv(WARMUP_PRODUCTS))));
+        assertThat(warmup.getState()).isEqualTo("COMPLETED");
+
+        String sellerId = createSeller();
+        byte[] body = csv(PRODUCTS);
+        int invalid = PRODUCTS / INVALID_EVERY;
+        long startedAt = System.nanoTime();
+        ProductImportDTO.Status status = awaitFinished(sellerId,
+                productImportService.startImport(sellerId, "csv", new ByteArrayInputStream(body)));
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("상품 대량 등록(CSV): {}행 ({}MB), 등록 {}건, 실패 {}건, 업로드 포함 {}ms, 작업 처리량 {} products/s",
+                PRODUCTS, body.length / (1024 * 1024), status.getImportedRows(), status.getFailedRows(), elapsedMs,
+                status.getRowsPerSecond());
+
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getProcessedRows()).isEqualTo(PRODUCTS);
+        assertThat(status.getImportedRows()).isEqualTo(PRODUCTS - invalid);
+        assertThat(status.getFailedRows()).isEqualTo(invalid);
+        // 헤더가 1번 줄이므로 i번째 상품은 i + 2번 줄
+        assertThat(status.getErrors()).hasSize(invalid).first().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(INVALID_EVERY + 1);
+            assertThat(error.getMessage()).isEqualTo("가격은 0 이상이어야 합니다.");
+        });
+
+        int imported = PRODUCTS - invalid;
+        assertThat(count("SELECT COUNT(*) FROM product WHERE user_id = ?", sellerId)).isEqualTo(imported);
+        assertThat(count("SELECT COUNT(*) FROM product_image i JOIN product p ON p.product_id = i.product_id "
+                + "WHERE p.user_id = ?", sellerId)).isEqualTo(imported);
+        assertThat(count("SELECT COUNT(*) FROM product_option o JOIN product p ON p.product_id = o.product_id "
+                + "WHERE p.user_id = ?", sellerId)).isEqualTo(imported * 2);
+        assertThat(status.getRowsPerSecond()).isGreaterThanOrEqualTo(MIN_RATE);
+    }
+
+    @Test
+    void ndjsonImportStoresImagesAndOptions() throws Exception {
+        String sellerId = createSeller();
+        String ndjson = "{\"categoryId\":" + categoryId + ",\"name\":\"린넨 셔츠\",\"price\":2000,"
+                + "\"stockQuantity\":3,\"imageUrl\":\"/uploads/a.jpg\",\"additionalImageUrls\":[\"/uploads/b.jpg\"],"
+                + "\"options\":[{\"size\":\"L\",\"stockQuantity\":3,\"additionalPrice\":500}]}\n"
+                + "{\"categoryId\":" + categoryId + ",\"name\":\n"
+                + "{\"categoryId\":-1,\"name\":\"없는 카테고리\",\"price\":1,\"stockQuantity\":1}\n";
+
+        ProductImportDTO.Status status = awaitFinished(sellerId, productImportService.startImport(sellerId, "ndjson",
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(status.getState()).isEqualTo("COMPLETED");
+        assertThat(status.getImportedRows()).isEqualTo(1);
+        assertThat(status.getErrors()).extracting(ProductImportDTO.RowError::getLine).containsExactly(2L, 3L);
+        assertThat(status.getErrors().get(1).getMessage()).isEqualTo("카테고리를 찾을 수 없습니다: -1");
+
+        Integer productId = jdbcTemplate.queryForObject("SELECT product_id FROM product WHERE user_id = ?",
+                Integer.class, sellerId);
+        assertThat(jdbcTemplate.queryForList("SELECT image_url FROM product_image WHERE product_id = ? ORDER BY display_order",
+                String.class, productId)).containsExactly("/uploads/a.jpg", "/uploads/b.jpg");
+        assertThat(jdbcTemplate.queryForMap("SELECT size, stock_quantity, additional_price FROM product_option "
+                + "WHERE product_id = ?", productId)).containsValues("L", 3, 500);
+    }
+
+    // 상품마다 이미지 1개와 옵션 2개를 가진 CSV (INVALID_EVERY행마다 가격이 음수인 잘못된 행)
+    private byte[] csv(int products) {
+        StringBuilder csv = new StringBuilder("categoryId,name,price,stockQuantity,description,imageUrl,options\n");
+        for (int i = 0; i < products; i++) {
+            boolean broken = i % INVALID_EVERY == INVALID_EVERY - 1;
+            csv.append(categoryId).append(",\"코튼 셔츠, ").append(i).append("번\",")
+                    .append(broken ? -1 : 1000 + i % 500).append(",10,설명,/uploads/").append(i).append(".jpg,")
+                    .append("S:5|M:5:1000\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String createSeller() {
+        String sellerId = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("대량 등록 판매자")
+                .role("SELLER").createdAt(LocalDateTime.now()).build()).getId();
+        sellerIds.add(sellerId);
+        return sellerId;
+    }
+
+    // 작업이 끝날 때까지 진행 상황을 조회
+    private ProductImportDTO.Status awaitFinished(String sellerId, ProductImportDTO.Status started) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        ProductImportDTO.Status status = started;
+        while (!"COMPLETED".equals(status.getState()) && !"FAILED".equals(status.getState())) {
+            assertThat(System.nanoTime() - startedAt).as("대량 등록 작업이 제한 시간 안에 끝나야 함")
+                    .isLessThan(TimeUnit.MINUTES.toNanos(5));
+            Thread.sleep(50);
+            status = productImportService.getStatus(sellerId, started.getJobId());
+        }
+        return status;
+    }
+
+    private int count(String sql, String sellerId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, sellerId);
+    }
+}
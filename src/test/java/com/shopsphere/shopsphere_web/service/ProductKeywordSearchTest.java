@@ -0,0 +1,92 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.ProductDTO;
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import com.shopsphere.shopsphere_web.specification.ProductCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 키워드 검색에서 가격 필터가 전체 매칭 결과에 적용되고, 관련도 외 정렬이 ID 묶음(sort-batch-size)을 나눠 정렬해도
+ * 전체 결과를 한 번에 정렬한 것과 같은 페이지를 반환하는지 확인합니다.
+ */
+@SpringBootTest(properties = "search.index.sort-batch-size=3")
+@ActiveProfiles("test")
+class ProductKeywordSearchTest {
+
+    private static final int PRODUCTS = 12;
+    private static final int MIN_PRICE = 8000;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    private String keyword;
+
+    @BeforeEach
+    void setUp() {
+        User seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build());
+        keyword = "검색" + UUID.randomUUID().toString().substring(0, 6);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= PRODUCTS; i++) {
+            // 싼 상품일수록 설명에 검색어가 많이 나와 관련도가 높음 (가격 필터에 걸리는 상품이 관련도 하위)
+            String description = (keyword + " ").repeat(PRODUCTS - i + 1);
+            ids.add(productRepository.save(Product.builder().name(keyword + " 상품" + i).description(description)
+                    .price(i * 1000).stockQuantity(10).salesVolume(0).user(seller).seller(seller)
+                    .createdAt(LocalDateTime.now()).build()).getId());
+        }
+        productSearchIndex.reindex(ids);
+        productFacetIndex.reindex(ids);
+    }
+
+    @Test
+    void relevanceSearchAppliesPriceFilterToAllMatches() {
+        Page<ProductDTO.Response> page = productService.searchProducts(keyword, null, MIN_PRICE, null,
+                "relevance", PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCTS - MIN_PRICE / 1000 + 1);
+        // 필터를 만족하는 상품 중 관련도가 가장 높은(가장 싼) 상품부터
+        assertThat(page.getContent()).extracting(ProductDTO.Response::getPrice).containsExactly(8000, 9000);
+    }
+
+    @Test
+    void priceSortedSearchMergesBatchesInOrder() {
+        Page<ProductDTO.Response> first = productService.searchProducts(keyword, null, null, null,
+                ProductCursor.PRICE_DESC, PageRequest.of(0, 5));
+        Page<ProductDTO.Response> second = productService.searchProducts(keyword, null, null, null,
+                ProductCursor.PRICE_DESC, PageRequest.of(1, 5));
+        Page<ProductDTO.Response> filtered = productService.searchProducts(keyword, null, MIN_PRICE, null,
+                ProductCursor.PRICE_ASC, PageRequest.of(1, 2));
+
+        assertThat(first.getTotalElements()).isEqualTo(PRODUCTS);
+        assertThat(first.getContent()).extracting(ProductDTO.Response::getPrice)
+                .containsExactly(12000, 11000, 10000, 9000, 8000);
+        assertThat(second.getContent()).extracting(ProductDTO.Response::getPrice)
+                .containsExactly(7000, 6000, 5000, 4000, 3000);
+        assertThat(filtered.getTotalElements()).isEqualTo(5);
+        assertThat(filtered.getContent()).extracting(ProductDTO.Response::getPrice).containsExactly(10000, 11000);
+    }
+}
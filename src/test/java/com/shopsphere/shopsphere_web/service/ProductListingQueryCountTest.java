@@ -0,0 +1,165 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.ProductDTO;
+import com.shopsphere.shopsphere_web.entity.Product;
+import com.shopsphere.shopsphere_web.entity.ProductCategory;
+import com.shopsphere.shopsphere_web.entity.ProductImage;
+import com.shopsphere.shopsphere_web.entity.ProductOption;
+import com.shopsphere.shopsphere_web.entity.Review;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductCategoryRepository;
+import com.shopsphere.shopsphere_web.repository.ProductImageRepository;
+import com.shopsphere.shopsphere_web.repository.ProductOptionRepository;
+import com.shopsphere.shopsphere_web.repository.ProductRepository;
+import com.shopsphere.shopsphere_web.repository.ReviewRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import com.shopsphere.shopsphere_web.specification.ProductCursor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 목록 변환의 쿼리 수 회귀 시험: 상품마다 판매자/하위 카테고리/이미지/옵션/리뷰가 다른 목록을 만들고
+ * 페이지 크기를 바꿔 조회했을 때 Hibernate 통계로 센 SQL 실행 수가 상품 수와 관계없이 같은지 확인합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductListingQueryCountTest {
+
+    private static final int PRODUCTS = 40;
+    // 상품 페이지 + COUNT + 카테고리/판매자/이미지/옵션 IN 조회
+    private static final int MAX_STATEMENTS = 6;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CategoryTree categoryTree;
+    @Autowired
+    private ProductCategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductImageRepository productImageRepository;
+    @Autowired
+    private ProductOptionRepository optionRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer rootCategoryId;
+    private final List<Integer> categoryIds = new ArrayList<>();
+
+    @BeforeAll
+    void insertProducts() {
+        ProductCategory root = categoryRepository.save(ProductCategory.builder().name("쿼리 수 시험")
+                .createdAt(LocalDateTime.now()).build());
+        rootCategoryId = root.getId();
+        categoryIds.add(rootCategoryId);
+        List<ProductCategory> children = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ProductCategory child = categoryRepository.save(ProductCategory.builder().name("하위" + i).parent(root)
+                    .createdAt(LocalDateTime.now()).build());
+            children.add(child);
+            categoryIds.add(child.getId());
+        }
+        categoryTree.refresh();
+
+        User reviewer = userRepository.save(User.builder().id("reviewer-" + UUID.randomUUID()).name("리뷰어").role("USER")
+                .createdAt(LocalDateTime.now()).build());
+        for (int i = 0; i < PRODUCTS; i++) {
+            User seller = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자" + i)
+                    .role("SELLER").createdAt(LocalDateTime.now()).build());
+            Product product = productRepository.save(Product.builder().name("상품" + i).price(1000 + i).stockQuantity(10)
+                    .salesVolume(0).category(children.get(i % children.size())).user(seller).seller(seller)
+                    .createdAt(LocalDateTime.now()).build());
+            for (int order = 0; order < 2; order++) {
+                productImageRepository.save(ProductImage.builder().product(product)
+                        .imageUrl("/uploads/" + product.getId() + "-" + order + ".jpg").displayOrder(order).build());
+                optionRepository.save(ProductOption.builder().product(product).size(order == 0 ? "M" : "L")
+                        .stockQuantity(5).additionalPrice(0).build());
+            }
+            reviewRepository.save(Review.builder().product(product).user(reviewer).rating(i % 5 + 1).comment("리뷰")
+                    .createdAt(LocalDateTime.now()).build());
+            // 리뷰 작성 시와 같이 상품의 리뷰 집계 컬럼도 갱신
+            jdbcTemplate.update("UPDATE product SET review_count = 1, rating_sum = ? WHERE product_id = ?",
+                    i % 5 + 1, product.getId());
+        }
+    }
+
+    @AfterAll
+    void deleteProducts() {
+        List<Integer> productIds = jdbcTemplate.queryForList(
+                "SELECT product_id FROM product WHERE category_id IN (?, ?, ?)", Integer.class,
+                categoryIds.get(1), categoryIds.get(2), categoryIds.get(3));
+        for (Integer productId : productIds) {
+            jdbcTemplate.update("DELETE FROM review WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM product_image WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM product_option WHERE product_id = ?", productId);
+            jdbcTemplate.update("DELETE FROM product WHERE product_id = ?", productId);
+        }
+        for (int i = categoryIds.size() - 1; i >= 0; i--) {
+            categoryRepository.deleteById(categoryIds.get(i));
+        }
+        categoryTree.refresh();
+    }
+
+    @Test
+    void listingPageIssuesSameNumberOfStatementsRegardlessOfPageSize() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try {
+            long small = countStatements(statistics, () -> listPage(5));
+            long large = countStatements(statistics, () -> listPage(PRODUCTS));
+
+            assertThat(large).isEqualTo(small);
+            assertThat(large).isPositive().isLessThanOrEqualTo(MAX_STATEMENTS);
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+    }
+
+    private Page<ProductDTO.Response> listPage(int size) {
+        Page<ProductDTO.Response> page = productService.findProductsWithFiltersAndSort(rootCategoryId, null, null,
+                ProductCursor.PRICE_ASC, PageRequest.of(0, size));
+        // 변환된 DTO에 연관 데이터가 모두 채워졌는지 확인 (지연 로딩으로 빠진 데이터가 없음)
+        assertThat(page.getContent()).hasSize(size).allSatisfy(product -> {
+            assertThat(product.getCategory()).isNotNull();
+            assertThat(product.getSeller()).isNotNull();
+            assertThat(product.getImages()).hasSize(2);
+            assertThat(product.getOptions()).hasSize(2);
+            assertThat(product.getReviewCount()).isEqualTo(1L);
+        });
+        return page;
+    }
+
+    private static long countStatements(Statistics statistics, Supplier<?> query) {
+        statistics.clear();
+        query.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
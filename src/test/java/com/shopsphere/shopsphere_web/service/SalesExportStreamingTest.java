@@ -0,0 +1,313 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopsphere.shopsphere_web.entity.ProductCategory;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductCategoryRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 판매 내역 내보내기(exportSalesLines) 스트리밍 시험: 판매자 한 명의 주문 항목을 대량으로 생성하고 전체 기간을 CSV로 내보내면서,
+ * 출력된 행 수가 일정 간격을 지날 때마다 GC 후 힙 사용량을 측정해 내보내는 동안 힙이 행 수에 비례해 늘지 않는지 확인합니다.
+ * 테스트 DB(H2 인메모리)는 조회 결과를 같은 JVM 힙에 쌓으므로, 같은 조회를 행마다 아무것도 하지 않고 읽었을 때의 힙 증가량을
+ * 기준으로 재고 내보내기가 그보다 더 늘린 양만 검사합니다.
+ * 카테고리/상품 필터, NDJSON 형식, gzip 압축 결과도 확인합니다.
+ * 주문 항목 수와 허용하는 힙 증가량(MB)은 -Dbenchmark.export.rows, -Dbenchmark.export.max-heap-growth-mb 로 조정할 수 있습니다.
+ * (예: -Dbenchmark.export.rows=10000000 은 -Dbenchmark.heap 으로 테스트 JVM 최대 힙을 DB 데이터가 들어갈 만큼 늘려서 실행)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SalesExportStreamingTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesExportStreamingTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.export.rows", 300_000);
+    private static final int MAX_HEAP_GROWTH_MB = Integer.getInteger("benchmark.export.max-heap-growth-mb", 32);
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int ORDERS = ROWS / ITEMS_PER_ORDER;
+    private static final int CATEGORIES = 2;
+    private static final int PRODUCTS = 10;
+    private static final int BATCH = 5000;
+    private static final int SAMPLES = 8;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2023, 12, 31);
+    // 내보내기와 같은 조인/컬럼/정렬의 조회 (DB가 결과를 만들며 쓰는 힙 기준치 측정용)
+    private static final String REFERENCE_SQL = "SELECT oi.order_item_id, oi.order_id, oi.created_at, o.order_status, "
+            + "oi.product_id, p.name, p.category_id, c.name, oi.option_id, po.size, oi.quantity, oi.price, "
+            + "CAST(oi.price AS SIGNED) * oi.quantity FROM order_item oi "
+            + "JOIN orders o ON o.order_id = oi.order_id "
+            + "JOIN product p ON p.product_id = oi.product_id "
+            + "LEFT JOIN product_category c ON c.category_id = p.category_id "
+            + "LEFT JOIN product_option po ON po.option_id = oi.option_id "
+            + "WHERE p.user_id = ? ORDER BY oi.created_at, oi.order_item_id";
+
+    @Autowired
+    private SalesService salesService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductCategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String sellerId;
+    private String marker;
+    private int firstOrderId;
+    private int lastOrderId;
+    private final List<Integer> categoryIds = new ArrayList<>();
+    private final List<Integer> productIds = new ArrayList<>();
+
+    @BeforeAll
+    void insertOrderItems() {
+        sellerId = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build()).getId();
+        String buyerId = userRepository.save(User.builder().id("buyer-" + UUID.randomUUID()).name("구매자").role("USER")
+                .createdAt(LocalDateTime.now()).build()).getId();
+        marker = "내보내기 시험 " + UUID.randomUUID();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryIds.add(categoryRepository.save(ProductCategory.builder().name("내보내기 카테고리" + i)
+                    .createdAt(LocalDateTime.now()).build()).getId());
+        }
+        for (int i = 0; i < PRODUCTS; i++) {
+            // 쉼표와 따옴표가 든 상품명으로 CSV 이스케이프도 함께 거침
+            jdbcTemplate.update("INSERT INTO product (category_id, name, price, stock_quantity, created_at, user_id, "
+                            + "seller_id, sales_volume, review_count, rating_sum) VALUES (?, ?, ?, 0, ?, ?, ?, 0, 0, 0)",
+                    categoryIds.get(i % CATEGORIES), "상품 \"" + i + "\", " + marker, 1000 + i,
+                    Timestamp.valueOf(LocalDateTime.now()), sellerId, sellerId);
+        }
+        productIds.addAll(jdbcTemplate.queryForList(
+                "SELECT product_id FROM product WHERE user_id = ? ORDER BY product_id", Integer.class, sellerId));
+
+        long startedAt = System.nanoTime();
+        List<Object[]> orderArgs = new ArrayList<>(BATCH);
+        for (int order = 0; order < ORDERS; order++) {
+            orderArgs.add(new Object[]{buyerId, Timestamp.valueOf(orderedAt(order)), "COMPLETED", marker, 0,
+                    Timestamp.valueOf(orderedAt(order))});
+            if (orderArgs.size() == BATCH || order == ORDERS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO orders (user_id, order_date, order_status, shipping_address, "
+                        + "total_amount, created_at) VALUES (?, ?, ?, ?, ?, ?)", orderArgs);
+                orderArgs.clear();
+            }
+        }
+        List<Integer> orderIds = jdbcTemplate.queryForList(
+                "SELECT order_id FROM orders WHERE shipping_address = ? ORDER BY order_id", Integer.class, marker);
+        firstOrderId = orderIds.get(0);
+        lastOrderId = orderIds.get(orderIds.size() - 1);
+
+        List<Object[]> itemArgs = new ArrayList<>(BATCH);
+        for (int item = 0; item < ORDERS * ITEMS_PER_ORDER; item++) {
+            int order = item / ITEMS_PER_ORDER;
+            int product = item % PRODUCTS;
+            itemArgs.add(new Object[]{orderIds.get(order), productIds.get(product), item % 3 + 1, 1000 + product,
+                    Timestamp.valueOf(orderedAt(order))});
+            if (itemArgs.size() == BATCH || item == ORDERS * ITEMS_PER_ORDER - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO order_item (order_id, product_id, quantity, price, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?)", itemArgs);
+                itemArgs.clear();
+            }
+        }
+        log.info("주문 항목 {}건 생성: {}ms", ORDERS * ITEMS_PER_ORDER, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @AfterAll
+    void deleteOrderItems() {
+        // 한 번에 지우면 H2가 트랜잭션 기록을 메모리에 모두 쌓으므로 주문 ID 구간별로 나눠 삭제
+        for (int from = firstOrderId; from <= lastOrderId; from += BATCH) {
+            int to = Math.min(from + BATCH - 1, lastOrderId);
+            jdbcTemplate.update("DELETE FROM order_item WHERE order_id IN "
+                    + "(SELECT order_id FROM orders WHERE shipping_address = ? AND order_id BETWEEN ? AND ?)", marker, from, to);
+            jdbcTemplate.update("DELETE FROM orders WHERE shipping_address = ? AND order_id BETWEEN ? AND ?", marker, from, to);
+        }
+        jdbcTemplate.update("DELETE FROM product WHERE user_id = ?", sellerId);
+        categoryIds.forEach(categoryRepository::deleteById);
+    }
+
+    @Test
+    void fullExportStreamsWithoutGrowingTheHeap() throws IOException {
+        int rows = ORDERS * ITEMS_PER_ORDER;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        // 기준치: 같은 조회를 전진 전용 커서로 읽기만 할 때 DB가 늘리는 힙
+        HeapSampler reference = new HeapSampler(memory, rows / SAMPLES);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(REFERENCE_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(1000);
+            ps.setString(1, sellerId);
+            return ps;
+        }, (ResultSet rs) -> reference.lines(1));
+
+        HeapSampler exported = new HeapSampler(memory, rows / SAMPLES);
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream(exported);
+        long startedAt = System.nanoTime();
+        salesService.exportSalesLines(sellerId, "all", "all", FIRST_DAY, LAST_DAY, "csv", false, out);
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        long growthMb = (exported.growth() - reference.growth()) / (1024 * 1024);
+        log.info("판매 내역 CSV 내보내기: {}행, {}MB, {}ms, GC 후 힙 사용량 최대 증가 {}MB (DB 조회만 {}MB, 측정 {}회)",
+                rows, out.bytes / (1024 * 1024), elapsedMs, exported.growth() / (1024 * 1024),
+                reference.growth() / (1024 * 1024), exported.samples);
+
+        assertThat(exported.lines).isEqualTo(rows + 1); // 헤더 포함
+        assertThat(reference.lines).isEqualTo(rows);
+        assertThat(exported.samples).isGreaterThanOrEqualTo(SAMPLES - 1);
+        assertThat(growthMb).isLessThan(MAX_HEAP_GROWTH_MB);
+    }
+
+    @Test
+    void filtersFormatsAndGzipMatchTheRows() throws IOException {
+        Integer categoryId = categoryIds.get(1);
+        Integer productId = productIds.get(3);
+        LocalDate lastOfJanuary = LocalDate.of(2023, 1, 31);
+        int januaryRows = januaryCount("1", 1);
+
+        String csv = export(null, null, lastOfJanuary, "csv", false);
+        List<String> csvLines = csv.lines().toList();
+        assertThat(csvLines).hasSize(januaryRows + 1);
+        assertThat(csvLines.get(0)).isEqualTo("﻿order_item_id,order_id,ordered_at,order_status,product_id,"
+                + "product_name,category_id,category_name,option_id,option_size,quantity,price,amount");
+        assertThat(csvLines.get(1)).contains("\"상품 \"\"0\"\", " + marker + "\"");
+
+        // gzip은 같은 내용을 압축해서 내보냄
+        String gunzipped = new String(new GZIPInputStream(new ByteArrayInputStream(
+                exportBytes(null, null, lastOfJanuary, "csv", true))).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(gunzipped).isEqualTo(csv);
+
+        // 카테고리/상품 필터는 ID로 적용
+        List<String> categoryLines = export(String.valueOf(categoryId), null, lastOfJanuary, "ndjson", false).lines().toList();
+        assertThat(categoryLines).hasSize(januaryCount("p.category_id", categoryId));
+        for (String line : categoryLines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertThat(row.get("category_id").asInt()).isEqualTo(categoryId);
+            assertThat(row.get("amount").asLong()).isEqualTo(row.get("price").asLong() * row.get("quantity").asLong());
+        }
+        List<String> productLines = export(null, String.valueOf(productId), lastOfJanuary, "ndjson", false).lines().toList();
+        assertThat(productLines).hasSize(januaryCount("oi.product_id", productId))
+                .allSatisfy(line -> assertThat(objectMapper.readTree(line).get("product_id").asInt()).isEqualTo(productId));
+    }
+
+    // 1월 주문 항목 중 column = value 인 행 수
+    private int januaryCount(String column, int value) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_item oi JOIN orders o ON o.order_id = oi.order_id "
+                        + "JOIN product p ON p.product_id = oi.product_id "
+                        + "WHERE o.shipping_address = ? AND oi.created_at < ? AND " + column + " = ?",
+                Integer.class, marker, Timestamp.valueOf("2023-02-01 00:00:00"), value);
+    }
+
+    private String export(String category, String product, LocalDate endDate, String format, boolean gzip) throws IOException {
+        return new String(exportBytes(category, product, endDate, format, gzip), StandardCharsets.UTF_8);
+    }
+
+    private byte[] exportBytes(String category, String product, LocalDate endDate, String format, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        salesService.exportSalesLines(sellerId, category, product, FIRST_DAY, endDate, format, gzip, out);
+        return out.toByteArray();
+    }
+
+    // 주문은 1년에 고르게 퍼짐
+    private static LocalDateTime orderedAt(int order) {
+        return FIRST_DAY.atStartOfDay().plusMinutes((long) order * 525_600 / ORDERS);
+    }
+
+    /**
+     * sampleEvery줄(행)을 지날 때마다 GC 후 힙 사용량을 기록하고, 시작 시점 대비 최대 증가량을 계산.
+     */
+    private static final class HeapSampler {
+
+        private final MemoryMXBean memory;
+        private final long sampleEvery;
+        private final long baseline;
+        private long lines;
+        private long nextSample;
+        private long maxUsed;
+        private int samples;
+
+        private HeapSampler(MemoryMXBean memory, long sampleEvery) {
+            this.memory = memory;
+            this.sampleEvery = sampleEvery;
+            this.nextSample = sampleEvery;
+            memory.gc();
+            this.baseline = memory.getHeapMemoryUsage().getUsed();
+            this.maxUsed = baseline;
+        }
+
+        private void lines(int count) {
+            lines += count;
+            if (lines >= nextSample) {
+                memory.gc();
+                maxUsed = Math.max(maxUsed, memory.getHeapMemoryUsage().getUsed());
+                samples++;
+                nextSample = lines + sampleEvery;
+            }
+        }
+
+        private long growth() {
+            return maxUsed - baseline;
+        }
+    }
+
+    /**
+     * 출력을 버리면서 줄 수를 세어 HeapSampler에 넘기는 출력 스트림.
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+
+        private final HeapSampler sampler;
+        private long bytes;
+
+        private HeapSamplingOutputStream(HeapSampler sampler) {
+            this.sampler = sampler;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            int newLines = 0;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    newLines++;
+                }
+            }
+            if (newLines > 0) {
+                sampler.lines(newLines);
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.shopsphere.shopsphere_web.service;
+
+import com.shopsphere.shopsphere_web.dto.SalesStatisticsDTO;
+import com.shopsphere.shopsphere_web.entity.OrderItem;
+import com.shopsphere.shopsphere_web.entity.ProductCategory;
+import com.shopsphere.shopsphere_web.entity.User;
+import com.shopsphere.shopsphere_web.repository.ProductCategoryRepository;
+import com.shopsphere.shopsphere_web.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 항목 직접 집계(sales.statistics.source=order-items) 벤치마크.
+ * 판매자 한 명의 주문 항목을 1년에 걸쳐 대량으로 생성하고(취소 주문 포함), 판매 통계가 DB의 GROUP BY 결과만으로
+ * 기대 합계(월별/카테고리별/상품별)와 같은 값을 만드는지, 그 과정에서 OrderItem 엔티티를 하나도 로딩하지 않는지 확인하며
+ * 전체/카테고리 필터 조회의 지연 시간을 기록합니다.
+ * 주문 항목 수는 -Dbenchmark.sales.order-items 로 조정할 수 있습니다. (예: 5000000)
+ */
+@SpringBootTest(properties = "sales.statistics.source=order-items")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SalesStatisticsAggregationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesStatisticsAggregationBenchmarkTest.class);
+
+    private static final int ORDER_ITEMS = Integer.getInteger("benchmark.sales.order-items", 200_000);
+    private static final int ITEMS_PER_ORDER = 5;
+    private static final int ORDERS = ORDER_ITEMS / ITEMS_PER_ORDER;
+    private static final int CATEGORIES = 3;
+    private static final int PRODUCTS = 50;
+    private static final int BATCH = 5000;
+    private static final int RUNS = 5;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2023, 1, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2023, 12, 31);
+
+    @Autowired
+    private SalesService salesService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProductCategoryRepository categoryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String sellerId;
+    private String marker;
+    private int firstOrderId;
+    private int lastOrderId;
+    private final List<Integer> categoryIds = new ArrayList<>();
+    private final List<Integer> productIds = new ArrayList<>();
+
+    // 결제 완료 주문만 반영한 기대 합계
+    private long expectedRevenue;
+    private long expectedUnits;
+    private int expectedOrders;
+    private final Map<Integer, Long> expectedRevenueByCategory = new HashMap<>();
+    private final Map<String, Long> expectedRevenueByMonth = new HashMap<>();
+
+    @BeforeAll
+    void insertOrderItems() {
+        sellerId = userRepository.save(User.builder().id("seller-" + UUID.randomUUID()).name("판매자").role("SELLER")
+                .createdAt(LocalDateTime.now()).build()).getId();
+        String buyerId = userRepository.save(User.builder().id("buyer-" + UUID.randomUUID()).name("구매자").role("USER")
+                .createdAt(LocalDateTime.now()).build()).getId();
+        marker = "통계 벤치마크 " + UUID.randomUUID();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryIds.add(categoryRepository.save(ProductCategory.builder().name("통계 카테고리" + i)
+                    .createdAt(LocalDateTime.now()).build()).getId());
+        }
+        for (int i = 0; i < PRODUCTS; i++) {
+            jdbcTemplate.update("INSERT INTO product (category_id, name, price, stock_quantity, created_at, user_id, "
+                            + "seller_id, sales_volume, review_count, rating_sum) VALUES (?, ?, ?, 0, ?, ?, ?, 0, 0, 0)",
+                    categoryIds.get(i % CATEGORIES), marker + " 상품" + i, price(i), Timestamp.valueOf(LocalDateTime.now()),
+                    sellerId, sellerId);
+        }
+        productIds.addAll(jdbcTemplate.queryForList(
+                "SELECT product_id FROM product WHERE user_id = ? ORDER BY product_id", Integer.class, sellerId));
+
+        long startedAt = System.nanoTime();
+        List<Object[]> orderArgs = new ArrayList<>(BATCH);
+        for (int order = 0; order < ORDERS; order++) {
+            orderArgs.add(new Object[]{buyerId, Timestamp.valueOf(orderedAt(order)), status(order), marker, 0,
+                    Timestamp.valueOf(orderedAt(order))});
+            if (orderArgs.size() == BATCH || order == ORDERS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO orders (user_id, order_date, order_status, shipping_address, "
+                        + "total_amount, created_at) VALUES (?, ?, ?, ?, ?, ?)", orderArgs);
+                orderArgs.clear();
+            }
+        }
+        List<Integer> orderIds = jdbcTemplate.queryForList(
+                "SELECT order_id FROM orders WHERE shipping_address = ? ORDER BY order_id", Integer.class, marker);
+        firstOrderId = orderIds.get(0);
+        lastOrderId = orderIds.get(orderIds.size() - 1);
+
+        List<Object[]> itemArgs = new ArrayList<>(BATCH);
+        for (int item = 0; item < ORDER_ITEMS; item++) {
+            int order = item / ITEMS_PER_ORDER;
+            int product = item % PRODUCTS;
+            int quantity = item % 3 + 1;
+            LocalDateTime orderedAt = orderedAt(order);
+            itemArgs.add(new Object[]{orderIds.get(order), productIds.get(product), quantity, price(product),
+                    Timestamp.valueOf(orderedAt)});
+            if ("COMPLETED".equals(status(order))) {
+                long revenue = (long) price(product) * quantity;
+                expectedRevenue += revenue;
+                expectedUnits += quantity;
+                expectedRevenueByCategory.merge(categoryIds.get(product % CATEGORIES), revenue, Long::sum);
+                expectedRevenueByMonth.merge(String.format("%d-%02d", orderedAt.getYear(), orderedAt.getMonthValue()),
+                        revenue, Long::sum);
+            }
+            if (itemArgs.size() == BATCH || item == ORDER_ITEMS - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO order_item (order_id, product_id, quantity, price, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?)", itemArgs);
+                itemArgs.clear();
+            }
+        }
+        for (int order = 0; order < ORDERS; order++) {
+            if ("COMPLETED".equals(status(order))) {
+                expectedOrders++;
+            }
+        }
+        log.info("주문 항목 {}건(주문 {}건) 생성: {}ms", ORDER_ITEMS, ORDERS, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @AfterAll
+    void deleteOrderItems() {
+        // 한 번에 지우면 H2가 트랜잭션 기록을 메모리에 모두 쌓으므로 주문 ID 구간별로 나눠 삭제
+        for (int from = firstOrderId; from <= lastOrderId; from += BATCH) {
+            int to = Math.min(from + BATCH - 1, lastOrderId);
+            jdbcTemplate.update("DELETE FROM order_item WHERE order_id IN "
+                    + "(SELECT order_id FROM orders WHERE shipping_address = ? AND order_id BETWEEN ? AND ?)", marker, from, to);
+            jdbcTemplate.update("DELETE FROM orders WHERE shipping_address = ? AND order_id BETWEEN ? AND ?", marker, from, to);
+        }
+        jdbcTemplate.update("DELETE FROM product WHERE user_id = ?", sellerId);
+        categoryIds.forEach(categoryRepository::deleteById);
+    }
+
+    @Test
+    void statisticsAreAggregatedInTheDatabaseWithoutLoadingOrderItems() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        SalesStatisticsDTO.Response monthly;
+        try {
+            statistics.clear();
+            monthly = salesService.getSalesStatistics(sellerId, "all", "all", "monthly", FIRST_DAY, LAST_DAY);
+            // 주문 항목은 GROUP BY 결과(일자/카테고리/상품별 행)로만 읽음
+            assertThat(statistics.getEntityStatistics(OrderItem.class.getName()).getLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+
+        assertThat(monthly.getSalesData()).hasSize(12);
+        for (SalesStatisticsDTO.SalesData month : monthly.getSalesData()) {
+            assertThat(month.getSalesAmount().longValue()).as(month.getLabel())
+                    .isEqualTo(expectedRevenueByMonth.get(month.getLabel()));
+        }
+        SalesStatisticsDTO.Summary summary = monthly.getSummary();
+        assertThat(summary.getTotalSalesAmount().longValue()).isEqualTo(expectedRevenue);
+        assertThat(summary.getTotalProductCount().longValue()).isEqualTo(expectedUnits);
+        assertThat(summary.getTotalOrderCount()).isEqualTo(expectedOrders);
+        assertThat(summary.getSalesByProduct()).hasSize(PRODUCTS);
+        for (int i = 0; i < CATEGORIES; i++) {
+            assertThat(summary.getSalesByCategory().get("통계 카테고리" + i).longValue())
+                    .isEqualTo(expectedRevenueByCategory.get(categoryIds.get(i)));
+        }
+
+        // 카테고리 ID 필터
+        Integer categoryId = categoryIds.get(1);
+        SalesStatisticsDTO.Response filtered = salesService.getSalesStatistics(sellerId, String.valueOf(categoryId),
+                "all", "all", FIRST_DAY, LAST_DAY);
+        assertThat(filtered.getSummary().getTotalSalesAmount().longValue())
+                .isEqualTo(expectedRevenueByCategory.get(categoryId));
+        assertThat(filtered.getSummary().getSalesByCategory()).containsOnlyKeys("통계 카테고리1");
+
+        double monthlyMs = medianMs(() -> salesService.getSalesStatistics(sellerId, "all", "all", "monthly",
+                FIRST_DAY, LAST_DAY));
+        double dailyMs = medianMs(() -> salesService.getSalesStatistics(sellerId, "all", "all", "daily",
+                FIRST_DAY, LAST_DAY));
+        double categoryMs = medianMs(() -> salesService.getSalesStatistics(sellerId, String.valueOf(categoryId),
+                "all", "monthly", FIRST_DAY, LAST_DAY));
+        log.info("주문 항목 {}건 판매 통계: 월별 {}ms, 일별 {}ms, 카테고리 필터 월별 {}ms", ORDER_ITEMS,
+                String.format("%.1f", monthlyMs), String.format("%.1f", dailyMs), String.format("%.1f", categoryMs));
+    }
+
+    // 주문은 1년에 고르게 퍼지고, 일곱 건 중 한 건은 취소됨 (모든 상품에 결제 완료 매출이 생기도록 상품 주기와 어긋나게 둠)
+    private static LocalDateTime orderedAt(int order) {
+        return FIRST_DAY.atStartOfDay().plusMinutes((long) order * 525_600 / ORDERS);
+    }
+
+    private static String status(int order) {
+        return order % 7 == 6 ? "CANCELLED" : "COMPLETED";
+    }
+
+    // 5M건에서도 매출 합계가 Integer 범위를 넘지 않도록 낮은 단가 사용
+    private static int price(int product) {
+        return 10 + product % 20;
+    }
+
+    private static double medianMs(Supplier<?> query) {
+        query.get(); // 예열
+        double[] elapsed = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long startedAt = System.nanoTime();
+            query.get();
+            elapsed[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[RUNS / 2];
+    }
+}